@@ -0,0 +1,196 @@
+package com.fueledbychai.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fueledbychai.websocket.JsonScanner;
+import com.fueledbychai.websocket.JsonToken;
+
+/**
+ * Compares a JMH JSON result file against a stored baseline and fails when a
+ * benchmark regressed by more than a threshold.
+ * <p>
+ * Benchmarks are matched by name, mode and parameters. Throughput regresses when
+ * it drops; average time and the GC profiler's normalized allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per operation) regress when they grow.
+ * Benchmarks present in only one file are listed but never fail the comparison,
+ * and a missing or empty baseline is reported and nothing can regress.
+ * <p>
+ * Usage: {@code BenchmarkComparison <baseline.json> <result.json> [threshold]},
+ * where threshold is a fraction, 0.10 by default.
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <result.json> [threshold]");
+            System.exit(2);
+        }
+        Path baselinePath = Path.of(args[0]);
+        Path resultPath = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        if (!Files.exists(baselinePath)) {
+            System.out.println("No benchmark baseline at " + baselinePath + ", skipping comparison");
+            return;
+        }
+        Map<String, Result> baseline = read(baselinePath);
+        if (baseline.isEmpty()) {
+            System.out.println("Benchmark baseline " + baselinePath + " holds no results; every benchmark is new");
+        }
+        Map<String, Result> current = read(resultPath);
+        int regressions = compare(baseline, current, threshold);
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + percent(threshold));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints one line per benchmark and returns the number of regressions.
+     */
+    static int compare(Map<String, Result> baseline, Map<String, Result> current, double threshold) {
+        int regressions = 0;
+        Map<String, Result> all = new TreeMap<>(baseline);
+        all.putAll(current);
+        for (String key : all.keySet()) {
+            Result before = baseline.get(key);
+            Result after = current.get(key);
+            if (before == null || after == null) {
+                System.out.printf("%-90s %s%n", key, before == null ? "new" : "missing");
+                continue;
+            }
+            double scoreChange = change(before.score, after.score);
+            boolean higherIsBetter = "thrpt".equals(before.mode);
+            boolean scoreRegressed = higherIsBetter ? scoreChange < -threshold : scoreChange > threshold;
+            boolean allocationRegressed = false;
+            String allocation = "";
+            if (before.allocation >= 0 && after.allocation >= 0) {
+                double allocationChange = change(before.allocation, after.allocation);
+                // ignore noise on paths that barely allocate
+                allocationRegressed = allocationChange > threshold && after.allocation - before.allocation > 16;
+                allocation = String.format(" alloc %.1f -> %.1f B/op (%s)", before.allocation, after.allocation,
+                        percent(allocationChange));
+            }
+            boolean regressed = scoreRegressed || allocationRegressed;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %.3f -> %.3f %s (%s)%s%s%n", key, before.score, after.score, after.unit,
+                    percent(scoreChange), allocation, regressed ? "  REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    static Map<String, Result> read(Path path) throws IOException {
+        return parse(Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    static Map<String, Result> parse(String json) {
+        Map<String, Result> results = new LinkedHashMap<>();
+        JsonScanner scanner = new JsonScanner(json);
+        if (scanner.nextToken() != JsonToken.START_ARRAY) {
+            return results;
+        }
+        while (scanner.nextToken() == JsonToken.START_OBJECT) {
+            Result result = readResult(scanner);
+            if (result.benchmark != null) {
+                results.put(result.key(), result);
+            }
+        }
+        return results;
+    }
+
+    private static Result readResult(JsonScanner scanner) {
+        Result result = new Result();
+        while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+            if (scanner.textEquals("benchmark")) {
+                scanner.nextToken();
+                result.benchmark = scanner.getText();
+            } else if (scanner.textEquals("mode")) {
+                scanner.nextToken();
+                result.mode = scanner.getText();
+            } else if (scanner.textEquals("params")) {
+                if (scanner.nextToken() == JsonToken.START_OBJECT) {
+                    while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = scanner.getText();
+                        scanner.nextToken();
+                        result.params.put(name, scanner.getText());
+                    }
+                }
+            } else if (scanner.textEquals("primaryMetric")) {
+                if (scanner.nextToken() == JsonToken.START_OBJECT) {
+                    result.score = readScore(scanner, result);
+                }
+            } else if (scanner.textEquals("secondaryMetrics")) {
+                if (scanner.nextToken() == JsonToken.START_OBJECT) {
+                    while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+                        boolean allocation = scanner.getText().endsWith(ALLOCATION_METRIC);
+                        if (scanner.nextToken() == JsonToken.START_OBJECT && allocation) {
+                            result.allocation = readScore(scanner, null);
+                        } else {
+                            scanner.skipChildren();
+                        }
+                    }
+                }
+            } else {
+                scanner.skipValue();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads {@code score} and {@code scoreUnit} from a metric object, leaving the
+     * scanner on its end.
+     */
+    private static double readScore(JsonScanner scanner, Result unitTarget) {
+        double score = Double.NaN;
+        while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+            if (scanner.textEquals("score")) {
+                scanner.nextToken();
+                try {
+                    score = scanner.getDouble();
+                } catch (NumberFormatException e) {
+                    score = Double.NaN;
+                }
+            } else if (scanner.textEquals("scoreUnit") && unitTarget != null) {
+                scanner.nextToken();
+                unitTarget.unit = scanner.getText();
+            } else {
+                scanner.skipValue();
+            }
+        }
+        return score;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before;
+    }
+
+    private static String percent(double fraction) {
+        return String.format("%+.1f%%", fraction * 100);
+    }
+
+    static final class Result {
+        String benchmark;
+        String mode;
+        String unit = "";
+        final Map<String, String> params = new TreeMap<>();
+        double score = Double.NaN;
+        double allocation = -1;
+
+        String key() {
+            return params.isEmpty() ? benchmark + " " + mode : benchmark + params + " " + mode;
+        }
+    }
+}
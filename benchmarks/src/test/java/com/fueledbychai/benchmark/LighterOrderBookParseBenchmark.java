@@ -0,0 +1,68 @@
+package com.fueledbychai.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fueledbychai.lighter.common.api.ws.model.LighterOrderBookUpdate;
+import com.fueledbychai.lighter.common.api.ws.processor.LighterOrderBookWebSocketProcessor;
+
+/**
+ * Parses synthetic Lighter order book frames, one frame per invocation.
+ *
+ * @see RecordedFrames#LIGHTER_ORDER_BOOK
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LighterOrderBookParseBenchmark {
+
+    private BenchmarkProcessor processor;
+    private String[] frames;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        processor = new BenchmarkProcessor();
+        List<String> recorded = RecordedFrames.load(RecordedFrames.LIGHTER_ORDER_BOOK);
+        frames = recorded.toArray(new String[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.shutdown();
+    }
+
+    @Benchmark
+    public LighterOrderBookUpdate parseMessage() {
+        String frame = frames[next];
+        next = next + 1 == frames.length ? 0 : next + 1;
+        return processor.parse(frame);
+    }
+
+    static final class BenchmarkProcessor extends LighterOrderBookWebSocketProcessor {
+
+        BenchmarkProcessor() {
+            super(() -> {
+            });
+        }
+
+        LighterOrderBookUpdate parse(String message) {
+            return parseMessage(message);
+        }
+    }
+}
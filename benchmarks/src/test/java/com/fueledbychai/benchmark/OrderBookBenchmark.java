@@ -0,0 +1,115 @@
+package com.fueledbychai.benchmark;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.lighter.common.api.ws.model.LighterOrderBookLevel;
+import com.fueledbychai.lighter.common.api.ws.model.LighterOrderBookUpdate;
+import com.fueledbychai.marketdata.IOrderBook.BidSizePair;
+import com.fueledbychai.marketdata.OrderBook;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+
+/**
+ * Replays full book snapshots rebuilt from the synthetic Lighter frames into
+ * {@link OrderBook}, and reads the top of book.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final BigDecimal TICK_SIZE = new BigDecimal("0.1");
+    private static final ZonedDateTime TIMESTAMP = ZonedDateTime.of(2025, 10, 9, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private OrderBook orderBook;
+    private List<List<PriceLevel>> bidSnapshots;
+    private List<List<PriceLevel>> askSnapshots;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Ticker ticker = new Ticker("BTC").setExchange(Exchange.LIGHTER).setMinimumTickSize(TICK_SIZE);
+        orderBook = new OrderBook(ticker, TICK_SIZE);
+        bidSnapshots = new ArrayList<>();
+        askSnapshots = new ArrayList<>();
+
+        LighterOrderBookParseBenchmark.BenchmarkProcessor processor = new LighterOrderBookParseBenchmark.BenchmarkProcessor();
+        TreeMap<BigDecimal, Double> bids = new TreeMap<>(Comparator.reverseOrder());
+        TreeMap<BigDecimal, Double> asks = new TreeMap<>();
+        for (String frame : RecordedFrames.load(RecordedFrames.LIGHTER_ORDER_BOOK)) {
+            LighterOrderBookUpdate update = processor.parse(frame);
+            if (update == null) {
+                continue;
+            }
+            apply(bids, update.getBids());
+            apply(asks, update.getAsks());
+            bidSnapshots.add(toLevels(bids));
+            askSnapshots.add(toLevels(asks));
+        }
+        processor.shutdown();
+        orderBook.updateFromSnapshot(bidSnapshots.get(0), askSnapshots.get(0), TIMESTAMP);
+    }
+
+    @TearDown
+    public void tearDown() {
+        orderBook.shutdown();
+    }
+
+    @Benchmark
+    public OrderBook updateFromSnapshot() {
+        int index = next;
+        next = next + 1 == bidSnapshots.size() ? 0 : next + 1;
+        orderBook.updateFromSnapshot(bidSnapshots.get(index), askSnapshots.get(index), TIMESTAMP);
+        return orderBook;
+    }
+
+    @Benchmark
+    public BidSizePair getBestBid() {
+        return orderBook.getBestBid();
+    }
+
+    private static void apply(Map<BigDecimal, Double> side, List<LighterOrderBookLevel> levels) {
+        if (levels == null) {
+            return;
+        }
+        for (LighterOrderBookLevel level : levels) {
+            if (level.getSize().signum() == 0) {
+                side.remove(level.getPrice());
+            } else {
+                side.put(level.getPrice(), level.getSize().doubleValue());
+            }
+        }
+    }
+
+    private static List<PriceLevel> toLevels(Map<BigDecimal, Double> side) {
+        List<PriceLevel> levels = new ArrayList<>(side.size());
+        for (Map.Entry<BigDecimal, Double> entry : side.entrySet()) {
+            levels.add(new PriceLevel(entry.getKey(), entry.getValue()));
+        }
+        return levels;
+    }
+}
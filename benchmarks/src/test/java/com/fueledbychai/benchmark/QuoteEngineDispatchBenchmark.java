@@ -0,0 +1,116 @@
+package com.fueledbychai.benchmark;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.marketdata.Level1Quote;
+import com.fueledbychai.marketdata.QuoteDispatchMode;
+import com.fueledbychai.marketdata.QuoteEngine;
+import com.fueledbychai.marketdata.QuoteType;
+
+/**
+ * Measures {@link QuoteEngine#fireLevel1Quote} from publish to delivery for each
+ * dispatch mode, with one subscribed listener. Every invocation waits until the
+ * listener has received its quote, so a mode that only enqueues is not credited
+ * for work it leaves to the delivery thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuoteEngineDispatchBenchmark {
+
+    @Param({ "DIRECT", "EXECUTOR", "RING_BUFFER" })
+    public QuoteDispatchMode dispatchMode;
+
+    private BenchmarkQuoteEngine quoteEngine;
+    private Level1Quote quote;
+    private final AtomicLong received = new AtomicLong();
+    private long fired;
+
+    @Setup
+    public void setUp() {
+        Ticker ticker = new Ticker("BTC").setExchange(Exchange.LIGHTER).setMinimumTickSize(new BigDecimal("0.1"));
+        quoteEngine = new BenchmarkQuoteEngine();
+        quoteEngine.setDispatchMode(dispatchMode);
+        quoteEngine.subscribeLevel1(ticker, q -> received.incrementAndGet());
+        quote = new Level1Quote(ticker, ZonedDateTime.of(2025, 10, 9, 0, 0, 0, 0, ZoneOffset.UTC));
+        quote.addQuote(QuoteType.BID, new BigDecimal("65000.0"));
+        quote.addQuote(QuoteType.ASK, new BigDecimal("65000.1"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        quoteEngine.shutdownNow();
+    }
+
+    @Benchmark
+    public void fireLevel1Quote() {
+        quoteEngine.fireLevel1Quote(quote);
+        long target = ++fired;
+        while (received.get() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+    static final class BenchmarkQuoteEngine extends QuoteEngine {
+
+        @Override
+        public String getDataProviderName() {
+            return "Benchmark";
+        }
+
+        @Override
+        public Date getServerTime() {
+            return new Date();
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public void startEngine() {
+        }
+
+        @Override
+        public void startEngine(Properties props) {
+        }
+
+        @Override
+        public boolean started() {
+            return true;
+        }
+
+        @Override
+        public void stopEngine() {
+        }
+
+        @Override
+        public void useDelayedData(boolean useDelayed) {
+        }
+    }
+}
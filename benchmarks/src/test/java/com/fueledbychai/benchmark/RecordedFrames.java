@@ -0,0 +1,47 @@
+package com.fueledbychai.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads exchange frames from {@code src/test/resources/frames}. Each file holds
+ * one WebSocket text frame per line, in the order it was received or generated.
+ */
+public final class RecordedFrames {
+
+    /**
+     * Synthetic frames in the shape of Lighter's {@code order_book} channel: a
+     * snapshot with 100 levels a side followed by small deltas. They were
+     * generated, not captured from the exchange, so level counts and update mix
+     * only approximate a live feed.
+     */
+    public static final String LIGHTER_ORDER_BOOK = "frames/lighter-order-book-synthetic.jsonl";
+
+    private RecordedFrames() {
+    }
+
+    public static List<String> load(String resource) {
+        InputStream stream = RecordedFrames.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) {
+            throw new IllegalArgumentException("Recorded frames not found: " + resource);
+        }
+        List<String> frames = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    frames.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return frames;
+    }
+}
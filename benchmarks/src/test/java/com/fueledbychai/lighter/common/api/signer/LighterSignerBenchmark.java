@@ -0,0 +1,118 @@
+package com.fueledbychai.lighter.common.api.signer;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fueledbychai.lighter.common.api.order.LighterCreateOrderRequest;
+import com.fueledbychai.lighter.common.api.order.LighterOrderType;
+import com.fueledbychai.lighter.common.api.order.LighterTimeInForce;
+
+/**
+ * Measures the Lighter signing primitives in {@link LighterSignerMath} and a
+ * full create-order signature through {@link LighterNativeTransactionSigner}.
+ * The two generator benchmarks compare the fixed-base table multiply used for
+ * signing with the generic double-and-add it replaced. Lives in the signer
+ * package because the math is package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LighterSignerBenchmark {
+
+    private static final String PRIVATE_KEY = "0x0102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f202122232425262728";
+
+    private List<LighterSignerMath.GoldilocksField> txFields;
+    private LighterSignerMath.Fp5 txHash;
+    private LighterSignerMath.Scalar privateKey;
+    private LighterSignerMath.Scalar nonce;
+    private BenchmarkSigner signer;
+    private LighterCreateOrderRequest orderRequest;
+
+    @Setup
+    public void setUp() {
+        txFields = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            txFields.add(LighterSignerMath.GoldilocksField.fromUnsignedLong(0x9E3779B97F4A7C15L * (i + 1)));
+        }
+        txHash = LighterSignerMath.hashToQuinticExtension(txFields);
+        privateKey = LighterSignerMath.parsePrivateKeyHex(PRIVATE_KEY);
+        // a full-width nonce, as sampleScalar produces, so double-and-add does its usual work
+        nonce = LighterSignerMath.Scalar.fromBigInteger(new BigInteger(319, new Random(42)));
+        signer = new BenchmarkSigner();
+
+        orderRequest = new LighterCreateOrderRequest();
+        orderRequest.setMarketIndex(1);
+        orderRequest.setClientOrderIndex(11L);
+        orderRequest.setBaseAmount(1_500L);
+        orderRequest.setPrice(650_000);
+        orderRequest.setAsk(false);
+        orderRequest.setOrderType(LighterOrderType.LIMIT);
+        orderRequest.setTimeInForce(LighterTimeInForce.GTT);
+        orderRequest.setNonce(777L);
+    }
+
+    @Benchmark
+    public LighterSignerMath.Fp5 poseidonHash() {
+        return LighterSignerMath.hashToQuinticExtension(txFields);
+    }
+
+    @Benchmark
+    public LighterSignerMath.Fp5 publicKeyFromPrivateKey() {
+        return LighterSignerMath.publicKeyFromPrivateKey(privateKey);
+    }
+
+    @Benchmark
+    public LighterSignerMath.Fp5 generatorMultipleFixedBase() {
+        return LighterSignerMath.generatorMultiple(nonce);
+    }
+
+    @Benchmark
+    public LighterSignerMath.Fp5 generatorMultipleDoubleAndAdd() {
+        return LighterSignerMath.generatorMultipleDoubleAndAdd(nonce);
+    }
+
+    @Benchmark
+    public LighterSignerMath.SchnorrSignature signHashedMessage() {
+        return LighterSignerMath.signHashedMessage(txHash, privateKey, nonce);
+    }
+
+    @Benchmark
+    public LighterSignedTransaction signCreateOrder() {
+        return signer.signCreateOrder(orderRequest);
+    }
+
+    private static final class BenchmarkSigner extends LighterNativeTransactionSigner {
+
+        BenchmarkSigner() {
+            super("https://testnet.zklighter.elliot.ai/api/v1", PRIVATE_KEY, 3, 9L, new SecureRandom());
+        }
+
+        @Override
+        protected long nowMillis() {
+            return 1_700_000_000_000L;
+        }
+
+        @Override
+        protected long fetchNextNonce(long accountIndex, int apiKeyIndex) {
+            return 777L;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.fueledbychai.benchmark.jmh_generated;
+public class LighterOrderBookParseBenchmark_jmhType extends LighterOrderBookParseBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.fueledbychai.benchmark.jmh_generated;
+public class OrderBookBenchmark_jmhType extends OrderBookBenchmark_jmhType_B3 {
+}
+
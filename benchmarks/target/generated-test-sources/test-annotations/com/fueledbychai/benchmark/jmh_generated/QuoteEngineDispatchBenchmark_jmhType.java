@@ -0,0 +1,4 @@
+package com.fueledbychai.benchmark.jmh_generated;
+public class QuoteEngineDispatchBenchmark_jmhType extends QuoteEngineDispatchBenchmark_jmhType_B3 {
+}
+
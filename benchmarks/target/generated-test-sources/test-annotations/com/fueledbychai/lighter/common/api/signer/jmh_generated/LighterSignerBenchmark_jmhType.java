@@ -0,0 +1,4 @@
+package com.fueledbychai.lighter.common.api.signer.jmh_generated;
+public class LighterSignerBenchmark_jmhType extends LighterSignerBenchmark_jmhType_B3 {
+}
+
@@ -81,7 +81,7 @@ public class AsterRestApi extends BaseRestApi implements IAsterRestApi {
         this.publicApiOnly = user == null || signer == null || privateKey == null
                 || user.isBlank() || signer.isBlank() || privateKey.isBlank();
         this.eip712Signer = publicApiOnly ? null : new AsterEip712Signer(privateKey);
-        this.client = OkHttpClientFactory.create(REQUEST_TIMEOUT);
+        this.client = OkHttpClientFactory.create(REQUEST_TIMEOUT, this.futuresBaseUrl);
         this.objectMapper = new ObjectMapper();
     }
 
@@ -1,112 +1,108 @@
 package com.fueledbychai.aster.common.api.ws;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fueledbychai.websocket.IWebSocketClosedListener;
 import com.fueledbychai.websocket.IWebSocketProcessor;
+import com.fueledbychai.websocket.JsonScanner;
+import com.fueledbychai.websocket.JsonToken;
+import com.fueledbychai.websocket.WebSocketMessageRouter;
 
 /**
  * Multiplexing processor for shared Aster WebSocket connections. Routes
- * incoming messages to the correct child processor by parsing the {@code stream}
- * field from Binance-style combined stream messages.
+ * incoming messages to the correct child processor by reading the
+ * {@code stream} field from Binance-style combined stream messages.
  *
- * Messages without a {@code stream} field (e.g., subscription confirmations)
- * are silently dropped.
+ * Messages without a {@code stream} field fall back to a channel derived from
+ * the event type and symbol of the payload. Subscription confirmations, which
+ * carry neither, are dropped.
  */
-public class AsterMultiplexingProcessor implements IWebSocketProcessor {
-
-    private static final Logger logger = LoggerFactory.getLogger(AsterMultiplexingProcessor.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
-    private final Map<String, IWebSocketProcessor> processorsByChannel = new ConcurrentHashMap<>();
-    private final IWebSocketClosedListener closedListener;
-    private volatile Runnable onConnectedCallback;
+public class AsterMultiplexingProcessor extends WebSocketMessageRouter {
 
     public AsterMultiplexingProcessor(IWebSocketClosedListener closedListener) {
-        this.closedListener = closedListener;
-    }
-
-    public void setOnConnectedCallback(Runnable callback) {
-        this.onConnectedCallback = callback;
+        super(closedListener, "stream");
     }
 
     public void addProcessor(String channel, IWebSocketProcessor processor) {
         if (channel != null && processor != null) {
-            processorsByChannel.put(channel, processor);
+            addRoute(channel, processor);
         }
     }
 
     public void removeProcessor(String channel) {
-        processorsByChannel.remove(channel);
+        removeRoute(channel);
     }
 
     public int getProcessorCount() {
-        return processorsByChannel.size();
+        return getRouteCount();
     }
 
     @Override
-    public void messageReceived(String message) {
-        try {
-            JsonNode root = objectMapper.readTree(message);
-            if (root == null || root.isNull()) {
-                return;
-            }
-
-            // Subscription confirmations have "result" and "id" but no "stream"/"data"
-            if (root.has("result") && !root.has("data") && !root.has("stream")) {
-                return;
-            }
-
-            // Route by stream field if present (Binance combined stream format)
-            if (root.has("stream")) {
-                routeToProcessor(root.get("stream").asText(), message);
-                return;
-            }
-
-            // No stream field — derive channel from event type + symbol
-            JsonNode payload = root.has("data") ? root.get("data") : root;
-            String channel = deriveChannelFromPayload(payload);
-            if (channel != null) {
-                routeToProcessor(channel, message);
+    protected String resolveRoutingKey(String message) {
+        JsonScanner scanner = new JsonScanner(message);
+        if (scanner.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        String eventType = null;
+        String symbol = null;
+        while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+            if (scanner.textEquals("stream")) {
+                if (scanner.nextToken() == JsonToken.STRING) {
+                    return scanner.getText();
+                }
+                scanner.skipChildren();
+            } else if (scanner.textEquals("data")) {
+                if (scanner.nextToken() != JsonToken.START_OBJECT) {
+                    scanner.skipChildren();
+                    continue;
+                }
+                String dataEventType = null;
+                String dataSymbol = null;
+                while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+                    if (scanner.textEquals("e")) {
+                        dataEventType = readString(scanner);
+                    } else if (scanner.textEquals("s")) {
+                        dataSymbol = readString(scanner);
+                    } else {
+                        scanner.skipValue();
+                    }
+                }
+                // the payload under data takes precedence over top level fields
+                eventType = dataEventType;
+                symbol = dataSymbol;
+                if (eventType != null && symbol != null) {
+                    break;
+                }
+            } else if (scanner.textEquals("e") && eventType == null) {
+                eventType = readString(scanner);
+            } else if (scanner.textEquals("s") && symbol == null) {
+                symbol = readString(scanner);
+            } else {
+                scanner.skipValue();
             }
-        } catch (Exception e) {
-            logger.debug("Error routing Aster multiplexed message", e);
         }
+        return deriveChannel(eventType, symbol);
     }
 
-    private void routeToProcessor(String channel, String message) {
-        IWebSocketProcessor processor = processorsByChannel.get(channel);
-        if (processor != null) {
-            processor.messageReceived(message);
+    private String readString(JsonScanner scanner) {
+        if (scanner.nextToken() == JsonToken.STRING) {
+            return scanner.getText();
         }
+        scanner.skipChildren();
+        return null;
     }
 
     /**
-     * Derives the channel key from the message payload when no {@code stream}
-     * field is present. Uses the {@code e} (event type) and {@code s} (symbol)
-     * fields to reconstruct the channel name.
+     * Derives the channel key from the payload's {@code e} (event type) and
+     * {@code s} (symbol) fields when no {@code stream} field is present.
      */
-    protected String deriveChannelFromPayload(JsonNode payload) {
-        if (payload == null || payload.isNull()) {
-            return null;
-        }
-        String symbol = payload.has("s") ? payload.get("s").asText() : null;
-        String eventType = payload.has("e") ? payload.get("e").asText() : null;
+    protected String deriveChannel(String eventType, String symbol) {
         if (symbol == null || symbol.isBlank() || eventType == null || eventType.isBlank()) {
             return null;
         }
-        String symbolLower = symbol.toLowerCase();
         String channelSuffix = mapEventTypeToChannelSuffix(eventType);
         if (channelSuffix == null) {
             return null;
         }
-        return symbolLower + channelSuffix;
+        return symbol.toLowerCase() + channelSuffix;
     }
 
     private String mapEventTypeToChannelSuffix(String eventType) {
@@ -119,37 +115,4 @@ public class AsterMultiplexingProcessor implements IWebSocketProcessor {
             default -> null;
         };
     }
-
-    @Override
-    public void connectionClosed(int code, String reason, boolean remote) {
-        logger.info("Shared Aster WebSocket connection closed: {}", reason);
-        if (closedListener != null) {
-            closedListener.connectionClosed();
-        }
-    }
-
-    @Override
-    public void connectionError(Exception error) {
-        logger.error("Shared Aster WebSocket connection error", error);
-        if (closedListener != null) {
-            closedListener.connectionClosed();
-        }
-    }
-
-    @Override
-    public void connectionEstablished() {
-        // no-op
-    }
-
-    @Override
-    public void connectionOpened() {
-        Runnable callback = onConnectedCallback;
-        if (callback != null) {
-            try {
-                callback.run();
-            } catch (Exception e) {
-                logger.warn("Error in shared WebSocket onConnected callback", e);
-            }
-        }
-    }
 }
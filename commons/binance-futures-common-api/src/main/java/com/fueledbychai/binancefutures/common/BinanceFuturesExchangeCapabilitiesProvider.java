@@ -2,6 +2,7 @@ package com.fueledbychai.binancefutures.common;
 
 import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.http.RateLimit;
 import com.fueledbychai.util.DefaultExchangeCapabilities;
 import com.fueledbychai.util.ExchangeCapabilities;
 import com.fueledbychai.util.ExchangeCapabilitiesProvider;
@@ -21,6 +22,7 @@ public class BinanceFuturesExchangeCapabilitiesProvider implements ExchangeCapab
                 .supportsHistoricalData(false)
                 .addInstrumentType(InstrumentType.PERPETUAL_FUTURES)
                 .addInstrumentType(InstrumentType.OPTION)
+                .restRateLimit(RateLimit.perMinute(2400))
                 .build();
     }
 }
@@ -3,7 +3,6 @@ package com.fueledbychai.binancefutures.common.api;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.net.Proxy;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -14,7 +13,9 @@ import com.fueledbychai.data.InstrumentDescriptor;
 import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.InstrumentType;
 import com.fueledbychai.http.BaseRestApi;
-import com.fueledbychai.websocket.ProxyConfig;
+import com.fueledbychai.http.OkHttpClientFactory;
+import com.fueledbychai.http.RequestPriority;
+import com.fueledbychai.http.RequestScheduler;
 
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
@@ -65,16 +66,12 @@ public class BinanceFuturesRestApi extends BaseRestApi implements IBinanceFuture
         this.publicApiOnly = accountAddress == null || privateKey == null || accountAddress.isBlank()
                 || privateKey.isBlank();
         this.client = createHttpClient();
+        this.requestScheduler = RequestScheduler.forRest(Exchange.BINANCE_FUTURES);
         this.objectMapper = new ObjectMapper();
     }
 
     protected OkHttpClient createHttpClient() {
-        Proxy proxy = ProxyConfig.getInstance().getProxy();
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
-        if (proxy != null && proxy != Proxy.NO_PROXY) {
-            builder.proxy(proxy);
-        }
-        return builder.build();
+        return OkHttpClientFactory.create(null, futuresBaseUrl);
     }
 
     @Override
@@ -154,6 +151,7 @@ public class BinanceFuturesRestApi extends BaseRestApi implements IBinanceFuture
             throw new IllegalArgumentException("Invalid URL for path " + path);
         }
         Request request = new Request.Builder().url(url).get().build();
+        pace(RequestPriority.QUERY, 1);
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 String body = response.body() != null ? response.body().string() : "";
@@ -21,6 +21,7 @@ package com.fueledbychai.binance;
 
 import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.http.RateLimit;
 import com.fueledbychai.util.DefaultExchangeCapabilities;
 import com.fueledbychai.util.ExchangeCapabilities;
 import com.fueledbychai.util.ExchangeCapabilitiesProvider;
@@ -39,6 +40,7 @@ public class BinanceExchangeCapabilitiesProvider implements ExchangeCapabilities
                 .supportsBrokerage(false)
                 .supportsHistoricalData(false)
                 .addInstrumentType(InstrumentType.CRYPTO_SPOT)
+                .restRateLimit(RateLimit.perMinute(6000))
                 .build();
     }
 }
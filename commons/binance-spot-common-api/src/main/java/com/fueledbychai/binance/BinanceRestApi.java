@@ -1,7 +1,6 @@
 package com.fueledbychai.binance;
 
 import java.io.IOException;
-import java.net.Proxy;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -11,9 +10,12 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fueledbychai.binance.model.BinanceInstrumentDescriptorResult;
+import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.InstrumentType;
 import com.fueledbychai.http.BaseRestApi;
-import com.fueledbychai.websocket.ProxyConfig;
+import com.fueledbychai.http.OkHttpClientFactory;
+import com.fueledbychai.http.RequestPriority;
+import com.fueledbychai.http.RequestScheduler;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
@@ -57,8 +59,9 @@ public class BinanceRestApi extends BaseRestApi implements IBinanceRestApi {
     }
 
     public BinanceRestApi(String baseUrl, String accountAddressString, String privateKeyString) {
-        this.client = createHttpClient();
         this.baseUrl = baseUrl;
+        this.client = createHttpClient();
+        this.requestScheduler = RequestScheduler.forRest(Exchange.BINANCE_SPOT);
         this.accountAddressString = accountAddressString;
         this.privateKeyString = privateKeyString;
         // Initialize ObjectMapper for JSON processing
@@ -70,12 +73,7 @@ public class BinanceRestApi extends BaseRestApi implements IBinanceRestApi {
     }
 
     protected OkHttpClient createHttpClient() {
-        Proxy proxy = ProxyConfig.getInstance().getProxy();
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
-        if (proxy != null && proxy != Proxy.NO_PROXY) {
-            builder.proxy(proxy);
-        }
-        return builder.build();
+        return OkHttpClientFactory.create(null, baseUrl);
     }
 
     @Override
@@ -91,6 +89,8 @@ public class BinanceRestApi extends BaseRestApi implements IBinanceRestApi {
         Request request = new Request.Builder().url(newUrl).get().build();
         logger.info("Request: " + request);
 
+        // exchangeInfo for every symbol costs 20 weight
+        pace(RequestPriority.QUERY, 20);
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 logger.error("Error response: " + response.body().string());
@@ -121,6 +121,7 @@ public class BinanceRestApi extends BaseRestApi implements IBinanceRestApi {
             throw new IllegalArgumentException("Invalid URL for path " + path);
         }
         Request request = new Request.Builder().url(parsedUrl).get().build();
+        pace(RequestPriority.QUERY, 2);
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 String body = response.body() != null ? response.body().string() : "";
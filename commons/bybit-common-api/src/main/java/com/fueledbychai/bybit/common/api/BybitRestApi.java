@@ -206,7 +206,7 @@ public class BybitRestApi implements IBybitRestApi {
     }
 
     protected OkHttpClient createHttpClient() {
-        return OkHttpClientFactory.create(REQUEST_TIMEOUT);
+        return OkHttpClientFactory.create(REQUEST_TIMEOUT, baseUrl);
     }
 
     protected Proxy resolveProxy() {
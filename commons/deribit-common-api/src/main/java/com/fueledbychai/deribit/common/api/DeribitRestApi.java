@@ -136,7 +136,7 @@ public class DeribitRestApi implements IDeribitRestApi {
     }
 
     protected OkHttpClient createHttpClient() {
-        return OkHttpClientFactory.create(REQUEST_TIMEOUT);
+        return OkHttpClientFactory.create(REQUEST_TIMEOUT, baseUrl);
     }
 
     protected String normalizeBaseUrl(String url) {
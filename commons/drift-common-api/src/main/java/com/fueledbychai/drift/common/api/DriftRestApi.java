@@ -28,7 +28,7 @@ import com.fueledbychai.drift.common.api.model.DriftMarketType;
 import com.fueledbychai.drift.common.api.model.DriftOrderBookLevel;
 import com.fueledbychai.drift.common.api.model.DriftOrderBookSnapshot;
 import com.fueledbychai.http.BaseRestApi;
-import com.fueledbychai.websocket.ProxyConfig;
+import com.fueledbychai.http.OkHttpClientFactory;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -82,11 +82,10 @@ public class DriftRestApi extends BaseRestApi implements IDriftRestApi {
     }
 
     protected OkHttpClient buildDefaultHttpClient() {
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        OkHttpClient.Builder builder = OkHttpClientFactory.newBuilder(dataApiUrl);
         builder.connectTimeout(Duration.ofSeconds(10));
         builder.readTimeout(Duration.ofSeconds(15));
         builder.writeTimeout(Duration.ofSeconds(15));
-        builder.proxy(ProxyConfig.getInstance().getProxy());
         return builder.build();
     }
 
@@ -62,9 +62,10 @@ public class Exchange implements Serializable {
     public static final Exchange DRIFT = new Exchange("DRIFT");
     public static final Exchange ASTER = new Exchange("ASTER");
     public static final Exchange HIBACHI = new Exchange("HIBACHI");
+    public static final Exchange REPLAY = new Exchange("REPLAY");
     public static final Exchange[] ALL_EXCHANGES = { ARCA, GLOBEX, NYMEX, CBOE, ECBOT, NYBOT, CFE, NYSE_LIFFE, IDEALPRO,
             PSE, INTERACTIVE_BROKERS_SMART, NASDAQ, TSEJ, SEHKNTL, SEHK, HKFE, OSE, SGX, BOX, DYDX, HYPERLIQUID,
-            PARADEX, LIGHTER, BINANCE_SPOT, BINANCE_FUTURES, DERIBIT, OKX, BYBIT, DRIFT, ASTER, HIBACHI };
+            PARADEX, LIGHTER, BINANCE_SPOT, BINANCE_FUTURES, DERIBIT, OKX, BYBIT, DRIFT, ASTER, HIBACHI, REPLAY };
 
 
     protected String exchangeName;
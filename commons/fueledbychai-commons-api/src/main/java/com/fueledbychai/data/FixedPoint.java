@@ -0,0 +1,245 @@
+package com.fueledbychai.data;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Helpers for fixed-point decimals held as scaled {@code long}s.
+ * <p>
+ * A value {@code v} at scale {@code s} is stored as {@code round(v * 10^s)}, so
+ * {@code 101.25} at scale 2 is {@code 10125}. Keeping prices and sizes as plain
+ * longs lets hot paths compare, add and subtract them without allocating; the
+ * BigDecimal and double conversions here are the adapters to the rest of the API.
+ * Scales range from 0 to {@link #MAX_SCALE}. Rounding is half-up unless stated
+ * otherwise, and any result that does not fit in a long throws
+ * {@link ArithmeticException}.
+ *
+ * @see FixedPointScale
+ */
+public final class FixedPoint {
+
+    public static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    /**
+     * @return {@code 10^scale}
+     */
+    public static long pow10(int scale) {
+        checkScale(scale);
+        return POWERS_OF_TEN[scale];
+    }
+
+    public static long toScaled(BigDecimal value, int scale) {
+        return toScaled(value, scale, RoundingMode.HALF_UP);
+    }
+
+    public static long toScaled(BigDecimal value, int scale, RoundingMode roundingMode) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is required");
+        }
+        checkScale(scale);
+        return value.setScale(scale, roundingMode).unscaledValue().longValueExact();
+    }
+
+    public static long toScaled(double value, int scale) {
+        checkScale(scale);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new ArithmeticException("value must be finite: " + value);
+        }
+        double scaled = value * POWERS_OF_TEN[scale];
+        if (Math.abs(scaled) >= 9.2e18) {
+            throw new ArithmeticException("value does not fit at scale " + scale + ": " + value);
+        }
+        return Math.round(scaled);
+    }
+
+    /**
+     * Parses a plain decimal string such as {@code "-101.250"} directly into a
+     * scaled long without creating a BigDecimal. Digits beyond the scale are
+     * rounded half-up. Strings in exponent notation fall back to BigDecimal
+     * parsing.
+     *
+     * @throws NumberFormatException if the text is not a decimal number
+     */
+    public static long parse(CharSequence text, int scale) {
+        if (text == null) {
+            throw new NumberFormatException("null");
+        }
+        return parse(text, 0, text.length(), scale);
+    }
+
+    /**
+     * Parses {@code text[start, end)}; see {@link #parse(CharSequence, int)}.
+     */
+    public static long parse(CharSequence text, int start, int end, int scale) {
+        checkScale(scale);
+        int i = start;
+        if (i >= end) {
+            throw new NumberFormatException("empty number");
+        }
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        long result = 0;
+        int fractionDigits = -1;
+        boolean sawDigit = false;
+        boolean roundUp = false;
+        for (; i < end; i++) {
+            c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sawDigit = true;
+                if (fractionDigits >= scale) {
+                    // first digit past the scale decides the rounding, the rest are ignored
+                    if (fractionDigits == scale) {
+                        roundUp = c >= '5';
+                        fractionDigits++;
+                    }
+                    continue;
+                }
+                result = Math.addExact(Math.multiplyExact(result, 10L), c - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c == 'e' || c == 'E') {
+                return toScaled(new BigDecimal(text.subSequence(start, end).toString()), scale);
+            } else {
+                throw new NumberFormatException("Invalid character '" + c + "' in " + text.subSequence(start, end));
+            }
+        }
+        if (!sawDigit) {
+            throw new NumberFormatException("No digits in " + text.subSequence(start, end));
+        }
+        int digits = Math.max(0, Math.min(fractionDigits, scale));
+        if (digits < scale) {
+            result = Math.multiplyExact(result, POWERS_OF_TEN[scale - digits]);
+        }
+        if (roundUp) {
+            result = Math.addExact(result, 1L);
+        }
+        return negative ? -result : result;
+    }
+
+    public static BigDecimal toBigDecimal(long scaled, int scale) {
+        checkScale(scale);
+        return BigDecimal.valueOf(scaled, scale);
+    }
+
+    public static double toDouble(long scaled, int scale) {
+        checkScale(scale);
+        return scale == 0 ? scaled : scaled / (double) POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * Converts a scaled value to another scale, rounding half-up when digits are
+     * dropped.
+     */
+    public static long rescale(long scaled, int fromScale, int toScale) {
+        checkScale(fromScale);
+        checkScale(toScale);
+        if (fromScale == toScale) {
+            return scaled;
+        }
+        if (toScale > fromScale) {
+            return Math.multiplyExact(scaled, POWERS_OF_TEN[toScale - fromScale]);
+        }
+        return divideHalfUp(scaled, POWERS_OF_TEN[fromScale - toScale]);
+    }
+
+    /**
+     * Multiplies two scaled values, e.g. a price by a quantity, returning the
+     * product at {@code resultScale}.
+     */
+    public static long multiply(long a, int aScale, long b, int bScale, int resultScale) {
+        checkScale(aScale);
+        checkScale(bScale);
+        checkScale(resultScale);
+        int productScale = aScale + bScale;
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            if (productScale <= MAX_SCALE) {
+                return rescale(low, productScale, resultScale);
+            }
+            if (productScale - resultScale <= MAX_SCALE && resultScale <= productScale) {
+                return divideHalfUp(low, POWERS_OF_TEN[productScale - resultScale]);
+            }
+        }
+        return BigDecimal.valueOf(a, aScale).multiply(BigDecimal.valueOf(b, bScale))
+                .setScale(resultScale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Rounds a scaled value to a multiple of {@code increment} (both at the same
+     * scale).
+     */
+    public static long roundToIncrement(long scaled, long increment, RoundingMode roundingMode) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("increment must be positive");
+        }
+        long remainder = Math.floorMod(scaled, increment);
+        if (remainder == 0) {
+            return scaled;
+        }
+        long floor = scaled - remainder;
+        switch (roundingMode) {
+        case FLOOR:
+            return floor;
+        case CEILING:
+            return Math.addExact(floor, increment);
+        case DOWN:
+            return scaled >= 0 ? floor : Math.addExact(floor, increment);
+        case UP:
+            return scaled >= 0 ? Math.addExact(floor, increment) : floor;
+        case HALF_UP:
+            return remainder * 2 >= increment ? Math.addExact(floor, increment) : floor;
+        default:
+            throw new IllegalArgumentException("Unsupported rounding mode: " + roundingMode);
+        }
+    }
+
+    /**
+     * @return the number of decimal places needed to represent the increment
+     *         exactly, e.g. 2 for {@code 0.01} and 0 for {@code 5}
+     */
+    public static int scaleOf(BigDecimal increment) {
+        if (increment == null || increment.signum() == 0) {
+            return 0;
+        }
+        int scale = Math.max(0, increment.stripTrailingZeros().scale());
+        if (scale > MAX_SCALE) {
+            throw new ArithmeticException("increment needs more than " + MAX_SCALE + " decimal places: " + increment);
+        }
+        return scale;
+    }
+
+    private static long divideHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += value < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+    }
+}
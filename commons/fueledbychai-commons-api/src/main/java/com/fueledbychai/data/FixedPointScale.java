@@ -0,0 +1,163 @@
+package com.fueledbychai.data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The fixed-point scales used for one instrument's prices and quantities.
+ * <p>
+ * {@link #forTicker(Ticker)} derives the price scale from the ticker's minimum
+ * tick size and the quantity scale from its order size increment, so every valid
+ * price and order size is an exact scaled long. Prices that arrive with more
+ * precision than the tick, e.g. mark prices or averages, are rounded half-up;
+ * callers that need them exactly should build a scale with extra digits.
+ */
+public final class FixedPointScale implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int priceScale;
+    private final int quantityScale;
+    private final long tickSize;
+    private final long lotSize;
+
+    public FixedPointScale(int priceScale, int quantityScale) {
+        this(priceScale, quantityScale, 1L, 1L);
+    }
+
+    private FixedPointScale(int priceScale, int quantityScale, long tickSize, long lotSize) {
+        FixedPoint.pow10(priceScale);
+        FixedPoint.pow10(quantityScale);
+        this.priceScale = priceScale;
+        this.quantityScale = quantityScale;
+        this.tickSize = tickSize;
+        this.lotSize = lotSize;
+    }
+
+    /**
+     * Builds the scale for a ticker from its minimum tick size and order size
+     * increment. Missing increments default to scale 0 with a unit step.
+     */
+    public static FixedPointScale forTicker(Ticker ticker) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("ticker is required");
+        }
+        BigDecimal tick = positiveOrNull(ticker.getMinimumTickSize());
+        BigDecimal lot = positiveOrNull(ticker.getOrderSizeIncrement());
+        int priceScale = FixedPoint.scaleOf(tick);
+        int quantityScale = FixedPoint.scaleOf(lot);
+        long tickSize = tick == null ? 1L : FixedPoint.toScaled(tick, priceScale);
+        long lotSize = lot == null ? 1L : FixedPoint.toScaled(lot, quantityScale);
+        return new FixedPointScale(priceScale, quantityScale, tickSize, lotSize);
+    }
+
+    private static BigDecimal positiveOrNull(BigDecimal value) {
+        return value == null || value.signum() <= 0 ? null : value;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getQuantityScale() {
+        return quantityScale;
+    }
+
+    /**
+     * @return the minimum tick as a scaled price
+     */
+    public long getTickSize() {
+        return tickSize;
+    }
+
+    /**
+     * @return the order size increment as a scaled quantity
+     */
+    public long getLotSize() {
+        return lotSize;
+    }
+
+    public long toPrice(BigDecimal price) {
+        return FixedPoint.toScaled(price, priceScale);
+    }
+
+    public long toPrice(double price) {
+        return FixedPoint.toScaled(price, priceScale);
+    }
+
+    public long parsePrice(CharSequence price) {
+        return FixedPoint.parse(price, priceScale);
+    }
+
+    public BigDecimal priceToBigDecimal(long price) {
+        return FixedPoint.toBigDecimal(price, priceScale);
+    }
+
+    public double priceToDouble(long price) {
+        return FixedPoint.toDouble(price, priceScale);
+    }
+
+    public long toQuantity(BigDecimal quantity) {
+        return FixedPoint.toScaled(quantity, quantityScale);
+    }
+
+    public long toQuantity(double quantity) {
+        return FixedPoint.toScaled(quantity, quantityScale);
+    }
+
+    public long parseQuantity(CharSequence quantity) {
+        return FixedPoint.parse(quantity, quantityScale);
+    }
+
+    public BigDecimal quantityToBigDecimal(long quantity) {
+        return FixedPoint.toBigDecimal(quantity, quantityScale);
+    }
+
+    public double quantityToDouble(long quantity) {
+        return FixedPoint.toDouble(quantity, quantityScale);
+    }
+
+    /**
+     * @return price times quantity as a scaled value at the price scale
+     */
+    public long notional(long price, long quantity) {
+        return FixedPoint.multiply(price, priceScale, quantity, quantityScale, priceScale);
+    }
+
+    public long roundPriceToTick(long price, RoundingMode roundingMode) {
+        return FixedPoint.roundToIncrement(price, tickSize, roundingMode);
+    }
+
+    public long roundQuantityToLot(long quantity, RoundingMode roundingMode) {
+        return FixedPoint.roundToIncrement(quantity, lotSize, roundingMode);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = priceScale;
+        result = 31 * result + quantityScale;
+        result = 31 * result + Long.hashCode(tickSize);
+        result = 31 * result + Long.hashCode(lotSize);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FixedPointScale)) {
+            return false;
+        }
+        FixedPointScale other = (FixedPointScale) obj;
+        return priceScale == other.priceScale && quantityScale == other.quantityScale && tickSize == other.tickSize
+                && lotSize == other.lotSize;
+    }
+
+    @Override
+    public String toString() {
+        return "FixedPointScale [priceScale=" + priceScale + ", quantityScale=" + quantityScale + ", tickSize="
+                + tickSize + ", lotSize=" + lotSize + "]";
+    }
+}
@@ -55,6 +55,8 @@ public class Ticker implements Serializable {
     protected BigDecimal strike = null;
     protected Right right = Right.NONE;
     protected int fundingRateInterval = 0;
+    protected transient volatile FixedPointScale fixedPointScale;
+    protected transient volatile int tickerId;
 
     public Ticker() {
     }
@@ -69,6 +71,7 @@ public class Ticker implements Serializable {
 
     public Ticker setCurrency(String currency) {
         this.currency = currency;
+        this.tickerId = 0;
         return this;
     }
 
@@ -78,6 +81,7 @@ public class Ticker implements Serializable {
 
     public Ticker setExchange(Exchange exchange) {
         this.exchange = exchange;
+        this.tickerId = 0;
         return this;
     }
 
@@ -87,6 +91,7 @@ public class Ticker implements Serializable {
 
     public Ticker setSymbol(String symbol) {
         this.symbol = symbol;
+        this.tickerId = 0;
         return this;
     }
 
@@ -96,6 +101,7 @@ public class Ticker implements Serializable {
 
     public Ticker setMinimumTickSize(BigDecimal minimumTickSize) {
         this.minimumTickSize = minimumTickSize;
+        this.fixedPointScale = null;
         return this;
     }
 
@@ -127,6 +133,33 @@ public class Ticker implements Serializable {
         return formatPrice(price);
     }
 
+    /**
+     * Returns the fixed-point scales for this ticker's prices and quantities,
+     * derived from the minimum tick size and order size increment.
+     */
+    public FixedPointScale getFixedPointScale() {
+        FixedPointScale scale = fixedPointScale;
+        if (scale == null) {
+            scale = FixedPointScale.forTicker(this);
+            fixedPointScale = scale;
+        }
+        return scale;
+    }
+
+    /**
+     * Returns the dense int ID of this instrument, assigning one on first use.
+     * Tickers for the same instrument share an ID, so it can index arrays and
+     * int maps in place of hashing the ticker. See {@link TickerIds}.
+     */
+    public int getTickerId() {
+        int id = tickerId;
+        if (id == 0) {
+            id = TickerIds.intern(this);
+            tickerId = id;
+        }
+        return id;
+    }
+
     public BigDecimal getContractMultiplier() {
         return contractMultiplier;
     }
@@ -172,6 +205,7 @@ public class Ticker implements Serializable {
 
     public Ticker setOrderSizeIncrement(BigDecimal orderSizeIncrement) {
         this.orderSizeIncrement = orderSizeIncrement;
+        this.fixedPointScale = null;
         return this;
     }
 
@@ -181,6 +215,7 @@ public class Ticker implements Serializable {
 
     public Ticker setRight(Right right) {
         this.right = right;
+        this.tickerId = 0;
         return this;
     }
 
@@ -190,6 +225,7 @@ public class Ticker implements Serializable {
 
     public Ticker setInstrumentType(InstrumentType instrumentType) {
         this.instrumentType = instrumentType;
+        this.tickerId = 0;
         return this;
     }
 
@@ -199,6 +235,7 @@ public class Ticker implements Serializable {
 
     public Ticker setExpiryMonth(int expiryMonth) {
         this.expiryMonth = expiryMonth;
+        this.tickerId = 0;
         return this;
     }
 
@@ -208,6 +245,7 @@ public class Ticker implements Serializable {
 
     public Ticker setExpiryYear(int expiryYear) {
         this.expiryYear = expiryYear;
+        this.tickerId = 0;
         return this;
     }
 
@@ -217,6 +255,7 @@ public class Ticker implements Serializable {
 
     public Ticker setExpiryDay(int expiryDay) {
         this.expiryDay = expiryDay;
+        this.tickerId = 0;
         return this;
     }
 
@@ -226,6 +265,7 @@ public class Ticker implements Serializable {
 
     public Ticker setStrike(BigDecimal strike) {
         this.strike = strike;
+        this.tickerId = 0;
         return this;
     }
 
@@ -255,6 +295,7 @@ public class Ticker implements Serializable {
 
     public Ticker setId(String id) {
         this.id = id;
+        this.tickerId = 0;
         return this;
     }
 
@@ -0,0 +1,98 @@
+package com.fueledbychai.data;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A map from tickers to values backed by an array indexed by
+ * {@link Ticker#getTickerId()}, so lookups never hash the ticker.
+ * <p>
+ * Reads are lock-free and may run concurrently with writes; writes are
+ * serialized. Null values are not stored.
+ */
+public class TickerIdMap<V> {
+
+    protected volatile AtomicReferenceArray<V> values;
+    protected int size;
+
+    public TickerIdMap() {
+        this(Math.max(16, TickerIds.capacity()));
+    }
+
+    public TickerIdMap(int initialCapacity) {
+        this.values = new AtomicReferenceArray<>(Math.max(1, initialCapacity));
+    }
+
+    public V get(Ticker ticker) {
+        return ticker == null ? null : get(ticker.getTickerId());
+    }
+
+    public V get(int tickerId) {
+        AtomicReferenceArray<V> current = values;
+        if (tickerId < 0 || tickerId >= current.length()) {
+            return null;
+        }
+        return current.get(tickerId);
+    }
+
+    /**
+     * @return the previous value, or null if there was none
+     */
+    public synchronized V put(Ticker ticker, V value) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("ticker is required");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("value is required");
+        }
+        int tickerId = ticker.getTickerId();
+        ensureCapacity(tickerId);
+        V previous = values.getAndSet(tickerId, value);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * @return the removed value, or null if there was none
+     */
+    public synchronized V remove(Ticker ticker) {
+        if (ticker == null) {
+            return null;
+        }
+        int tickerId = ticker.getTickerId();
+        if (tickerId >= values.length()) {
+            return null;
+        }
+        V previous = values.getAndSet(tickerId, null);
+        if (previous != null) {
+            size--;
+        }
+        return previous;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        values = new AtomicReferenceArray<>(values.length());
+        size = 0;
+    }
+
+    protected void ensureCapacity(int tickerId) {
+        AtomicReferenceArray<V> current = values;
+        if (tickerId < current.length()) {
+            return;
+        }
+        int length = current.length();
+        while (length <= tickerId) {
+            length *= 2;
+        }
+        AtomicReferenceArray<V> grown = new AtomicReferenceArray<>(length);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        values = grown;
+    }
+}
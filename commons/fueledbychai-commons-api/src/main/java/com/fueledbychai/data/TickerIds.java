@@ -0,0 +1,118 @@
+package com.fueledbychai.data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Assigns every instrument in the JVM a dense, stable int ID starting at 1.
+ * <p>
+ * An instrument is identified by its exchange, instrument type, symbol,
+ * exchange ID, currency, expiry, strike and right, so tickers built separately
+ * for the same instrument share an ID while tick sizes and other attributes may
+ * change. Unlike {@link Ticker#equals(Object)}, the key ignores the primary
+ * exchange, tick and order sizes, contract multiplier and funding interval:
+ * they describe how an instrument trades rather than which instrument it is,
+ * and the primary exchange only qualifies a SMART-routed listing that the
+ * symbol and currency already name. IDs are never reused, and looking up the ticker for an ID is an array
+ * read. Registries call {@link #register(Ticker)} so their ticker is the one
+ * returned by {@link #lookup(int)}; any other ticker is assigned an ID the first
+ * time {@link Ticker#getTickerId()} is called.
+ */
+public final class TickerIds {
+
+    public static final int NO_ID = 0;
+
+    private static final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private static volatile AtomicReferenceArray<Ticker> tickers = new AtomicReferenceArray<>(256);
+    private static int nextId = 1;
+
+    private TickerIds() {
+    }
+
+    /**
+     * Returns the ID of the ticker's instrument, assigning a new one if the
+     * instrument has not been seen before.
+     */
+    public static int intern(Ticker ticker) {
+        return assign(ticker, false);
+    }
+
+    /**
+     * Assigns the ticker its instrument's ID and makes it the ticker returned by
+     * {@link #lookup(int)} for that ID.
+     */
+    public static int register(Ticker ticker) {
+        return assign(ticker, true);
+    }
+
+    /**
+     * @return the ticker for the ID, or null if the ID has not been assigned
+     */
+    public static Ticker lookup(int id) {
+        AtomicReferenceArray<Ticker> current = tickers;
+        if (id <= NO_ID || id >= current.length()) {
+            return null;
+        }
+        return current.get(id);
+    }
+
+    /**
+     * @return one more than the highest ID assigned so far, which is the length an
+     *         array indexed by ID needs to hold every instrument
+     */
+    public static synchronized int capacity() {
+        return nextId;
+    }
+
+    private static int assign(Ticker ticker, boolean replace) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("ticker is required");
+        }
+        String key = keyOf(ticker);
+        Integer existing = idsByKey.get(key);
+        if (existing != null && !replace) {
+            ticker.tickerId = existing;
+            return existing;
+        }
+        synchronized (TickerIds.class) {
+            Integer id = idsByKey.get(key);
+            if (id == null) {
+                id = nextId++;
+                ensureCapacity(id);
+                idsByKey.put(key, id);
+                tickers.set(id, ticker);
+            } else if (replace) {
+                tickers.set(id, ticker);
+            }
+            ticker.tickerId = id;
+            return id;
+        }
+    }
+
+    private static void ensureCapacity(int id) {
+        AtomicReferenceArray<Ticker> current = tickers;
+        if (id < current.length()) {
+            return;
+        }
+        AtomicReferenceArray<Ticker> grown = new AtomicReferenceArray<>(current.length() * 2);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        tickers = grown;
+    }
+
+    private static String keyOf(Ticker ticker) {
+        BigDecimal strike = ticker.getStrike();
+        StringBuilder key = new StringBuilder(64);
+        key.append(ticker.getExchange() == null ? "" : ticker.getExchange().getExchangeName()).append('|')
+                .append(ticker.getInstrumentType()).append('|').append(ticker.getSymbol()).append('|')
+                .append(ticker.getId()).append('|').append(ticker.getCurrency()).append('|')
+                .append(ticker.getExpiryYear()).append('-').append(ticker.getExpiryMonth()).append('-')
+                .append(ticker.getExpiryDay()).append('|')
+                .append(strike == null ? "" : strike.stripTrailingZeros().toPlainString()).append('|')
+                .append(ticker.getRight());
+        return key.toString();
+    }
+}
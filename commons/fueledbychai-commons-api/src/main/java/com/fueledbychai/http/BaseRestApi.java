@@ -9,14 +9,46 @@ public abstract class BaseRestApi {
 
     protected final Logger baseLogger = LoggerFactory.getLogger(getClass());
 
+    /** Paces this API's requests; null sends them straight away. */
+    protected RequestScheduler requestScheduler;
+
     @FunctionalInterface
     protected interface RetryableAction {
         void run() throws Exception;
     }
 
+    public RequestScheduler getRequestScheduler() {
+        return requestScheduler;
+    }
+
+    public void setRequestScheduler(RequestScheduler requestScheduler) {
+        this.requestScheduler = requestScheduler;
+    }
+
+    /**
+     * Waits until the request scheduler lets a request of this priority and
+     * weight through. Call before sending a request that does not go through
+     * {@code executeWithRetry}.
+     */
+    protected void pace(RequestPriority priority, int weight) {
+        RequestScheduler scheduler = requestScheduler;
+        if (scheduler != null) {
+            scheduler.acquire(priority, weight);
+        }
+    }
+
     protected void executeWithRetry(RetryableAction action, int maxRetries, long retryDelayMillis) {
+        executeWithRetry(RequestPriority.QUERY, 1, action, maxRetries, retryDelayMillis);
+    }
+
+    /**
+     * Runs the action, pacing every attempt at the given priority and weight.
+     */
+    protected void executeWithRetry(RequestPriority priority, int weight, RetryableAction action, int maxRetries,
+            long retryDelayMillis) {
         int retries = 0;
         while (true) {
+            pace(priority, weight);
             try {
                 action.run();
                 return;
@@ -41,8 +73,17 @@ public abstract class BaseRestApi {
     }
 
     protected <T> T executeWithRetry(Callable<T> action, int maxRetries, long retryDelayMillis) {
+        return executeWithRetry(RequestPriority.QUERY, 1, action, maxRetries, retryDelayMillis);
+    }
+
+    /**
+     * Runs the action, pacing every attempt at the given priority and weight.
+     */
+    protected <T> T executeWithRetry(RequestPriority priority, int weight, Callable<T> action, int maxRetries,
+            long retryDelayMillis) {
         int retries = 0;
         while (true) {
+            pace(priority, weight);
             try {
                 return action.call();
             } catch (java.net.SocketTimeoutException | IllegalStateException e) {
@@ -0,0 +1,82 @@
+package com.fueledbychai.http;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fueledbychai.time.LatencyHistogram;
+import com.fueledbychai.time.LatencySnapshot;
+
+/**
+ * Latency counters for one REST host, recorded by every client built by
+ * {@link OkHttpClientFactory}. Call latency covers the whole call, including
+ * any connect; connect latency is the TCP and TLS handshake alone, so a rising
+ * connect count means requests are landing on cold connections. Keep-warm
+ * pings count as connects but not as calls.
+ */
+public class HttpHostMetrics {
+
+    protected final String host;
+    protected final LatencyHistogram callLatency = new LatencyHistogram();
+    protected final LatencyHistogram connectLatency = new LatencyHistogram();
+    protected final LongAdder failures = new LongAdder();
+    protected volatile long lastActivityNanos = System.nanoTime();
+
+    public HttpHostMetrics(String host) {
+        if (host == null) {
+            throw new IllegalArgumentException("host is required");
+        }
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public LatencySnapshot getCallLatency() {
+        return callLatency.snapshot();
+    }
+
+    public LatencySnapshot getConnectLatency() {
+        return connectLatency.snapshot();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return nanoseconds since a call to the host last finished
+     */
+    public long getIdleNanos() {
+        return System.nanoTime() - lastActivityNanos;
+    }
+
+    public void recordCall(long nanos) {
+        callLatency.record(nanos);
+        lastActivityNanos = System.nanoTime();
+    }
+
+    public void recordConnect(long nanos) {
+        connectLatency.record(nanos);
+    }
+
+    public void recordFailure() {
+        failures.increment();
+        lastActivityNanos = System.nanoTime();
+    }
+
+    protected void recordActivity() {
+        lastActivityNanos = System.nanoTime();
+    }
+
+    public void reset() {
+        callLatency.reset();
+        connectLatency.reset();
+        failures.reset();
+    }
+
+    @Override
+    public String toString() {
+        return host + " calls[" + getCallLatency() + "] connects[" + getConnectLatency() + "] failures="
+                + getFailureCount();
+    }
+}
@@ -1,35 +1,341 @@
 package com.fueledbychai.http;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.fueledbychai.websocket.ProxyConfig;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
 
+/**
+ * Builds the OkHttp clients used by the exchange REST APIs.
+ * <p>
+ * Every client shares one dispatcher, and every client for the same host
+ * shares that host's connection pool, so the process keeps a bounded number of
+ * threads and each venue keeps its own warm connections however many API
+ * objects talk to it. Clients built for a base URL open a connection to it
+ * straight away and, while the host is otherwise idle, send a HEAD request every
+ * ping interval so the first order after a quiet period does not pay for the
+ * TCP and TLS handshake. Latency per host is available from
+ * {@link #getHostMetrics(String)}.
+ * <p>
+ * Limits are read once from system properties, falling back to environment
+ * variables named like {@code FUELEDBYCHAI_HTTP_MAX_REQUESTS}:
+ * {@value #MAX_REQUESTS_PROPERTY}, {@value #MAX_REQUESTS_PER_HOST_PROPERTY},
+ * {@value #MAX_IDLE_CONNECTIONS_PROPERTY} (per host),
+ * {@value #KEEP_ALIVE_SECONDS_PROPERTY} and {@value #PING_INTERVAL_SECONDS_PROPERTY}
+ * (0 turns warm-up and pings off). Setting {@value #WARM_UP_PROPERTY} to false,
+ * or calling {@link #setWarmUpEnabled(boolean)}, stops the HEAD requests but
+ * keeps the pools and HTTP/2 pings; unit tests run with it off so building an
+ * API object does not reach the network.
+ */
 public final class OkHttpClientFactory {
 
+    public static final String MAX_REQUESTS_PROPERTY = "fueledbychai.http.max.requests";
+    public static final String MAX_REQUESTS_PER_HOST_PROPERTY = "fueledbychai.http.max.requests.per.host";
+    public static final String MAX_IDLE_CONNECTIONS_PROPERTY = "fueledbychai.http.max.idle.connections";
+    public static final String KEEP_ALIVE_SECONDS_PROPERTY = "fueledbychai.http.keep.alive.seconds";
+    public static final String PING_INTERVAL_SECONDS_PROPERTY = "fueledbychai.http.ping.interval.seconds";
+    public static final String WARM_UP_PROPERTY = "fueledbychai.http.warm.up";
+
+    private static final Logger logger = LoggerFactory.getLogger(OkHttpClientFactory.class);
+
+    private static final int MAX_REQUESTS = getIntProperty(MAX_REQUESTS_PROPERTY, 128);
+    private static final int MAX_REQUESTS_PER_HOST = getIntProperty(MAX_REQUESTS_PER_HOST_PROPERTY, 32);
+    private static final int MAX_IDLE_CONNECTIONS = getIntProperty(MAX_IDLE_CONNECTIONS_PROPERTY, 5);
+    private static final int KEEP_ALIVE_SECONDS = getIntProperty(KEEP_ALIVE_SECONDS_PROPERTY, 300);
+    private static final int PING_INTERVAL_SECONDS = getIntProperty(PING_INTERVAL_SECONDS_PROPERTY, 30);
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Map<String, ConnectionPool> pools = new ConcurrentHashMap<>();
+    private static final Map<String, HttpHostMetrics> metrics = new ConcurrentHashMap<>();
+    private static final Map<String, WarmHost> warmHosts = new ConcurrentHashMap<>();
+    private static volatile OkHttpClient core;
+    private static volatile boolean warmUpEnabled = getBooleanProperty(WARM_UP_PROPERTY, true);
+    private static ScheduledExecutorService pinger;
+
+    /** Tags keep-warm requests so they are not counted as calls. */
+    private static final class WarmUp {
+    }
+
+    private static final class WarmHost {
+        private final HttpUrl url;
+        private final OkHttpClient client;
+
+        private WarmHost(HttpUrl url, OkHttpClient client) {
+            this.url = url;
+            this.client = client;
+        }
+    }
+
     private OkHttpClientFactory() {
     }
 
     public static OkHttpClient create(Duration timeout) {
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        return create(timeout, null);
+    }
+
+    public static OkHttpClient create() {
+        return create(null);
+    }
+
+    /**
+     * @param baseUrl the REST endpoint the client talks to; the client uses that
+     *                host's connection pool and keeps it warm. May be null.
+     */
+    public static OkHttpClient create(Duration timeout, String baseUrl) {
+        OkHttpClient.Builder builder = newBuilder(baseUrl);
         if (timeout != null) {
             builder.connectTimeout(timeout)
                     .readTimeout(timeout)
                     .writeTimeout(timeout)
                     .callTimeout(timeout);
         }
+        return builder.build();
+    }
+
+    /**
+     * Starts a client on the shared core for callers that need their own
+     * timeouts or interceptors. Proxy settings and the wire tap are already
+     * applied.
+     *
+     * @param baseUrl the REST endpoint the client talks to, or null
+     */
+    public static OkHttpClient.Builder newBuilder(String baseUrl) {
+        OkHttpClient.Builder builder = getCore().newBuilder();
+        HttpUrl url = baseUrl == null ? null : HttpUrl.parse(baseUrl);
+        if (url != null) {
+            builder.connectionPool(getPool(url.host()));
+            if (PING_INTERVAL_SECONDS > 0) {
+                // keeps idle HTTP/2 connections open through NATs and load balancers
+                builder.pingInterval(Duration.ofSeconds(PING_INTERVAL_SECONDS));
+            }
+        } else if (baseUrl != null) {
+            logger.warn("Not keeping {} warm, it is not an HTTP URL", baseUrl);
+        }
 
         Proxy proxy = ProxyConfig.getInstance().getProxy();
         if (proxy != null && proxy != Proxy.NO_PROXY) {
             builder.proxy(proxy);
         }
         builder.addInterceptor(new WireTapInterceptor());
-        return builder.build();
+        if (url != null) {
+            warmUp(url, builder);
+        }
+        return builder;
     }
 
-    public static OkHttpClient create() {
-        return create(null);
+    /**
+     * Turns the keep-warm HEAD requests on or off. Hosts first seen while it is
+     * off are not kept warm once it is turned back on.
+     */
+    public static void setWarmUpEnabled(boolean enabled) {
+        warmUpEnabled = enabled;
+    }
+
+    public static boolean isWarmUpEnabled() {
+        return warmUpEnabled;
+    }
+
+    /**
+     * @return the metrics for the host, or null if no call has been made to it
+     */
+    public static HttpHostMetrics getHostMetrics(String host) {
+        return host == null ? null : metrics.get(host);
+    }
+
+    /**
+     * @return the metrics of every host called so far, by host
+     */
+    public static Map<String, HttpHostMetrics> getAllHostMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * @return the dispatcher every client shares
+     */
+    public static Dispatcher getDispatcher() {
+        return getCore().dispatcher();
+    }
+
+    private static OkHttpClient getCore() {
+        OkHttpClient current = core;
+        if (current != null) {
+            return current;
+        }
+        synchronized (OkHttpClientFactory.class) {
+            if (core == null) {
+                Dispatcher dispatcher = new Dispatcher();
+                dispatcher.setMaxRequests(MAX_REQUESTS);
+                dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+                core = new OkHttpClient.Builder()
+                        .dispatcher(dispatcher)
+                        .connectionPool(newPool())
+                        .eventListenerFactory(call -> new MetricsListener())
+                        .build();
+            }
+            return core;
+        }
+    }
+
+    private static ConnectionPool getPool(String host) {
+        return pools.computeIfAbsent(host, h -> newPool());
+    }
+
+    private static ConnectionPool newPool() {
+        return new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static HttpHostMetrics getMetrics(Call call) {
+        return metrics.computeIfAbsent(call.request().url().host(), HttpHostMetrics::new);
+    }
+
+    private static void warmUp(HttpUrl url, OkHttpClient.Builder builder) {
+        if (PING_INTERVAL_SECONDS <= 0 || !warmUpEnabled || warmHosts.containsKey(url.host())) {
+            return;
+        }
+        OkHttpClient client = builder.build().newBuilder()
+                .callTimeout(WARM_UP_TIMEOUT)
+                .build();
+        if (warmHosts.putIfAbsent(url.host(), new WarmHost(url, client)) == null) {
+            ping(url, client);
+            startPinger();
+        }
+    }
+
+    private static synchronized void startPinger() {
+        if (pinger != null) {
+            return;
+        }
+        pinger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "okhttp-keep-warm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pinger.scheduleAtFixedRate(OkHttpClientFactory::pingIdleHosts, PING_INTERVAL_SECONDS,
+                PING_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void pingIdleHosts() {
+        if (!warmUpEnabled) {
+            return;
+        }
+        long interval = TimeUnit.SECONDS.toNanos(PING_INTERVAL_SECONDS);
+        for (WarmHost warmHost : warmHosts.values()) {
+            if (isPingDue(metrics.get(warmHost.url.host()), interval)) {
+                ping(warmHost.url, warmHost.client);
+            }
+        }
+    }
+
+    /**
+     * The pinger ticks once per interval, so a host idle for half an interval
+     * is pinged on this tick; waiting for a whole interval of idle time would
+     * let a quiet host go nearly two intervals between requests.
+     */
+    static boolean isPingDue(HttpHostMetrics hostMetrics, long intervalNanos) {
+        return hostMetrics == null || hostMetrics.getIdleNanos() >= intervalNanos / 2;
+    }
+
+    private static void ping(HttpUrl url, OkHttpClient client) {
+        Request request = new Request.Builder().url(url).head().tag(WarmUp.class, new WarmUp()).build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                logger.debug("Keep-warm request to {} failed", url.host(), e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        });
+    }
+
+    private static boolean getBooleanProperty(String name, boolean defaultValue) {
+        String value = getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    private static String getProperty(String name) {
+        String value = System.getProperty(name);
+        return value != null ? value : System.getenv(name.toUpperCase().replace('.', '_'));
+    }
+
+    private static int getIntProperty(String name, int defaultValue) {
+        String value = getProperty(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid {} '{}'", name, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Times each call and handshake. One instance per call, so fields need no
+     * synchronization.
+     */
+    private static final class MetricsListener extends EventListener {
+        private long callStartNanos;
+        private long connectStartNanos;
+
+        @Override
+        public void callStart(Call call) {
+            callStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            connectStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+            getMetrics(call).recordConnect(System.nanoTime() - connectStartNanos);
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            HttpHostMetrics hostMetrics = getMetrics(call);
+            if (call.request().tag(WarmUp.class) != null) {
+                hostMetrics.recordActivity();
+            } else {
+                hostMetrics.recordCall(System.nanoTime() - callStartNanos);
+            }
+        }
+
+        @Override
+        public void callFailed(Call call, IOException e) {
+            HttpHostMetrics hostMetrics = getMetrics(call);
+            if (call.request().tag(WarmUp.class) != null) {
+                hostMetrics.recordActivity();
+            } else {
+                hostMetrics.recordFailure();
+            }
+        }
     }
 }
@@ -0,0 +1,81 @@
+package com.fueledbychai.http;
+
+/**
+ * An exchange limit of a total request weight per period, e.g. 2400 weight per
+ * minute. The full weight may be used in a burst; it then comes back evenly
+ * over the period.
+ */
+public class RateLimit {
+
+    protected final long weight;
+    protected final long periodMillis;
+
+    public RateLimit(long weight, long periodMillis) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be > 0");
+        }
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("periodMillis must be > 0");
+        }
+        this.weight = weight;
+        this.periodMillis = periodMillis;
+    }
+
+    public static RateLimit perSecond(long weight) {
+        return new RateLimit(weight, 1000L);
+    }
+
+    public static RateLimit perMinute(long weight) {
+        return new RateLimit(weight, 60_000L);
+    }
+
+    /**
+     * Parses {@code <weight>/<seconds>}, e.g. {@code 2400/60} or {@code 5/0.5}.
+     */
+    public static RateLimit parse(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is required");
+        }
+        int slash = value.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Rate limit must be <weight>/<seconds>: " + value);
+        }
+        try {
+            long weight = Long.parseLong(value.substring(0, slash).trim());
+            double seconds = Double.parseDouble(value.substring(slash + 1).trim());
+            return new RateLimit(weight, Math.round(seconds * 1000.0));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Rate limit must be <weight>/<seconds>: " + value, e);
+        }
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RateLimit)) {
+            return false;
+        }
+        RateLimit other = (RateLimit) obj;
+        return weight == other.weight && periodMillis == other.periodMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(weight) * 31 + Long.hashCode(periodMillis);
+    }
+
+    @Override
+    public String toString() {
+        return weight + "/" + (periodMillis / 1000.0) + "s";
+    }
+}
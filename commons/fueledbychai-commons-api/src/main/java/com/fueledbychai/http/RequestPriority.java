@@ -0,0 +1,14 @@
+package com.fueledbychai.http;
+
+/**
+ * The lanes of a {@link RequestScheduler}, highest priority first. A waiting
+ * request only goes out once no request in a higher lane is waiting.
+ */
+public enum RequestPriority {
+    /** Cancels and other requests that reduce risk. */
+    CANCEL,
+    /** New and modified orders. */
+    PLACE,
+    /** Informational requests such as open orders, positions and market data. */
+    QUERY
+}
@@ -0,0 +1,214 @@
+package com.fueledbychai.http;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.util.ExchangeCapabilities;
+import com.fueledbychai.util.ExchangeCapabilitiesRegistry;
+
+/**
+ * Paces the requests sent to one exchange so they stay inside its
+ * {@link RateLimit}, holding callers back instead of letting the exchange
+ * reject them.
+ * <p>
+ * The limit is a token bucket holding the limit's weight. A caller asks for
+ * the weight of its request and waits until the bucket has it. Waiting callers
+ * are served by {@link RequestPriority}, then in arrival order, so a cancel
+ * never queues behind a place and a place never queues behind a query. A
+ * scheduler without a limit lets every request straight through.
+ * <p>
+ * {@link #forRest(Exchange)} and {@link #forWebSocket(Exchange)} return one
+ * shared scheduler per exchange. Their limits come from the system property
+ * {@code fueledbychai.ratelimit.<exchange>.rest} or {@code .ws}, then the
+ * environment variable with the same name in upper case with underscores,
+ * e.g. {@code FUELEDBYCHAI_RATELIMIT_BINANCE_FUTURES_REST=2400/60}, then the
+ * exchange's {@link ExchangeCapabilities}.
+ */
+public class RequestScheduler {
+
+    public static final String PROPERTY_PREFIX = "fueledbychai.ratelimit.";
+
+    protected static final Logger logger = LoggerFactory.getLogger(RequestScheduler.class);
+
+    private static final Map<String, RequestScheduler> schedulers = new ConcurrentHashMap<>();
+
+    protected static final class Ticket implements Comparable<Ticket> {
+        protected final RequestPriority priority;
+        protected final long sequence;
+        protected final long weight;
+
+        protected Ticket(RequestPriority priority, long sequence, long weight) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    protected final String name;
+    protected final RateLimit limit;
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final Condition changed = lock.newCondition();
+    protected final PriorityQueue<Ticket> waiting = new PriorityQueue<>();
+    protected final double nanosPerWeight;
+    protected double available;
+    protected long refilledNanos;
+    protected long sequence;
+
+    /**
+     * @param limit the exchange limit, or null to never wait
+     */
+    public RequestScheduler(String name, RateLimit limit) {
+        if (name == null) {
+            throw new IllegalArgumentException("name is required");
+        }
+        this.name = name;
+        this.limit = limit;
+        this.nanosPerWeight = limit == null ? 0.0
+                : (double) TimeUnit.MILLISECONDS.toNanos(limit.getPeriodMillis()) / limit.getWeight();
+        this.available = limit == null ? 0.0 : limit.getWeight();
+        this.refilledNanos = System.nanoTime();
+    }
+
+    public static RequestScheduler forRest(Exchange exchange) {
+        return forExchange(exchange, "rest");
+    }
+
+    public static RequestScheduler forWebSocket(Exchange exchange) {
+        return forExchange(exchange, "ws");
+    }
+
+    protected static RequestScheduler forExchange(Exchange exchange, String channel) {
+        if (exchange == null) {
+            throw new IllegalArgumentException("Exchange is required");
+        }
+        String name = exchange.getExchangeName().toLowerCase() + "." + channel;
+        return schedulers.computeIfAbsent(name, n -> new RequestScheduler(n, resolveLimit(exchange, channel, n)));
+    }
+
+    protected static RateLimit resolveLimit(Exchange exchange, String channel, String name) {
+        String property = PROPERTY_PREFIX + name;
+        String value = System.getProperty(property);
+        if (value == null) {
+            value = System.getenv(property.toUpperCase().replace('.', '_'));
+        }
+        if (value != null && !value.isBlank()) {
+            try {
+                return RateLimit.parse(value);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring invalid {} '{}'", property, value);
+            }
+        }
+        try {
+            if (ExchangeCapabilitiesRegistry.isRegistered(exchange)) {
+                ExchangeCapabilities capabilities = ExchangeCapabilitiesRegistry.getCapabilities(exchange);
+                return "ws".equals(channel) ? capabilities.getWebSocketRateLimit() : capabilities.getRestRateLimit();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Unable to read the rate limit for {}", exchange.getExchangeName(), e);
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the limit, or null if requests are never held back
+     */
+    public RateLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Waits until the request may be sent. A weight above the limit's weight is
+     * treated as the whole limit.
+     *
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    public void acquire(RequestPriority priority, int weight) {
+        if (priority == null) {
+            throw new IllegalArgumentException("priority is required");
+        }
+        if (limit == null) {
+            return;
+        }
+        long cost = Math.min(Math.max(1, weight), limit.getWeight());
+        lock.lock();
+        try {
+            Ticket ticket = new Ticket(priority, sequence++, cost);
+            waiting.add(ticket);
+            // the ticket may now be ahead of one that is waiting for weight
+            changed.signalAll();
+            try {
+                while (true) {
+                    if (waiting.peek() != ticket) {
+                        changed.await();
+                        continue;
+                    }
+                    refill();
+                    if (available >= cost) {
+                        available -= cost;
+                        waiting.poll();
+                        changed.signalAll();
+                        return;
+                    }
+                    changed.awaitNanos((long) Math.ceil((cost - available) * nanosPerWeight));
+                }
+            } catch (InterruptedException e) {
+                waiting.remove(ticket);
+                changed.signalAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the " + name + " rate limit", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the request's turn and then runs it on the calling thread.
+     */
+    public <T> T execute(RequestPriority priority, int weight, Callable<T> request) throws Exception {
+        acquire(priority, weight);
+        return request.call();
+    }
+
+    /**
+     * @return the number of requests waiting in all lanes
+     */
+    public int getQueueLength() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected void refill() {
+        long now = System.nanoTime();
+        available = Math.min(limit.getWeight(), available + (now - refilledNanos) / nanosPerWeight);
+        refilledNanos = now;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + (limit == null ? "unlimited" : limit);
+    }
+}
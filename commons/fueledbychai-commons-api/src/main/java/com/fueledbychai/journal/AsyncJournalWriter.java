@@ -0,0 +1,204 @@
+package com.fueledbychai.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands events from any number of producer threads to a single writer thread.
+ * <p>
+ * {@link #offer(Object)} never blocks: it queues the event if the estimated
+ * size of everything queued stays within the memory budget and drops it
+ * otherwise, so a slow disk costs recorded data rather than stalling the feed
+ * threads. The writer thread drains the queue in arrival order, calls
+ * {@link #write(Object)} for each event and {@link #flush()} whenever the queue
+ * runs dry. All encoding and file state belongs to the writer thread, so
+ * subclasses need no locking.
+ *
+ * @param <E> the event type
+ */
+public abstract class AsyncJournalWriter<E> implements Closeable {
+
+    protected static final Logger logger = LoggerFactory.getLogger(AsyncJournalWriter.class);
+
+    protected static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    protected final Queue<E> queue = new ConcurrentLinkedQueue<>();
+    protected final AtomicLong queuedBytes = new AtomicLong();
+    protected final LongAdder droppedCount = new LongAdder();
+    protected final long memoryBudget;
+    protected final String threadName;
+    protected volatile long writtenCount;
+    protected volatile long failedCount;
+    protected volatile boolean running;
+    protected Thread writerThread;
+
+    /**
+     * @param memoryBudget the most bytes, as estimated by
+     *                     {@link #estimateSize(Object)}, that may wait in the
+     *                     queue
+     */
+    protected AsyncJournalWriter(String threadName, long memoryBudget) {
+        if (threadName == null) {
+            throw new IllegalArgumentException("threadName is required");
+        }
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("memoryBudget must be positive");
+        }
+        this.threadName = threadName;
+        this.memoryBudget = memoryBudget;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, threadName);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return the number of events dropped because the queue was over budget or
+     *         the writer was not running
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * @return the number of events that failed to encode or write
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Stops the writer thread after it has written everything already queued,
+     * then calls {@link #closeJournal()}.
+     */
+    @Override
+    public void close() throws IOException {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = writerThread;
+            writerThread = null;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+        closeJournal();
+    }
+
+    /**
+     * Queues an event for the writer thread without blocking.
+     *
+     * @return false if the event was dropped
+     */
+    protected boolean offer(E event) {
+        if (!running) {
+            droppedCount.increment();
+            return false;
+        }
+        int size = estimateSize(event);
+        if (queuedBytes.addAndGet(size) > memoryBudget) {
+            queuedBytes.addAndGet(-size);
+            droppedCount.increment();
+            return false;
+        }
+        queue.add(event);
+        return true;
+    }
+
+    /**
+     * @return the approximate number of bytes the event holds while queued; must
+     *         return the same value every time it is called for an event
+     */
+    protected abstract int estimateSize(E event);
+
+    /**
+     * Encodes and writes an event. Called on the writer thread only.
+     */
+    protected abstract void write(E event) throws IOException;
+
+    /**
+     * Called on the writer thread when the queue runs dry after writing.
+     */
+    protected void flush() throws IOException {
+    }
+
+    /**
+     * Called once the writer thread has stopped and the queue is empty.
+     */
+    protected void closeJournal() throws IOException {
+    }
+
+    protected void runWriter() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes every queued event and flushes if any were written.
+     *
+     * @return true if any events were written
+     */
+    protected boolean drain() {
+        boolean wrote = false;
+        E event;
+        while ((event = queue.poll()) != null) {
+            queuedBytes.addAndGet(-estimateSize(event));
+            try {
+                write(event);
+                writtenCount++;
+            } catch (Exception e) {
+                failedCount++;
+                logger.error("Unable to write journal event: " + e.getMessage(), e);
+            }
+            wrote = true;
+        }
+        if (wrote) {
+            try {
+                flush();
+            } catch (Exception e) {
+                logger.error("Unable to flush journal: " + e.getMessage(), e);
+            }
+        }
+        return wrote;
+    }
+}
@@ -0,0 +1,79 @@
+package com.fueledbychai.journal;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * Primitives shared by the binary journal formats.
+ * <p>
+ * Every journal starts with a {@value #HEADER_SIZE}-byte header: a magic int
+ * identifying the format, the format version as a short, a reserved short and
+ * the base timestamp in epoch microseconds. It is followed by records, each
+ * prefixed with its payload length as an unsigned varint. A zero length marks
+ * the end of the data, so a preallocated or memory-mapped file can be read up
+ * to the last record written.
+ */
+public final class JournalEncoding {
+
+    public static final int HEADER_SIZE = 16;
+
+    private JournalEncoding() {
+    }
+
+    public static void writeHeader(ByteBuffer buffer, int magic, short version, long baseTimeMicros) {
+        buffer.putInt(magic);
+        buffer.putShort(version);
+        buffer.putShort((short) 0);
+        buffer.putLong(baseTimeMicros);
+    }
+
+    public static long toEpochMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    public static Instant fromEpochMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    public static void putZigZag(ByteBuffer buffer, long value) {
+        putVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    public static long getZigZag(ByteBuffer buffer) {
+        long value = getVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static int zigZagSize(long value) {
+        return varLongSize((value << 1) ^ (value >> 63));
+    }
+
+    public static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
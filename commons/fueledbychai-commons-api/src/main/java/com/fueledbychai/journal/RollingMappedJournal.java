@@ -0,0 +1,172 @@
+package com.fueledbychai.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal written through fixed-size memory-mapped segment files.
+ * <p>
+ * Each segment is mapped at its full size when it is opened, so an append is a
+ * copy into the mapping with no system call. The caller decides when to move
+ * to a new segment: it checks {@link #fits(int)} before each append and calls
+ * {@link #roll()} when the records do not fit, since a format with per-file
+ * state such as a dictionary has to start the new file with a fresh header.
+ * Segments are trimmed to the bytes written when they are closed; a segment
+ * left untrimmed by a crash ends in zeros, which {@link JournalEncoding} reads
+ * as the end of the data.
+ * <p>
+ * Segment files are named
+ * {@code <prefix>-<yyyyMMdd-HHmmss-SSS>-<sequence><suffix>}, with the time in
+ * UTC and a zero-padded sequence, so a directory listing sorts them in the
+ * order they were written. Not thread-safe; meant for a single writer thread.
+ */
+public class RollingMappedJournal implements Closeable {
+
+    protected static final Logger logger = LoggerFactory.getLogger(RollingMappedJournal.class);
+
+    protected static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneId.of("UTC"));
+
+    protected final Path directory;
+    protected final String prefix;
+    protected final String suffix;
+    protected final int segmentSize;
+
+    protected FileChannel channel;
+    protected MappedByteBuffer mapped;
+    protected Path currentFile;
+    protected int sequence;
+    protected long bytesWritten;
+
+    /**
+     * @param segmentSize the size each segment file is mapped at, in bytes
+     */
+    public RollingMappedJournal(Path directory, String prefix, String suffix, int segmentSize) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory is required");
+        }
+        if (prefix == null) {
+            throw new IllegalArgumentException("prefix is required");
+        }
+        if (segmentSize < JournalEncoding.HEADER_SIZE * 2) {
+            throw new IllegalArgumentException("segmentSize is too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.suffix = suffix == null ? "" : suffix;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @return the segment being written, or null before the first
+     *         {@link #roll()} and after {@link #close()}
+     */
+    public Path getCurrentFile() {
+        return currentFile;
+    }
+
+    /**
+     * @return the total number of bytes appended across all segments
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return true if a segment is open and has room for the given number of
+     *         bytes
+     */
+    public boolean fits(int length) {
+        return mapped != null && mapped.remaining() >= length;
+    }
+
+    /**
+     * Closes the current segment, if any, and opens the next one.
+     *
+     * @return the new segment file
+     */
+    public Path roll() throws IOException {
+        closeSegment();
+        Path file = directory.resolve(
+                String.format("%s-%s-%06d%s", prefix, FILE_TIME_FORMAT.format(Instant.now()), sequence++, suffix));
+        FileChannel newChannel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            mapped = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException | RuntimeException e) {
+            newChannel.close();
+            throw e;
+        }
+        channel = newChannel;
+        currentFile = file;
+        logger.info("Opened journal segment {}", file);
+        return file;
+    }
+
+    /**
+     * Copies the remaining bytes of the buffer into the current segment.
+     *
+     * @throws IllegalStateException if they do not fit; check {@link #fits(int)}
+     *                               first
+     */
+    public void append(ByteBuffer records) {
+        int length = records.remaining();
+        if (!fits(length)) {
+            throw new IllegalStateException("Records do not fit in the current journal segment");
+        }
+        mapped.put(records);
+        bytesWritten += length;
+    }
+
+    /**
+     * Flushes the written part of the current segment to the storage device.
+     * The operating system writes mapped pages back on its own; this is only
+     * needed to survive a machine crash.
+     */
+    public void force() {
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    protected void closeSegment() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        int length = mapped.position();
+        mapped.force();
+        mapped = null;
+        try {
+            channel.truncate(length);
+        } catch (IOException e) {
+            // some platforms refuse to shrink a mapped file; the zero tail still ends the data
+            logger.warn("Unable to trim journal segment " + currentFile, e);
+        } finally {
+            channel.close();
+            channel = null;
+            currentFile = null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.fueledbychai.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the frames of a memory-mapped {@link WebSocketFrameRecorder} journal
+ * segment one at a time. Not thread-safe.
+ */
+public class WebSocketFrameReader implements Closeable {
+
+    protected final FileChannel channel;
+    protected final MappedByteBuffer buffer;
+    protected final List<String> strings = new ArrayList<>();
+    protected long timestampMicros;
+    protected String exchange;
+    protected String channelName;
+    protected String payload;
+
+    public WebSocketFrameReader(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path is required");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal is too large to map: " + path);
+            }
+            if (size < JournalEncoding.HEADER_SIZE) {
+                throw new IOException("Journal has no header: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != WebSocketFrameRecorder.MAGIC) {
+                throw new IOException("Not a WebSocket frame journal: " + path);
+            }
+            short version = buffer.getShort();
+            if (version != WebSocketFrameRecorder.VERSION) {
+                throw new IOException("Unsupported journal version " + version + ": " + path);
+            }
+            buffer.getShort();
+            timestampMicros = buffer.getLong();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Moves to the next frame.
+     *
+     * @return false if there are no more frames
+     */
+    public boolean next() {
+        payload = null;
+        try {
+            while (buffer.hasRemaining()) {
+                int length = (int) JournalEncoding.getVarLong(buffer);
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                int end = buffer.position() + length;
+                byte type = buffer.get();
+                if (type == WebSocketFrameRecorder.STRING) {
+                    JournalEncoding.getVarLong(buffer);
+                    strings.add(readUtf8(end));
+                } else if (type == WebSocketFrameRecorder.FRAME) {
+                    timestampMicros += JournalEncoding.getZigZag(buffer);
+                    exchange = strings.get((int) JournalEncoding.getVarLong(buffer));
+                    channelName = strings.get((int) JournalEncoding.getVarLong(buffer));
+                    payload = readUtf8(end);
+                    return true;
+                }
+                buffer.position(end);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            // a record cut short by a writer that stopped mid-write
+        }
+        buffer.position(buffer.limit());
+        return false;
+    }
+
+    public long getTimestampMicros() {
+        return timestampMicros;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public String getChannel() {
+        return channelName;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    protected String readUtf8(int end) {
+        byte[] bytes = new byte[end - buffer.position()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
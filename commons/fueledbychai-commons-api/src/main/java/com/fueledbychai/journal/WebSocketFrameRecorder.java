@@ -0,0 +1,173 @@
+package com.fueledbychai.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records inbound WebSocket frames, unredacted, to rolling memory-mapped
+ * journals for later research or re-parsing.
+ * <p>
+ * {@link #start()} it and install it with
+ * {@link com.fueledbychai.websocket.AbstractWebSocketClient#setFrameRecorder(WebSocketFrameRecorder)}.
+ * Frames are timestamped on the receiving thread and encoded on the writer
+ * thread. Each segment starts with a {@link JournalEncoding} header using
+ * {@link #MAGIC}, followed by two record types:
+ * <ul>
+ * <li>{@link #STRING}: a varint id and the UTF-8 bytes of an exchange or
+ * channel name, written the first time the name appears in the segment</li>
+ * <li>{@link #FRAME}: the zigzag varint change in microseconds from the
+ * previous frame, the varint ids of the exchange and channel, and the UTF-8
+ * payload</li>
+ * </ul>
+ * Only inbound frames are recorded; outbound frames can carry signatures and
+ * API keys.
+ */
+public class WebSocketFrameRecorder extends AsyncJournalWriter<WebSocketFrameRecorder.Frame> {
+
+    public static final int MAGIC = 0x4642574A; // "FBWJ"
+    public static final short VERSION = 1;
+
+    public static final byte STRING = 1;
+    public static final byte FRAME = 2;
+
+    public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024 * 1024;
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    protected final RollingMappedJournal journal;
+    protected final long startEpochMicros = System.currentTimeMillis() * 1_000L;
+    protected final long startNanos = System.nanoTime();
+    protected final Map<String, Integer> strings = new HashMap<>();
+    protected final Map<String, Integer> pendingStrings = new HashMap<>();
+    protected long lastTimeMicros;
+    protected ByteBuffer records = ByteBuffer.allocate(64 * 1024);
+
+    protected static final class Frame {
+        protected final long timestampMicros;
+        protected final String exchange;
+        protected final String channel;
+        protected final String payload;
+
+        protected Frame(long timestampMicros, String exchange, String channel, String payload) {
+            this.timestampMicros = timestampMicros;
+            this.exchange = exchange;
+            this.channel = channel;
+            this.payload = payload;
+        }
+    }
+
+    public WebSocketFrameRecorder(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * @param segmentSize  the size of each journal file in bytes
+     * @param memoryBudget the most bytes of frames that may wait for the writer
+     *                     before new frames are dropped
+     */
+    public WebSocketFrameRecorder(Path directory, int segmentSize, long memoryBudget) throws IOException {
+        super("websocket-frame-recorder", memoryBudget);
+        this.journal = new RollingMappedJournal(directory, "ws-frames", ".fbj", segmentSize);
+    }
+
+    /**
+     * Queues an inbound frame without blocking.
+     *
+     * @return false if the frame was dropped
+     */
+    public boolean record(String exchange, String channel, String payload) {
+        if (payload == null) {
+            return false;
+        }
+        long micros = startEpochMicros + (System.nanoTime() - startNanos) / 1_000L;
+        return offer(new Frame(micros, exchange == null ? "" : exchange, channel == null ? "" : channel, payload));
+    }
+
+    @Override
+    protected int estimateSize(Frame frame) {
+        return 64 + frame.payload.length() * 2;
+    }
+
+    @Override
+    protected void write(Frame frame) throws IOException {
+        byte[] payload = frame.payload.getBytes(StandardCharsets.UTF_8);
+        encode(frame, payload);
+        if (!journal.fits(records.remaining())) {
+            startSegment(frame.timestampMicros);
+            encode(frame, payload);
+            if (!journal.fits(records.remaining())) {
+                throw new IllegalArgumentException("Frame of " + payload.length + " bytes is larger than a segment");
+            }
+        }
+        journal.append(records);
+        strings.putAll(pendingStrings);
+        lastTimeMicros = frame.timestampMicros;
+    }
+
+    @Override
+    protected void closeJournal() throws IOException {
+        journal.close();
+    }
+
+    protected void startSegment(long baseTimeMicros) throws IOException {
+        journal.roll();
+        strings.clear();
+        lastTimeMicros = baseTimeMicros;
+        ByteBuffer header = ByteBuffer.allocate(JournalEncoding.HEADER_SIZE);
+        JournalEncoding.writeHeader(header, MAGIC, VERSION, baseTimeMicros);
+        journal.append(header.flip());
+    }
+
+    /*
+     * Encodes into the reused records buffer without touching the dictionary
+     * or the last timestamp until the records are known to fit, so a frame
+     * that forces a roll can be encoded again for the new segment.
+     */
+    protected void encode(Frame frame, byte[] payload) {
+        records.clear();
+        pendingStrings.clear();
+        int exchangeId = appendString(frame.exchange);
+        int channelId = appendString(frame.channel);
+        ensureCapacity(payload.length + 40);
+        int length = 1 + JournalEncoding.zigZagSize(frame.timestampMicros - lastTimeMicros)
+                + JournalEncoding.varLongSize(exchangeId) + JournalEncoding.varLongSize(channelId) + payload.length;
+        JournalEncoding.putVarLong(records, length);
+        records.put(FRAME);
+        JournalEncoding.putZigZag(records, frame.timestampMicros - lastTimeMicros);
+        JournalEncoding.putVarLong(records, exchangeId);
+        JournalEncoding.putVarLong(records, channelId);
+        records.put(payload);
+        records.flip();
+    }
+
+    protected int appendString(String value) {
+        Integer id = strings.get(value);
+        if (id == null) {
+            id = pendingStrings.get(value);
+        }
+        if (id != null) {
+            return id;
+        }
+        int newId = strings.size() + pendingStrings.size();
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(bytes.length + 20);
+        JournalEncoding.putVarLong(records, 1 + JournalEncoding.varLongSize(newId) + bytes.length);
+        records.put(STRING);
+        JournalEncoding.putVarLong(records, newId);
+        records.put(bytes);
+        pendingStrings.put(value, newId);
+        return newId;
+    }
+
+    protected void ensureCapacity(int needed) {
+        if (records.remaining() < needed) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(records.capacity() * 2, records.position() + needed));
+            records.flip();
+            larger.put(records);
+            records = larger;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.fueledbychai.time;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+/**
+ * Source of time, delays and randomness for simulated components such as the
+ * paper brokers.
+ * <p>
+ * {@link SystemClock} follows the wall clock and runs scheduled tasks on
+ * background threads. {@link VirtualClock} keeps an event queue that only
+ * moves when its driver advances it, so a recorded session can be replayed as
+ * fast as the CPU allows and, given the same seed, produce the same result.
+ */
+public interface IClock extends ITimeProvider {
+
+    /**
+     * Handle to a task queued with {@link IClock#schedule(long, Runnable)} or
+     * {@link IClock#scheduleAtFixedRate(long, long, Runnable)}.
+     */
+    public interface Cancellable {
+
+        /**
+         * Stops the task from running again. A task that is already running is
+         * allowed to finish.
+         *
+         * @return false if the task had already been cancelled or, for a
+         *         one-shot task, had already run
+         */
+        public boolean cancel();
+    }
+
+    public static final ZoneId UTC = ZoneId.of("UTC");
+
+    /**
+     * @return the current time in milliseconds since the epoch
+     */
+    public long currentTimeMillis();
+
+    /**
+     * @return the current time in UTC
+     */
+    public default ZonedDateTime getCurrentTime() {
+        return Instant.ofEpochMilli(currentTimeMillis()).atZone(UTC);
+    }
+
+    /**
+     * @return true if time only advances when the clock's driver moves it
+     */
+    public boolean isVirtual();
+
+    /**
+     * Blocks the caller for the given delay. A virtual clock returns at once,
+     * since its time cannot move while the caller is waiting; delays that
+     * should be visible in a simulation are modelled with
+     * {@link #schedule(long, Runnable)} instead.
+     *
+     * @param delayMillis the delay in milliseconds
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void sleep(long delayMillis) throws InterruptedException;
+
+    /**
+     * Runs the task once after the given delay.
+     *
+     * @param delayMillis the delay in milliseconds; negative values run the
+     *                    task at the current time
+     * @param task        the task to run
+     * @return a handle that can cancel the task
+     */
+    public Cancellable schedule(long delayMillis, Runnable task);
+
+    /**
+     * Runs the task repeatedly, first after the initial delay and then once per
+     * period, until it is cancelled.
+     *
+     * @param initialDelayMillis the delay before the first run in milliseconds
+     * @param periodMillis       the time between runs in milliseconds, must be
+     *                           positive
+     * @param task               the task to run
+     * @return a handle that can cancel the task
+     */
+    public Cancellable scheduleAtFixedRate(long initialDelayMillis, long periodMillis, Runnable task);
+
+    /**
+     * @return the random source for simulated latencies and identifiers; seeded
+     *         on a virtual clock so runs are reproducible
+     */
+    public Random getRandom();
+}
@@ -0,0 +1,91 @@
+package com.fueledbychai.time;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size, lock-free latency histogram in the style of HdrHistogram.
+ * <p>
+ * Values are nanoseconds. Values below 64 get a bucket each; above that every
+ * power of two is split into 32 linear buckets, so a recorded value is known to
+ * within about 3% while the whole range up to {@link #MAX_TRACKABLE_NANOS}
+ * (about 68 seconds) fits in 1024 counters. Recording is a couple of atomic
+ * adds and never allocates. Negative values, e.g. from clock skew, are recorded
+ * as 0 and larger values as {@link #MAX_TRACKABLE_NANOS}.
+ */
+public class LatencyHistogram {
+
+    protected static final int SUB_BUCKET_BITS = 6;
+    protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    protected static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    public static final long MAX_TRACKABLE_NANOS = (1L << 36) - 1;
+    public static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_NANOS) + 1;
+
+    protected final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    protected final LongAdder totalCount = new LongAdder();
+    protected final LongAdder totalNanos = new LongAdder();
+    protected final LongAccumulator minNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    protected final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : Math.min(nanos, MAX_TRACKABLE_NANOS);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        minNanos.accumulate(value);
+        maxNanos.accumulate(value);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * @return a consistent-enough copy of the counters; values recorded while the
+     *         copy is taken may or may not be included
+     */
+    public LatencySnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long min = minNanos.get();
+        return new LatencySnapshot(copy, count, count == 0 ? 0 : min, maxNanos.get(), totalNanos.sum());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalNanos.reset();
+        minNanos.reset();
+        maxNanos.reset();
+    }
+
+    protected static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int mantissa = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (mantissa - SUB_BUCKET_HALF_COUNT);
+    }
+
+    /**
+     * @return the largest value that is recorded into bucket {@code index}
+     */
+    protected static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        long mantissa = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return (mantissa << shift) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,62 @@
+package com.fueledbychai.time;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically logs the {@link PipelineLatency} histograms to the
+ * {@value Span#LATENCY_LOGGER_NAME} logger: one line per exchange and stage at
+ * info, and one line per ticker and stage at debug.
+ */
+public class LatencyReporter implements AutoCloseable {
+
+    protected static final Logger logger = LoggerFactory.getLogger(Span.LATENCY_LOGGER_NAME);
+
+    protected final ScheduledExecutorService scheduler;
+
+    public LatencyReporter(Duration interval) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "latency-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::report, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void report() {
+        try {
+            for (String exchange : PipelineLatency.getExchanges()) {
+                for (Map.Entry<LatencyStage, LatencySnapshot> entry : PipelineLatency.getSnapshots(exchange)
+                        .entrySet()) {
+                    logger.info("phase=PIPELINE exchange={} stage={} {}", exchange, entry.getKey(), entry.getValue());
+                }
+                if (logger.isDebugEnabled()) {
+                    for (String ticker : PipelineLatency.getTickers(exchange)) {
+                        for (Map.Entry<LatencyStage, LatencySnapshot> entry : PipelineLatency
+                                .getSnapshots(exchange, ticker).entrySet()) {
+                            logger.debug("phase=PIPELINE exchange={} ticker={} stage={} {}", exchange, ticker,
+                                    entry.getKey(), entry.getValue());
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Error reporting pipeline latency", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.fueledbychai.time;
+
+/**
+ * An immutable copy of a {@link LatencyHistogram}. All values are nanoseconds;
+ * percentiles are reported as the upper bound of the bucket they fall in, capped
+ * at the recorded maximum.
+ */
+public class LatencySnapshot {
+
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(new long[0], 0, 0, 0, 0);
+
+    protected final long[] counts;
+    protected final long count;
+    protected final long min;
+    protected final long max;
+    protected final long total;
+
+    protected LatencySnapshot(long[] counts, long count, long min, long max, long total) {
+        this.counts = counts;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.total = total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMinNanos() {
+        return min;
+    }
+
+    public long getMaxNanos() {
+        return max;
+    }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0.0 : (double) total / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100, e.g. 99.9
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double clamped = Math.max(0.0, Math.min(100.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(LatencyHistogram.highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getMedianNanos() {
+        return getValueAtPercentile(50.0);
+    }
+
+    public long get99thPercentileNanos() {
+        return getValueAtPercentile(99.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus mean=%.1fus", count,
+                toMicros(getValueAtPercentile(50.0)), toMicros(getValueAtPercentile(90.0)),
+                toMicros(getValueAtPercentile(99.0)), toMicros(getValueAtPercentile(99.9)), toMicros(max),
+                getMeanNanos() / 1_000.0);
+    }
+
+    protected static double toMicros(long nanos) {
+        return nanos / 1_000.0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.fueledbychai.time;
+
+/**
+ * The hops of the market data pipeline measured by {@link PipelineLatency}.
+ * Except for {@link #EXCHANGE_TO_RECEIVE} and {@link #SOCKET_RECEIVE}, every
+ * stage is measured from the moment the WebSocket frame was received, so the
+ * difference between two stages is the time spent in the hop between them.
+ */
+public enum LatencyStage {
+
+    /**
+     * Exchange event timestamp to socket receive, on the wall clock. Includes
+     * network time and any clock skew between the exchange and this host.
+     */
+    EXCHANGE_TO_RECEIVE,
+
+    /**
+     * Time spent in {@code AbstractWebSocketClient.onMessage}, i.e. how long the
+     * socket thread is busy with one frame.
+     */
+    SOCKET_RECEIVE,
+
+    /**
+     * Socket receive to the parsed event being handed to the processor's
+     * listeners.
+     */
+    PARSE,
+
+    /**
+     * Socket receive to the quote engine firing the quote.
+     */
+    QUOTE_FIRE,
+
+    /**
+     * Socket receive to a quote listener being called.
+     */
+    LISTENER
+}
@@ -0,0 +1,286 @@
+package com.fueledbychai.time;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tick-to-listener latency histograms for the market data pipeline, kept per
+ * exchange and per ticker for each {@link LatencyStage}.
+ * <p>
+ * {@code AbstractWebSocketClient} marks the receive time of each frame on the
+ * socket thread with {@link #markReceived(String)}. Later hops read the mark
+ * with {@link #getReceivedNanos()}, record their stage against it, and carry
+ * it across thread hand-offs with {@link #attach(long, String)} so listener
+ * latency is measured from the original frame. Recording is off unless the
+ * {@code fueledbychai.latency.histograms} system property or
+ * {@code FUELEDBYCHAI_LATENCY_HISTOGRAMS} environment variable is true, or
+ * {@link #setEnabled(boolean)} is called; when off, the cost at each site is a
+ * volatile read. Setting {@code fueledbychai.latency.report.seconds} also
+ * starts a {@link LatencyReporter} that logs the histograms to the
+ * {@value Span#LATENCY_LOGGER_NAME} logger.
+ */
+public final class PipelineLatency {
+
+    public static final String ENABLED_PROPERTY = "fueledbychai.latency.histograms";
+    public static final String REPORT_INTERVAL_PROPERTY = "fueledbychai.latency.report.seconds";
+
+    /**
+     * Returned by {@link #getReceivedNanos()} when the current thread is not
+     * handling a received frame.
+     */
+    public static final long NO_MARK = Long.MIN_VALUE;
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineLatency.class);
+    private static final LatencyStage[] STAGES = LatencyStage.values();
+    private static final Map<String, ExchangeLatency> EXCHANGES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ReceiveMark> MARK = ThreadLocal.withInitial(ReceiveMark::new);
+    private static volatile boolean enabled;
+    private static LatencyReporter reporter;
+
+    static {
+        enabled = Boolean.parseBoolean(getProperty(ENABLED_PROPERTY));
+        String interval = getProperty(REPORT_INTERVAL_PROPERTY);
+        if (interval != null) {
+            try {
+                long seconds = Long.parseLong(interval.trim());
+                if (seconds > 0) {
+                    enabled = true;
+                    startReporter(Duration.ofSeconds(seconds));
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid latency report interval '{}'", interval);
+            }
+        }
+    }
+
+    private PipelineLatency() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Marks the current thread as handling a frame received now from
+     * {@code exchange}.
+     *
+     * @return the receive time in {@link System#nanoTime()} units
+     */
+    public static long markReceived(String exchange) {
+        ReceiveMark mark = MARK.get();
+        mark.receivedNanos = System.nanoTime();
+        mark.receivedMillis = System.currentTimeMillis();
+        mark.exchange = exchange;
+        return mark.receivedNanos;
+    }
+
+    /**
+     * Re-establishes a receive mark captured on another thread, e.g. in a task
+     * handed to an executor. Pair with {@link #clear()}.
+     */
+    public static void attach(long receivedNanos, String exchange) {
+        ReceiveMark mark = MARK.get();
+        mark.receivedNanos = receivedNanos;
+        mark.receivedMillis = System.currentTimeMillis() - (System.nanoTime() - receivedNanos) / 1_000_000L;
+        mark.exchange = exchange;
+    }
+
+    public static void clear() {
+        ReceiveMark mark = MARK.get();
+        mark.receivedNanos = NO_MARK;
+        mark.exchange = null;
+    }
+
+    /**
+     * @return the receive time of the frame the current thread is handling, or
+     *         {@link #NO_MARK} if recording is off or there is none
+     */
+    public static long getReceivedNanos() {
+        return enabled ? MARK.get().receivedNanos : NO_MARK;
+    }
+
+    /**
+     * @return the exchange of the frame the current thread is handling, or null
+     */
+    public static String getReceivedExchange() {
+        return enabled ? MARK.get().exchange : null;
+    }
+
+    /**
+     * Records the time from {@code receivedNanos} to now, if it is a mark.
+     */
+    public static void recordSince(LatencyStage stage, String exchange, String ticker, long receivedNanos) {
+        if (receivedNanos != NO_MARK) {
+            record(stage, exchange, ticker, System.nanoTime() - receivedNanos);
+        }
+    }
+
+    /**
+     * Records the time from the current thread's receive mark to now.
+     */
+    public static void recordSinceReceived(LatencyStage stage, String exchange, String ticker) {
+        recordSince(stage, exchange, ticker, getReceivedNanos());
+    }
+
+    /**
+     * Records the delay from an exchange event timestamp to the receive time of
+     * the current frame, or to now if the thread has no receive mark.
+     */
+    public static void recordExchangeDelay(String exchange, String ticker, long exchangeTimestampMillis) {
+        if (!enabled) {
+            return;
+        }
+        ReceiveMark mark = MARK.get();
+        long receivedMillis = mark.receivedNanos == NO_MARK ? System.currentTimeMillis() : mark.receivedMillis;
+        recordExchangeDelay(exchange, ticker, exchangeTimestampMillis, receivedMillis);
+    }
+
+    public static void recordExchangeDelay(String exchange, String ticker, long exchangeTimestampMillis,
+            long receivedMillis) {
+        if (enabled) {
+            record(LatencyStage.EXCHANGE_TO_RECEIVE, exchange, ticker,
+                    (receivedMillis - exchangeTimestampMillis) * 1_000_000L);
+        }
+    }
+
+    /**
+     * Records one measurement into the exchange's histogram for the stage and,
+     * when {@code ticker} is not null, into the ticker's.
+     */
+    public static void record(LatencyStage stage, String exchange, String ticker, long nanos) {
+        if (!enabled || stage == null) {
+            return;
+        }
+        ExchangeLatency latency = EXCHANGES.computeIfAbsent(exchange == null ? "unknown" : exchange,
+                ignored -> new ExchangeLatency());
+        latency.stages[stage.ordinal()].record(nanos);
+        if (ticker != null) {
+            latency.tickerHistogram(ticker, stage).record(nanos);
+        }
+    }
+
+    public static List<String> getExchanges() {
+        return new ArrayList<>(EXCHANGES.keySet());
+    }
+
+    public static List<String> getTickers(String exchange) {
+        ExchangeLatency latency = exchange == null ? null : EXCHANGES.get(exchange);
+        return latency == null ? List.of() : new ArrayList<>(latency.tickers.keySet());
+    }
+
+    public static LatencySnapshot getSnapshot(String exchange, LatencyStage stage) {
+        ExchangeLatency latency = exchange == null ? null : EXCHANGES.get(exchange);
+        return latency == null ? LatencySnapshot.EMPTY : latency.stages[stage.ordinal()].snapshot();
+    }
+
+    public static LatencySnapshot getSnapshot(String exchange, String ticker, LatencyStage stage) {
+        ExchangeLatency latency = exchange == null ? null : EXCHANGES.get(exchange);
+        AtomicReferenceArray<LatencyHistogram> histograms = latency == null || ticker == null ? null
+                : latency.tickers.get(ticker);
+        LatencyHistogram histogram = histograms == null ? null : histograms.get(stage.ordinal());
+        return histogram == null ? LatencySnapshot.EMPTY : histogram.snapshot();
+    }
+
+    /**
+     * @return a snapshot of every stage recorded for the exchange
+     */
+    public static Map<LatencyStage, LatencySnapshot> getSnapshots(String exchange) {
+        Map<LatencyStage, LatencySnapshot> snapshots = new EnumMap<>(LatencyStage.class);
+        ExchangeLatency latency = exchange == null ? null : EXCHANGES.get(exchange);
+        if (latency != null) {
+            for (LatencyStage stage : STAGES) {
+                LatencySnapshot snapshot = latency.stages[stage.ordinal()].snapshot();
+                if (snapshot.getCount() > 0) {
+                    snapshots.put(stage, snapshot);
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return a snapshot of every stage recorded for the ticker
+     */
+    public static Map<LatencyStage, LatencySnapshot> getSnapshots(String exchange, String ticker) {
+        Map<LatencyStage, LatencySnapshot> snapshots = new EnumMap<>(LatencyStage.class);
+        for (LatencyStage stage : STAGES) {
+            LatencySnapshot snapshot = getSnapshot(exchange, ticker, stage);
+            if (snapshot.getCount() > 0) {
+                snapshots.put(stage, snapshot);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Discards every recorded measurement.
+     */
+    public static void reset() {
+        EXCHANGES.clear();
+    }
+
+    /**
+     * Starts logging the histograms every {@code interval}, replacing any reporter
+     * already running.
+     */
+    public static synchronized LatencyReporter startReporter(Duration interval) {
+        stopReporter();
+        reporter = new LatencyReporter(interval);
+        return reporter;
+    }
+
+    public static synchronized void stopReporter() {
+        if (reporter != null) {
+            reporter.close();
+            reporter = null;
+        }
+    }
+
+    private static String getProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(name.toUpperCase().replace('.', '_'));
+        }
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static final class ReceiveMark {
+        long receivedNanos = NO_MARK;
+        long receivedMillis;
+        String exchange;
+    }
+
+    private static final class ExchangeLatency {
+        final LatencyHistogram[] stages = new LatencyHistogram[STAGES.length];
+        final Map<String, AtomicReferenceArray<LatencyHistogram>> tickers = new ConcurrentHashMap<>();
+
+        ExchangeLatency() {
+            for (int i = 0; i < stages.length; i++) {
+                stages[i] = new LatencyHistogram();
+            }
+        }
+
+        LatencyHistogram tickerHistogram(String ticker, LatencyStage stage) {
+            AtomicReferenceArray<LatencyHistogram> histograms = tickers.computeIfAbsent(ticker,
+                    ignored -> new AtomicReferenceArray<>(STAGES.length));
+            LatencyHistogram histogram = histograms.get(stage.ordinal());
+            if (histogram == null) {
+                histograms.compareAndSet(stage.ordinal(), null, new LatencyHistogram());
+                histogram = histograms.get(stage.ordinal());
+            }
+            return histogram;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.fueledbychai.time;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link IClock} backed by the wall clock.
+ * <p>
+ * One-shot tasks wait on a shared timer thread and then run on a cached pool,
+ * so a slow task does not hold up the others. Periodic tasks run on the timer
+ * thread itself and never overlap, matching {@link java.util.Timer}. The
+ * shared instance is {@link #INSTANCE}.
+ */
+public class SystemClock implements IClock {
+
+    protected static final Logger logger = LoggerFactory.getLogger(SystemClock.class);
+
+    public static final SystemClock INSTANCE = new SystemClock();
+
+    protected final List<TimeUpdatedListener> listeners = new CopyOnWriteArrayList<>();
+    protected final ScheduledExecutorService timer;
+    protected final ExecutorService executor;
+    protected Cancellable timeUpdatedTask;
+
+    protected SystemClock() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "system-clock-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "system-clock-task-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public ZonedDateTime getCurrentTime() {
+        return ZonedDateTime.now(UTC);
+    }
+
+    @Override
+    public boolean isVirtual() {
+        return false;
+    }
+
+    @Override
+    public void sleep(long delayMillis) throws InterruptedException {
+        if (delayMillis > 0) {
+            Thread.sleep(delayMillis);
+        }
+    }
+
+    @Override
+    public Cancellable schedule(long delayMillis, Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task is required");
+        }
+        if (delayMillis <= 0) {
+            return wrap(executor.submit(() -> run(task)));
+        }
+        return wrap(timer.schedule(() -> executor.execute(() -> run(task)), delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(long initialDelayMillis, long periodMillis, Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task is required");
+        }
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("periodMillis must be positive");
+        }
+        ScheduledFuture<?> future = timer.scheduleAtFixedRate(() -> run(task), Math.max(0, initialDelayMillis),
+                periodMillis, TimeUnit.MILLISECONDS);
+        return wrap(future);
+    }
+
+    @Override
+    public Random getRandom() {
+        return ThreadLocalRandom.current();
+    }
+
+    /**
+     * Starts firing the time updated listeners once per second.
+     */
+    @Override
+    public synchronized void start() {
+        if (timeUpdatedTask == null) {
+            timeUpdatedTask = scheduleAtFixedRate(0, 1000, this::fireTimeUpdated);
+        }
+    }
+
+    /**
+     * Stops firing the time updated listeners. The shared timer threads are
+     * daemons and keep running scheduled tasks; cancel those through their
+     * handles.
+     */
+    @Override
+    public synchronized void stop() {
+        if (timeUpdatedTask != null) {
+            timeUpdatedTask.cancel();
+            timeUpdatedTask = null;
+        }
+    }
+
+    @Override
+    public void addTimeUpdatedListener(TimeUpdatedListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeTimeUpdatedListener(TimeUpdatedListener listener) {
+        listeners.remove(listener);
+    }
+
+    protected void fireTimeUpdated() {
+        LocalDateTime now = LocalDateTime.now(UTC);
+        for (TimeUpdatedListener listener : listeners) {
+            listener.timeUpdated(now);
+        }
+    }
+
+    protected void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            // an escaping exception would silently cancel a periodic task
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    protected Cancellable wrap(Future<?> future) {
+        return () -> future.cancel(false);
+    }
+}
@@ -0,0 +1,247 @@
+package com.fueledbychai.time;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Discrete-event {@link IClock} for replays and simulations.
+ * <p>
+ * Scheduled tasks are kept in a queue ordered by due time and then by the
+ * order they were scheduled. Time stands still until the driver calls
+ * {@link #advanceTo(long)} or {@link #advanceBy(long)}, which runs every task
+ * that falls due on the driver's thread, moving the clock to each task's due
+ * time before it runs. Tasks may schedule further tasks; those run in the same
+ * call if they fall due before the target time. Together with the seeded
+ * {@link #getRandom()} this makes a run a pure function of its inputs and
+ * seed.
+ */
+public class VirtualClock implements IClock {
+
+    protected static final Logger logger = LoggerFactory.getLogger(VirtualClock.class);
+
+    protected final PriorityQueue<Event> queue = new PriorityQueue<>();
+    protected final List<TimeUpdatedListener> listeners = new CopyOnWriteArrayList<>();
+    protected final Random random;
+    protected volatile long currentTimeMillis;
+    protected long sequence;
+
+    /**
+     * @param startTimeMillis the initial time in milliseconds since the epoch
+     * @param seed            the seed for {@link #getRandom()}
+     */
+    public VirtualClock(long startTimeMillis, long seed) {
+        this.currentTimeMillis = startTimeMillis;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return currentTimeMillis;
+    }
+
+    @Override
+    public boolean isVirtual() {
+        return true;
+    }
+
+    @Override
+    public void sleep(long delayMillis) {
+        // time only moves when the driver advances it
+    }
+
+    @Override
+    public Cancellable schedule(long delayMillis, Runnable task) {
+        return enqueue(delayMillis, 0, task);
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(long initialDelayMillis, long periodMillis, Runnable task) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("periodMillis must be positive");
+        }
+        return enqueue(initialDelayMillis, periodMillis, task);
+    }
+
+    @Override
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Runs every task due at or before the target time, in due-time order, and
+     * leaves the clock at the target time. A target in the past runs the tasks
+     * due now and leaves the time unchanged.
+     *
+     * @param targetTimeMillis the time to advance to
+     * @return the number of tasks run
+     */
+    public int advanceTo(long targetTimeMillis) {
+        int count = 0;
+        Event event;
+        while ((event = pollDue(targetTimeMillis)) != null) {
+            if (event.run()) {
+                count++;
+            }
+        }
+        synchronized (queue) {
+            if (targetTimeMillis > currentTimeMillis) {
+                currentTimeMillis = targetTimeMillis;
+            }
+        }
+        fireTimeUpdated();
+        return count;
+    }
+
+    /**
+     * @param millis the time to advance by
+     * @return the number of tasks run
+     * @see #advanceTo(long)
+     */
+    public int advanceBy(long millis) {
+        return advanceTo(currentTimeMillis + Math.max(0, millis));
+    }
+
+    /**
+     * @return the due time of the next queued task, or {@link Long#MAX_VALUE}
+     *         if the queue is empty
+     */
+    public long getNextEventTime() {
+        synchronized (queue) {
+            Event next = queue.peek();
+            return next == null ? Long.MAX_VALUE : next.dueTimeMillis;
+        }
+    }
+
+    /**
+     * @return the number of queued tasks, including cancelled tasks that have
+     *         not reached the head of the queue yet
+     */
+    public int getPendingEventCount() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    @Override
+    public void start() {
+    }
+
+    /**
+     * Drops every queued task.
+     */
+    @Override
+    public void stop() {
+        synchronized (queue) {
+            for (Event event : queue) {
+                event.cancelled = true;
+            }
+            queue.clear();
+        }
+    }
+
+    @Override
+    public void addTimeUpdatedListener(TimeUpdatedListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeTimeUpdatedListener(TimeUpdatedListener listener) {
+        listeners.remove(listener);
+    }
+
+    protected Event enqueue(long delayMillis, long periodMillis, Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task is required");
+        }
+        synchronized (queue) {
+            Event event = new Event(currentTimeMillis + Math.max(0, delayMillis), sequence++, periodMillis, task);
+            queue.add(event);
+            return event;
+        }
+    }
+
+    protected Event pollDue(long targetTimeMillis) {
+        synchronized (queue) {
+            Event next = queue.peek();
+            if (next == null || next.dueTimeMillis > targetTimeMillis) {
+                return null;
+            }
+            queue.poll();
+            if (next.dueTimeMillis > currentTimeMillis) {
+                currentTimeMillis = next.dueTimeMillis;
+            }
+            if (next.periodMillis > 0 && !next.cancelled) {
+                // re-queue before running so the task can cancel itself
+                next.sequence = sequence++;
+                next.dueTimeMillis += next.periodMillis;
+                queue.add(next);
+            }
+            return next;
+        }
+    }
+
+    protected void fireTimeUpdated() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochMilli(currentTimeMillis), UTC);
+        for (TimeUpdatedListener listener : listeners) {
+            listener.timeUpdated(now);
+        }
+    }
+
+    protected class Event implements Comparable<Event>, Cancellable {
+        protected long dueTimeMillis;
+        protected long sequence;
+        protected final long periodMillis;
+        protected final Runnable task;
+        protected volatile boolean cancelled;
+
+        protected Event(long dueTimeMillis, long sequence, long periodMillis, Runnable task) {
+            this.dueTimeMillis = dueTimeMillis;
+            this.sequence = sequence;
+            this.periodMillis = periodMillis;
+            this.task = task;
+        }
+
+        protected boolean run() {
+            if (cancelled) {
+                return false;
+            }
+            if (periodMillis == 0) {
+                cancelled = true;
+            }
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+            synchronized (queue) {
+                queue.remove(this);
+            }
+            return true;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int result = Long.compare(dueTimeMillis, other.dueTimeMillis);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -20,6 +20,7 @@ public class WsLatency {
 
     private static void onMessage(String type, String traceId, long recvMs, long exchangeEventTsMs, Logger logger) {
         long exDelayMs = recvMs - exchangeEventTsMs;
+        PipelineLatency.recordExchangeDelay(PipelineLatency.getReceivedExchange(), null, exchangeEventTsMs, recvMs);
         ZonedDateTime exTs = ZonedDateTime.ofInstant(Instant.ofEpochMilli(exchangeEventTsMs), ZoneOffset.UTC);
 
         logger.info("t={} phase=WS_MSG type={} exchTime={} exDelayMs={}", traceId, type, exTs.format(Span.formatter),
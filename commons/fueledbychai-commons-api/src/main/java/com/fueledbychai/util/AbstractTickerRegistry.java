@@ -11,6 +11,8 @@ import com.fueledbychai.data.ITickerTranslator;
 import com.fueledbychai.data.InstrumentDescriptor;
 import com.fueledbychai.data.InstrumentType;
 import com.fueledbychai.data.Ticker;
+import com.fueledbychai.data.TickerIdMap;
+import com.fueledbychai.data.TickerIds;
 
 public abstract class AbstractTickerRegistry implements ITickerTranslator, ITickerRegistry {
 
@@ -18,6 +20,7 @@ public abstract class AbstractTickerRegistry implements ITickerTranslator, ITick
     protected final Map<InstrumentType, Map<String, Ticker>> instrumentIdMap = new HashMap<>();
     protected final Map<InstrumentType, Map<String, Ticker>> commonSymbolMap = new HashMap<>();
     protected final Map<InstrumentType, Map<InstrumentDescriptor, Ticker>> descriptorMap = new HashMap<>();
+    protected final TickerIdMap<Ticker> tickerIdMap = new TickerIdMap<>();
     protected ITickerTranslator tickerBuilder;
 
     protected AbstractTickerRegistry(ITickerTranslator tickerBuilder) {
@@ -69,6 +72,8 @@ public abstract class AbstractTickerRegistry implements ITickerTranslator, ITick
         if (instrumentId != null && !instrumentId.isBlank()) {
             getInstrumentIdMap(instrumentType).put(instrumentId, ticker);
         }
+        TickerIds.register(ticker);
+        tickerIdMap.put(ticker, ticker);
     }
 
     protected void registerDescriptors(InstrumentDescriptor[] descriptors) {
@@ -162,6 +167,11 @@ public abstract class AbstractTickerRegistry implements ITickerTranslator, ITick
         return ticker;
     }
 
+    @Override
+    public Ticker lookupByTickerId(int tickerId) {
+        return tickerIdMap.get(tickerId);
+    }
+
     @Override
     public Ticker lookupByBrokerSymbol(InstrumentType instrumentType, String tickerString) {
         requireSupportedInstrumentType(instrumentType);
@@ -25,6 +25,7 @@ import java.util.Set;
 
 import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.http.RateLimit;
 
 public class DefaultExchangeCapabilities implements ExchangeCapabilities {
 
@@ -33,6 +34,8 @@ public class DefaultExchangeCapabilities implements ExchangeCapabilities {
     private final boolean supportsBrokerage;
     private final boolean supportsHistoricalData;
     private final Set<InstrumentType> instrumentTypes;
+    private final RateLimit restRateLimit;
+    private final RateLimit webSocketRateLimit;
 
     private DefaultExchangeCapabilities(Builder builder) {
         this.exchange = builder.exchange;
@@ -42,6 +45,8 @@ public class DefaultExchangeCapabilities implements ExchangeCapabilities {
         this.instrumentTypes = builder.instrumentTypes == null || builder.instrumentTypes.isEmpty()
                 ? Collections.emptySet()
                 : Collections.unmodifiableSet(EnumSet.copyOf(builder.instrumentTypes));
+        this.restRateLimit = builder.restRateLimit;
+        this.webSocketRateLimit = builder.webSocketRateLimit;
     }
 
     @Override
@@ -69,6 +74,16 @@ public class DefaultExchangeCapabilities implements ExchangeCapabilities {
         return instrumentTypes;
     }
 
+    @Override
+    public RateLimit getRestRateLimit() {
+        return restRateLimit;
+    }
+
+    @Override
+    public RateLimit getWebSocketRateLimit() {
+        return webSocketRateLimit;
+    }
+
     public static Builder builder(Exchange exchange) {
         return new Builder(exchange);
     }
@@ -79,6 +94,8 @@ public class DefaultExchangeCapabilities implements ExchangeCapabilities {
         private boolean supportsBrokerage;
         private boolean supportsHistoricalData;
         private Set<InstrumentType> instrumentTypes;
+        private RateLimit restRateLimit;
+        private RateLimit webSocketRateLimit;
 
         public Builder(Exchange exchange) {
             if (exchange == null) {
@@ -117,6 +134,16 @@ public class DefaultExchangeCapabilities implements ExchangeCapabilities {
             return this;
         }
 
+        public Builder restRateLimit(RateLimit restRateLimit) {
+            this.restRateLimit = restRateLimit;
+            return this;
+        }
+
+        public Builder webSocketRateLimit(RateLimit webSocketRateLimit) {
+            this.webSocketRateLimit = webSocketRateLimit;
+            return this;
+        }
+
         public DefaultExchangeCapabilities build() {
             return new DefaultExchangeCapabilities(this);
         }
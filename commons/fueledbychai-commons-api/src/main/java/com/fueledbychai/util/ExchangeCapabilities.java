@@ -23,6 +23,7 @@ import java.util.Set;
 
 import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.http.RateLimit;
 
 public interface ExchangeCapabilities {
 
@@ -35,4 +36,19 @@ public interface ExchangeCapabilities {
     boolean supportsHistoricalData();
 
     Set<InstrumentType> getInstrumentTypes();
+
+    /**
+     * @return the limit on REST request weight, or null if none is known
+     */
+    default RateLimit getRestRateLimit() {
+        return null;
+    }
+
+    /**
+     * @return the limit on messages sent over WebSockets, or null if none is
+     *         known
+     */
+    default RateLimit getWebSocketRateLimit() {
+        return null;
+    }
 }
@@ -17,6 +17,14 @@ public interface ITickerRegistry {
     // BTC-USD-PERP. InstrumentType disambiguates symbol formats.
     String commonSymbolToExchangeSymbol(InstrumentType instrumentType, String commonSymbol);
 
+    /**
+     * Returns the registered ticker with the given {@link Ticker#getTickerId()},
+     * or null if this registry has not registered it.
+     */
+    default Ticker lookupByTickerId(int tickerId) {
+        return null;
+    }
+
     /**
      * Returns every ticker currently cached by the registry.
      */
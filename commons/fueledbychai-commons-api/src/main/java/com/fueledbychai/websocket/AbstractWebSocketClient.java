@@ -6,6 +6,11 @@ import java.util.List;
 
 import com.fueledbychai.diagnostics.SecretRedactor;
 import com.fueledbychai.diagnostics.WireTap;
+import com.fueledbychai.http.RequestPriority;
+import com.fueledbychai.http.RequestScheduler;
+import com.fueledbychai.journal.WebSocketFrameRecorder;
+import com.fueledbychai.time.LatencyStage;
+import com.fueledbychai.time.PipelineLatency;
 import org.java_websocket.client.WebSocketClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,10 +18,13 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractWebSocketClient extends WebSocketClient {
 
     protected static final Logger logger = LoggerFactory.getLogger(AbstractWebSocketClient.class);
+    protected static volatile WebSocketFrameRecorder frameRecorder;
     protected IWebSocketProcessor processor;
     protected List<String> messages = new ArrayList<>();
     protected String channel;
+    protected volatile RequestScheduler sendScheduler;
     private final String serverUriString;
+    private String exchangeName;
 
     public AbstractWebSocketClient(String serverUri, String channel, IWebSocketProcessor processor) throws Exception {
         super(new URI(serverUri));
@@ -26,27 +34,76 @@ public abstract class AbstractWebSocketClient extends WebSocketClient {
         this.serverUriString = serverUri;
     }
 
+    /**
+     * Records the inbound frames of every client to the given recorder, or stops
+     * recording when null. The caller owns the recorder and closes it.
+     */
+    public static void setFrameRecorder(WebSocketFrameRecorder recorder) {
+        frameRecorder = recorder;
+    }
+
+    public static WebSocketFrameRecorder getFrameRecorder() {
+        return frameRecorder;
+    }
+
     @Override
     public void onMessage(String message) {
-        if (WireTap.isEnabled()) {
-            WireTap.publishWs(new WireTap.WsEvent(
-                    System.currentTimeMillis(),
-                    WireTap.Direction.IN,
-                    exchangeFromHost(),
-                    channel,
-                    serverUriString,
-                    SecretRedactor.redactBody(message)));
+        long receivedNanos = PipelineLatency.isEnabled() ? PipelineLatency.markReceived(getExchangeName())
+                : PipelineLatency.NO_MARK;
+        try {
+            if (WireTap.isEnabled()) {
+                WireTap.publishWs(new WireTap.WsEvent(
+                        System.currentTimeMillis(),
+                        WireTap.Direction.IN,
+                        getExchangeName(),
+                        channel,
+                        serverUriString,
+                        SecretRedactor.redactBody(message)));
+            }
+            WebSocketFrameRecorder recorder = frameRecorder;
+            if (recorder != null) {
+                recorder.record(getExchangeName(), channel, message);
+            }
+            processor.messageReceived(message);
+        } finally {
+            if (receivedNanos != PipelineLatency.NO_MARK) {
+                PipelineLatency.recordSince(LatencyStage.SOCKET_RECEIVE, getExchangeName(), null, receivedNanos);
+                PipelineLatency.clear();
+            }
         }
-        processor.messageReceived(message);
+    }
+
+    /**
+     * Paces outgoing messages, e.g. with {@link RequestScheduler#forWebSocket}.
+     * Null, the default, sends them straight away.
+     */
+    public void setSendScheduler(RequestScheduler sendScheduler) {
+        this.sendScheduler = sendScheduler;
+    }
+
+    public RequestScheduler getSendScheduler() {
+        return sendScheduler;
     }
 
     @Override
     public void send(String text) {
+        send(text, RequestPriority.QUERY);
+    }
+
+    /**
+     * Sends the message once the send scheduler lets a message of this priority
+     * through, so order messages can go ahead of subscriptions.
+     */
+    public void send(String text, RequestPriority priority) {
+        RequestScheduler scheduler = sendScheduler;
+        if (scheduler != null) {
+            scheduler.acquire(priority, 1);
+        }
         if (WireTap.isEnabled()) {
             WireTap.publishWs(new WireTap.WsEvent(
                     System.currentTimeMillis(),
                     WireTap.Direction.OUT,
-                    exchangeFromHost(),
+                    getExchangeName(),
                     channel,
                     serverUriString,
                     SecretRedactor.redactBody(text)));
@@ -64,6 +121,15 @@ public abstract class AbstractWebSocketClient extends WebSocketClient {
         logger.error(ex.getMessage(), ex);
     }
 
+    private String getExchangeName() {
+        String name = exchangeName;
+        if (name == null) {
+            name = exchangeFromHost();
+            exchangeName = name;
+        }
+        return name;
+    }
+
     private String exchangeFromHost() {
         try {
             String host = getURI() != null && getURI().getHost() != null ? getURI().getHost().toLowerCase() : "";
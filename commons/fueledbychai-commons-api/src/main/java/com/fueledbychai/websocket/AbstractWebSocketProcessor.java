@@ -1,21 +1,23 @@
 package com.fueledbychai.websocket;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fueledbychai.time.LatencyStage;
+import com.fueledbychai.time.PipelineLatency;
+
 /**
  * Abstract WebSocket processor that provides common listener management and
  * notification logic. Subclasses implement the specific message parsing logic
  * and define the event type.
  * 
  * This eliminates code duplication by handling: - Listener registration/removal
- * - Thread-safe notification using ExecutorService - Common WebSocket lifecycle
- * methods - Error handling and logging
+ * - Thread-safe notification on a {@link WebSocketEventDispatcher} lane, which
+ * delivers this processor's events in order on a shared executor - Common
+ * WebSocket lifecycle methods - Error handling and logging
  * 
  * Usage Pattern: 1. Extend this class with your specific event type (T) 2.
  * Implement parseMessage() to convert JSON/String messages to your event
@@ -36,13 +38,25 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class AbstractWebSocketProcessor<T> implements IWebSocketProcessor {
 
-    protected ExecutorService executorService = Executors.newFixedThreadPool(10);
     protected static final Logger logger = LoggerFactory.getLogger(AbstractWebSocketProcessor.class);
+    protected final WebSocketEventDispatcher.Lane dispatchLane;
     protected IWebSocketClosedListener websocketClosedListener;
-    protected List<IWebSocketEventListener<T>> eventListeners = new ArrayList<>();
+    protected List<IWebSocketEventListener<T>> eventListeners = new CopyOnWriteArrayList<>();
 
     public AbstractWebSocketProcessor(IWebSocketClosedListener listener) {
+        this(listener, WebSocketEventDispatcher.getDefault());
+    }
+
+    /**
+     * Creates a processor whose events are delivered through {@code dispatcher},
+     * e.g. one with a different overflow policy.
+     */
+    public AbstractWebSocketProcessor(IWebSocketClosedListener listener, WebSocketEventDispatcher dispatcher) {
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("dispatcher is required");
+        }
         this.websocketClosedListener = listener;
+        this.dispatchLane = dispatcher.newLane(getClass().getSimpleName());
     }
 
     @Override
@@ -110,18 +124,39 @@ public abstract class AbstractWebSocketProcessor<T> implements IWebSocketProcess
     protected abstract T parseMessage(String message);
 
     /**
-     * Notify all registered listeners about an event
+     * Notify all registered listeners about an event. Listeners are called one
+     * after another on this processor's dispatch lane, so events reach each
+     * listener in the order they were received.
      */
     protected final void notifyListeners(T event) {
-        for (IWebSocketEventListener<T> listener : eventListeners) {
-            executorService.execute(() -> {
-                try {
-                    listener.onWebSocketEvent(event);
-                } catch (Exception e) {
-                    logger.error("Error notifying listener", e);
-                }
-            });
+        if (eventListeners.isEmpty()) {
+            return;
         }
+        long receivedNanos = PipelineLatency.getReceivedNanos();
+        String exchange = null;
+        if (receivedNanos != PipelineLatency.NO_MARK) {
+            exchange = PipelineLatency.getReceivedExchange();
+            PipelineLatency.recordSince(LatencyStage.PARSE, exchange, null, receivedNanos);
+        }
+        String receivedExchange = exchange;
+        dispatchLane.submit(() -> {
+            if (receivedNanos != PipelineLatency.NO_MARK) {
+                PipelineLatency.attach(receivedNanos, receivedExchange);
+            }
+            try {
+                for (IWebSocketEventListener<T> listener : eventListeners) {
+                    try {
+                        listener.onWebSocketEvent(event);
+                    } catch (Exception e) {
+                        logger.error("Error notifying listener", e);
+                    }
+                }
+            } finally {
+                if (receivedNanos != PipelineLatency.NO_MARK) {
+                    PipelineLatency.clear();
+                }
+            }
+        });
     }
 
     /**
@@ -132,11 +167,18 @@ public abstract class AbstractWebSocketProcessor<T> implements IWebSocketProcess
     }
 
     /**
-     * Shutdown the executor service when the processor is no longer needed
+     * @return the lane this processor's events are queued on, for queue depth
+     *         metrics
+     */
+    public WebSocketEventDispatcher.Lane getDispatchLane() {
+        return dispatchLane;
+    }
+
+    /**
+     * Close the dispatch lane when the processor is no longer needed. Queued
+     * events are discarded.
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        dispatchLane.close();
     }
 }
\ No newline at end of file
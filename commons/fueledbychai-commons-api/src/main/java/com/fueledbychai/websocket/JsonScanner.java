@@ -0,0 +1,756 @@
+package com.fueledbychai.websocket;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import com.fueledbychai.data.FixedPoint;
+
+/**
+ * A pull-style JSON tokenizer that reads a message in place.
+ * <p>
+ * Unlike building an {@code org.json.JSONObject}, the scanner does not create a
+ * tree or copy values out of the message. Each call to {@link #nextToken()}
+ * moves to the next token and records where its text sits in the input, and
+ * values are only decoded when asked for. Numbers and numeric strings (most
+ * exchanges quote prices) decode straight to primitives, field names and string
+ * values compare without allocating, and {@link #skipChildren()} steps over
+ * nested objects and arrays with a raw bracket scan. This lets a processor read
+ * the channel or type, drop messages it does not handle, and decode price
+ * levels into a {@link PriceLevelBuffer}, all without intermediate objects.
+ * <p>
+ * The scanner is lenient: commas and colons are treated as separators and are
+ * not validated, so malformed input produces odd tokens rather than an
+ * exception. It expects well-formed exchange messages, not untrusted documents.
+ * A scanner is not thread safe but can be reused with {@link #reset}.
+ *
+ * <pre>
+ * JsonScanner scanner = new JsonScanner(message);
+ * scanner.nextToken(); // START_OBJECT
+ * while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+ *     if (scanner.textEquals("price")) {
+ *         scanner.nextToken();
+ *         long price = scanner.getScaled(4);
+ *     } else {
+ *         scanner.nextToken();
+ *         scanner.skipChildren();
+ *     }
+ * }
+ * </pre>
+ */
+public class JsonScanner {
+
+    /** Largest long that can take another decimal digit without overflowing. */
+    protected static final long DIGIT_LIMIT = (Long.MAX_VALUE - 9) / 10;
+
+    /** Largest integer a double holds exactly, for the fast decimal path. */
+    protected static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    protected static final double[] DOUBLE_POWERS_OF_TEN = new double[23];
+
+    static {
+        DOUBLE_POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+            DOUBLE_POWERS_OF_TEN[i] = DOUBLE_POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    protected CharSequence input;
+    protected int position;
+    protected int end;
+
+    protected JsonToken currentToken;
+    protected int tokenStart;
+    protected int tokenEnd;
+    protected boolean tokenHasEscapes;
+
+    /** Container stack, true for objects and false for arrays. */
+    protected boolean[] containers = new boolean[16];
+    protected int depth;
+    protected boolean expectFieldName;
+
+    protected boolean decimalDecoded;
+    protected long decimalUnscaled;
+    protected int decimalScale;
+
+    public JsonScanner() {
+    }
+
+    public JsonScanner(CharSequence input) {
+        reset(input);
+    }
+
+    /**
+     * Starts scanning a new message, discarding any state from the previous one.
+     */
+    public JsonScanner reset(CharSequence input) {
+        if (input == null) {
+            throw new IllegalArgumentException("input is required");
+        }
+        this.input = input;
+        this.position = 0;
+        this.end = input.length();
+        this.currentToken = null;
+        this.tokenStart = 0;
+        this.tokenEnd = 0;
+        this.tokenHasEscapes = false;
+        this.depth = 0;
+        this.expectFieldName = false;
+        this.decimalDecoded = false;
+        return this;
+    }
+
+    /**
+     * Reads a top level string field without decoding the rest of the message,
+     * e.g. the {@code channel} of a subscription update. Nested objects and arrays
+     * are skipped, not parsed.
+     *
+     * @return the field's value, or null if the message is not an object, the
+     *         field is missing, or its value is not a string
+     */
+    public static String peekString(CharSequence json, String fieldName) {
+        if (json == null) {
+            return null;
+        }
+        JsonScanner scanner = new JsonScanner(json);
+        if (scanner.nextToken() != JsonToken.START_OBJECT || !scanner.seekField(fieldName)) {
+            return null;
+        }
+        return scanner.nextToken() == JsonToken.STRING ? scanner.getText() : null;
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return the new current token, {@link JsonToken#END_OF_INPUT} once the
+     *         input is exhausted
+     */
+    public JsonToken nextToken() {
+        decimalDecoded = false;
+        tokenHasEscapes = false;
+        skipSeparators();
+        if (position >= end) {
+            tokenStart = tokenEnd = end;
+            return currentToken = JsonToken.END_OF_INPUT;
+        }
+        char c = input.charAt(position);
+        switch (c) {
+        case '{':
+            tokenStart = position;
+            tokenEnd = ++position;
+            push(true);
+            return currentToken = JsonToken.START_OBJECT;
+        case '[':
+            tokenStart = position;
+            tokenEnd = ++position;
+            push(false);
+            return currentToken = JsonToken.START_ARRAY;
+        case '}':
+            tokenStart = position;
+            tokenEnd = ++position;
+            pop();
+            return currentToken = JsonToken.END_OBJECT;
+        case ']':
+            tokenStart = position;
+            tokenEnd = ++position;
+            pop();
+            return currentToken = JsonToken.END_ARRAY;
+        case '"':
+            readString();
+            if (expectFieldName) {
+                expectFieldName = false;
+                return currentToken = JsonToken.FIELD_NAME;
+            }
+            valueCompleted();
+            return currentToken = JsonToken.STRING;
+        case 't':
+            return currentToken = readLiteral("true", JsonToken.TRUE);
+        case 'f':
+            return currentToken = readLiteral("false", JsonToken.FALSE);
+        case 'n':
+            return currentToken = readLiteral("null", JsonToken.NULL);
+        default:
+            if (c == '-' || c == '+' || (c >= '0' && c <= '9') || c == '.') {
+                readNumber();
+                valueCompleted();
+                return currentToken = JsonToken.NUMBER;
+            }
+            throw new IllegalStateException("Unexpected character '" + c + "' at " + position);
+        }
+    }
+
+    public JsonToken getCurrentToken() {
+        return currentToken;
+    }
+
+    /**
+     * @return the nesting depth, 1 inside the top level object or array
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * If the current token starts an object or array, moves to its matching end
+     * token. Otherwise does nothing. Nested content is skipped by a raw scan that
+     * only tracks brackets and strings.
+     */
+    public JsonScanner skipChildren() {
+        if (currentToken != JsonToken.START_OBJECT && currentToken != JsonToken.START_ARRAY) {
+            return this;
+        }
+        int nesting = 1;
+        while (position < end) {
+            char c = input.charAt(position++);
+            if (c == '"') {
+                while (position < end) {
+                    char s = input.charAt(position++);
+                    if (s == '\\') {
+                        position++;
+                    } else if (s == '"') {
+                        break;
+                    }
+                }
+            } else if (c == '{' || c == '[') {
+                nesting++;
+            } else if (c == '}' || c == ']') {
+                if (--nesting == 0) {
+                    tokenStart = position - 1;
+                    tokenEnd = position;
+                    currentToken = c == '}' ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+                    pop();
+                    return this;
+                }
+            }
+        }
+        throw new IllegalStateException("Unterminated " + (currentToken == JsonToken.START_OBJECT ? "object" : "array"));
+    }
+
+    /**
+     * Moves past the value that follows the current field name, leaving the
+     * scanner on that value's last token.
+     */
+    public JsonScanner skipValue() {
+        nextToken();
+        return skipChildren();
+    }
+
+    /**
+     * Scans the remaining fields of the current object for {@code fieldName},
+     * skipping the values of other fields. Must be called on the object's
+     * {@link JsonToken#START_OBJECT}, on a field name inside it, or on the last
+     * token of a field's value.
+     *
+     * @return true with the scanner on the matching field name, or false with the
+     *         scanner on the object's {@link JsonToken#END_OBJECT}
+     */
+    public boolean seekField(String fieldName) {
+        if (currentToken == JsonToken.FIELD_NAME) {
+            skipValue();
+        }
+        JsonToken token;
+        while ((token = nextToken()) == JsonToken.FIELD_NAME) {
+            if (textEquals(fieldName)) {
+                return true;
+            }
+            skipValue();
+        }
+        return false;
+    }
+
+    /**
+     * Compares the current field name or string value with {@code text} without
+     * allocating.
+     */
+    public boolean textEquals(String text) {
+        if (text == null) {
+            return false;
+        }
+        if (tokenHasEscapes) {
+            return text.equals(getText());
+        }
+        int length = tokenEnd - tokenStart;
+        if (length != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (input.charAt(tokenStart + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the current string value starts with {@code prefix}
+     */
+    public boolean textStartsWith(String prefix) {
+        if (prefix == null) {
+            return false;
+        }
+        if (tokenHasEscapes) {
+            return getText().startsWith(prefix);
+        }
+        int length = prefix.length();
+        if (tokenEnd - tokenStart < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (input.charAt(tokenStart + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the text of the current token, with escapes decoded for strings
+     *         and field names; allocates a new String
+     */
+    public String getText() {
+        if (currentToken == null || currentToken == JsonToken.END_OF_INPUT) {
+            return null;
+        }
+        if (!tokenHasEscapes) {
+            return input.subSequence(tokenStart, tokenEnd).toString();
+        }
+        StringBuilder sb = new StringBuilder(tokenEnd - tokenStart);
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            char c = input.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char escaped = input.charAt(++i);
+            switch (escaped) {
+            case 'b':
+                sb.append('\b');
+                break;
+            case 'f':
+                sb.append('\f');
+                break;
+            case 'n':
+                sb.append('\n');
+                break;
+            case 'r':
+                sb.append('\r');
+                break;
+            case 't':
+                sb.append('\t');
+                break;
+            case 'u':
+                sb.append((char) Integer.parseInt(input.subSequence(i + 1, i + 5).toString(), 16));
+                i += 4;
+                break;
+            default:
+                sb.append(escaped);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return the offset of the current token's text in the input; for strings
+     *         the opening quote is excluded
+     */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * @return the offset just past the current token's text; for strings the
+     *         closing quote is excluded
+     */
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    public CharSequence getInput() {
+        return input;
+    }
+
+    public boolean isNull() {
+        return currentToken == JsonToken.NULL;
+    }
+
+    /**
+     * @return true if the current token is a number or a string that could hold
+     *         one, i.e. a value the numeric getters can be called on
+     */
+    public boolean isNumeric() {
+        return currentToken == JsonToken.NUMBER || currentToken == JsonToken.STRING;
+    }
+
+    /**
+     * Decodes the current number or numeric string as a long.
+     *
+     * @throws NumberFormatException if the value is not an integer
+     */
+    public long getLong() {
+        requireNumeric();
+        int i = tokenStart;
+        if (i >= tokenEnd) {
+            throw new NumberFormatException("empty number");
+        }
+        boolean negative = false;
+        char c = input.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        if (i >= tokenEnd) {
+            throw new NumberFormatException("No digits in " + input.subSequence(tokenStart, tokenEnd));
+        }
+        long result = 0;
+        for (; i < tokenEnd; i++) {
+            c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.parseLong(input.subSequence(tokenStart, tokenEnd).toString());
+            }
+            result = Math.addExact(Math.multiplyExact(result, 10L), c - '0');
+        }
+        return negative ? -result : result;
+    }
+
+    public int getInt() {
+        long value = getLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Decodes the current number or numeric string as a double. Plain decimals
+     * with up to 15 significant digits are converted exactly without allocating;
+     * anything else goes through {@link Double#parseDouble(String)}.
+     */
+    public double getDouble() {
+        decodeDecimal();
+        if (decimalScale < DOUBLE_POWERS_OF_TEN.length && Math.abs(decimalUnscaled) < MAX_EXACT_DOUBLE
+                && !hasExponent()) {
+            return decimalUnscaled / DOUBLE_POWERS_OF_TEN[decimalScale];
+        }
+        return Double.parseDouble(input.subSequence(tokenStart, tokenEnd).toString());
+    }
+
+    /**
+     * Decodes the current number or numeric string as a fixed-point long at
+     * {@code scale}, rounding half-up.
+     *
+     * @see FixedPoint#parse(CharSequence, int, int, int)
+     */
+    public long getScaled(int scale) {
+        requireNumeric();
+        return FixedPoint.parse(input, tokenStart, tokenEnd, scale);
+    }
+
+    /**
+     * Decodes the current number or numeric string keeping the scale it was
+     * written with, so {@code "2.50"} becomes 250 with scale 2. Values with more
+     * than {@link FixedPoint#MAX_SCALE} decimals, or more significant digits than
+     * a long holds, are rounded half-up.
+     *
+     * @return the unscaled value; see {@link #getDecimalScale()}
+     */
+    public long getDecimalUnscaled() {
+        decodeDecimal();
+        return decimalUnscaled;
+    }
+
+    /**
+     * @return the scale of the value returned by {@link #getDecimalUnscaled()}
+     */
+    public int getDecimalScale() {
+        decodeDecimal();
+        return decimalScale;
+    }
+
+    public BigDecimal getBigDecimal() {
+        requireNumeric();
+        if (hasExponent()) {
+            return new BigDecimal(input.subSequence(tokenStart, tokenEnd).toString());
+        }
+        decodeDecimal();
+        return BigDecimal.valueOf(decimalUnscaled, decimalScale);
+    }
+
+    /**
+     * Reads an array of price levels into {@code buffer}. Each level may be an
+     * array whose first two elements are price and quantity, e.g.
+     * {@code ["101.25","1.5"]}, or an object holding them under
+     * {@code priceField} and {@code quantityField}. Levels with a null, missing
+     * or malformed price or quantity are skipped rather than failing the whole
+     * array. The scanner must be on the array's
+     * {@link JsonToken#START_ARRAY} and is left on its
+     * {@link JsonToken#END_ARRAY}. A null value is treated as an empty array.
+     *
+     * @return the number of levels added
+     */
+    public int readPriceLevels(PriceLevelBuffer buffer, String priceField, String quantityField) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer is required");
+        }
+        if (currentToken == JsonToken.NULL) {
+            return 0;
+        }
+        if (currentToken != JsonToken.START_ARRAY) {
+            throw new IllegalStateException("Expected START_ARRAY but was " + currentToken);
+        }
+        int added = 0;
+        JsonToken token;
+        while ((token = nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_ARRAY) {
+                added += readArrayLevel(buffer);
+            } else if (token == JsonToken.START_OBJECT) {
+                added += readObjectLevel(buffer, priceField, quantityField);
+            } else if (token == JsonToken.END_OF_INPUT) {
+                throw new IllegalStateException("Unterminated array");
+            }
+        }
+        return added;
+    }
+
+    protected int readArrayLevel(PriceLevelBuffer buffer) {
+        long price = 0;
+        int priceScale = -1;
+        long quantity = 0;
+        int quantityScale = -1;
+        int index = 0;
+        JsonToken token;
+        while ((token = nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.END_OF_INPUT) {
+                throw new IllegalStateException("Unterminated array");
+            }
+            if (index == 0 && decodeLevelValue()) {
+                price = decimalUnscaled;
+                priceScale = decimalScale;
+            } else if (index == 1 && decodeLevelValue()) {
+                quantity = decimalUnscaled;
+                quantityScale = decimalScale;
+            } else {
+                skipChildren();
+            }
+            index++;
+        }
+        if (priceScale < 0 || quantityScale < 0) {
+            return 0;
+        }
+        buffer.add(price, priceScale, quantity, quantityScale);
+        return 1;
+    }
+
+    protected int readObjectLevel(PriceLevelBuffer buffer, String priceField, String quantityField) {
+        long price = 0;
+        int priceScale = -1;
+        long quantity = 0;
+        int quantityScale = -1;
+        JsonToken token;
+        while ((token = nextToken()) == JsonToken.FIELD_NAME) {
+            if (textEquals(priceField)) {
+                nextToken();
+                if (decodeLevelValue()) {
+                    price = decimalUnscaled;
+                    priceScale = decimalScale;
+                } else {
+                    skipChildren();
+                }
+            } else if (textEquals(quantityField)) {
+                nextToken();
+                if (decodeLevelValue()) {
+                    quantity = decimalUnscaled;
+                    quantityScale = decimalScale;
+                } else {
+                    skipChildren();
+                }
+            } else {
+                skipValue();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new IllegalStateException("Unterminated object");
+        }
+        if (priceScale < 0 || quantityScale < 0) {
+            return 0;
+        }
+        buffer.add(price, priceScale, quantity, quantityScale);
+        return 1;
+    }
+
+    /**
+     * Decodes the current value of a price level field.
+     *
+     * @return false if the value is not a number, so the level is skipped
+     */
+    protected boolean decodeLevelValue() {
+        if (!isNumeric()) {
+            return false;
+        }
+        try {
+            decodeDecimal();
+            return true;
+        } catch (NumberFormatException | ArithmeticException e) {
+            return false;
+        }
+    }
+
+    protected void decodeDecimal() {
+        if (decimalDecoded) {
+            return;
+        }
+        requireNumeric();
+        if (hasExponent()) {
+            BigDecimal value = new BigDecimal(input.subSequence(tokenStart, tokenEnd).toString());
+            value = PriceLevelBuffer.normalize(value);
+            decimalUnscaled = value.unscaledValue().longValueExact();
+            decimalScale = value.scale();
+            decimalDecoded = true;
+            return;
+        }
+        int i = tokenStart;
+        if (i >= tokenEnd) {
+            throw new NumberFormatException("empty number");
+        }
+        boolean negative = false;
+        char c = input.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        long result = 0;
+        int scale = -1;
+        boolean sawDigit = false;
+        boolean truncated = false;
+        boolean roundUp = false;
+        for (; i < tokenEnd; i++) {
+            c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sawDigit = true;
+                if (truncated) {
+                    continue;
+                }
+                if (scale >= 0 && (scale == FixedPoint.MAX_SCALE || result > DIGIT_LIMIT)) {
+                    // out of room for more fraction digits: round on the first dropped one
+                    truncated = true;
+                    roundUp = c >= '5';
+                    continue;
+                }
+                result = Math.addExact(Math.multiplyExact(result, 10L), c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                throw new NumberFormatException(
+                        "Invalid character '" + c + "' in " + input.subSequence(tokenStart, tokenEnd));
+            }
+        }
+        if (!sawDigit) {
+            throw new NumberFormatException("No digits in " + input.subSequence(tokenStart, tokenEnd));
+        }
+        if (roundUp) {
+            result = Math.addExact(result, 1L);
+        }
+        decimalUnscaled = negative ? -result : result;
+        decimalScale = Math.max(scale, 0);
+        decimalDecoded = true;
+    }
+
+    protected boolean hasExponent() {
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            char c = input.charAt(i);
+            if (c == 'e' || c == 'E') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void requireNumeric() {
+        if (!isNumeric()) {
+            throw new NumberFormatException("Current token is not numeric: " + currentToken);
+        }
+    }
+
+    protected void skipSeparators() {
+        while (position < end) {
+            char c = input.charAt(position);
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',' || c == ':') {
+                position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    protected void readString() {
+        int i = position + 1;
+        tokenStart = i;
+        while (i < end) {
+            char c = input.charAt(i);
+            if (c == '\\') {
+                tokenHasEscapes = true;
+                i += 2;
+            } else if (c == '"') {
+                tokenEnd = i;
+                position = i + 1;
+                return;
+            } else {
+                i++;
+            }
+        }
+        throw new IllegalStateException("Unterminated string at " + (tokenStart - 1));
+    }
+
+    protected void readNumber() {
+        int i = position;
+        tokenStart = i;
+        while (i < end) {
+            char c = input.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        tokenEnd = i;
+        position = i;
+    }
+
+    protected JsonToken readLiteral(String literal, JsonToken token) {
+        int length = literal.length();
+        if (position + length > end) {
+            throw new IllegalStateException("Unexpected end of input at " + position);
+        }
+        for (int i = 0; i < length; i++) {
+            if (input.charAt(position + i) != literal.charAt(i)) {
+                throw new IllegalStateException("Unexpected character '" + input.charAt(position + i) + "' at "
+                        + (position + i));
+            }
+        }
+        tokenStart = position;
+        tokenEnd = position + length;
+        position += length;
+        valueCompleted();
+        return token;
+    }
+
+    protected void push(boolean object) {
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+        }
+        containers[depth++] = object;
+        expectFieldName = object;
+    }
+
+    protected void pop() {
+        if (depth > 0) {
+            depth--;
+        }
+        valueCompleted();
+    }
+
+    protected void valueCompleted() {
+        expectFieldName = depth > 0 && containers[depth - 1];
+    }
+}
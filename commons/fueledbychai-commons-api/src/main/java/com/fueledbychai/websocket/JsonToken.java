@@ -0,0 +1,12 @@
+package com.fueledbychai.websocket;
+
+/**
+ * Tokens produced by {@link JsonScanner}.
+ */
+public enum JsonToken {
+    START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, FIELD_NAME, STRING, NUMBER, TRUE, FALSE, NULL, END_OF_INPUT;
+
+    public boolean isScalarValue() {
+        return this == STRING || this == NUMBER || this == TRUE || this == FALSE || this == NULL;
+    }
+}
@@ -0,0 +1,158 @@
+package com.fueledbychai.websocket;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+import com.fueledbychai.data.FixedPoint;
+
+/**
+ * Growable columns of price levels decoded from a market data message. Prices
+ * and quantities are kept as unscaled longs with the scale they had on the wire,
+ * so {@code "100.50"} is stored as 10050 at scale 2 and converts back to the same
+ * {@link BigDecimal}. Consumers that keep their own fixed-point scale read the
+ * levels through {@link #getScaledPrice(int, int)} and
+ * {@link #getQuantityAsDouble(int)} without allocating.
+ * <p>
+ * Not thread safe; a buffer is filled by one thread and then only read.
+ */
+public class PriceLevelBuffer {
+
+    protected long[] prices;
+    protected byte[] priceScales;
+    protected long[] quantities;
+    protected byte[] quantityScales;
+    protected int count;
+
+    public PriceLevelBuffer() {
+        this(16);
+    }
+
+    public PriceLevelBuffer(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        prices = new long[capacity];
+        priceScales = new byte[capacity];
+        quantities = new long[capacity];
+        quantityScales = new byte[capacity];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void add(long price, int priceScale, long quantity, int quantityScale) {
+        checkScale(priceScale);
+        checkScale(quantityScale);
+        if (count == prices.length) {
+            int capacity = prices.length * 2;
+            prices = Arrays.copyOf(prices, capacity);
+            priceScales = Arrays.copyOf(priceScales, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            quantityScales = Arrays.copyOf(quantityScales, capacity);
+        }
+        prices[count] = price;
+        priceScales[count] = (byte) priceScale;
+        quantities[count] = quantity;
+        quantityScales[count] = (byte) quantityScale;
+        count++;
+    }
+
+    public void add(BigDecimal price, BigDecimal quantity) {
+        if (price == null) {
+            throw new IllegalArgumentException("price is required");
+        }
+        if (quantity == null) {
+            throw new IllegalArgumentException("quantity is required");
+        }
+        BigDecimal normalizedPrice = normalize(price);
+        BigDecimal normalizedQuantity = normalize(quantity);
+        add(normalizedPrice.unscaledValue().longValueExact(), normalizedPrice.scale(),
+                normalizedQuantity.unscaledValue().longValueExact(), normalizedQuantity.scale());
+    }
+
+    public long getPriceUnscaled(int index) {
+        checkIndex(index);
+        return prices[index];
+    }
+
+    public int getPriceScale(int index) {
+        checkIndex(index);
+        return priceScales[index];
+    }
+
+    public BigDecimal getPrice(int index) {
+        checkIndex(index);
+        return BigDecimal.valueOf(prices[index], priceScales[index]);
+    }
+
+    /**
+     * @return the price at {@code index} converted to {@code scale}, rounding
+     *         half-up if digits are dropped
+     */
+    public long getScaledPrice(int index, int scale) {
+        checkIndex(index);
+        return FixedPoint.rescale(prices[index], priceScales[index], scale);
+    }
+
+    public long getQuantityUnscaled(int index) {
+        checkIndex(index);
+        return quantities[index];
+    }
+
+    public int getQuantityScale(int index) {
+        checkIndex(index);
+        return quantityScales[index];
+    }
+
+    public BigDecimal getQuantity(int index) {
+        checkIndex(index);
+        return BigDecimal.valueOf(quantities[index], quantityScales[index]);
+    }
+
+    public double getQuantityAsDouble(int index) {
+        checkIndex(index);
+        return FixedPoint.toDouble(quantities[index], quantityScales[index]);
+    }
+
+    protected static BigDecimal normalize(BigDecimal value) {
+        if (value.scale() < 0) {
+            return value.setScale(0);
+        }
+        if (value.scale() > FixedPoint.MAX_SCALE) {
+            return value.setScale(FixedPoint.MAX_SCALE, RoundingMode.HALF_UP);
+        }
+        return value;
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+        }
+    }
+
+    protected static void checkScale(int scale) {
+        if (scale < 0 || scale > FixedPoint.MAX_SCALE) {
+            throw new IllegalArgumentException("scale must be between 0 and " + FixedPoint.MAX_SCALE + ": " + scale);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PriceLevelBuffer [");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getPrice(i)).append('@').append(getQuantity(i));
+        }
+        return sb.append(']').toString();
+    }
+}
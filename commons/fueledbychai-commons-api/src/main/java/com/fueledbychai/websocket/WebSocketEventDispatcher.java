@@ -0,0 +1,456 @@
+package com.fueledbychai.websocket;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs listener notifications for many WebSocket processors on one shared
+ * executor while keeping each processor's events in order.
+ * <p>
+ * Each processor gets a {@link Lane}: a bounded FIFO queue that is drained by
+ * at most one task at a time. Different lanes run in parallel on the shared
+ * executor, but events within a lane are delivered one after another in the
+ * order they were submitted, which order-state updates depend on. A lane drains
+ * a limited batch before yielding the executor to other lanes.
+ * <p>
+ * When a lane is full, its {@link OverflowPolicy} decides what happens to the
+ * new event. The default dispatcher uses virtual threads, or a fixed pool when
+ * {@value #THREADS_PROPERTY} is set to a positive count. Queue capacity and
+ * overflow policy are read from {@value #QUEUE_CAPACITY_PROPERTY} and
+ * {@value #OVERFLOW_PROPERTY}; each falls back to the environment variable of
+ * the same name in upper case with dots replaced by underscores.
+ */
+public class WebSocketEventDispatcher {
+
+    protected static final Logger logger = LoggerFactory.getLogger(WebSocketEventDispatcher.class);
+
+    public static final String THREADS_PROPERTY = "fueledbychai.websocket.dispatch.threads";
+    public static final String QUEUE_CAPACITY_PROPERTY = "fueledbychai.websocket.dispatch.queue.capacity";
+    public static final String OVERFLOW_PROPERTY = "fueledbychai.websocket.dispatch.overflow";
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    protected static final int DRAIN_BATCH_SIZE = 64;
+
+    public enum OverflowPolicy {
+        /** Wait for room, pushing back on the WebSocket thread. */
+        BLOCK,
+        /** Discard the oldest queued event to make room. */
+        DROP_OLDEST,
+        /**
+         * Discard every queued event and keep only the new one, for streams where
+         * the latest message supersedes earlier ones.
+         */
+        CONFLATE
+    }
+
+    private static volatile WebSocketEventDispatcher defaultDispatcher;
+
+    protected final ExecutorService executor;
+    protected final int queueCapacity;
+    protected final OverflowPolicy overflowPolicy;
+    protected final Set<Lane> lanes = ConcurrentHashMap.newKeySet();
+    protected final LongAdder dispatchedCount = new LongAdder();
+    protected final LongAdder droppedCount = new LongAdder();
+    protected final LongAdder conflatedCount = new LongAdder();
+    protected final LongAdder totalLatencyNanos = new LongAdder();
+    protected final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public WebSocketEventDispatcher(ExecutorService executor, int queueCapacity, OverflowPolicy overflowPolicy) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor is required");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("overflowPolicy is required");
+        }
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return the dispatcher shared by all processors that were not given one,
+     *         created from the system properties on first use
+     */
+    public static WebSocketEventDispatcher getDefault() {
+        WebSocketEventDispatcher dispatcher = defaultDispatcher;
+        if (dispatcher == null) {
+            synchronized (WebSocketEventDispatcher.class) {
+                dispatcher = defaultDispatcher;
+                if (dispatcher == null) {
+                    dispatcher = createFromProperties();
+                    defaultDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Replaces the shared dispatcher used by processors created afterwards.
+     * Existing processors keep the lanes they already have.
+     */
+    public static void setDefault(WebSocketEventDispatcher dispatcher) {
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("dispatcher is required");
+        }
+        synchronized (WebSocketEventDispatcher.class) {
+            defaultDispatcher = dispatcher;
+        }
+    }
+
+    protected static WebSocketEventDispatcher createFromProperties() {
+        int threads = 0;
+        int capacity = DEFAULT_QUEUE_CAPACITY;
+        OverflowPolicy policy = OverflowPolicy.BLOCK;
+        String value = getProperty(THREADS_PROPERTY);
+        try {
+            if (value != null) {
+                threads = Integer.parseInt(value.trim());
+            }
+            value = getProperty(QUEUE_CAPACITY_PROPERTY);
+            if (value != null) {
+                capacity = Integer.parseInt(value.trim());
+            }
+            value = getProperty(OVERFLOW_PROPERTY);
+            if (value != null) {
+                policy = OverflowPolicy.valueOf(value.trim().toUpperCase());
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring invalid websocket dispatch setting '{}'", value);
+        }
+        ExecutorService executor = threads > 0 ? Executors.newFixedThreadPool(threads, new DispatchThreadFactory())
+                : Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("websocket-dispatch-", 0).factory());
+        return new WebSocketEventDispatcher(executor, capacity > 0 ? capacity : DEFAULT_QUEUE_CAPACITY, policy);
+    }
+
+    protected static String getProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(name.toUpperCase().replace('.', '_'));
+        }
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Creates a lane with this dispatcher's queue capacity and overflow policy.
+     */
+    public Lane newLane(String name) {
+        return newLane(name, queueCapacity, overflowPolicy);
+    }
+
+    public Lane newLane(String name, int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy is required");
+        }
+        Lane lane = new Lane(name, capacity, policy);
+        lanes.add(lane);
+        return lane;
+    }
+
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    /**
+     * @return the number of events waiting across all open lanes
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.getQueueDepth();
+        }
+        return depth;
+    }
+
+    public long getDispatchedCount() {
+        return dispatchedCount.sum();
+    }
+
+    /**
+     * @return events discarded by {@link OverflowPolicy#DROP_OLDEST}, by closed
+     *         lanes, or because the executor refused work
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * @return events discarded by {@link OverflowPolicy#CONFLATE}
+     */
+    public long getConflatedCount() {
+        return conflatedCount.sum();
+    }
+
+    /**
+     * @return the mean time from submit to the start of delivery, in nanoseconds
+     */
+    public long getAverageDispatchLatencyNanos() {
+        long count = dispatchedCount.sum();
+        return count == 0 ? 0L : totalLatencyNanos.sum() / count;
+    }
+
+    public long getMaxDispatchLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.close();
+        }
+        executor.shutdown();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    protected void recordLatency(long latencyNanos) {
+        dispatchedCount.increment();
+        totalLatencyNanos.add(latencyNanos);
+        long max = maxLatencyNanos.get();
+        while (latencyNanos > max && !maxLatencyNanos.compareAndSet(max, latencyNanos)) {
+            max = maxLatencyNanos.get();
+        }
+    }
+
+    /**
+     * An ordered, bounded queue of events for one processor.
+     */
+    public class Lane {
+
+        protected final String name;
+        protected final int capacity;
+        protected final OverflowPolicy policy;
+        protected final ArrayDeque<QueuedTask> tasks = new ArrayDeque<>();
+        protected final ReentrantLock lock = new ReentrantLock();
+        protected final Condition notFull = lock.newCondition();
+        protected boolean scheduled;
+        protected boolean closed;
+        protected int maxQueueDepth;
+        protected volatile Thread drainingThread;
+
+        protected Lane(String name, int capacity, OverflowPolicy policy) {
+            this.name = name;
+            this.capacity = capacity;
+            this.policy = policy;
+        }
+
+        /**
+         * Queues {@code task} to run after every task submitted to this lane before
+         * it. A task submitted from this lane's own delivery thread is never blocked
+         * or conflated away, so listeners can publish back into their processor.
+         *
+         * @return false if the task was discarded because the lane is closed, the
+         *         wait for room was interrupted, or the executor refused it
+         */
+        public boolean submit(Runnable task) {
+            if (task == null) {
+                throw new IllegalArgumentException("task is required");
+            }
+            boolean schedule = false;
+            lock.lock();
+            try {
+                if (closed) {
+                    droppedCount.increment();
+                    return false;
+                }
+                if (tasks.size() >= capacity && drainingThread != Thread.currentThread()) {
+                    switch (policy) {
+                    case BLOCK:
+                        while (tasks.size() >= capacity && !closed) {
+                            try {
+                                notFull.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                droppedCount.increment();
+                                return false;
+                            }
+                        }
+                        if (closed) {
+                            droppedCount.increment();
+                            return false;
+                        }
+                        break;
+                    case DROP_OLDEST:
+                        tasks.pollFirst();
+                        droppedCount.increment();
+                        break;
+                    case CONFLATE:
+                        conflatedCount.add(tasks.size());
+                        tasks.clear();
+                        break;
+                    }
+                }
+                tasks.addLast(new QueuedTask(task, System.nanoTime()));
+                if (tasks.size() > maxQueueDepth) {
+                    maxQueueDepth = tasks.size();
+                }
+                if (!scheduled) {
+                    scheduled = true;
+                    schedule = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (schedule) {
+                schedule();
+            }
+            return true;
+        }
+
+        protected void schedule() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                lock.lock();
+                try {
+                    droppedCount.add(tasks.size());
+                    tasks.clear();
+                    scheduled = false;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                logger.warn("WebSocket dispatch executor rejected events for {}", name);
+            }
+        }
+
+        protected void drain() {
+            drainingThread = Thread.currentThread();
+            try {
+                for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+                    QueuedTask queued;
+                    lock.lock();
+                    try {
+                        queued = tasks.pollFirst();
+                        if (queued == null) {
+                            scheduled = false;
+                            return;
+                        }
+                        notFull.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                    recordLatency(System.nanoTime() - queued.enqueuedNanos);
+                    try {
+                        queued.task.run();
+                    } catch (Throwable t) {
+                        logger.error("Error dispatching websocket event for {}", name, t);
+                    }
+                }
+            } finally {
+                drainingThread = null;
+            }
+            lock.lock();
+            try {
+                if (tasks.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // yield the executor to other lanes before continuing with this one
+            schedule();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return policy;
+        }
+
+        public int getQueueDepth() {
+            lock.lock();
+            try {
+                return tasks.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int getMaxQueueDepth() {
+            lock.lock();
+            try {
+                return maxQueueDepth;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Discards queued events and rejects new ones. A task that is already
+         * running finishes normally.
+         */
+        public void close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                droppedCount.add(tasks.size());
+                tasks.clear();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            lanes.remove(this);
+        }
+
+        public boolean isClosed() {
+            lock.lock();
+            try {
+                return closed;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    protected static final class QueuedTask {
+        protected final Runnable task;
+        protected final long enqueuedNanos;
+
+        protected QueuedTask(Runnable task, long enqueuedNanos) {
+            this.task = task;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    protected static class DispatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "websocket-dispatch-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.fueledbychai.websocket;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes frames from a shared WebSocket connection to the one processor that
+ * handles them.
+ * <p>
+ * The routing key, e.g. {@code channel}, {@code topic} or {@code stream}, is
+ * read from the top level of the message with a {@link JsonScanner}, which stops
+ * as soon as the key is found and skips nested values without decoding them.
+ * The frame is then handed to the processor registered for that key, so each
+ * frame is parsed in full once rather than by every processor on the
+ * connection. Frames without a key or without a matching route are dropped and
+ * counted as unrouted.
+ * <p>
+ * Subclasses adapt the key to an exchange's conventions through
+ * {@link #normalizeKey(String)}, {@link #findRoute(String)} and
+ * {@link #resolveRoutingKey(String)}. Connection close and error events go to
+ * the closed listener; the child processors' own lifecycle methods are not
+ * called.
+ */
+public class WebSocketMessageRouter implements IWebSocketProcessor {
+
+    protected static final Logger logger = LoggerFactory.getLogger(WebSocketMessageRouter.class);
+
+    protected final String[] routingFields;
+    protected final IWebSocketClosedListener closedListener;
+    protected final Map<String, Route> routes = new ConcurrentHashMap<>();
+    protected final WebSocketRouteStats unroutedStats = new WebSocketRouteStats();
+    protected volatile Runnable onConnectedCallback;
+
+    /**
+     * @param closedListener notified when the shared connection closes or fails,
+     *                       may be null
+     * @param routingFields  top level fields holding the routing key, in order of
+     *                       preference
+     */
+    public WebSocketMessageRouter(IWebSocketClosedListener closedListener, String... routingFields) {
+        if (routingFields == null || routingFields.length == 0) {
+            throw new IllegalArgumentException("routingFields is required");
+        }
+        this.closedListener = closedListener;
+        this.routingFields = routingFields.clone();
+    }
+
+    public void setOnConnectedCallback(Runnable callback) {
+        this.onConnectedCallback = callback;
+    }
+
+    /**
+     * Routes frames whose key matches {@code key} to {@code processor},
+     * replacing any processor already registered for it.
+     */
+    public void addRoute(String key, IWebSocketProcessor processor) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("key is required");
+        }
+        if (processor == null) {
+            throw new IllegalArgumentException("processor is required");
+        }
+        routes.put(normalizeKey(key), new Route(processor));
+    }
+
+    public void removeRoute(String key) {
+        if (key != null) {
+            routes.remove(normalizeKey(key));
+        }
+    }
+
+    /**
+     * Removes every route that dispatches to {@code processor}.
+     */
+    public void removeProcessor(IWebSocketProcessor processor) {
+        routes.values().removeIf(route -> route.processor == processor);
+    }
+
+    public int getRouteCount() {
+        return routes.size();
+    }
+
+    public IWebSocketProcessor getProcessor(String key) {
+        Route route = key == null ? null : routes.get(normalizeKey(key));
+        return route == null ? null : route.processor;
+    }
+
+    /**
+     * @return the counters for a route, or null if no route is registered for the
+     *         key
+     */
+    public WebSocketRouteStats getRouteStats(String key) {
+        Route route = key == null ? null : routes.get(normalizeKey(key));
+        return route == null ? null : route.stats;
+    }
+
+    /**
+     * @return a snapshot of the counters of every route, keyed by normalized key
+     */
+    public Map<String, WebSocketRouteStats> getRouteStats() {
+        Map<String, WebSocketRouteStats> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, Route> entry : routes.entrySet()) {
+            stats.put(entry.getKey(), entry.getValue().stats);
+        }
+        return stats;
+    }
+
+    /**
+     * @return the counters for frames that had no routing key or no matching route
+     */
+    public WebSocketRouteStats getUnroutedStats() {
+        return unroutedStats;
+    }
+
+    @Override
+    public void messageReceived(String message) {
+        if (message == null) {
+            return;
+        }
+        Route route = null;
+        try {
+            String key = resolveRoutingKey(message);
+            if (key != null) {
+                route = findRoute(normalizeKey(key));
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Unable to read routing key from WebSocket message: {}", message, e);
+        }
+        if (route == null) {
+            unroutedStats.record(message.length());
+            return;
+        }
+        route.stats.record(message.length());
+        try {
+            route.processor.messageReceived(message);
+        } catch (Exception e) {
+            logger.error("Error dispatching message to child processor", e);
+        }
+    }
+
+    /**
+     * Reads the routing key from the message. The default reads the first of the
+     * routing fields found at the top level of a JSON object; the value must be a
+     * string.
+     *
+     * @return the raw key, or null if the message has none
+     */
+    protected String resolveRoutingKey(String message) {
+        JsonScanner scanner = new JsonScanner(message);
+        if (scanner.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        if (routingFields.length == 1) {
+            if (!scanner.seekField(routingFields[0])) {
+                return null;
+            }
+            return scanner.nextToken() == JsonToken.STRING ? scanner.getText() : null;
+        }
+        String best = null;
+        int bestIndex = routingFields.length;
+        while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+            int index = routingFieldIndex(scanner);
+            if (index >= bestIndex) {
+                scanner.skipValue();
+            } else if (scanner.nextToken() == JsonToken.STRING) {
+                best = scanner.getText();
+                bestIndex = index;
+                if (index == 0) {
+                    break;
+                }
+            } else {
+                scanner.skipChildren();
+            }
+        }
+        return best;
+    }
+
+    protected int routingFieldIndex(JsonScanner scanner) {
+        for (int i = 0; i < routingFields.length; i++) {
+            if (scanner.textEquals(routingFields[i])) {
+                return i;
+            }
+        }
+        return routingFields.length;
+    }
+
+    /**
+     * Maps a key to the form routes are registered under. Applied both to keys
+     * passed to {@link #addRoute} and to keys read from messages.
+     */
+    protected String normalizeKey(String key) {
+        return key;
+    }
+
+    /**
+     * Finds the route for a normalized key read from a message.
+     */
+    protected Route findRoute(String key) {
+        return routes.get(key);
+    }
+
+    @Override
+    public void connectionClosed(int code, String reason, boolean remote) {
+        logger.info("Shared WebSocket connection closed: {}", reason);
+        if (closedListener != null) {
+            closedListener.connectionClosed();
+        }
+    }
+
+    @Override
+    public void connectionError(Exception error) {
+        logger.error("Shared WebSocket connection error", error);
+        if (closedListener != null) {
+            closedListener.connectionClosed();
+        }
+    }
+
+    @Override
+    public void connectionEstablished() {
+        // no-op
+    }
+
+    @Override
+    public void connectionOpened() {
+        Runnable callback = onConnectedCallback;
+        if (callback != null) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                logger.warn("Error in shared WebSocket onConnected callback", e);
+            }
+        }
+    }
+
+    protected static class Route {
+        protected final IWebSocketProcessor processor;
+        protected final WebSocketRouteStats stats = new WebSocketRouteStats();
+
+        protected Route(IWebSocketProcessor processor) {
+            this.processor = processor;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.fueledbychai.websocket;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Message and byte counters for one route of a {@link WebSocketMessageRouter}.
+ * Bytes are counted as the length of the text frame, which equals the UTF-8
+ * size for the ASCII JSON that exchanges send.
+ */
+public class WebSocketRouteStats {
+
+    protected final LongAdder messages = new LongAdder();
+    protected final LongAdder bytes = new LongAdder();
+
+    public void record(int messageLength) {
+        messages.increment();
+        bytes.add(messageLength);
+    }
+
+    public long getMessageCount() {
+        return messages.sum();
+    }
+
+    public long getByteCount() {
+        return bytes.sum();
+    }
+
+    public void reset() {
+        messages.reset();
+        bytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "WebSocketRouteStats [messages=" + getMessageCount() + ", bytes=" + getByteCount() + "]";
+    }
+}
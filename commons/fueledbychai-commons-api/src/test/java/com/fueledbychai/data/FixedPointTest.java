@@ -0,0 +1,88 @@
+package com.fueledbychai.data;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.junit.Test;
+
+public class FixedPointTest {
+
+    @Test
+    public void testParse() {
+        assertEquals(10125L, FixedPoint.parse("101.25", 2));
+        assertEquals(1012500L, FixedPoint.parse("101.25", 4));
+        assertEquals(-10125L, FixedPoint.parse("-101.25", 2));
+        assertEquals(10000L, FixedPoint.parse("100", 2));
+        assertEquals(1013L, FixedPoint.parse("101.25", 1));
+        assertEquals(101L, FixedPoint.parse("101.249", 0));
+        assertEquals(50L, FixedPoint.parse(".5", 2));
+        assertEquals(12500L, FixedPoint.parse("1.25E2", 2));
+        assertEquals(25L, FixedPoint.parse("x0.25y", 1, 5, 2));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testParseRejectsGarbage() {
+        FixedPoint.parse("1.2.3", 2);
+    }
+
+    @Test
+    public void testBigDecimalAndDoubleRoundTrip() {
+        assertEquals(10125L, FixedPoint.toScaled(new BigDecimal("101.25"), 2));
+        assertEquals(10125L, FixedPoint.toScaled(101.25, 2));
+        assertEquals(10124L, FixedPoint.toScaled(new BigDecimal("101.2499"), 2, RoundingMode.FLOOR));
+        assertEquals(new BigDecimal("101.25"), FixedPoint.toBigDecimal(10125L, 2));
+        assertEquals(101.25, FixedPoint.toDouble(10125L, 2), 0.0);
+    }
+
+    @Test
+    public void testRescale() {
+        assertEquals(1012500L, FixedPoint.rescale(10125L, 2, 4));
+        assertEquals(1013L, FixedPoint.rescale(10125L, 2, 1));
+        assertEquals(-1013L, FixedPoint.rescale(-10125L, 2, 1));
+    }
+
+    @Test
+    public void testMultiply() {
+        // 101.25 * 0.5 = 50.625
+        assertEquals(5063L, FixedPoint.multiply(10125L, 2, 5L, 1, 2));
+        assertEquals(50625L, FixedPoint.multiply(10125L, 2, 5L, 1, 3));
+        // large operands overflow the 64-bit product and use the BigDecimal path
+        long big = FixedPoint.toScaled(new BigDecimal("90000.123456789"), 9);
+        assertEquals(FixedPoint.toScaled(new BigDecimal("8100022222.24"), 2), FixedPoint.multiply(big, 9, big, 9, 2));
+    }
+
+    @Test
+    public void testRoundToIncrement() {
+        assertEquals(100L, FixedPoint.roundToIncrement(103L, 25L, RoundingMode.FLOOR));
+        assertEquals(125L, FixedPoint.roundToIncrement(103L, 25L, RoundingMode.CEILING));
+        assertEquals(100L, FixedPoint.roundToIncrement(112L, 25L, RoundingMode.HALF_UP));
+        assertEquals(125L, FixedPoint.roundToIncrement(113L, 25L, RoundingMode.HALF_UP));
+        assertEquals(-125L, FixedPoint.roundToIncrement(-103L, 25L, RoundingMode.FLOOR));
+        assertEquals(-100L, FixedPoint.roundToIncrement(-103L, 25L, RoundingMode.DOWN));
+    }
+
+    @Test
+    public void testScaleForTicker() {
+        Ticker ticker = new Ticker("BTC");
+        ticker.setMinimumTickSize(new BigDecimal("0.10"));
+        ticker.setOrderSizeIncrement(new BigDecimal("0.001"));
+
+        FixedPointScale scale = ticker.getFixedPointScale();
+
+        assertEquals(1, scale.getPriceScale());
+        assertEquals(3, scale.getQuantityScale());
+        assertEquals(1L, scale.getTickSize());
+        assertEquals(1L, scale.getLotSize());
+        assertEquals(650123L, scale.parsePrice("65012.3"));
+        assertEquals(new BigDecimal("65012.3"), scale.priceToBigDecimal(650123L));
+        assertEquals(325062L, scale.notional(650123L, 500L));
+        assertSame(scale, ticker.getFixedPointScale());
+
+        ticker.setMinimumTickSize(new BigDecimal("0.5"));
+        FixedPointScale updated = ticker.getFixedPointScale();
+        assertEquals(5L, updated.getTickSize());
+        assertEquals(650125L, updated.roundPriceToTick(650123L, RoundingMode.HALF_UP));
+    }
+}
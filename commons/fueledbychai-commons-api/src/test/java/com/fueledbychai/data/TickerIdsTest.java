@@ -0,0 +1,88 @@
+package com.fueledbychai.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+public class TickerIdsTest {
+
+    @Test
+    public void testTickersForTheSameInstrumentShareAnId() {
+        Ticker first = new Ticker("ID-TEST-BTC").setExchange(Exchange.BYBIT)
+                .setInstrumentType(InstrumentType.PERPETUAL_FUTURES).setMinimumTickSize(new BigDecimal("0.1"));
+        Ticker second = new Ticker("ID-TEST-BTC").setExchange(Exchange.BYBIT)
+                .setInstrumentType(InstrumentType.PERPETUAL_FUTURES).setMinimumTickSize(new BigDecimal("0.5"));
+        Ticker otherExchange = new Ticker("ID-TEST-BTC").setExchange(Exchange.OKX)
+                .setInstrumentType(InstrumentType.PERPETUAL_FUTURES);
+
+        assertTrue(first.getTickerId() > TickerIds.NO_ID);
+        assertEquals(first.getTickerId(), second.getTickerId());
+        assertNotEquals(first.getTickerId(), otherExchange.getTickerId());
+        assertTrue(otherExchange.getTickerId() < TickerIds.capacity());
+    }
+
+    @Test
+    public void testOptionsAreDistinguishedByStrikeAndRight() {
+        Ticker call = option("ID-TEST-SPY", "450", Ticker.Right.CALL);
+        Ticker samecall = option("ID-TEST-SPY", "450.00", Ticker.Right.CALL);
+        Ticker put = option("ID-TEST-SPY", "450", Ticker.Right.PUT);
+        Ticker otherStrike = option("ID-TEST-SPY", "455", Ticker.Right.CALL);
+
+        assertEquals(call.getTickerId(), samecall.getTickerId());
+        assertNotEquals(call.getTickerId(), put.getTickerId());
+        assertNotEquals(call.getTickerId(), otherStrike.getTickerId());
+    }
+
+    @Test
+    public void testChangingTheSymbolChangesTheId() {
+        Ticker ticker = new Ticker("ID-TEST-ETH").setExchange(Exchange.BYBIT);
+        int id = ticker.getTickerId();
+
+        ticker.setSymbol("ID-TEST-SOL");
+
+        assertNotEquals(id, ticker.getTickerId());
+    }
+
+    @Test
+    public void testRegisteredTickerIsReturnedByLookup() {
+        Ticker interned = new Ticker("ID-TEST-XRP").setExchange(Exchange.BYBIT);
+        Ticker registered = new Ticker("ID-TEST-XRP").setExchange(Exchange.BYBIT);
+
+        int id = interned.getTickerId();
+        assertSame(interned, TickerIds.lookup(id));
+        assertEquals(id, TickerIds.register(registered));
+        assertSame(registered, TickerIds.lookup(id));
+        assertNull(TickerIds.lookup(TickerIds.NO_ID));
+    }
+
+    @Test
+    public void testTickerIdMapGrowsAndRemoves() {
+        TickerIdMap<String> map = new TickerIdMap<>(1);
+        Ticker btc = new Ticker("ID-TEST-MAP-BTC").setExchange(Exchange.BYBIT);
+        Ticker eth = new Ticker("ID-TEST-MAP-ETH").setExchange(Exchange.BYBIT);
+
+        assertNull(map.put(btc, "btc"));
+        assertNull(map.put(eth, "eth"));
+        assertEquals("btc", map.put(new Ticker("ID-TEST-MAP-BTC").setExchange(Exchange.BYBIT), "btc2"));
+
+        assertEquals(2, map.size());
+        assertEquals("btc2", map.get(btc));
+        assertEquals("eth", map.get(eth.getTickerId()));
+        assertEquals("eth", map.remove(eth));
+        assertNull(map.get(eth));
+        assertEquals(1, map.size());
+        assertNull(map.get(Integer.MAX_VALUE));
+    }
+
+    private Ticker option(String symbol, String strike, Ticker.Right right) {
+        return new Ticker(symbol).setExchange(Exchange.INTERACTIVE_BROKERS_SMART)
+                .setInstrumentType(InstrumentType.OPTION).setExpiryYear(2026).setExpiryMonth(12).setExpiryDay(18)
+                .setStrike(new BigDecimal(strike)).setRight(right);
+    }
+}
@@ -0,0 +1,45 @@
+package com.fueledbychai.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HttpHostMetricsTest {
+
+    @Test
+    public void callsAndConnectsAreRecordedSeparately() {
+        HttpHostMetrics metrics = new HttpHostMetrics("api.example.com");
+        metrics.recordCall(2_000_000);
+        metrics.recordCall(4_000_000);
+        metrics.recordConnect(30_000_000);
+        metrics.recordFailure();
+
+        assertEquals(2, metrics.getCallLatency().getCount());
+        assertEquals(4_000_000, metrics.getCallLatency().getMaxNanos());
+        assertEquals(1, metrics.getConnectLatency().getCount());
+        assertEquals(1, metrics.getFailureCount());
+        assertTrue(metrics.getIdleNanos() >= 0);
+
+        metrics.reset();
+        assertEquals(0, metrics.getCallLatency().getCount());
+        assertEquals(0, metrics.getConnectLatency().getCount());
+        assertEquals(0, metrics.getFailureCount());
+    }
+
+    @Test
+    public void activityRestartsTheIdleTime() throws InterruptedException {
+        HttpHostMetrics metrics = new HttpHostMetrics("api.example.com");
+        Thread.sleep(5);
+        long idle = metrics.getIdleNanos();
+        metrics.recordActivity();
+
+        assertTrue(metrics.getIdleNanos() < idle);
+        assertEquals(0, metrics.getCallLatency().getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hostIsRequired() {
+        new HttpHostMetrics(null);
+    }
+}
@@ -0,0 +1,158 @@
+package com.fueledbychai.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fueledbychai.websocket.ProxyConfig;
+
+import okhttp3.OkHttpClient;
+
+public class OkHttpClientFactoryTest {
+
+    private ServerSocket server;
+    private Thread acceptor;
+    private final AtomicInteger headRequests = new AtomicInteger();
+    private boolean warmUpEnabled;
+
+    @Before
+    public void setUp() throws IOException {
+        warmUpEnabled = OkHttpClientFactory.isWarmUpEnabled();
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::serve, "okhttp-factory-test-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @After
+    public void tearDown() throws IOException, InterruptedException {
+        OkHttpClientFactory.setWarmUpEnabled(warmUpEnabled);
+        server.close();
+        acceptor.join(1_000);
+    }
+
+    @Test
+    public void clientsForTheSameHostShareItsPool() {
+        OkHttpClientFactory.setWarmUpEnabled(false);
+        OkHttpClient first = OkHttpClientFactory.create(Duration.ofSeconds(5), "https://pool-a.example.com/v1");
+        OkHttpClient second = OkHttpClientFactory.newBuilder("https://pool-a.example.com/v2").build();
+        OkHttpClient other = OkHttpClientFactory.create(null, "https://pool-b.example.com/v1");
+        OkHttpClient unkeyed = OkHttpClientFactory.create();
+
+        assertSame(first.connectionPool(), second.connectionPool());
+        assertNotSame(first.connectionPool(), other.connectionPool());
+        assertNotSame(first.connectionPool(), unkeyed.connectionPool());
+        assertSame(OkHttpClientFactory.getDispatcher(), first.dispatcher());
+        assertSame(first.dispatcher(), other.dispatcher());
+        assertSame(first.dispatcher(), unkeyed.dispatcher());
+        assertEquals(5_000, first.callTimeoutMillis());
+    }
+
+    @Test
+    public void newHostIsWarmedOnceWithAHeadRequest() throws InterruptedException {
+        OkHttpClientFactory.setWarmUpEnabled(true);
+        String baseUrl = "http://127.0.0.1:" + server.getLocalPort() + "/api";
+
+        OkHttpClientFactory.create(Duration.ofSeconds(5), baseUrl);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (headRequests.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, headRequests.get());
+
+        OkHttpClientFactory.create(Duration.ofSeconds(5), baseUrl);
+        Thread.sleep(200);
+        assertEquals(1, headRequests.get());
+    }
+
+    @Test
+    public void noRequestIsSentWhileWarmUpIsOff() throws InterruptedException {
+        OkHttpClientFactory.setWarmUpEnabled(false);
+
+        OkHttpClientFactory.create(Duration.ofSeconds(5), "http://localhost:" + server.getLocalPort() + "/");
+        Thread.sleep(200);
+
+        assertEquals(0, headRequests.get());
+    }
+
+    @Test
+    public void builderAppliesTheProxyAndTheWireTap() {
+        OkHttpClientFactory.setWarmUpEnabled(false);
+        ProxyConfig.getInstance().setSocksProxy("127.0.0.1", 1081);
+        try {
+            OkHttpClient client = OkHttpClientFactory.newBuilder(null).build();
+
+            assertEquals(new Proxy(Proxy.Type.SOCKS, new InetSocketAddress("127.0.0.1", 1081)), client.proxy());
+            assertTrue(client.interceptors().stream().anyMatch(WireTapInterceptor.class::isInstance));
+        } finally {
+            ProxyConfig.getInstance().reset();
+        }
+
+        OkHttpClient direct = OkHttpClientFactory.newBuilder("https://direct.example.com").build();
+        assertFalse(direct.proxy() != null && direct.proxy() != Proxy.NO_PROXY);
+        assertEquals(1, direct.interceptors().stream().filter(WireTapInterceptor.class::isInstance).count());
+    }
+
+    @Test
+    public void idleHostIsPingedOnEveryTick() {
+        long interval = TimeUnit.SECONDS.toNanos(30);
+        HttpHostMetrics justUsed = new HttpHostMetrics("used.example.com");
+        HttpHostMetrics quiet = new HttpHostMetrics("quiet.example.com") {
+            @Override
+            public long getIdleNanos() {
+                // one tick after the previous ping, a little short of a full interval
+                return interval - TimeUnit.MILLISECONDS.toNanos(5);
+            }
+        };
+
+        assertTrue(OkHttpClientFactory.isPingDue(null, interval));
+        assertTrue(OkHttpClientFactory.isPingDue(quiet, interval));
+        assertFalse(OkHttpClientFactory.isPingDue(justUsed, interval));
+    }
+
+    /**
+     * Answers every request with an empty 200 and counts the HEAD requests.
+     */
+    private void serve() {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                String requestLine = in.readLine();
+                String header;
+                while ((header = in.readLine()) != null && !header.isEmpty()) {
+                    // skip the headers
+                }
+                if (requestLine != null && requestLine.startsWith("HEAD ")) {
+                    headRequests.incrementAndGet();
+                }
+                OutputStream out = socket.getOutputStream();
+                out.write("HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"
+                        .getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+            } catch (IOException e) {
+                // closed by tearDown
+            }
+        }
+    }
+}
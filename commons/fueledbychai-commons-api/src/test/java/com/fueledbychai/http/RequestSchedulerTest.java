@@ -0,0 +1,113 @@
+package com.fueledbychai.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.fueledbychai.data.Exchange;
+
+public class RequestSchedulerTest {
+
+    @Test
+    public void unlimitedSchedulerNeverWaits() {
+        RequestScheduler scheduler = new RequestScheduler("test", null);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            scheduler.acquire(RequestPriority.QUERY, 10);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertNull(scheduler.getLimit());
+    }
+
+    @Test
+    public void burstIsServedAtOnceThenPaced() {
+        RequestScheduler scheduler = new RequestScheduler("test", new RateLimit(5, 200));
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            scheduler.acquire(RequestPriority.QUERY, 1);
+        }
+        long burst = System.nanoTime() - start;
+        for (int i = 0; i < 5; i++) {
+            scheduler.acquire(RequestPriority.QUERY, 1);
+        }
+        long total = System.nanoTime() - start;
+
+        assertTrue("burst took " + burst, burst < TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue("ten requests took " + total, total >= TimeUnit.MILLISECONDS.toNanos(180));
+    }
+
+    @Test
+    public void cancelsGoBeforePlacesAndPlacesBeforeQueries() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler("test", new RateLimit(1, 150));
+        scheduler.acquire(RequestPriority.QUERY, 1);
+
+        List<RequestPriority> served = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (RequestPriority priority : new RequestPriority[] { RequestPriority.QUERY, RequestPriority.PLACE,
+                RequestPriority.CANCEL }) {
+            Thread thread = new Thread(() -> {
+                scheduler.acquire(priority, 1);
+                served.add(priority);
+            });
+            thread.start();
+            threads.add(thread);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (scheduler.getQueueLength() < threads.size() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+
+        assertEquals(List.of(RequestPriority.CANCEL, RequestPriority.PLACE, RequestPriority.QUERY), served);
+        assertEquals(0, scheduler.getQueueLength());
+    }
+
+    @Test
+    public void weightAboveTheLimitIsCapped() {
+        RequestScheduler scheduler = new RequestScheduler("test", new RateLimit(10, 100));
+        long start = System.nanoTime();
+        scheduler.acquire(RequestPriority.QUERY, 1_000);
+        scheduler.acquire(RequestPriority.QUERY, 1_000);
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void exchangeLimitComesFromTheSystemProperty() {
+        String property = RequestScheduler.PROPERTY_PREFIX + "replay.ws";
+        System.setProperty(property, "10/2");
+        try {
+            RequestScheduler scheduler = RequestScheduler.forWebSocket(Exchange.REPLAY);
+            assertEquals(new RateLimit(10, 2000), scheduler.getLimit());
+            assertSame(scheduler, RequestScheduler.forWebSocket(Exchange.REPLAY));
+        } finally {
+            System.clearProperty(property);
+        }
+    }
+
+    @Test
+    public void rateLimitParsesWeightPerSeconds() {
+        assertEquals(RateLimit.perMinute(2400), RateLimit.parse("2400/60"));
+        assertEquals(new RateLimit(5, 500), RateLimit.parse(" 5 / 0.5 "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rateLimitNeedsSeconds() {
+        RateLimit.parse("2400");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rateLimitNeedsAPositiveWeight() {
+        RateLimit.parse("0/1");
+    }
+}
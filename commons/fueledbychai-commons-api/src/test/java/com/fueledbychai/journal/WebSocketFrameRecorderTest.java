@@ -0,0 +1,71 @@
+package com.fueledbychai.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WebSocketFrameRecorderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath();
+    }
+
+    @Test
+    public void recordedFramesReadBackAcrossSegments() throws IOException {
+        try (WebSocketFrameRecorder recorder = new WebSocketFrameRecorder(directory, 1024, 1024 * 1024)) {
+            recorder.start();
+            for (int i = 0; i < 100; i++) {
+                assertTrue(recorder.record(i % 2 == 0 ? "BYBIT" : "OKX", "orderbook",
+                        "{\"seq\":" + i + ",\"px\":\"100.5\"}"));
+            }
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted().collect(Collectors.toList());
+        }
+        assertTrue(files.size() > 1);
+
+        List<String> frames = new ArrayList<>();
+        long lastTimestamp = 0;
+        for (Path file : files) {
+            try (WebSocketFrameReader reader = new WebSocketFrameReader(file)) {
+                while (reader.next()) {
+                    assertTrue(reader.getTimestampMicros() >= lastTimestamp);
+                    lastTimestamp = reader.getTimestampMicros();
+                    frames.add(reader.getExchange() + " " + reader.getChannel() + " " + reader.getPayload());
+                }
+            }
+        }
+        assertEquals(100, frames.size());
+        assertEquals("BYBIT orderbook {\"seq\":0,\"px\":\"100.5\"}", frames.get(0));
+        assertEquals("OKX orderbook {\"seq\":99,\"px\":\"100.5\"}", frames.get(99));
+    }
+
+    @Test
+    public void framesAreDroppedWhenNotStarted() throws IOException {
+        try (WebSocketFrameRecorder recorder = new WebSocketFrameRecorder(directory, 1024, 1024)) {
+            assertFalse(recorder.record("BYBIT", "trades", "{}"));
+            assertEquals(1, recorder.getDroppedCount());
+        }
+    }
+}
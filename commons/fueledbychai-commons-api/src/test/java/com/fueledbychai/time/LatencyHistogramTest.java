@@ -0,0 +1,59 @@
+package com.fueledbychai.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsAreContiguousAndCoverTheTrackableRange() {
+        assertEquals(1024, LatencyHistogram.BUCKET_COUNT);
+        for (int i = 1; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long lowest = LatencyHistogram.highestEquivalentValue(i - 1) + 1;
+            assertEquals(i, LatencyHistogram.bucketIndex(lowest));
+            assertEquals(i, LatencyHistogram.bucketIndex(LatencyHistogram.highestEquivalentValue(i)));
+        }
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS,
+                LatencyHistogram.highestEquivalentValue(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void reportsPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000L);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(1_000L, snapshot.getMinNanos());
+        assertEquals(10_000_000L, snapshot.getMaxNanos());
+        assertEquals(5_000_500.0, snapshot.getMeanNanos(), 0.001);
+        assertWithin(5_000_000L, snapshot.getMedianNanos());
+        assertWithin(9_900_000L, snapshot.get99thPercentileNanos());
+        assertEquals(10_000_000L, snapshot.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void clampsOutOfRangeValuesAndResets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(0L, snapshot.getMinNanos());
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, snapshot.getMaxNanos());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0L, histogram.snapshot().getValueAtPercentile(99.0));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 32);
+    }
+}
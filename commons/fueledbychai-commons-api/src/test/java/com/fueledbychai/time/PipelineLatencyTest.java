@@ -0,0 +1,80 @@
+package com.fueledbychai.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PipelineLatencyTest {
+
+    @Before
+    public void setUp() {
+        PipelineLatency.reset();
+        PipelineLatency.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        PipelineLatency.clear();
+        PipelineLatency.setEnabled(false);
+        PipelineLatency.reset();
+    }
+
+    @Test
+    public void recordsStagesPerExchangeAndTicker() {
+        long received = PipelineLatency.markReceived("LIGHTER");
+        PipelineLatency.recordSinceReceived(LatencyStage.PARSE, PipelineLatency.getReceivedExchange(), null);
+        PipelineLatency.recordSince(LatencyStage.QUOTE_FIRE, "LIGHTER", "BTC", received);
+        PipelineLatency.recordExchangeDelay("LIGHTER", "BTC", 1_000L, 1_005L);
+
+        assertEquals(List.of("LIGHTER"), PipelineLatency.getExchanges());
+        assertEquals(List.of("BTC"), PipelineLatency.getTickers("LIGHTER"));
+        Map<LatencyStage, LatencySnapshot> exchangeStages = PipelineLatency.getSnapshots("LIGHTER");
+        assertEquals(3, exchangeStages.size());
+        assertEquals(1, exchangeStages.get(LatencyStage.PARSE).getCount());
+        assertEquals(2, PipelineLatency.getSnapshots("LIGHTER", "BTC").size());
+        assertEquals(5_000_000L, PipelineLatency.getSnapshot("LIGHTER", "BTC", LatencyStage.EXCHANGE_TO_RECEIVE)
+                .getMaxNanos());
+        assertEquals(0, PipelineLatency.getSnapshot("LIGHTER", "ETH", LatencyStage.LISTENER).getCount());
+    }
+
+    @Test
+    public void carriesTheReceiveMarkAcrossThreads() throws Exception {
+        long received = PipelineLatency.markReceived("HYPERLIQUID");
+        PipelineLatency.clear();
+        assertEquals(PipelineLatency.NO_MARK, PipelineLatency.getReceivedNanos());
+
+        Thread worker = new Thread(() -> {
+            PipelineLatency.attach(received, "HYPERLIQUID");
+            try {
+                PipelineLatency.recordSinceReceived(LatencyStage.LISTENER, PipelineLatency.getReceivedExchange(),
+                        "ETH");
+            } finally {
+                PipelineLatency.clear();
+            }
+        });
+        worker.start();
+        worker.join();
+
+        LatencySnapshot snapshot = PipelineLatency.getSnapshot("HYPERLIQUID", "ETH", LatencyStage.LISTENER);
+        assertEquals(1, snapshot.getCount());
+        assertTrue(snapshot.getMaxNanos() >= 0);
+    }
+
+    @Test
+    public void recordsNothingWhenDisabled() {
+        PipelineLatency.setEnabled(false);
+        long received = PipelineLatency.markReceived("LIGHTER");
+
+        PipelineLatency.record(LatencyStage.PARSE, "LIGHTER", "BTC", 10);
+        PipelineLatency.recordSince(LatencyStage.PARSE, "LIGHTER", null, PipelineLatency.getReceivedNanos());
+
+        assertTrue(received != PipelineLatency.NO_MARK);
+        assertTrue(PipelineLatency.getExchanges().isEmpty());
+    }
+}
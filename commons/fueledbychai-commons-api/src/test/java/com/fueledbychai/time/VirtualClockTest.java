@@ -0,0 +1,62 @@
+package com.fueledbychai.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class VirtualClockTest {
+
+    @Test
+    public void runsTasksInDueTimeThenScheduleOrder() {
+        VirtualClock clock = new VirtualClock(1_000L, 7L);
+        List<String> runs = new ArrayList<>();
+
+        clock.schedule(200, () -> runs.add("b@" + clock.currentTimeMillis()));
+        clock.schedule(100, () -> runs.add("a@" + clock.currentTimeMillis()));
+        clock.schedule(200, () -> runs.add("c@" + clock.currentTimeMillis()));
+        clock.schedule(50, () -> clock.schedule(25, () -> runs.add("nested@" + clock.currentTimeMillis())));
+
+        assertEquals(0, clock.advanceTo(1_049L));
+        assertEquals(1_049L, clock.currentTimeMillis());
+        assertEquals(5, clock.advanceBy(151L));
+
+        assertEquals(List.of("nested@1075", "a@1100", "b@1200", "c@1200"), runs);
+        assertEquals(1_200L, clock.currentTimeMillis());
+        assertEquals(Long.MAX_VALUE, clock.getNextEventTime());
+    }
+
+    @Test
+    public void periodicTaskRunsUntilCancelled() {
+        VirtualClock clock = new VirtualClock(0L, 7L);
+        List<Long> runs = new ArrayList<>();
+        IClock.Cancellable task = clock.scheduleAtFixedRate(0, 1_000, () -> runs.add(clock.currentTimeMillis()));
+
+        clock.advanceTo(2_500L);
+        assertTrue(task.cancel());
+        assertFalse(task.cancel());
+        clock.advanceTo(10_000L);
+
+        assertEquals(List.of(0L, 1_000L, 2_000L), runs);
+        assertEquals(0, clock.getPendingEventCount());
+    }
+
+    @Test
+    public void sameSeedGivesSameRun() {
+        assertEquals(simulate(42L), simulate(42L));
+    }
+
+    private static List<Long> simulate(long seed) {
+        VirtualClock clock = new VirtualClock(0L, seed);
+        List<Long> fills = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            clock.schedule(clock.getRandom().nextInt(500), () -> fills.add(clock.currentTimeMillis()));
+        }
+        clock.advanceTo(1_000L);
+        return fills;
+    }
+}
@@ -1,6 +1,8 @@
 package com.fueledbychai.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
@@ -144,6 +146,17 @@ public class AbstractTickerRegistryTest {
         return symbols;
     }
 
+    @Test
+    public void testLookupByTickerIdReturnsRegisteredTicker() {
+        Ticker perp = registry.lookupByBrokerSymbol(InstrumentType.PERPETUAL_FUTURES, "BTC-USD-PERP");
+        Ticker spot = registry.lookupByBrokerSymbol(InstrumentType.CRYPTO_SPOT, "ETHUSDC");
+
+        assertSame(perp, registry.lookupByTickerId(perp.getTickerId()));
+        assertSame(spot, registry.lookupByTickerId(spot.getTickerId()));
+        assertNull(registry.lookupByTickerId(0));
+        assertNull(registry.lookupByTickerId(Integer.MAX_VALUE));
+    }
+
     private InstrumentDescriptor descriptor(InstrumentType instrumentType, String commonSymbol, String exchangeSymbol,
             String baseCurrency, String quoteCurrency, String instrumentId) {
         return new InstrumentDescriptor(instrumentType, Exchange.NYMEX, commonSymbol, exchangeSymbol, baseCurrency,
@@ -0,0 +1,129 @@
+package com.fueledbychai.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+public class JsonScannerTest {
+
+    @Test
+    public void tokenizesNestedMessage() {
+        JsonScanner scanner = new JsonScanner(
+                "{\"a\": [1, -2.5, \"x\\\"y\"], \"b\": {\"c\": true, \"d\": null}, \"e\": false}");
+
+        assertEquals(JsonToken.START_OBJECT, scanner.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, scanner.nextToken());
+        assertTrue(scanner.textEquals("a"));
+        assertEquals(JsonToken.START_ARRAY, scanner.nextToken());
+        assertEquals(JsonToken.NUMBER, scanner.nextToken());
+        assertEquals(1L, scanner.getLong());
+        assertEquals(JsonToken.NUMBER, scanner.nextToken());
+        assertEquals(-2.5, scanner.getDouble(), 0.0);
+        assertEquals(JsonToken.STRING, scanner.nextToken());
+        assertEquals("x\"y", scanner.getText());
+        assertTrue(scanner.textEquals("x\"y"));
+        assertEquals(JsonToken.END_ARRAY, scanner.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, scanner.nextToken());
+        assertEquals(JsonToken.START_OBJECT, scanner.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, scanner.nextToken());
+        assertEquals(JsonToken.TRUE, scanner.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, scanner.nextToken());
+        assertEquals(JsonToken.NULL, scanner.nextToken());
+        assertEquals(JsonToken.END_OBJECT, scanner.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, scanner.nextToken());
+        assertTrue(scanner.textEquals("e"));
+        assertEquals(JsonToken.FALSE, scanner.nextToken());
+        assertEquals(JsonToken.END_OBJECT, scanner.nextToken());
+        assertEquals(JsonToken.END_OF_INPUT, scanner.nextToken());
+    }
+
+    @Test
+    public void peekStringSkipsNestedValues() {
+        String message = "{\"data\":{\"channel\":\"inner\",\"levels\":[[\"1\",\"2\"]]},\"channel\":\"order_book:1\"}";
+
+        assertEquals("order_book:1", JsonScanner.peekString(message, "channel"));
+        assertNull(JsonScanner.peekString(message, "missing"));
+        assertNull(JsonScanner.peekString("[1,2]", "channel"));
+    }
+
+    @Test
+    public void decodesNumericStringsWithoutLosingScale() {
+        JsonScanner scanner = new JsonScanner("[\"100.50\", \"1e-3\", 42, \"0.1234567890123456789\"]");
+        scanner.nextToken();
+
+        scanner.nextToken();
+        assertEquals(10050L, scanner.getDecimalUnscaled());
+        assertEquals(2, scanner.getDecimalScale());
+        assertEquals(new BigDecimal("100.50"), scanner.getBigDecimal());
+        assertEquals(1005000L, scanner.getScaled(4));
+
+        scanner.nextToken();
+        assertEquals(new BigDecimal("0.001"), scanner.getBigDecimal());
+        assertEquals(0.001, scanner.getDouble(), 0.0);
+
+        scanner.nextToken();
+        assertEquals(42, scanner.getInt());
+        assertEquals(0, scanner.getDecimalScale());
+
+        scanner.nextToken();
+        assertEquals(123456789012345679L, scanner.getDecimalUnscaled());
+        assertEquals(18, scanner.getDecimalScale());
+    }
+
+    @Test
+    public void readsArrayAndObjectPriceLevels() {
+        JsonScanner scanner = new JsonScanner("{\"asks\":[[\"101.25\",\"1.20\",3],{\"size\":\"0.5\",\"price\":\"101.5\","
+                + "\"extra\":[1]},{\"price\":null,\"size\":\"1\"}],\"bids\":[]}");
+        PriceLevelBuffer asks = new PriceLevelBuffer(1);
+
+        scanner.nextToken();
+        assertTrue(scanner.seekField("asks"));
+        scanner.nextToken();
+        assertEquals(2, scanner.readPriceLevels(asks, "price", "size"));
+
+        assertEquals(JsonToken.END_ARRAY, scanner.getCurrentToken());
+        assertEquals(2, asks.getCount());
+        assertEquals(new BigDecimal("101.25"), asks.getPrice(0));
+        assertEquals(new BigDecimal("1.20"), asks.getQuantity(0));
+        assertEquals(1015000L, asks.getScaledPrice(1, 4));
+        assertEquals(0.5, asks.getQuantityAsDouble(1), 0.0);
+
+        assertTrue(scanner.seekField("bids"));
+        assertFalse(scanner.seekField("asks"));
+        assertEquals(JsonToken.END_OBJECT, scanner.getCurrentToken());
+    }
+
+    @Test
+    public void malformedPriceLevelsAreSkipped() {
+        JsonScanner scanner = new JsonScanner("[[\"abc\",\"1\"],{\"price\":\"100.5\",\"size\":\"n/a\"},[\"1.2.3\",\"1\"],"
+                + "[\"99999999999999999999\",\"1\"],[\"\",\"2\"],[\"100.25\",\"3\"]]");
+        PriceLevelBuffer levels = new PriceLevelBuffer();
+
+        scanner.nextToken();
+        assertEquals(1, scanner.readPriceLevels(levels, "price", "size"));
+
+        assertEquals(JsonToken.END_ARRAY, scanner.getCurrentToken());
+        assertEquals(new BigDecimal("100.25"), levels.getPrice(0));
+        assertEquals(new BigDecimal("3"), levels.getQuantity(0));
+    }
+
+    @Test
+    public void skipChildrenIgnoresBracketsInStrings() {
+        JsonScanner scanner = new JsonScanner("{\"a\":{\"b\":\"]}\\\"[\",\"c\":[{}]},\"d\":7}");
+        scanner.nextToken();
+        scanner.nextToken();
+        scanner.skipValue();
+
+        assertEquals(JsonToken.END_OBJECT, scanner.getCurrentToken());
+        assertEquals(1, scanner.getDepth());
+        assertEquals(JsonToken.FIELD_NAME, scanner.nextToken());
+        assertTrue(scanner.textEquals("d"));
+        scanner.nextToken();
+        assertEquals(7L, scanner.getLong());
+    }
+}
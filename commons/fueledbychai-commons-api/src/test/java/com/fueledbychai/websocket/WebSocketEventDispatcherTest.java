@@ -0,0 +1,143 @@
+package com.fueledbychai.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class WebSocketEventDispatcherTest {
+
+    private final WebSocketEventDispatcher dispatcher = new WebSocketEventDispatcher(Executors.newFixedThreadPool(2),
+            16, WebSocketEventDispatcher.OverflowPolicy.BLOCK);
+
+    @After
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void keepsEventsInOrderPerLane() throws Exception {
+        int lanes = 4;
+        int events = 500;
+        List<List<Integer>> received = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(lanes * events);
+        List<WebSocketEventDispatcher.Lane> created = new ArrayList<>();
+        for (int i = 0; i < lanes; i++) {
+            received.add(Collections.synchronizedList(new ArrayList<>()));
+            created.add(dispatcher.newLane("lane-" + i));
+        }
+
+        for (int e = 0; e < events; e++) {
+            for (int i = 0; i < lanes; i++) {
+                List<Integer> target = received.get(i);
+                int value = e;
+                assertTrue(created.get(i).submit(() -> {
+                    target.add(value);
+                    done.countDown();
+                }));
+            }
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (List<Integer> list : received) {
+            assertEquals(events, list.size());
+            for (int e = 0; e < events; e++) {
+                assertEquals(e, list.get(e).intValue());
+            }
+        }
+        assertEquals((long) lanes * events, dispatcher.getDispatchedCount());
+        assertTrue(dispatcher.getMaxDispatchLatencyNanos() >= dispatcher.getAverageDispatchLatencyNanos());
+    }
+
+    @Test
+    public void dropOldestKeepsTheNewestEvents() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        WebSocketEventDispatcher.Lane lane = dispatcher.newLane("drop", 2,
+                WebSocketEventDispatcher.OverflowPolicy.DROP_OLDEST);
+
+        lane.submit(() -> {
+            blocked.countDown();
+            await(release);
+            received.add(0);
+            done.countDown();
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            int value = i;
+            lane.submit(() -> {
+                received.add(value);
+                done.countDown();
+            });
+        }
+        assertEquals(2, lane.getQueueDepth());
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 3, 4), received);
+        assertEquals(2L, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void conflateKeepsOnlyTheLatestBacklogEvent() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+        WebSocketEventDispatcher.Lane lane = dispatcher.newLane("conflate", 2,
+                WebSocketEventDispatcher.OverflowPolicy.CONFLATE);
+
+        lane.submit(() -> {
+            blocked.countDown();
+            await(release);
+            received.add(0);
+            done.countDown();
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            int value = i;
+            lane.submit(() -> {
+                received.add(value);
+                done.countDown();
+            });
+        }
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 5), received);
+        assertTrue(dispatcher.getConflatedCount() > 0);
+        assertTrue(lane.getMaxQueueDepth() <= 2);
+    }
+
+    @Test
+    public void closedLaneRejectsEvents() {
+        WebSocketEventDispatcher.Lane lane = dispatcher.newLane("closed");
+        assertEquals(1, dispatcher.getLaneCount());
+
+        lane.close();
+
+        assertTrue(lane.isClosed());
+        assertFalse(lane.submit(() -> {
+        }));
+        assertEquals(0, dispatcher.getLaneCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.fueledbychai.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class WebSocketMessageRouterTest {
+
+    @Test
+    public void routesEachMessageToOneProcessorAndCountsIt() {
+        WebSocketMessageRouter router = new WebSocketMessageRouter(null, "channel");
+        RecordingProcessor books = new RecordingProcessor();
+        RecordingProcessor trades = new RecordingProcessor();
+        router.addRoute("books", books);
+        router.addRoute("trades", trades);
+
+        String bookMessage = "{\"data\":{\"channel\":\"trades\"},\"channel\":\"books\"}";
+        router.messageReceived(bookMessage);
+        router.messageReceived("{\"channel\":\"trades\",\"data\":[1,2]}");
+        router.messageReceived("{\"channel\":\"unknown\"}");
+        router.messageReceived("{\"type\":\"ping\"}");
+        router.messageReceived("not json");
+
+        assertEquals(List.of(bookMessage), books.messages);
+        assertEquals(1, trades.messages.size());
+        assertEquals(1L, router.getRouteStats("books").getMessageCount());
+        assertEquals(bookMessage.length(), router.getRouteStats("books").getByteCount());
+        assertEquals(3L, router.getUnroutedStats().getMessageCount());
+        assertEquals(2, router.getRouteStats().size());
+    }
+
+    @Test
+    public void prefersEarlierRoutingFields() {
+        WebSocketMessageRouter router = new WebSocketMessageRouter(null, "stream", "topic");
+        RecordingProcessor stream = new RecordingProcessor();
+        RecordingProcessor topic = new RecordingProcessor();
+        router.addRoute("s", stream);
+        router.addRoute("t", topic);
+
+        router.messageReceived("{\"topic\":\"t\",\"stream\":\"s\"}");
+        router.messageReceived("{\"topic\":\"t\",\"stream\":{}}");
+
+        assertEquals(1, stream.messages.size());
+        assertEquals(1, topic.messages.size());
+    }
+
+    @Test
+    public void removeProcessorDropsAllItsRoutes() {
+        WebSocketMessageRouter router = new WebSocketMessageRouter(null, "channel");
+        RecordingProcessor processor = new RecordingProcessor();
+        router.addRoute("a", processor);
+        router.addRoute("b", processor);
+
+        router.removeProcessor(processor);
+
+        assertEquals(0, router.getRouteCount());
+        assertNull(router.getProcessor("a"));
+    }
+
+    private static class RecordingProcessor implements IWebSocketProcessor {
+        final List<String> messages = new ArrayList<>();
+
+        @Override
+        public void messageReceived(String message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void connectionClosed(int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void connectionOpened() {
+        }
+
+        @Override
+        public void connectionError(Exception error) {
+        }
+
+        @Override
+        public void connectionEstablished() {
+        }
+    }
+}
@@ -48,6 +48,7 @@ public class IBConnection extends AbstractIBConnection {
     protected static IBConnection connection = null;
 
     protected List<IBConnectionInterface> ibConnectionDelegates = new ArrayList<>();
+    protected final IBRequestRouter requestRouter = new IBRequestRouter();
     protected int clientId;
     protected String host;
     protected int port;
@@ -65,6 +66,21 @@ public class IBConnection extends AbstractIBConnection {
         ibConnectionDelegates.remove(delegate);
     }
 
+    /**
+     * Sends the tick, depth, bar and historical data callbacks for the request
+     * only to the owner. Callbacks for unregistered requests still go to every
+     * delegate.
+     */
+    @Override
+    public void registerRequest(int requestId, IBConnectionInterface owner) {
+        requestRouter.register(requestId, owner);
+    }
+
+    @Override
+    public void unregisterRequest(int requestId) {
+        requestRouter.unregister(requestId);
+    }
+
     @Override
     public void setClientId(int clientId) {
         this.clientId = clientId;
@@ -110,7 +126,18 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void tickGeneric(int tickerId, int tickType, double value) {
-        logger.info("tickGeneric: " + tickerId + ", " + tickType + ", " + value);
+        if (logger.isDebugEnabled()) {
+            logger.debug("tickGeneric: {}, {}, {}", tickerId, tickType, value);
+        }
+        IBConnectionInterface owner = requestRouter.getOwner(tickerId);
+        if (owner != null) {
+            try {
+                owner.tickGeneric(tickerId, tickType, value);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.tickGeneric()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.tickGeneric(tickerId, tickType, value);
@@ -122,7 +149,18 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void tickPrice(int tickerId, int field, double price, TickAttrib attrib) {
-        logger.info("tickPrice: " + tickerId + ", " + field + ", " + price + ", " + attrib);
+        if (logger.isDebugEnabled()) {
+            logger.debug("tickPrice: {}, {}, {}, {}", tickerId, field, price, attrib);
+        }
+        IBConnectionInterface owner = requestRouter.getOwner(tickerId);
+        if (owner != null) {
+            try {
+                owner.tickPrice(tickerId, field, price, attrib);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.tickPrice()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.tickPrice(tickerId, field, price, attrib);
@@ -134,7 +172,18 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void tickSize(int tickerId, int field, Decimal size) {
-        logger.info("tickSize: " + tickerId + ", " + field + ", " + size);
+        if (logger.isDebugEnabled()) {
+            logger.debug("tickSize: {}, {}, {}", tickerId, field, size);
+        }
+        IBConnectionInterface owner = requestRouter.getOwner(tickerId);
+        if (owner != null) {
+            try {
+                owner.tickSize(tickerId, field, size);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.tickSize()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.tickSize(tickerId, field, size);
@@ -147,6 +196,16 @@ public class IBConnection extends AbstractIBConnection {
     @Override
     public void tickOptionComputation(int tickerId, int field, int tickAttrib, double impliedVol, double delta,
             double optPrice, double pvDividend, double gamma, double vega, double theta, double undPrice) {
+        IBConnectionInterface owner = requestRouter.getOwner(tickerId);
+        if (owner != null) {
+            try {
+                owner.tickOptionComputation(tickerId, field, tickAttrib, impliedVol, delta, optPrice, pvDividend, gamma,
+                        vega, theta, undPrice);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.tickOptionComputation()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             delegate.tickOptionComputation(tickerId, field, tickAttrib, impliedVol, delta, optPrice, pvDividend, gamma,
                     vega, theta, undPrice);
@@ -155,7 +214,18 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void tickString(int tickerId, int tickType, String value) {
-        logger.info("tickString: " + tickerId + ", " + tickType + ", " + value);
+        if (logger.isDebugEnabled()) {
+            logger.debug("tickString: {}, {}, {}", tickerId, tickType, value);
+        }
+        IBConnectionInterface owner = requestRouter.getOwner(tickerId);
+        if (owner != null) {
+            try {
+                owner.tickString(tickerId, tickType, value);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.tickString()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             delegate.tickString(tickerId, tickType, value);
         });
@@ -164,6 +234,16 @@ public class IBConnection extends AbstractIBConnection {
     @Override
     public void tickEFP(int tickerId, int tickType, double basisPoints, String formattedBasisPoints,
             double impliedFuture, int holdDays, String futureExpiry, double dividendImpact, double dividendsToExpiry) {
+        IBConnectionInterface owner = requestRouter.getOwner(tickerId);
+        if (owner != null) {
+            try {
+                owner.tickEFP(tickerId, tickType, basisPoints, formattedBasisPoints, impliedFuture, holdDays,
+                        futureExpiry, dividendImpact, dividendsToExpiry);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.tickEFP()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.tickEFP(tickerId, tickType, basisPoints, formattedBasisPoints, impliedFuture, holdDays,
@@ -336,6 +416,15 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void updateMktDepth(int tickerId, int position, int operation, int side, double price, Decimal size) {
+        IBConnectionInterface owner = requestRouter.getOwner(tickerId);
+        if (owner != null) {
+            try {
+                owner.updateMktDepth(tickerId, position, operation, side, price, size);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.updateMktDepth()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.updateMktDepth(tickerId, position, operation, side, price, size);
@@ -348,6 +437,15 @@ public class IBConnection extends AbstractIBConnection {
     @Override
     public void updateMktDepthL2(int tickerId, int position, String marketMaker, int operation, int side, double price,
             Decimal size, boolean isSmartDepth) {
+        IBConnectionInterface owner = requestRouter.getOwner(tickerId);
+        if (owner != null) {
+            try {
+                owner.updateMktDepthL2(tickerId, position, marketMaker, operation, side, price, size, isSmartDepth);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.updateMktDepthL2()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.updateMktDepthL2(tickerId, position, marketMaker, operation, side, price, size, isSmartDepth);
@@ -392,6 +490,15 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void historicalData(int reqId, Bar bar) {
+        IBConnectionInterface owner = requestRouter.getOwner(reqId);
+        if (owner != null) {
+            try {
+                owner.historicalData(reqId, bar);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.historicalData()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.historicalData(reqId, bar);
@@ -403,6 +510,15 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void historicalDataEnd(int reqId, String startDateStr, String endDateStr) {
+        IBConnectionInterface owner = requestRouter.getOwner(reqId);
+        if (owner != null) {
+            try {
+                owner.historicalDataEnd(reqId, startDateStr, endDateStr);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.historicalDataEnd()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.historicalDataEnd(reqId, startDateStr, endDateStr);
@@ -414,6 +530,15 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void historicalDataUpdate(int reqId, Bar bar) {
+        IBConnectionInterface owner = requestRouter.getOwner(reqId);
+        if (owner != null) {
+            try {
+                owner.historicalDataUpdate(reqId, bar);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.historicalDataUpdate()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.historicalDataUpdate(reqId, bar);
@@ -461,6 +586,15 @@ public class IBConnection extends AbstractIBConnection {
     @Override
     public void realtimeBar(int reqId, long time, double open, double high, double low, double close, Decimal volume,
             Decimal wap, int count) {
+        IBConnectionInterface owner = requestRouter.getOwner(reqId);
+        if (owner != null) {
+            try {
+                owner.realtimeBar(reqId, time, open, high, low, close, volume, wap, count);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.realtimeBar()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.realtimeBar(reqId, time, open, high, low, close, volume, wap, count);
@@ -483,7 +617,18 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void tickSnapshotEnd(int reqId) {
-        logger.info("tickSnapshotEnd: " + reqId);
+        if (logger.isDebugEnabled()) {
+            logger.debug("tickSnapshotEnd: {}", reqId);
+        }
+        IBConnectionInterface owner = requestRouter.getOwner(reqId);
+        if (owner != null) {
+            try {
+                owner.tickSnapshotEnd(reqId);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.tickSnapshotEnd()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.tickSnapshotEnd(reqId);
@@ -506,7 +651,18 @@ public class IBConnection extends AbstractIBConnection {
 
     @Override
     public void marketDataType(int reqId, int marketDataType) {
-        logger.info("marketDataType: " + reqId + ", " + marketDataType);
+        if (logger.isDebugEnabled()) {
+            logger.debug("marketDataType: {}, {}", reqId, marketDataType);
+        }
+        IBConnectionInterface owner = requestRouter.getOwner(reqId);
+        if (owner != null) {
+            try {
+                owner.marketDataType(reqId, marketDataType);
+            } catch (Exception ex) {
+                logger.error("Exception in delegate.marketDataType()", ex);
+            }
+            return;
+        }
         ibConnectionDelegates.stream().forEach((delegate) -> {
             try {
                 delegate.marketDataType(reqId, marketDataType);
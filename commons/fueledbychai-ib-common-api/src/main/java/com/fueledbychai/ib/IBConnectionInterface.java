@@ -44,4 +44,15 @@ public interface IBConnectionInterface extends EWrapper {
 
     public void removeIbConnectionDelegate(IBConnectionInterface delegate);
 
+    /**
+     * Routes the callbacks for a request or ticker ID to the delegate that made
+     * the request instead of every delegate. Connections that do not route
+     * ignore this.
+     */
+    public default void registerRequest(int requestId, IBConnectionInterface owner) {
+    }
+
+    public default void unregisterRequest(int requestId) {
+    }
+
 }
@@ -0,0 +1,116 @@
+package com.fueledbychai.ib;
+
+/**
+ * Maps IB request and ticker IDs to the delegate that made the request, so
+ * {@link IBConnection} can hand each callback to its owner instead of every
+ * delegate.
+ * <p>
+ * The table is an open-addressing int-keyed hash table that is copied on every
+ * change and published through a volatile field, so the EReader thread looks
+ * up owners without locking or boxing. Registrations are rare compared to
+ * callbacks, which makes the copy cheap overall.
+ */
+public class IBRequestRouter {
+
+    protected static final class Table {
+        protected final int[] requestIds;
+        protected final IBConnectionInterface[] owners;
+        protected final int size;
+
+        protected Table(int capacity, int size) {
+            this.requestIds = new int[capacity];
+            this.owners = new IBConnectionInterface[capacity];
+            this.size = size;
+        }
+    }
+
+    protected volatile Table table = new Table(16, 0);
+
+    /**
+     * Routes callbacks for the request to the owner, replacing any previous
+     * owner.
+     */
+    public synchronized void register(int requestId, IBConnectionInterface owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException("owner is required");
+        }
+        Table current = table;
+        boolean replacing = indexOf(current, requestId) >= 0;
+        int size = replacing ? current.size : current.size + 1;
+        Table next = new Table(capacityFor(size), size);
+        copyInto(current, next, requestId, false);
+        put(next, requestId, owner);
+        table = next;
+    }
+
+    /**
+     * Stops routing callbacks for the request; they are broadcast again.
+     */
+    public synchronized void unregister(int requestId) {
+        Table current = table;
+        if (indexOf(current, requestId) < 0) {
+            return;
+        }
+        int size = current.size - 1;
+        Table next = new Table(capacityFor(size), size);
+        copyInto(current, next, requestId, true);
+        table = next;
+    }
+
+    /**
+     * @return the delegate that owns the request, or null if it has none
+     */
+    public IBConnectionInterface getOwner(int requestId) {
+        Table current = table;
+        int index = indexOf(current, requestId);
+        return index < 0 ? null : current.owners[index];
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    protected static int indexOf(Table table, int requestId) {
+        int mask = table.requestIds.length - 1;
+        int index = mix(requestId) & mask;
+        while (table.owners[index] != null) {
+            if (table.requestIds[index] == requestId) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    protected static void put(Table table, int requestId, IBConnectionInterface owner) {
+        int mask = table.requestIds.length - 1;
+        int index = mix(requestId) & mask;
+        while (table.owners[index] != null && table.requestIds[index] != requestId) {
+            index = (index + 1) & mask;
+        }
+        table.requestIds[index] = requestId;
+        table.owners[index] = owner;
+    }
+
+    protected static void copyInto(Table from, Table to, int requestId, boolean skip) {
+        for (int i = 0; i < from.owners.length; i++) {
+            if (from.owners[i] != null && !(skip && from.requestIds[i] == requestId)) {
+                put(to, from.requestIds[i], from.owners[i]);
+            }
+        }
+    }
+
+    protected static int capacityFor(int size) {
+        // keep the table at most half full so probe chains stay short
+        int capacity = 16;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    protected static int mix(int requestId) {
+        int h = requestId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -39,6 +39,12 @@ import com.ib.client.EReader;
 public class IBSocket extends BaseIBConnectionDelegate implements Runnable {
 
     protected static final Logger logger = LoggerFactory.getLogger(IBSocket.class);
+
+    /**
+     * Size in bytes of the buffer ring the EReader decodes messages from in
+     * place. Unset or 0 keeps the default of one array per message.
+     */
+    public static final String READER_RING_SIZE_PROPERTY = "fueledbychai.ib.reader.ring.size";
     protected IBConnectionInterface connection;
     protected EClientSocket clientSocket;
     protected int clientId;
@@ -269,10 +275,26 @@ public class IBSocket extends BaseIBConnectionDelegate implements Runnable {
         // logger.error(e.getMessage(), e);
         // }
 
-        reader = new EReader(clientSocket, signal);
+        reader = new EReader(clientSocket, signal, getReaderRingSize());
         reader.start();
         signalThread = new Thread(this, "IBSocket Signal Thread");
         signalThread.start();
     }
 
+    protected static int getReaderRingSize() {
+        String value = System.getProperty(READER_RING_SIZE_PROPERTY);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(READER_RING_SIZE_PROPERTY.toUpperCase().replace('.', '_'));
+        }
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid {} '{}'", READER_RING_SIZE_PROPERTY, value);
+            return 0;
+        }
+    }
+
 }
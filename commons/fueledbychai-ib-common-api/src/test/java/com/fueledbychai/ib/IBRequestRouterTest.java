@@ -0,0 +1,95 @@
+package com.fueledbychai.ib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ib.client.Decimal;
+
+public class IBRequestRouterTest {
+
+    @Test
+    public void testRegisterAndUnregisterAcrossResizes() {
+        IBRequestRouter router = new IBRequestRouter();
+        IBConnectionInterface first = recorder(new ArrayList<>());
+        IBConnectionInterface second = recorder(new ArrayList<>());
+
+        for (int id = 100000; id < 100200; id++) {
+            router.register(id, id % 2 == 0 ? first : second);
+        }
+        router.register(-1, first);
+
+        assertEquals(201, router.size());
+        assertSame(first, router.getOwner(100000));
+        assertSame(second, router.getOwner(100199));
+        assertSame(first, router.getOwner(-1));
+        assertNull(router.getOwner(99999));
+
+        for (int id = 100000; id < 100100; id++) {
+            router.unregister(id);
+        }
+        router.unregister(42);
+
+        assertEquals(101, router.size());
+        assertNull(router.getOwner(100050));
+        assertSame(second, router.getOwner(100101));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterRequiresOwner() {
+        new IBRequestRouter().register(1, null);
+    }
+
+    @Test
+    public void testTicksGoOnlyToTheRegisteredOwner() {
+        IBConnection connection = new IBConnection();
+        List<Integer> ownerTicks = new ArrayList<>();
+        List<Integer> otherTicks = new ArrayList<>();
+        IBConnectionInterface owner = recorder(ownerTicks);
+        IBConnectionInterface other = recorder(otherTicks);
+        connection.addIbConnectionDelegate(owner);
+        connection.addIbConnectionDelegate(other);
+        connection.registerRequest(7, owner);
+
+        connection.tickSize(7, 0, Decimal.ZERO);
+        connection.tickSize(8, 0, Decimal.ZERO);
+
+        assertEquals(Arrays.asList(7, 8), ownerTicks);
+        assertEquals(Arrays.asList(8), otherTicks);
+    }
+
+    /**
+     * Builds a delegate that records the ticker id of every tickSize call and
+     * ignores the other callbacks. The module pins mockito 1.x, which cannot
+     * run under the parent's mockito 5 agent, so the tests stub by hand.
+     */
+    private static IBConnectionInterface recorder(List<Integer> tickSizeIds) {
+        return (IBConnectionInterface) Proxy.newProxyInstance(IBConnectionInterface.class.getClassLoader(),
+                new Class<?>[] { IBConnectionInterface.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "recorder@" + Integer.toHexString(System.identityHashCode(proxy));
+                    case "tickSize":
+                        tickSizeIds.add((Integer) args[0]);
+                        return null;
+                    default:
+                        Class<?> type = method.getReturnType();
+                        if (type == boolean.class) {
+                            return false;
+                        }
+                        return type.isPrimitive() && type != void.class ? 0 : null;
+                    }
+                });
+    }
+}
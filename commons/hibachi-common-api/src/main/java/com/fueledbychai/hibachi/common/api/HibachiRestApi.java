@@ -83,7 +83,7 @@ public class HibachiRestApi extends BaseRestApi implements IHibachiRestApi {
                 ? "FueledByChaiJavaSDK"
                 : hibachiClient;
         this.publicApiOnly = apiKey == null || apiKey.isBlank();
-        this.client = OkHttpClientFactory.create(REQUEST_TIMEOUT);
+        this.client = OkHttpClientFactory.create(REQUEST_TIMEOUT, this.tradingBaseUrl);
         this.objectMapper = new ObjectMapper();
     }
 
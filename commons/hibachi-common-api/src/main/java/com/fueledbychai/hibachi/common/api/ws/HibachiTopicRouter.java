@@ -1,7 +1,12 @@
 package com.fueledbychai.hibachi.common.api.ws;
 
+import com.fueledbychai.websocket.IWebSocketClosedListener;
+import com.fueledbychai.websocket.IWebSocketProcessor;
+import com.fueledbychai.websocket.WebSocketMessageRouter;
+
 /**
- * Hibachi market WebSocket topic identifiers.
+ * Hibachi market WebSocket topic identifiers, and the router that dispatches
+ * market frames by topic.
  *
  * <p>Wire values match the Python SDK at {@code hibachi_xyz/types.py:163-172}.
  */
@@ -27,6 +32,29 @@ public final class HibachiTopicRouter {
     /** Topic that drives the framework's order-flow (time and sales) feed. */
     public static final String ORDER_FLOW_TOPIC = TOPIC_TRADES;
 
+    /** Field of a market frame that carries its topic. */
+    public static final String TOPIC_FIELD = "topic";
+
     private HibachiTopicRouter() {
     }
+
+    /**
+     * Creates a router that reads the {@code topic} of each market frame and
+     * passes frames for the Level1, Level2 and order-flow topics to
+     * {@code processor}. Frames for other topics, and frames without a topic such
+     * as subscription acknowledgements, are dropped before they are parsed.
+     */
+    public static WebSocketMessageRouter createMarketRouter(IWebSocketProcessor processor,
+            IWebSocketClosedListener closedListener) {
+        if (processor == null) {
+            throw new IllegalArgumentException("processor is required");
+        }
+        WebSocketMessageRouter router = new WebSocketMessageRouter(closedListener, TOPIC_FIELD);
+        for (String topic : LEVEL1_TOPICS) {
+            router.addRoute(topic, processor);
+        }
+        router.addRoute(LEVEL2_TOPIC, processor);
+        router.addRoute(ORDER_FLOW_TOPIC, processor);
+        return router;
+    }
 }
@@ -45,7 +45,7 @@ public class HyperliquidClient {
     }
 
     protected OkHttpClient createHttpClient() {
-        return OkHttpClientFactory.create(Duration.ofSeconds(10));
+        return OkHttpClientFactory.create(Duration.ofSeconds(10), "https://api.hyperliquid-testnet.xyz");
     }
 
     public SubmitExchangeRequest getJson(SignableExchangeOrderRequest signable) throws Exception {
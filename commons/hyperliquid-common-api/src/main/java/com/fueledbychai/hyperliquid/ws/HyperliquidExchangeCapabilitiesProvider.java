@@ -21,6 +21,7 @@ package com.fueledbychai.hyperliquid.ws;
 
 import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.http.RateLimit;
 import com.fueledbychai.util.DefaultExchangeCapabilities;
 import com.fueledbychai.util.ExchangeCapabilities;
 import com.fueledbychai.util.ExchangeCapabilitiesProvider;
@@ -39,6 +40,8 @@ public class HyperliquidExchangeCapabilitiesProvider implements ExchangeCapabili
                 .supportsBrokerage(true)
                 .supportsHistoricalData(false)
                 .addInstrumentType(InstrumentType.PERPETUAL_FUTURES)
+                .restRateLimit(RateLimit.perMinute(1200))
+                .webSocketRateLimit(RateLimit.perMinute(2000))
                 .build();
     }
 }
@@ -2,7 +2,6 @@ package com.fueledbychai.hyperliquid.ws;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.net.Proxy;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -26,8 +25,10 @@ import com.fueledbychai.data.InstrumentType;
 import com.fueledbychai.data.FueledByChaiException;
 import com.fueledbychai.data.Ticker;
 import com.fueledbychai.http.BaseRestApi;
+import com.fueledbychai.http.OkHttpClientFactory;
+import com.fueledbychai.http.RequestPriority;
+import com.fueledbychai.http.RequestScheduler;
 import com.fueledbychai.hyperliquid.ws.json.SignableExchangeOrderRequest;
-import com.fueledbychai.websocket.ProxyConfig;
 
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
@@ -69,8 +70,9 @@ public class HyperliquidRestApi extends BaseRestApi implements IHyperliquidRestA
     }
 
     public HyperliquidRestApi(String baseUrl, String accountAddressString, String privateKeyString) {
-        this.client = createHttpClient();
         this.baseUrl = baseUrl;
+        this.client = createHttpClient();
+        this.requestScheduler = RequestScheduler.forRest(Exchange.HYPERLIQUID);
         this.accountAddressString = accountAddressString;
         this.privateKeyString = privateKeyString;
         // Register the custom adapter
@@ -79,19 +81,14 @@ public class HyperliquidRestApi extends BaseRestApi implements IHyperliquidRestA
     }
 
     protected OkHttpClient createHttpClient() {
-        Proxy proxy = ProxyConfig.getInstance().getProxy();
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
-        if (proxy != null && proxy != Proxy.NO_PROXY) {
-            builder.proxy(proxy);
-        }
-        return builder.build();
+        return OkHttpClientFactory.create(null, baseUrl);
     }
 
     public String placeOrder(SignableExchangeOrderRequest request) {
         if (publicApiOnly)
             throw new IllegalStateException("Cannot place order with public API only instance.");
 
-        return executeWithRetry(() -> {
+        return executeWithRetry(RequestPriority.PLACE, 1, () -> {
             String path = "/exchange";
             String url = baseUrl + path;
             HttpUrl.Builder urlBuilder = HttpUrl.parse(url).newBuilder();
@@ -123,7 +120,8 @@ public class HyperliquidRestApi extends BaseRestApi implements IHyperliquidRestA
         if (instrumentType != InstrumentType.PERPETUAL_FUTURES) {
             throw new IllegalArgumentException("Only perpetual futures are supported at this time.");
         }
-        return executeWithRetry(() -> {
+        // meta is one of Hyperliquid's weight 20 info requests
+        return executeWithRetry(RequestPriority.QUERY, 20, () -> {
             String path = "/info";
             String url = baseUrl + path;
             HttpUrl.Builder urlBuilder = HttpUrl.parse(url).newBuilder();
@@ -166,7 +164,7 @@ public class HyperliquidRestApi extends BaseRestApi implements IHyperliquidRestA
         if (coin == null || coin.isBlank()) {
             throw new IllegalArgumentException("coin is required");
         }
-        return executeWithRetry(() -> {
+        return executeWithRetry(RequestPriority.QUERY, 2, () -> {
             String url = baseUrl + "/info";
             JsonObject requestBody = new JsonObject();
             requestBody.addProperty("type", "l2Book");
@@ -2,6 +2,9 @@ package com.fueledbychai.hyperliquid.ws;
 
 import java.util.Map;
 import com.google.gson.JsonObject;
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.http.RequestPriority;
+import com.fueledbychai.http.RequestScheduler;
 import com.fueledbychai.websocket.BaseCryptoWebSocketClient;
 import com.fueledbychai.websocket.IWebSocketProcessor;
 
@@ -16,11 +19,12 @@ public class HyperliquidWebSocketClient extends BaseCryptoWebSocketClient {
     public HyperliquidWebSocketClient(String serverUri, String channel, IWebSocketProcessor processor)
             throws Exception {
         super(serverUri, channel, processor);
+        setSendScheduler(RequestScheduler.forWebSocket(Exchange.HYPERLIQUID));
     }
 
     public HyperliquidWebSocketClient(String serverUri, String channel, Map<String, String> params,
             IWebSocketProcessor processor) throws Exception {
-        super(serverUri, channel, processor);
+        this(serverUri, channel, processor);
         this.params = params;
     }
 
@@ -55,8 +59,24 @@ public class HyperliquidWebSocketClient extends BaseCryptoWebSocketClient {
     }
 
     public void postMessage(String message) {
+        postMessage(message, getPostPriority(message));
+    }
+
+    public void postMessage(String message, RequestPriority priority) {
         logger.info("WS: " + super.getURI().getHost() + " Sending POST message: " + message);
-        send(message);
+        send(message, priority);
+    }
+
+    /**
+     * Posted actions are orders and cancels, so they go ahead of subscriptions;
+     * cancels go ahead of orders.
+     */
+    protected static RequestPriority getPostPriority(String message) {
+        if (message != null && (message.contains("\"type\":\"cancel") // cancel and cancelByCloid
+                || message.contains("\"type\":\"scheduleCancel\""))) {
+            return RequestPriority.CANCEL;
+        }
+        return RequestPriority.PLACE;
     }
 
     @Override
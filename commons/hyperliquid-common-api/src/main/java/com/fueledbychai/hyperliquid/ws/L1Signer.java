@@ -1,20 +1,45 @@
 package com.fueledbychai.hyperliquid.ws;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Hash;
 import org.web3j.crypto.Sign;
-import org.web3j.crypto.StructuredDataEncoder;
 import org.web3j.utils.Numeric;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
+/**
+ * Signs Hyperliquid L1 actions as an EIP-712 {@code Agent} message.
+ * <p>
+ * The domain (name "Exchange", version "1", chain id 1337, zero verifying
+ * contract) is the same on mainnet and testnet, so its separator and the
+ * {@code Agent} type hash are computed once. Each signer also precomputes the
+ * hash of its network's {@code source}. Per order only the 32-byte
+ * {@code connectionId} is copied into a thread-local buffer and hashed, with
+ * no typed-data JSON built or parsed. The msgpack encoding of the action is
+ * written into a thread-local buffer that is reused across calls.
+ */
 public class L1Signer {
+
+    private static final ObjectMapper MP = new ObjectMapper(new MessagePackFactory());
+
+    private static final int WORD = 32;
+    private static final long CHAIN_ID = 1337L;
+    private static final byte[] EIP712_DOMAIN_TYPE_HASH = keccak(
+            "EIP712Domain(string name,string version,uint256 chainId,address verifyingContract)");
+    private static final byte[] AGENT_TYPE_HASH = keccak("Agent(string source,bytes32 connectionId)");
+    private static final byte[] DOMAIN_SEPARATOR = domainSeparator();
+    private static final byte[] MAINNET_SOURCE_HASH = keccak("a");
+    private static final byte[] TESTNET_SOURCE_HASH = keccak("b");
+
+    private static final ThreadLocal<SigningBuffers> BUFFERS = ThreadLocal.withInitial(SigningBuffers::new);
+
     private final ECKeyPair keyPair;
     private final boolean isMainnet;
-    private static final ObjectMapper MP = new ObjectMapper(new MessagePackFactory());
-    private static final ObjectMapper JSON = new ObjectMapper();
+    private final byte[] sourceHash;
 
     public static final class Sig {
         public final String r, s;
@@ -30,6 +55,7 @@ public class L1Signer {
     public L1Signer(ECKeyPair keyPair, boolean isMainnet) {
         this.keyPair = keyPair;
         this.isMainnet = isMainnet;
+        this.sourceHash = isMainnet ? MAINNET_SOURCE_HASH : TESTNET_SOURCE_HASH;
     }
 
     /** action = your existing ActionPayload POJO (type/orders/grouping/builder) */
@@ -39,37 +65,12 @@ public class L1Signer {
         return signAgent(hash);
     }
 
-    private Sig signAgent(byte[] actionHash) throws Exception {
-        ObjectNode message = JSON.createObjectNode();
-        message.put("source", isMainnet ? "a" : "b");
-        message.put("connectionId", "0x" + Numeric.toHexStringNoPrefix(actionHash));
-
-        ObjectNode domain = JSON.createObjectNode();
-        domain.put("name", "Exchange");
-        domain.put("version", "1");
-        domain.put("chainId", 1337);
-        domain.put("verifyingContract", "0x0000000000000000000000000000000000000000");
-
-        ObjectNode types = JSON.createObjectNode();
-        ArrayNode agent = JSON.createArrayNode();
-        agent.add(obj("source", "string"));
-        agent.add(obj("connectionId", "bytes32"));
-        types.set("Agent", agent);
-        ArrayNode eip712 = JSON.createArrayNode();
-        eip712.add(obj("name", "string"));
-        eip712.add(obj("version", "string"));
-        eip712.add(obj("chainId", "uint256"));
-        eip712.add(obj("verifyingContract", "address"));
-        types.set("EIP712Domain", eip712);
-
-        ObjectNode data = JSON.createObjectNode();
-        data.set("types", types);
-        data.set("domain", domain);
-        data.put("primaryType", "Agent");
-        data.set("message", message);
-
-        StructuredDataEncoder enc = new StructuredDataEncoder(JSON.writeValueAsString(data));
-        byte[] digest = enc.hashStructuredData();
+    public boolean isMainnet() {
+        return isMainnet;
+    }
+
+    private Sig signAgent(byte[] actionHash) {
+        byte[] digest = agentDigest(actionHash);
 
         Sign.SignatureData sd = Sign.signMessage(digest, keyPair, false);
         String r = "0x" + Numeric.toHexStringNoPrefix(sd.getR());
@@ -80,64 +81,100 @@ public class L1Signer {
         return new Sig(r, s, v);
     }
 
-    private static ObjectNode obj(String name, String type) {
-        ObjectNode n = new ObjectMapper().createObjectNode();
-        n.put("name", name);
-        n.put("type", type);
-        return n;
+    /**
+     * The EIP-712 digest of {@code Agent{source, connectionId}}:
+     * keccak(0x19 0x01 || domainSeparator || keccak(typeHash || keccak(source)
+     * || connectionId)).
+     */
+    byte[] agentDigest(byte[] connectionId) {
+        if (connectionId == null || connectionId.length != WORD) {
+            throw new IllegalArgumentException("connectionId must be 32 bytes");
+        }
+        SigningBuffers buffers = BUFFERS.get();
+        byte[] agent = buffers.agentStruct;
+        System.arraycopy(sourceHash, 0, agent, WORD, WORD);
+        System.arraycopy(connectionId, 0, agent, 2 * WORD, WORD);
+
+        byte[] typedData = buffers.typedData;
+        System.arraycopy(Hash.sha3(agent), 0, typedData, 2 + WORD, WORD);
+        return Hash.sha3(typedData);
     }
 
     /**
      * Exactly matches SDK action_hash: msgpack(action) || nonce(u64 BE) ||
      * vaultFlag+addr || (0x00||expiresAfter u64 BE)
      */
-    private static byte[] actionHash(Object action, long nonceMs, String vaultAddrOrNull, Long expiresAfterOrNull)
+    static byte[] actionHash(Object action, long nonceMs, String vaultAddrOrNull, Long expiresAfterOrNull)
             throws Exception {
-        byte[] packed = MP.writeValueAsBytes(action);
-
-        byte[] nonce = new byte[8];
-        long n = nonceMs;
-        for (int i = 7; i >= 0; --i) {
-            nonce[i] = (byte) (n & 0xFF);
-            n >>>= 8;
+        byte[] vaultAddress = null;
+        if (vaultAddrOrNull != null) {
+            vaultAddress = Numeric.hexStringToByteArray(vaultAddrOrNull.toLowerCase());
+            if (vaultAddress.length != 20)
+                throw new IllegalArgumentException("vaultAddress must be 20 bytes");
         }
 
-        byte[] vaultPart;
-        if (vaultAddrOrNull == null) {
-            vaultPart = new byte[] { 0x00 };
+        ActionBuffer data = BUFFERS.get().action;
+        data.reset();
+        MP.writeValue(data, action);
+
+        writeLong(data, nonceMs);
+        if (vaultAddress == null) {
+            data.write(0x00);
         } else {
-            byte[] addr = Numeric.hexStringToByteArray(vaultAddrOrNull.toLowerCase());
-            if (addr.length != 20)
-                throw new IllegalArgumentException("vaultAddress must be 20 bytes");
-            vaultPart = new byte[1 + 20];
-            vaultPart[0] = 0x01;
-            System.arraycopy(addr, 0, vaultPart, 1, 20);
+            data.write(0x01);
+            data.write(vaultAddress, 0, vaultAddress.length);
         }
-
-        byte[] expPart = new byte[0];
         if (expiresAfterOrNull != null) {
-            byte[] exp = new byte[8];
-            long e = expiresAfterOrNull;
-            for (int i = 7; i >= 0; --i) {
-                exp[i] = (byte) (e & 0xFF);
-                e >>>= 8;
-            }
-            expPart = new byte[1 + 8];
-            expPart[0] = 0x00;
-            System.arraycopy(exp, 0, expPart, 1, 8);
+            data.write(0x00);
+            writeLong(data, expiresAfterOrNull);
         }
 
-        byte[] data = new byte[packed.length + 8 + vaultPart.length + expPart.length];
-        int off = 0;
-        System.arraycopy(packed, 0, data, off, packed.length);
-        off += packed.length;
-        System.arraycopy(nonce, 0, data, off, 8);
-        off += 8;
-        System.arraycopy(vaultPart, 0, data, off, vaultPart.length);
-        off += vaultPart.length;
-        if (expPart.length > 0)
-            System.arraycopy(expPart, 0, data, off, expPart.length);
-
-        return org.web3j.crypto.Hash.sha3(data);
+        return Hash.sha3(data.array(), 0, data.size());
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift) & 0xFF);
+        }
+    }
+
+    private static byte[] domainSeparator() {
+        byte[] domain = new byte[5 * WORD];
+        System.arraycopy(EIP712_DOMAIN_TYPE_HASH, 0, domain, 0, WORD);
+        System.arraycopy(keccak("Exchange"), 0, domain, WORD, WORD);
+        System.arraycopy(keccak("1"), 0, domain, 2 * WORD, WORD);
+        for (int i = 0; i < 8; i++) {
+            domain[4 * WORD - 1 - i] = (byte) (CHAIN_ID >>> (8 * i));
+        }
+        // the zero verifyingContract leaves the last word zero
+        return Hash.sha3(domain);
+    }
+
+    private static byte[] keccak(String value) {
+        return Hash.sha3(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class SigningBuffers {
+        final byte[] agentStruct = new byte[3 * WORD];
+        final byte[] typedData = new byte[2 + 2 * WORD];
+        final ActionBuffer action = new ActionBuffer();
+
+        SigningBuffers() {
+            System.arraycopy(AGENT_TYPE_HASH, 0, agentStruct, 0, WORD);
+            typedData[0] = 0x19;
+            typedData[1] = 0x01;
+            System.arraycopy(DOMAIN_SEPARATOR, 0, typedData, 2, WORD);
+        }
+    }
+
+    private static final class ActionBuffer extends ByteArrayOutputStream {
+
+        ActionBuffer() {
+            super(512);
+        }
+
+        byte[] array() {
+            return buf;
+        }
     }
 }
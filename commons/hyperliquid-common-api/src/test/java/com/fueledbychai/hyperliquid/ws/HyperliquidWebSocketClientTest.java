@@ -0,0 +1,27 @@
+package com.fueledbychai.hyperliquid.ws;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.fueledbychai.http.RequestPriority;
+
+public class HyperliquidWebSocketClientTest {
+
+    @Test
+    public void cancelActionsArePostedAheadOfOrders() {
+        assertEquals(RequestPriority.CANCEL, HyperliquidWebSocketClient.getPostPriority(post(
+                "{\"type\":\"cancel\",\"cancels\":[{\"a\":0,\"o\":123}]}")));
+        assertEquals(RequestPriority.CANCEL, HyperliquidWebSocketClient.getPostPriority(post(
+                "{\"type\":\"cancelByCloid\",\"cancels\":[{\"asset\":0,\"cloid\":\"0x1\"}]}")));
+        assertEquals(RequestPriority.CANCEL,
+                HyperliquidWebSocketClient.getPostPriority(post("{\"type\":\"scheduleCancel\",\"time\":1}")));
+        assertEquals(RequestPriority.PLACE, HyperliquidWebSocketClient.getPostPriority(post(
+                "{\"type\":\"order\",\"orders\":[{\"a\":0,\"b\":true,\"t\":{\"limit\":{\"tif\":\"Ioc\"}}}],\"grouping\":\"na\"}")));
+    }
+
+    private static String post(String action) {
+        return "{\"method\":\"post\",\"id\":1,\"request\":{\"type\":\"action\",\"payload\":{\"action\":" + action
+                + ",\"nonce\":1}}}";
+    }
+}
@@ -0,0 +1,107 @@
+package com.fueledbychai.hyperliquid.ws;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Sign;
+import org.web3j.crypto.StructuredDataEncoder;
+import org.web3j.utils.Numeric;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class L1SignerTest {
+
+    private static final ECKeyPair KEY_PAIR = ECKeyPair
+            .create(Numeric.toBigInt("0x0123456789012345678901234567890123456789012345678901234567890123"));
+    private static final String VAULT = "0x1719884eb866cb12b2287399b15f7db5e7d775ea";
+
+    @Test
+    public void agentDigestMatchesStructuredDataEncoder() throws Exception {
+        byte[] connectionId = Hash.sha3(new byte[] { 1, 2, 3 });
+
+        assertArrayEquals(typedDataDigest(connectionId, true), new L1Signer(KEY_PAIR, true).agentDigest(connectionId));
+        assertArrayEquals(typedDataDigest(connectionId, false),
+                new L1Signer(KEY_PAIR, false).agentDigest(connectionId));
+    }
+
+    @Test
+    public void actionHashMatchesConcatenatedEncoding() throws Exception {
+        Map<String, Object> action = action();
+        ObjectMapper msgpack = new ObjectMapper(new MessagePackFactory());
+        byte[] packed = msgpack.writeValueAsBytes(action);
+
+        assertArrayEquals(Hash.sha3(concat(packed, longBytes(1_700_000_000_000L), new byte[] { 0 })),
+                L1Signer.actionHash(action, 1_700_000_000_000L, null, null));
+        assertArrayEquals(
+                Hash.sha3(concat(packed, longBytes(42L), new byte[] { 1 }, Numeric.hexStringToByteArray(VAULT),
+                        new byte[] { 0 }, longBytes(1_700_000_060_000L))),
+                L1Signer.actionHash(action, 42L, VAULT, 1_700_000_060_000L));
+        // the reused buffer must not keep bytes from the longer previous call
+        assertArrayEquals(Hash.sha3(concat(packed, longBytes(7L), new byte[] { 0 })),
+                L1Signer.actionHash(action, 7L, null, null));
+    }
+
+    @Test
+    public void signMatchesSignatureOverStructuredData() throws Exception {
+        Map<String, Object> action = action();
+        L1Signer signer = new L1Signer(KEY_PAIR, true);
+
+        L1Signer.Sig sig = signer.sign(action, 1_700_000_000_000L, null, null);
+
+        byte[] digest = typedDataDigest(L1Signer.actionHash(action, 1_700_000_000_000L, null, null), true);
+        Sign.SignatureData expected = Sign.signMessage(digest, KEY_PAIR, false);
+        assertEquals("0x" + Numeric.toHexStringNoPrefix(expected.getR()), sig.r);
+        assertEquals("0x" + Numeric.toHexStringNoPrefix(expected.getS()), sig.s);
+        assertEquals(expected.getV()[0] < 27 ? expected.getV()[0] + 27 : expected.getV()[0], sig.v);
+    }
+
+    private static Map<String, Object> action() {
+        Map<String, Object> action = new LinkedHashMap<>();
+        action.put("type", "dummy");
+        action.put("num", 100_000_000_000L);
+        return action;
+    }
+
+    private static byte[] typedDataDigest(byte[] connectionId, boolean mainnet) throws Exception {
+        String json = "{\"types\":{\"Agent\":[{\"name\":\"source\",\"type\":\"string\"},"
+                + "{\"name\":\"connectionId\",\"type\":\"bytes32\"}],"
+                + "\"EIP712Domain\":[{\"name\":\"name\",\"type\":\"string\"},"
+                + "{\"name\":\"version\",\"type\":\"string\"},{\"name\":\"chainId\",\"type\":\"uint256\"},"
+                + "{\"name\":\"verifyingContract\",\"type\":\"address\"}]},"
+                + "\"domain\":{\"name\":\"Exchange\",\"version\":\"1\",\"chainId\":1337,"
+                + "\"verifyingContract\":\"0x0000000000000000000000000000000000000000\"},"
+                + "\"primaryType\":\"Agent\",\"message\":{\"source\":\"" + (mainnet ? "a" : "b")
+                + "\",\"connectionId\":\"0x" + Numeric.toHexStringNoPrefix(connectionId) + "\"}}";
+        return new StructuredDataEncoder(json).hashStructuredData();
+    }
+
+    private static byte[] longBytes(long value) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; --i) {
+            bytes[i] = (byte) (value & 0xFF);
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+}
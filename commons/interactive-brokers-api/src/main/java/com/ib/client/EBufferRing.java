@@ -0,0 +1,69 @@
+package com.ib.client;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable ring of bytes that {@link EReader} reads framed messages into,
+ * so each message is a slice of the ring instead of a new array.
+ *
+ * One thread allocates and another releases, in the same order, which is the
+ * order messages pass through the EReader queue. A message that does not fit
+ * in the free space returns -1 from {@link #allocate(int)} and the caller
+ * falls back to a plain array, so the reader never waits on the decoder.
+ */
+public class EBufferRing {
+	private final byte[] m_buf;
+	private long m_head;
+	private volatile long m_tail;
+
+	public EBufferRing(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be > 0");
+		}
+		m_buf = new byte[capacity];
+	}
+
+	public int capacity() {
+		return m_buf.length;
+	}
+
+	/**
+	 * Reserves len contiguous bytes, skipping the end of the ring if the message
+	 * would wrap. Called by the reading thread only.
+	 *
+	 * @return the end of the reservation, to pass to {@link #slice(long, int)} and
+	 *         {@link #release(long)}, or -1 if there is no room
+	 */
+	public long allocate(int len) {
+		int capacity = m_buf.length;
+		if (len <= 0 || len > capacity) {
+			return -1;
+		}
+		int pos = (int) (m_head % capacity);
+		int contiguous = capacity - pos;
+		int skip = len > contiguous ? contiguous : 0;
+		long tail = m_tail;
+		// the new bytes may only overwrite a lap-old region once it is released
+		if (tail != m_head && m_head + skip + len - capacity > tail) {
+			return -1;
+		}
+		m_head += skip + len;
+		return m_head;
+	}
+
+	/** @return the reserved bytes ending at end */
+	public ByteBuffer slice(long end, int len) {
+		int pos = (int) ((end - len) % m_buf.length);
+		return ByteBuffer.wrap(m_buf, pos, len).slice();
+	}
+
+	/**
+	 * Frees every reservation up to end. Called by the decoding thread, in
+	 * allocation order, once it has finished with a message.
+	 */
+	public void release(long end) {
+		if (end > m_tail) {
+			m_tail = end;
+		}
+	}
+}
@@ -8,6 +8,9 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -114,6 +117,16 @@ class EDecoder implements ObjectInput {
 	private EWrapper m_EWrapper;
 	private int m_serverVersion;
 	private IMessageReader m_messageReader;
+	private final BufferMessageReader m_bufferReader = new BufferMessageReader();
+
+	private static final String[] ORDER_STATUS_NAMES;
+	static {
+		OrderStatus[] statuses = OrderStatus.values();
+		ORDER_STATUS_NAMES = new String[statuses.length];
+		for (int i = 0; i < statuses.length; i++) {
+			ORDER_STATUS_NAMES[i] = statuses[i].name();
+		}
+	}
 
 	public EDecoder(int serverVersion, EWrapper callback) {
 		this(serverVersion, callback, null);
@@ -163,7 +176,11 @@ class EDecoder implements ObjectInput {
 	}
 
 	public int processMsg(EMessage msg) throws IOException {
-		if (!readMessageToInternalBuf(msg.getStream())) {
+		ByteBuffer data = msg.buffer();
+		if (data != null) {
+			m_bufferReader.reset(data);
+			m_messageReader = m_bufferReader;
+		} else if (!readMessageToInternalBuf(msg.getStream())) {
 			return 0;
 		}
 
@@ -1603,7 +1620,7 @@ class EDecoder implements ObjectInput {
 	private void processOrderStatusMsg() throws IOException {
 		int version = m_serverVersion >= EClient.MIN_SERVER_VER_MARKET_CAP_PRICE ? Integer.MAX_VALUE : readInt();
 		int id = readInt();
-		String status = readStr();
+		String status = m_messageReader.readStr(ORDER_STATUS_NAMES);
 		Decimal filled = readDecimal();
 		Decimal remaining = readDecimal();
 		double avgFillPrice = readDouble();
@@ -2133,8 +2150,7 @@ class EDecoder implements ObjectInput {
 	}
 
 	public int readInt() throws IOException {
-		String str = readStr();
-		return str == null ? 0 : Integer.parseInt(str);
+		return m_messageReader.readInt();
 	}
 
 	public int readIntMax() throws IOException {
@@ -2148,8 +2164,7 @@ class EDecoder implements ObjectInput {
 	}
 
 	public double readDouble() throws IOException {
-		String str = readStr();
-		return str == null ? 0 : Double.parseDouble(str);
+		return m_messageReader.readDouble();
 	}
 
 	public double readDoubleMax() throws IOException {
@@ -2158,11 +2173,7 @@ class EDecoder implements ObjectInput {
 	}
 
 	public Decimal readDecimal() throws IOException {
-		String str = readStr();
-		return (str == null || str.isEmpty() || str.equals(String.valueOf(Long.MAX_VALUE))
-				|| str.equals(String.valueOf(Integer.MAX_VALUE)) || str.equals(String.valueOf(Double.MAX_VALUE)))
-						? Decimal.INVALID
-						: Decimal.parse(str);
+		return m_messageReader.readDecimal();
 	}
 
 	/** Message reader interface */
@@ -2170,6 +2181,206 @@ class EDecoder implements ObjectInput {
 		String readStr() throws IOException;
 
 		int msgLength();
+
+		/** Reads a field that is usually one of the known strings, returning the known instance when it is. */
+		default String readStr(String[] known) throws IOException {
+			return readStr();
+		}
+
+		default int readInt() throws IOException {
+			String str = readStr();
+			return str == null ? 0 : Integer.parseInt(str);
+		}
+
+		default double readDouble() throws IOException {
+			String str = readStr();
+			return str == null ? 0 : Double.parseDouble(str);
+		}
+
+		default Decimal readDecimal() throws IOException {
+			return parseDecimal(readStr());
+		}
+	}
+
+	private static Decimal parseDecimal(String str) {
+		return (str == null || str.isEmpty() || str.equals(String.valueOf(Long.MAX_VALUE))
+				|| str.equals(String.valueOf(Integer.MAX_VALUE)) || str.equals(String.valueOf(Double.MAX_VALUE)))
+						? Decimal.INVALID
+						: Decimal.parse(str);
+	}
+
+	/**
+	 * Reads the null-terminated fields of a message held in a {@link ByteBuffer}
+	 * with absolute gets. Plain integers and decimals are parsed straight from
+	 * the bytes; anything else falls back to the string parsers, so results match
+	 * {@link PreV100MessageReader}. Package-private for its tests.
+	 */
+	static class BufferMessageReader implements IMessageReader {
+		private static final double[] POWERS_OF_TEN = new double[23];
+		static {
+			POWERS_OF_TEN[0] = 1;
+			for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+				POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+			}
+		}
+
+		private ByteBuffer m_data;
+		private int m_start;
+		private int m_pos;
+		private int m_limit;
+		// set by parseNumber: digits as a long, digits after the point, sign
+		private long m_unscaled;
+		private int m_scale;
+		private boolean m_negative;
+
+		void reset(ByteBuffer data) {
+			m_data = data;
+			m_start = data.position();
+			m_pos = m_start;
+			m_limit = data.limit();
+		}
+
+		@Override
+		public int msgLength() {
+			return m_pos - m_start;
+		}
+
+		@Override
+		public String readStr() throws IOException {
+			int end = fieldEnd();
+			String str = end == m_pos ? null : toStr(m_pos, end);
+			m_pos = end + 1;
+			return str;
+		}
+
+		@Override
+		public String readStr(String[] known) throws IOException {
+			int end = fieldEnd();
+			int len = end - m_pos;
+			for (String candidate : known) {
+				if (candidate.length() == len && matches(candidate, m_pos)) {
+					m_pos = end + 1;
+					return candidate;
+				}
+			}
+			return readStr();
+		}
+
+		@Override
+		public int readInt() throws IOException {
+			int end = fieldEnd();
+			if (end == m_pos) {
+				m_pos = end + 1;
+				return 0;
+			}
+			if (end - m_pos <= 10 && parseNumber(m_pos, end, false) && m_unscaled <= Integer.MAX_VALUE) {
+				m_pos = end + 1;
+				return (int) (m_negative ? -m_unscaled : m_unscaled);
+			}
+			return Integer.parseInt(readStr());
+		}
+
+		@Override
+		public double readDouble() throws IOException {
+			int end = fieldEnd();
+			if (end == m_pos) {
+				m_pos = end + 1;
+				return 0;
+			}
+			// exact when the digits and the power of ten are both exact doubles
+			if (parseNumber(m_pos, end, true) && m_unscaled < (1L << 53) && m_scale < POWERS_OF_TEN.length) {
+				m_pos = end + 1;
+				double value = m_unscaled / POWERS_OF_TEN[m_scale];
+				return m_negative ? -value : value;
+			}
+			return Double.parseDouble(readStr());
+		}
+
+		@Override
+		public Decimal readDecimal() throws IOException {
+			int end = fieldEnd();
+			if (end == m_pos) {
+				m_pos = end + 1;
+				return Decimal.INVALID;
+			}
+			// Decimal.parse rounds to 16 digits, so only shorter values are built here
+			if (end - m_pos <= 17 && parseNumber(m_pos, end, true) && m_unscaled < 10_000_000_000_000_000L) {
+				m_pos = end + 1;
+				if (!m_negative && m_scale == 0 && m_unscaled == Integer.MAX_VALUE) {
+					return Decimal.INVALID;
+				}
+				return Decimal.get(BigDecimal.valueOf(m_negative ? -m_unscaled : m_unscaled, m_scale));
+			}
+			return parseDecimal(readStr());
+		}
+
+		@Override
+		public void close() {
+		}
+
+		private int fieldEnd() throws EOFException {
+			for (int i = m_pos; i < m_limit; i++) {
+				if (m_data.get(i) == 0) {
+					return i;
+				}
+			}
+			throw new EOFException();
+		}
+
+		/** Parses an optional minus sign, digits and, if allowed, one decimal point. */
+		private boolean parseNumber(int from, int end, boolean allowPoint) {
+			int i = from;
+			m_negative = m_data.get(i) == '-';
+			if (m_negative) {
+				i++;
+			}
+			long unscaled = 0;
+			int scale = 0;
+			int digits = 0;
+			boolean point = false;
+			for (; i < end; i++) {
+				byte b = m_data.get(i);
+				if (b >= '0' && b <= '9') {
+					if (++digits > 18) {
+						return false;
+					}
+					unscaled = unscaled * 10 + (b - '0');
+					if (point) {
+						scale++;
+					}
+				} else if (b == '.' && allowPoint && !point) {
+					point = true;
+				} else {
+					return false;
+				}
+			}
+			if (digits == 0) {
+				return false;
+			}
+			m_unscaled = unscaled;
+			m_scale = scale;
+			return true;
+		}
+
+		private boolean matches(String candidate, int from) {
+			for (int i = 0; i < candidate.length(); i++) {
+				if (m_data.get(from + i) != candidate.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private String toStr(int from, int end) {
+			if (m_data.hasArray()) {
+				return new String(m_data.array(), m_data.arrayOffset() + from, end - from, StandardCharsets.ISO_8859_1);
+			}
+			byte[] bytes = new byte[end - from];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = m_data.get(from + i);
+			}
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
 	}
 
 	private static class PreV100MessageReader implements IMessageReader {
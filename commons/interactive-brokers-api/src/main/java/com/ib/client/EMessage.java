@@ -8,9 +8,23 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 public class EMessage {
 	ByteArrayOutputStream m_buf;
+	private ByteBuffer m_data;
+	private EBufferRing m_ring;
+	private long m_ringEnd;
+	
+	/**
+	 * Wraps a message read into an {@link EBufferRing} without copying it. The
+	 * bytes stay valid until {@link #release()}.
+	 */
+	EMessage(ByteBuffer data, EBufferRing ring, long ringEnd) {
+		m_data = data;
+		m_ring = ring;
+		m_ringEnd = ringEnd;
+	}
 	
 	public EMessage(byte[] buf, int len) {
 		m_buf = new ByteArrayOutputStream();
@@ -25,10 +39,34 @@ public class EMessage {
 	}
 	
 	public InputStream getStream() {
+		if (m_data != null) {
+			return new ByteArrayInputStream(m_data.array(), m_data.arrayOffset() + m_data.position(), m_data.remaining());
+		}
 		return new ByteArrayInputStream(m_buf.toByteArray());
 	}
 	
 	public byte[] getRawData() {		
+		if (m_data != null) {
+			byte[] raw = new byte[m_data.remaining()];
+			m_data.duplicate().get(raw);
+			return raw;
+		}
 		return m_buf.toByteArray();
 	}
+	
+	/**
+	 * @return the message bytes if it was read into a buffer ring, otherwise
+	 *         null; callers read it with absolute gets and leave its position
+	 */
+	ByteBuffer buffer() {
+		return m_data;
+	}
+	
+	/** Returns the message's bytes to the buffer ring it was read into, if any. */
+	void release() {
+		if (m_ring != null) {
+			m_ring.release(m_ringEnd);
+			m_ring = null;
+		}
+	}
 }
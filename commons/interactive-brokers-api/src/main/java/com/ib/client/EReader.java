@@ -5,7 +5,7 @@ package com.ib.client;
 
 import java.io.EOFException;
 import java.io.IOException;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
 import java.util.Deque;
 import java.util.LinkedList;
 
@@ -27,6 +27,7 @@ public class EReader extends Thread {
     private byte[] m_iBuf = new byte[IN_BUF_SIZE_DEFAULT];
     private int m_iBufLen = 0;
     private final Deque<EMessage> m_msgQueue = new LinkedList<>();
+    private final EBufferRing m_ring;
     
     protected boolean isUseV100Plus() {
 		return m_clientSocket.isUseV100Plus();
@@ -41,9 +42,20 @@ public class EReader extends Thread {
      * @param signal A callback that informs that there are messages in msg queue.
      */
     public EReader(EClientSocket parent, EReaderSignal signal) {
+    	this(parent, signal, 0);
+    }
+    
+    /**
+     * Construct an EReader that reads V100+ messages into a reusable ring of
+     * ringCapacity bytes and decodes them in place, instead of allocating an
+     * array per message. Messages that do not fit fall back to an array.
+     * @param ringCapacity the ring size in bytes, or 0 to allocate per message.
+     */
+    public EReader(EClientSocket parent, EReaderSignal signal, int ringCapacity) {
     	m_clientSocket = parent;
         m_signal = signal;
         m_processMsgsDecoder = new EDecoder(parent.serverVersion(), parent.wrapper(), parent);
+        m_ring = ringCapacity > 0 ? new EBufferRing(ringCapacity) : null;
     }
     
     /**
@@ -109,7 +121,16 @@ public class EReader extends Thread {
     public void processMsgs() throws IOException {
     	EMessage msg = getMsg();
     	
-    	while (msg != null && m_processMsgsDecoder.processMsg(msg) > 0) {
+    	while (msg != null) {
+    		int msgLength;
+    		try {
+    			msgLength = m_processMsgsDecoder.processMsg(msg);
+    		} finally {
+    			msg.release();
+    		}
+    		if (msgLength <= 0) {
+    			break;
+    		}
     		msg = getMsg();
     	}
     }
@@ -133,13 +154,16 @@ public class EReader extends Thread {
 						+ msgSize);
 			}
 			
-			byte[] buf = new byte[msgSize];
+			long ringEnd = m_ring == null ? -1 : m_ring.allocate(msgSize);
+			if (ringEnd >= 0) {
+				ByteBuffer slice = m_ring.slice(ringEnd, msgSize);
+				readFully(slice.array(), slice.arrayOffset(), msgSize);
+				return new EMessage(slice, m_ring, ringEnd);
+			}
 			
-			int offset = 0;
+			byte[] buf = new byte[msgSize];
 			
-			while (offset < msgSize) {
-				offset += m_clientSocket.read(buf, offset, msgSize - offset);
-			}
+			readFully(buf, 0, msgSize);
 						
 			return new EMessage(buf, buf.length);
 		}
@@ -177,7 +201,8 @@ public class EReader extends Thread {
 		
 		EMessage msg = new EMessage(m_iBuf, msgSize);
 		
-		System.arraycopy(Arrays.copyOfRange(m_iBuf, msgSize, m_iBuf.length), 0, m_iBuf, 0, m_iBuf.length - msgSize);
+		// shift only the unread bytes down; arraycopy handles the overlap
+		System.arraycopy(m_iBuf, msgSize, m_iBuf, 0, m_iBufLen - msgSize);
 		
 		m_iBufLen -= msgSize;
 		
@@ -192,6 +217,17 @@ public class EReader extends Thread {
 		return msg;
 	}
 
+	private void readFully(byte[] buf, int offset, int len) throws IOException {
+		int end = offset + len;
+		while (offset < end) {
+			int read = m_clientSocket.read(buf, offset, end - offset);
+			if (read < 0) {
+				throw new EOFException();
+			}
+			offset += read;
+		}
+	}
+
 	protected int appendIBuf() throws IOException {
 		return m_clientSocket.read(m_iBuf, m_iBufLen, m_iBuf.length - m_iBufLen);
 	}   
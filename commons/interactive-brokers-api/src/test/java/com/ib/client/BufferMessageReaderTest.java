@@ -0,0 +1,149 @@
+package com.ib.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Checks that the fast paths of {@link EDecoder.BufferMessageReader} give the
+ * same result as the string parsers they replace.
+ */
+public class BufferMessageReaderTest {
+
+	private static final String[] INTS = { "0", "7", "-7", "-0", "0042", "123456789", "-123456789", "2147483647",
+			"-2147483647", "-2147483648", "2147483648", "-2147483649", "9999999999", "+5", "1.5", "1e3", "-", "--1",
+			"abc", " 1" };
+
+	private static final String[] NUMBERS = { "0", "-0", "0.0", "-0.0", "1", "-1", "0.1", "-0.1", "1.", ".5", "-.5",
+			"123.456", "-98765.4321", "0.30000000000000004", "2147483647", "-2147483648",
+			String.valueOf(Long.MAX_VALUE), String.valueOf(Long.MIN_VALUE), String.valueOf(Double.MAX_VALUE),
+			"9007199254740991", "9007199254740993", "1234567890123456", "12345678901234567", "123456789012345678",
+			"1234567890123456.7", "123456789012345.67", "0.0000000000000001", "0.000000000000000001",
+			"0.0000000000000000001", "1e5", "1E-3", "-2.5e10", "1.2.3", "NaN", "Infinity", "+1.5", "-", "." };
+
+	@Test
+	public void readIntMatchesIntegerParseInt() throws IOException {
+		for (String value : INTS) {
+			Object expected;
+			try {
+				expected = Integer.valueOf(Integer.parseInt(value));
+			} catch (NumberFormatException e) {
+				expected = NumberFormatException.class;
+			}
+			Object actual;
+			EDecoder.BufferMessageReader reader = reader(value, "next");
+			try {
+				actual = Integer.valueOf(reader.readInt());
+			} catch (NumberFormatException e) {
+				actual = NumberFormatException.class;
+			}
+			assertEquals(value, expected, actual);
+			if (!(actual instanceof Class)) {
+				assertEquals(value, "next", reader.readStr());
+			}
+		}
+	}
+
+	@Test
+	public void readDoubleMatchesDoubleParseDouble() throws IOException {
+		for (String value : NUMBERS) {
+			Object expected;
+			try {
+				expected = Long.valueOf(Double.doubleToRawLongBits(Double.parseDouble(value)));
+			} catch (NumberFormatException e) {
+				expected = NumberFormatException.class;
+			}
+			Object actual;
+			EDecoder.BufferMessageReader reader = reader(value, "next");
+			try {
+				actual = Long.valueOf(Double.doubleToRawLongBits(reader.readDouble()));
+			} catch (NumberFormatException e) {
+				actual = NumberFormatException.class;
+			}
+			assertEquals(value, expected, actual);
+			if (!(actual instanceof Class)) {
+				assertEquals(value, "next", reader.readStr());
+			}
+		}
+	}
+
+	@Test
+	public void readDecimalMatchesDecimalParse() throws IOException {
+		for (String value : NUMBERS) {
+			Decimal expected = value.equals(String.valueOf(Long.MAX_VALUE))
+					|| value.equals(String.valueOf(Integer.MAX_VALUE))
+					|| value.equals(String.valueOf(Double.MAX_VALUE)) ? Decimal.INVALID : Decimal.parse(value);
+			EDecoder.BufferMessageReader reader = reader(value, "next");
+			Decimal actual = reader.readDecimal();
+
+			if (expected == null) {
+				assertNull(value, actual);
+			} else {
+				assertEquals(value, expected.isValid(), actual.isValid());
+				assertEquals(value, expected.value(), actual.value());
+			}
+			assertEquals(value, "next", reader.readStr());
+		}
+	}
+
+	@Test
+	public void emptyFieldsReadAsZeroOrInvalid() throws IOException {
+		EDecoder.BufferMessageReader reader = reader("", "", "", "", "last");
+
+		assertNull(reader.readStr());
+		assertEquals(0, reader.readInt());
+		assertEquals(0.0, reader.readDouble(), 0.0);
+		assertSame(Decimal.INVALID, reader.readDecimal());
+		assertEquals("last", reader.readStr());
+		assertEquals(9, reader.msgLength());
+	}
+
+	@Test
+	public void knownStringsAreReturnedAsTheSameInstance() throws IOException {
+		String[] known = { "Submitted", "Filled", "Cancelled" };
+		EDecoder.BufferMessageReader reader = reader("Filled", "PreSubmitted");
+
+		assertSame(known[1], reader.readStr(known));
+		assertEquals("PreSubmitted", reader.readStr(known));
+	}
+
+	@Test
+	public void readsOnlyTheBytesOfItsSlice() throws IOException {
+		byte[] bytes = fields("skip", "12", "-3.25", "tail");
+		ByteBuffer data = ByteBuffer.wrap(bytes, 5, bytes.length - 10).slice();
+		EDecoder.BufferMessageReader reader = new EDecoder.BufferMessageReader();
+		reader.reset(data);
+
+		assertEquals(12, reader.readInt());
+		assertEquals(-3.25, reader.readDouble(), 0.0);
+		try {
+			reader.readStr();
+			fail("read past the end of the slice");
+		} catch (EOFException e) {
+			assertTrue(reader.msgLength() > 0);
+		}
+	}
+
+	private static EDecoder.BufferMessageReader reader(String... values) {
+		EDecoder.BufferMessageReader reader = new EDecoder.BufferMessageReader();
+		reader.reset(ByteBuffer.wrap(fields(values)));
+		return reader;
+	}
+
+	private static byte[] fields(String... values) {
+		StringBuilder message = new StringBuilder();
+		for (String value : values) {
+			message.append(value).append('\0');
+		}
+		return message.toString().getBytes(StandardCharsets.ISO_8859_1);
+	}
+}
@@ -0,0 +1,108 @@
+package com.ib.client;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class EBufferRingTest {
+
+	@Test
+	public void allocationsAreContiguousSlices() {
+		EBufferRing ring = new EBufferRing(10);
+
+		long first = ring.allocate(4);
+		long second = ring.allocate(4);
+		write(ring.slice(first, 4), (byte) 1);
+		write(ring.slice(second, 4), (byte) 2);
+
+		assertEquals(4, first);
+		assertEquals(8, second);
+		assertEquals(4, ring.slice(first, 4).remaining());
+		assertEquals(1, ring.slice(first, 4).get(3));
+		assertEquals(2, ring.slice(second, 4).get(0));
+	}
+
+	@Test
+	public void aMessageThatWouldWrapSkipsTheEndOfTheRing() {
+		EBufferRing ring = new EBufferRing(10);
+		long first = ring.allocate(4);
+		long second = ring.allocate(4);
+		ring.release(first);
+
+		long third = ring.allocate(4);
+		write(ring.slice(third, 4), (byte) 3);
+
+		// the two bytes left at the end are skipped and the message starts at 0
+		assertEquals(14, third);
+		assertEquals(3, ring.slice(first, 4).get(0));
+		assertEquals(0, ring.slice(second, 4).get(0));
+	}
+
+	@Test
+	public void fullRingFallsBackUntilReleased() {
+		EBufferRing ring = new EBufferRing(10);
+		long first = ring.allocate(4);
+		ring.allocate(4);
+
+		assertEquals(-1, ring.allocate(4));
+		assertEquals(-1, ring.allocate(3));
+		assertEquals(8 + 2, ring.allocate(2));
+		assertEquals(-1, ring.allocate(1));
+
+		ring.release(first);
+		assertEquals(14, ring.allocate(4));
+	}
+
+	@Test
+	public void releaseFreesEverythingUpToTheEndInAllocationOrder() {
+		EBufferRing ring = new EBufferRing(12);
+		long first = ring.allocate(4);
+		long second = ring.allocate(4);
+		long third = ring.allocate(4);
+		assertEquals(-1, ring.allocate(4));
+
+		ring.release(second);
+		// an older end released late must not move the tail back
+		ring.release(first);
+		assertEquals(16, ring.allocate(4));
+		assertEquals(20, ring.allocate(4));
+		assertEquals(-1, ring.allocate(4));
+
+		ring.release(third);
+		assertEquals(24, ring.allocate(4));
+	}
+
+	@Test
+	public void emptyRingReusesItsWholeCapacity() {
+		EBufferRing ring = new EBufferRing(8);
+		for (int i = 1; i <= 5; i++) {
+			long end = ring.allocate(8);
+			assertEquals(8L * i, end);
+			write(ring.slice(end, 8), (byte) i);
+			assertEquals(i, ring.slice(end, 8).get(7));
+			ring.release(end);
+		}
+	}
+
+	@Test
+	public void messagesLargerThanTheRingAreRefused() {
+		EBufferRing ring = new EBufferRing(8);
+
+		assertEquals(-1, ring.allocate(9));
+		assertEquals(-1, ring.allocate(0));
+		assertEquals(8, ring.allocate(8));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void capacityMustBePositive() {
+		new EBufferRing(0);
+	}
+
+	private static void write(ByteBuffer slice, byte value) {
+		while (slice.hasRemaining()) {
+			slice.put(value);
+		}
+	}
+}
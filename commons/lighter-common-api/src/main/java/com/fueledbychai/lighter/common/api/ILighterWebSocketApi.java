@@ -1,5 +1,8 @@
 package com.fueledbychai.lighter.common.api;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import com.fueledbychai.lighter.common.api.ws.listener.ILighterMarketStatsListener;
 import com.fueledbychai.lighter.common.api.ws.listener.ILighterOrderBookListener;
 import com.fueledbychai.lighter.common.api.ws.listener.ILighterTickerListener;
@@ -25,6 +28,12 @@ import org.json.JSONObject;
  */
 public interface ILighterWebSocketApi {
 
+    /**
+     * Maximum number of transactions accepted in a single
+     * {@code jsonapi/sendtxbatch} message.
+     */
+    int MAX_SEND_TX_BATCH_SIZE = 50;
+
     /**
      * Subscribes to market stats for a single market.
      *
@@ -158,6 +167,84 @@ public interface ILighterWebSocketApi {
      */
     LighterSendTxResponse sendSignedTransaction(int txType, JSONObject txInfo);
 
+    /**
+     * Signs and submits a create-order request without waiting for the
+     * acknowledgement.
+     *
+     * The default completes synchronously via {@link #submitOrder}; the
+     * websocket implementation pipelines the request and completes the future
+     * when the response carrying its request id arrives.
+     *
+     * @param orderRequest the order request to submit
+     * @return a future completed with the exchange acknowledgement
+     */
+    default CompletableFuture<LighterSendTxResponse> submitOrderAsync(LighterCreateOrderRequest orderRequest) {
+        try {
+            return CompletableFuture.completedFuture(submitOrder(orderRequest));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Signs and submits a cancel-order request without waiting for the
+     * acknowledgement.
+     *
+     * @param cancelRequest the cancel request to submit
+     * @return a future completed with the exchange acknowledgement
+     */
+    default CompletableFuture<LighterSendTxResponse> cancelOrderAsync(LighterCancelOrderRequest cancelRequest) {
+        try {
+            return CompletableFuture.completedFuture(cancelOrder(cancelRequest));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Signs and submits a modify-order request without waiting for the
+     * acknowledgement.
+     *
+     * @param modifyRequest the modify request to submit
+     * @return a future completed with the exchange acknowledgement
+     */
+    default CompletableFuture<LighterSendTxResponse> modifyOrderAsync(LighterModifyOrderRequest modifyRequest) {
+        try {
+            return CompletableFuture.completedFuture(modifyOrder(modifyRequest));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Sends a pre-signed transaction over the tx websocket without waiting for
+     * the acknowledgement.
+     *
+     * @param txType the exchange transaction type identifier
+     * @param txInfo the transaction payload
+     * @return a future completed with the exchange acknowledgement
+     */
+    default CompletableFuture<LighterSendTxResponse> sendSignedTransactionAsync(int txType, JSONObject txInfo) {
+        try {
+            return CompletableFuture.completedFuture(sendSignedTransaction(txType, txInfo));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Sends pre-signed transactions in a single {@code jsonapi/sendtxbatch}
+     * message without waiting for the acknowledgement. The exchange answers the
+     * batch with one response, so the returned future covers every transaction.
+     * Nonces must be consecutive in list order.
+     *
+     * @param transactions the signed transactions, at most
+     *                     {@link #MAX_SEND_TX_BATCH_SIZE}
+     * @return a future completed with the exchange acknowledgement
+     */
+    CompletableFuture<LighterSendTxResponse> sendSignedTransactionBatchAsync(
+            List<LighterSignedTransaction> transactions);
+
     /**
      * Optionally pre-connects and keeps the transaction websocket warm.
      *
@@ -2,7 +2,6 @@ package com.fueledbychai.lighter.common.api;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.net.Proxy;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -20,6 +19,7 @@ import com.fueledbychai.data.ResponseException;
 import com.fueledbychai.data.Side;
 import com.fueledbychai.data.Ticker;
 import com.fueledbychai.http.BaseRestApi;
+import com.fueledbychai.http.OkHttpClientFactory;
 import com.fueledbychai.lighter.common.api.account.LighterPosition;
 import com.fueledbychai.lighter.common.api.auth.LighterApiTokenResponse;
 import com.fueledbychai.lighter.common.api.auth.LighterChangeAccountTierRequest;
@@ -31,7 +31,6 @@ import com.fueledbychai.lighter.common.api.ws.model.LighterOrder;
 import com.fueledbychai.time.Span;
 import com.fueledbychai.util.ITickerRegistry;
 import com.fueledbychai.util.TickerRegistryFactory;
-import com.fueledbychai.websocket.ProxyConfig;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
@@ -90,8 +89,8 @@ public class LighterRestApi extends BaseRestApi implements ILighterRestApi {
 
     public LighterRestApi(String baseUrl, String accountAddressString, String privateKeyString, boolean isTestnet,
             OkHttpClient client) {
-        this.client = client == null ? buildDefaultHttpClient() : client;
         this.baseUrl = baseUrl;
+        this.client = client == null ? buildDefaultHttpClient() : client;
         this.accountAddressString = accountAddressString;
         this.privateKeyString = privateKeyString;
         // Register the custom adapter
@@ -100,12 +99,7 @@ public class LighterRestApi extends BaseRestApi implements ILighterRestApi {
     }
 
     protected OkHttpClient buildDefaultHttpClient() {
-        Proxy proxy = ProxyConfig.getInstance().getProxy();
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
-        if (proxy != null && proxy != Proxy.NO_PROXY) {
-            builder.proxy(proxy);
-        }
-        return builder.build();
+        return OkHttpClientFactory.create(null, baseUrl);
     }
 
     @Override
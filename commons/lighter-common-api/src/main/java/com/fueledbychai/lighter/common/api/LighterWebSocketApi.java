@@ -17,6 +17,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -227,6 +228,12 @@ public class LighterWebSocketApi
         return sendSignedTransaction(signedTransaction.getTxType(), signedTransaction.getTxInfo());
     }
 
+    @Override
+    public CompletableFuture<LighterSendTxResponse> submitOrderAsync(LighterCreateOrderRequest orderRequest) {
+        LighterSignedTransaction signedTransaction = signOrder(orderRequest);
+        return sendSignedTransactionAsync(signedTransaction.getTxType(), signedTransaction.getTxInfo());
+    }
+
     @Override
     public LighterSignedTransaction signCancelOrder(LighterCancelOrderRequest cancelRequest) {
         if (cancelRequest == null) {
@@ -241,6 +248,12 @@ public class LighterWebSocketApi
         return sendSignedTransaction(signedTransaction.getTxType(), signedTransaction.getTxInfo());
     }
 
+    @Override
+    public CompletableFuture<LighterSendTxResponse> cancelOrderAsync(LighterCancelOrderRequest cancelRequest) {
+        LighterSignedTransaction signedTransaction = signCancelOrder(cancelRequest);
+        return sendSignedTransactionAsync(signedTransaction.getTxType(), signedTransaction.getTxInfo());
+    }
+
     @Override
     public LighterSignedTransaction signModifyOrder(LighterModifyOrderRequest modifyRequest) {
         if (modifyRequest == null) {
@@ -255,19 +268,18 @@ public class LighterWebSocketApi
         return sendSignedTransaction(signedTransaction.getTxType(), signedTransaction.getTxInfo());
     }
 
+    @Override
+    public CompletableFuture<LighterSendTxResponse> modifyOrderAsync(LighterModifyOrderRequest modifyRequest) {
+        LighterSignedTransaction signedTransaction = signModifyOrder(modifyRequest);
+        return sendSignedTransactionAsync(signedTransaction.getTxType(), signedTransaction.getTxInfo());
+    }
+
     @Override
     public LighterSendTxResponse sendSignedTransaction(int txType, JSONObject txInfo) {
-        if (txType <= 0) {
-            throw new IllegalArgumentException("txType must be > 0");
-        }
-        if (txInfo == null) {
-            throw new IllegalArgumentException("txInfo is required");
-        }
+        validateSignedTransaction(txType, txInfo);
 
         String requestId = String.valueOf(txRequestIdCounter.getAndIncrement());
-        CompletableFuture<LighterSendTxResponse> future = new CompletableFuture<>();
-        pendingTxResponses.put(requestId, future);
-        pendingTxRequestOrder.offer(requestId);
+        CompletableFuture<LighterSendTxResponse> future = registerPendingTxResponse(requestId);
 
         try {
             LighterWebSocketClient client = getOrCreateTxClient();
@@ -281,9 +293,93 @@ public class LighterWebSocketApi
         } catch (Exception e) {
             throw new IllegalStateException("Unable to submit Lighter signed transaction", e);
         } finally {
-            pendingTxResponses.remove(requestId);
-            pendingTxRequestOrder.remove(requestId);
+            removePendingTxResponse(requestId);
+        }
+    }
+
+    /**
+     * Posts the transaction and returns as soon as it is written to the tx
+     * websocket. Several requests can be in flight at once; each future is
+     * completed by {@link #onWebSocketEvent(LighterSendTxResponse)} when the
+     * response carrying its request id arrives, or fails after
+     * {@link #getSendTxTimeoutMillis()}.
+     */
+    @Override
+    public CompletableFuture<LighterSendTxResponse> sendSignedTransactionAsync(int txType, JSONObject txInfo) {
+        validateSignedTransaction(txType, txInfo);
+
+        String requestId = String.valueOf(txRequestIdCounter.getAndIncrement());
+        CompletableFuture<LighterSendTxResponse> future = registerPendingTxResponse(requestId);
+
+        try {
+            LighterWebSocketClient client = getOrCreateTxClient();
+            client.postMessage(buildSendTxMessage(requestId, txType, txInfo));
+        } catch (Exception e) {
+            removePendingTxResponse(requestId);
+            return CompletableFuture
+                    .failedFuture(new IllegalStateException("Unable to submit Lighter signed transaction", e));
+        }
+
+        return future.orTimeout(getSendTxTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> removePendingTxResponse(requestId));
+    }
+
+    /**
+     * Posts the transactions as one {@code jsonapi/sendtxbatch} message. The
+     * batch is correlated by a single request id, exactly like
+     * {@link #sendSignedTransactionAsync(int, JSONObject)}.
+     */
+    @Override
+    public CompletableFuture<LighterSendTxResponse> sendSignedTransactionBatchAsync(
+            List<LighterSignedTransaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            throw new IllegalArgumentException("transactions are required");
+        }
+        if (transactions.size() > MAX_SEND_TX_BATCH_SIZE) {
+            throw new IllegalArgumentException("transactions must not exceed " + MAX_SEND_TX_BATCH_SIZE);
+        }
+        for (LighterSignedTransaction transaction : transactions) {
+            if (transaction == null) {
+                throw new IllegalArgumentException("transaction is required");
+            }
+            validateSignedTransaction(transaction.getTxType(), transaction.getTxInfo());
+        }
+
+        String requestId = String.valueOf(txRequestIdCounter.getAndIncrement());
+        CompletableFuture<LighterSendTxResponse> future = registerPendingTxResponse(requestId);
+
+        try {
+            LighterWebSocketClient client = getOrCreateTxClient();
+            client.postMessage(buildSendTxBatchMessage(requestId, transactions));
+        } catch (Exception e) {
+            removePendingTxResponse(requestId);
+            return CompletableFuture
+                    .failedFuture(new IllegalStateException("Unable to submit Lighter signed transaction batch", e));
         }
+
+        return future.orTimeout(getSendTxTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> removePendingTxResponse(requestId));
+    }
+
+    protected void validateSignedTransaction(int txType, JSONObject txInfo) {
+        if (txType <= 0) {
+            throw new IllegalArgumentException("txType must be > 0");
+        }
+        if (txInfo == null) {
+            throw new IllegalArgumentException("txInfo is required");
+        }
+    }
+
+    protected CompletableFuture<LighterSendTxResponse> registerPendingTxResponse(String requestId) {
+        CompletableFuture<LighterSendTxResponse> future = new CompletableFuture<>();
+        pendingTxResponses.put(requestId, future);
+        pendingTxRequestOrder.offer(requestId);
+        return future;
+    }
+
+    protected void removePendingTxResponse(String requestId) {
+        pendingTxResponses.remove(requestId);
+        pendingTxRequestOrder.remove(requestId);
     }
 
     @Override
@@ -1205,6 +1301,25 @@ public class LighterWebSocketApi
         return request.toString();
     }
 
+    protected String buildSendTxBatchMessage(String requestId, List<LighterSignedTransaction> transactions) {
+        JSONArray txTypes = new JSONArray();
+        JSONArray txInfos = new JSONArray();
+        for (LighterSignedTransaction transaction : transactions) {
+            txTypes.put(transaction.getTxType());
+            txInfos.put(transaction.getTxInfo());
+        }
+
+        JSONObject data = new JSONObject();
+        data.put("tx_types", txTypes);
+        data.put("tx_infos", txInfos);
+
+        JSONObject request = new JSONObject();
+        request.put("type", "jsonapi/sendtxbatch");
+        request.put("data", data);
+        request.put("id", requestId);
+        return request.toString();
+    }
+
     protected void waitForTxClientConnection(LighterWebSocketClient client, long timeoutMillis) {
         if (client == null) {
             throw new IllegalStateException("tx websocket client is not initialized");
@@ -1286,7 +1401,7 @@ public class LighterWebSocketApi
         for (SharedClientSlot slot : sharedClientSlots) {
             if (slot.channels.size() < MAX_SUBSCRIPTIONS_PER_SHARED_CLIENT) {
                 slot.channels.add(channel);
-                slot.multiplexor.addProcessor(processor);
+                slot.multiplexor.addProcessor(channel, processor);
                 channelToSharedSlot.put(channel, slot);
                 channelClients.put(channel, slot.client);
                 sendSubscribeOnSharedClient(slot, channel);
@@ -1297,7 +1412,7 @@ public class LighterWebSocketApi
         // No capacity — create a new shared client
         SharedClientSlot slot = createSharedClientSlot();
         slot.channels.add(channel);
-        slot.multiplexor.addProcessor(processor);
+        slot.multiplexor.addProcessor(channel, processor);
         channelToSharedSlot.put(channel, slot);
         sharedClientSlots.add(slot);
         channelClients.put(channel, slot.client);
@@ -7,11 +7,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Poseidon2 hashing and ECgFp5 Schnorr signing as used by Lighter.
+ * <p>
+ * Goldilocks field elements are canonical unsigned {@code long} values below
+ * p = 2^64 - 2^32 + 1, reduced with 64-bit arithmetic rather than
+ * {@link BigInteger}. {@link Fp5} holds its five limbs in a {@code long[5]} and
+ * the Poseidon2 permutation runs in place over a {@code long[12]} state. Only
+ * {@link Scalar} arithmetic modulo the curve order still uses {@link BigInteger}.
+ */
 final class LighterSignerMath {
 
-    private static final BigInteger GOLDILOCKS_MODULUS = new BigInteger("18446744069414584321");
-    private static final BigInteger GOLDILOCKS_MODULUS_MINUS_ONE = GOLDILOCKS_MODULUS.subtract(BigInteger.ONE);
-    private static final BigInteger GOLDILOCKS_MODULUS_MINUS_ONE_DIV_TWO = GOLDILOCKS_MODULUS_MINUS_ONE.shiftRight(1);
     private static final BigInteger ECGFP5_SCALAR_ORDER = new BigInteger(
             "1067993516717146951041484916571792702745057740581727230159139685185762082554198619328292418486241");
 
@@ -20,62 +26,35 @@ final class LighterSignerMath {
     private static final int POSEIDON_ROUNDS_F_HALF = 4;
     private static final int POSEIDON_ROUNDS_P = 22;
 
-    private static final GoldilocksField[][] POSEIDON_EXTERNAL_CONSTANTS = initExternalConstants();
-    private static final GoldilocksField[] POSEIDON_INTERNAL_CONSTANTS = initInternalConstants();
-    private static final GoldilocksField[] POSEIDON_MATRIX_DIAG = initMatrixDiag();
-
-    private static final Fp5 FP5_ZERO = new Fp5(
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO);
-    private static final Fp5 FP5_ONE = new Fp5(
-            GoldilocksField.ONE,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO);
-    private static final Fp5 FP5_TWO = new Fp5(
-            GoldilocksField.fromSignedLong(2),
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO);
-    private static final GoldilocksField FP5_W = GoldilocksField.fromSignedLong(3);
-    private static final GoldilocksField FP5_DTH_ROOT = GoldilocksField.fromUnsignedDecimal("1041288259238279555");
+    private static final long[][] POSEIDON_EXTERNAL_CONSTANTS = initExternalConstants();
+    private static final long[] POSEIDON_INTERNAL_CONSTANTS = initInternalConstants();
+    private static final long[] POSEIDON_MATRIX_DIAG = initMatrixDiag();
+
+    private static final long FP5_W = 3L;
+    private static final long FP5_DTH_ROOT = 1041288259238279555L;
+    private static final long[][] FP5_FROBENIUS_POWERS = initFrobeniusPowers();
+
+    private static final Fp5 FP5_ZERO = new Fp5(0L, 0L, 0L, 0L, 0L);
+    private static final Fp5 FP5_ONE = new Fp5(1L, 0L, 0L, 0L, 0L);
 
     private static final Fp5 A_ECGFP5_POINT = Fp5.fromUnsignedLong(2L);
-    private static final Fp5 B_ECGFP5_POINT = new Fp5(
-            GoldilocksField.ZERO,
-            GoldilocksField.fromSignedLong(263),
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO);
-    private static final Fp5 B_MUL2_ECGFP5_POINT = B_ECGFP5_POINT.scalarMul(GoldilocksField.fromSignedLong(2));
-    private static final Fp5 B_MUL4_ECGFP5_POINT = B_ECGFP5_POINT.scalarMul(GoldilocksField.fromSignedLong(4));
-
-    private static final Fp5 A_WEIERSTRASS = new Fp5(
-            GoldilocksField.fromUnsignedDecimal("6148914689804861439"),
-            GoldilocksField.fromSignedLong(263),
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO,
-            GoldilocksField.ZERO);
+
+    private static final Fp5 A_WEIERSTRASS = new Fp5(6148914689804861439L, 263L, 0L, 0L, 0L);
     private static final Fp5 A_ECGFP5_DIV_THREE = A_ECGFP5_POINT.div(Fp5.fromUnsignedLong(3L));
 
     private static final WeierstrassPoint GENERATOR_WEIERSTRASS = new WeierstrassPoint(
             new Fp5(
-                    GoldilocksField.fromUnsignedDecimal("11712523173042564207"),
-                    GoldilocksField.fromUnsignedDecimal("14090224426659529053"),
-                    GoldilocksField.fromUnsignedDecimal("13197813503519687414"),
-                    GoldilocksField.fromUnsignedDecimal("16280770174934269299"),
-                    GoldilocksField.fromUnsignedDecimal("15998333998318935536")),
+                    parseUnsignedDecimal("11712523173042564207"),
+                    parseUnsignedDecimal("14090224426659529053"),
+                    parseUnsignedDecimal("13197813503519687414"),
+                    parseUnsignedDecimal("16280770174934269299"),
+                    parseUnsignedDecimal("15998333998318935536")),
             new Fp5(
-                    GoldilocksField.fromUnsignedDecimal("14639054205878357578"),
-                    GoldilocksField.fromUnsignedDecimal("17426078571020221072"),
-                    GoldilocksField.fromUnsignedDecimal("2548978194165003307"),
-                    GoldilocksField.fromUnsignedDecimal("8663895577921260088"),
-                    GoldilocksField.fromUnsignedDecimal("9793640284382595140")),
+                    parseUnsignedDecimal("14639054205878357578"),
+                    parseUnsignedDecimal("17426078571020221072"),
+                    parseUnsignedDecimal("2548978194165003307"),
+                    parseUnsignedDecimal("8663895577921260088"),
+                    parseUnsignedDecimal("9793640284382595140")),
             false);
     private static final WeierstrassPoint WEIERSTRASS_NEUTRAL = new WeierstrassPoint(FP5_ZERO, FP5_ZERO, true);
 
@@ -101,7 +80,23 @@ final class LighterSignerMath {
         if (privateKey == null) {
             throw new IllegalArgumentException("privateKey is required");
         }
-        return GENERATOR_WEIERSTRASS.multiply(privateKey).encode();
+        return generatorMultiple(privateKey);
+    }
+
+    /**
+     * @return the encoding of {@code k * G}, computed from the precomputed
+     *         generator table
+     */
+    static Fp5 generatorMultiple(Scalar k) {
+        return GeneratorTable.multiply(k).encode();
+    }
+
+    /**
+     * @return the encoding of {@code k * G} by generic double-and-add; the
+     *         reference the fixed-base path is tested and benchmarked against
+     */
+    static Fp5 generatorMultipleDoubleAndAdd(Scalar k) {
+        return GENERATOR_WEIERSTRASS.multiply(k).encode();
     }
 
     static byte[] decodeHex(String hexValue) {
@@ -145,8 +140,20 @@ final class LighterSignerMath {
     }
 
     static Fp5 hashToQuinticExtension(List<GoldilocksField> input) {
-        List<GoldilocksField> output = hashNToMNoPad(input, 5);
-        return new Fp5(output.get(0), output.get(1), output.get(2), output.get(3), output.get(4));
+        long[] elements = new long[input.size()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = input.get(i).value;
+        }
+        return hashToQuinticExtension(elements);
+    }
+
+    /**
+     * @param input canonical Goldilocks elements
+     */
+    static Fp5 hashToQuinticExtension(long[] input) {
+        long[] output = new long[Fp5.LIMBS];
+        hashNToMNoPad(input, output);
+        return new Fp5(output);
     }
 
     static Fp5 hashAuthTokenMessage(String message) {
@@ -164,125 +171,109 @@ final class LighterSignerMath {
     }
 
     static SchnorrSignature signHashedMessage(Fp5 hashedMessage, Scalar privateKey, Scalar nonce) {
-        Fp5 encodedR = GENERATOR_WEIERSTRASS.multiply(nonce).encode();
+        Fp5 encodedR = generatorMultiple(nonce);
 
-        List<GoldilocksField> preimage = new ArrayList<>(10);
-        preimage.addAll(Arrays.asList(encodedR.limbs));
-        preimage.addAll(Arrays.asList(hashedMessage.limbs));
+        long[] preimage = new long[2 * Fp5.LIMBS];
+        System.arraycopy(encodedR.limbs, 0, preimage, 0, Fp5.LIMBS);
+        System.arraycopy(hashedMessage.limbs, 0, preimage, Fp5.LIMBS, Fp5.LIMBS);
 
         Scalar e = Scalar.fromFp5(hashToQuinticExtension(preimage));
         Scalar s = nonce.sub(e.mul(privateKey));
         return new SchnorrSignature(s, e);
     }
 
-    private static List<GoldilocksField> hashNToMNoPad(List<GoldilocksField> input, int numOutputs) {
-        GoldilocksField[] perm = new GoldilocksField[POSEIDON_WIDTH];
-        Arrays.fill(perm, GoldilocksField.ZERO);
+    private static void hashNToMNoPad(long[] input, long[] output) {
+        long[] perm = new long[POSEIDON_WIDTH];
 
-        for (int i = 0; i < input.size(); i += POSEIDON_RATE) {
-            for (int j = 0; j < POSEIDON_RATE && i + j < input.size(); j++) {
-                perm[j] = input.get(i + j);
-            }
+        for (int i = 0; i < input.length; i += POSEIDON_RATE) {
+            System.arraycopy(input, i, perm, 0, Math.min(POSEIDON_RATE, input.length - i));
             permute(perm);
         }
 
-        List<GoldilocksField> outputs = new ArrayList<>(numOutputs);
+        int produced = 0;
         while (true) {
             for (int i = 0; i < POSEIDON_RATE; i++) {
-                outputs.add(perm[i]);
-                if (outputs.size() == numOutputs) {
-                    return outputs;
+                output[produced++] = perm[i];
+                if (produced == output.length) {
+                    return;
                 }
             }
             permute(perm);
         }
     }
 
-    private static void permute(GoldilocksField[] state) {
+    private static void permute(long[] state) {
         externalLinearLayer(state);
         fullRounds(state, 0);
         partialRounds(state);
         fullRounds(state, POSEIDON_ROUNDS_F_HALF);
     }
 
-    private static void fullRounds(GoldilocksField[] state, int startRound) {
+    private static void fullRounds(long[] state, int startRound) {
         for (int round = startRound; round < startRound + POSEIDON_ROUNDS_F_HALF; round++) {
-            addRoundConstants(state, round);
-            applySBox(state);
+            long[] constants = POSEIDON_EXTERNAL_CONSTANTS[round];
+            for (int i = 0; i < POSEIDON_WIDTH; i++) {
+                state[i] = sbox(GoldilocksField.add(state[i], constants[i]));
+            }
             externalLinearLayer(state);
         }
     }
 
-    private static void partialRounds(GoldilocksField[] state) {
+    private static void partialRounds(long[] state) {
         for (int round = 0; round < POSEIDON_ROUNDS_P; round++) {
-            state[0] = state[0].add(POSEIDON_INTERNAL_CONSTANTS[round]);
-            state[0] = sbox(state[0]);
+            state[0] = sbox(GoldilocksField.add(state[0], POSEIDON_INTERNAL_CONSTANTS[round]));
             internalLinearLayer(state);
         }
     }
 
-    private static void addRoundConstants(GoldilocksField[] state, int round) {
-        for (int i = 0; i < POSEIDON_WIDTH; i++) {
-            state[i] = state[i].add(POSEIDON_EXTERNAL_CONSTANTS[round][i]);
-        }
-    }
-
-    private static void applySBox(GoldilocksField[] state) {
-        for (int i = 0; i < state.length; i++) {
-            state[i] = sbox(state[i]);
-        }
-    }
-
-    private static GoldilocksField sbox(GoldilocksField value) {
-        GoldilocksField valueSquared = value.square();
-        GoldilocksField valueCubed = valueSquared.mul(value);
-        GoldilocksField valueSixth = valueCubed.square();
-        return valueSixth.mul(value);
+    private static long sbox(long value) {
+        long valueSquared = GoldilocksField.square(value);
+        long valueCubed = GoldilocksField.mul(valueSquared, value);
+        long valueSixth = GoldilocksField.square(valueCubed);
+        return GoldilocksField.mul(valueSixth, value);
     }
 
-    private static void externalLinearLayer(GoldilocksField[] state) {
-        for (int i = 0; i < 3; i++) {
-            int offset = i * 4;
+    private static void externalLinearLayer(long[] state) {
+        for (int offset = 0; offset < POSEIDON_WIDTH; offset += 4) {
+            long s0 = state[offset];
+            long s1 = state[offset + 1];
+            long s2 = state[offset + 2];
+            long s3 = state[offset + 3];
 
-            GoldilocksField t0 = state[offset].add(state[offset + 1]);
-            GoldilocksField t1 = state[offset + 2].add(state[offset + 3]);
-            GoldilocksField t2 = t0.add(t1);
-            GoldilocksField t3 = t2.add(state[offset + 1]);
-            GoldilocksField t4 = t2.add(state[offset + 3]);
-            GoldilocksField t5 = state[offset].doubleValue();
-            GoldilocksField t6 = state[offset + 2].doubleValue();
+            long t0 = GoldilocksField.add(s0, s1);
+            long t1 = GoldilocksField.add(s2, s3);
+            long t2 = GoldilocksField.add(t0, t1);
+            long t3 = GoldilocksField.add(t2, s1);
+            long t4 = GoldilocksField.add(t2, s3);
+            long t5 = GoldilocksField.add(s0, s0);
+            long t6 = GoldilocksField.add(s2, s2);
 
-            state[offset] = t3.add(t0);
-            state[offset + 1] = t6.add(t3);
-            state[offset + 2] = t1.add(t4);
-            state[offset + 3] = t5.add(t4);
+            state[offset] = GoldilocksField.add(t3, t0);
+            state[offset + 1] = GoldilocksField.add(t6, t3);
+            state[offset + 2] = GoldilocksField.add(t1, t4);
+            state[offset + 3] = GoldilocksField.add(t5, t4);
         }
 
-        GoldilocksField[] sums = new GoldilocksField[4];
-        Arrays.fill(sums, GoldilocksField.ZERO);
         for (int k = 0; k < 4; k++) {
-            for (int j = 0; j < POSEIDON_WIDTH; j += 4) {
-                sums[k] = sums[k].add(state[j + k]);
-            }
-        }
-
-        for (int i = 0; i < POSEIDON_WIDTH; i++) {
-            state[i] = state[i].add(sums[i % 4]);
+            long sum = GoldilocksField.add(GoldilocksField.add(state[k], state[k + 4]), state[k + 8]);
+            state[k] = GoldilocksField.add(state[k], sum);
+            state[k + 4] = GoldilocksField.add(state[k + 4], sum);
+            state[k + 8] = GoldilocksField.add(state[k + 8], sum);
         }
     }
 
-    private static void internalLinearLayer(GoldilocksField[] state) {
-        GoldilocksField sum = GoldilocksField.ZERO;
-        for (GoldilocksField value : state) {
-            sum = sum.add(value);
+    private static void internalLinearLayer(long[] state) {
+        long sum = 0L;
+        for (long value : state) {
+            sum = GoldilocksField.add(sum, value);
         }
 
         for (int i = 0; i < POSEIDON_WIDTH; i++) {
-            state[i] = state[i].mul(POSEIDON_MATRIX_DIAG[i]).add(sum);
+            state[i] = GoldilocksField.add(GoldilocksField.mul(state[i], POSEIDON_MATRIX_DIAG[i]), sum);
         }
     }
 
-    private static GoldilocksField[][] initExternalConstants() {
+    private static long[][] initExternalConstants() {
         String[][] raw = {
                 { "15492826721047263190", "11728330187201910315", "8836021247773420868", "16777404051263952451",
                         "5510875212538051896", "6173089941271892285", "2927757366422211339", "10340958981325008808",
@@ -310,16 +301,16 @@ final class LighterSignerMath {
                         "11588128829349125809", "15863878496612806566", "5201119062417750399", "176665553780565743" }
         };
 
-        GoldilocksField[][] constants = new GoldilocksField[raw.length][raw[0].length];
+        long[][] constants = new long[raw.length][raw[0].length];
         for (int i = 0; i < raw.length; i++) {
             for (int j = 0; j < raw[i].length; j++) {
-                constants[i][j] = GoldilocksField.fromUnsignedDecimal(raw[i][j]);
+                constants[i][j] = parseUnsignedDecimal(raw[i][j]);
             }
         }
         return constants;
     }
 
-    private static GoldilocksField[] initInternalConstants() {
+    private static long[] initInternalConstants() {
         String[] raw = {
                 "11921381764981422944", "10318423381711320787", "8291411502347000766", "229948027109387563",
                 "9152521390190983261", "7129306032690285515", "15395989607365232011", "8641397269074305925",
@@ -328,156 +319,250 @@ final class LighterSignerMath {
                 "13475579315436919170", "16042710511297532028", "1411266850385657080", "9024840976168649958",
                 "14047056970978379368", "838728605080212101" };
 
-        GoldilocksField[] constants = new GoldilocksField[raw.length];
+        long[] constants = new long[raw.length];
         for (int i = 0; i < raw.length; i++) {
-            constants[i] = GoldilocksField.fromUnsignedDecimal(raw[i]);
+            constants[i] = parseUnsignedDecimal(raw[i]);
         }
         return constants;
     }
 
-    private static GoldilocksField[] initMatrixDiag() {
+    private static long[] initMatrixDiag() {
         String[] rawHex = {
                 "c3b6c08e23ba9300", "d84b5de94a324fb6", "0d0c371c5b35b84f", "7964f570e7188037",
                 "5daf18bbd996604b", "6743bc47b9595257", "5528b9362c59bb70", "ac45e25b7127b68b",
                 "a2077d7dfbb606b5", "f3faac6faee378ae", "0c6388b51545e883", "d27dbb6944917b60" };
 
-        GoldilocksField[] matrixDiag = new GoldilocksField[rawHex.length];
+        long[] matrixDiag = new long[rawHex.length];
         for (int i = 0; i < rawHex.length; i++) {
-            matrixDiag[i] = GoldilocksField.fromUnsignedHex(rawHex[i]);
+            matrixDiag[i] = GoldilocksField.reduce(Long.parseUnsignedLong(rawHex[i], 16));
         }
         return matrixDiag;
     }
 
-    static final class GoldilocksField {
+    /**
+     * Row {@code n} holds the limb multipliers of the n-th Frobenius map: the
+     * powers 0..4 of {@code FP5_DTH_ROOT^n}.
+     */
+    private static long[][] initFrobeniusPowers() {
+        long[][] powers = new long[Fp5.LIMBS][Fp5.LIMBS];
+        long root = 1L;
+        for (int n = 0; n < Fp5.LIMBS; n++) {
+            powers[n][0] = 1L;
+            for (int i = 1; i < Fp5.LIMBS; i++) {
+                powers[n][i] = GoldilocksField.mul(powers[n][i - 1], root);
+            }
+            root = GoldilocksField.mul(root, FP5_DTH_ROOT);
+        }
+        return powers;
+    }
 
-        private static final GoldilocksField ZERO = new GoldilocksField(BigInteger.ZERO);
-        private static final GoldilocksField ONE = new GoldilocksField(BigInteger.ONE);
+    private static long parseUnsignedDecimal(String decimalValue) {
+        return GoldilocksField.reduce(Long.parseUnsignedLong(decimalValue));
+    }
 
-        private final BigInteger value;
+    /**
+     * An element of the Goldilocks field. The static methods operate on
+     * canonical unsigned {@code long} values and are what the hashing and curve
+     * code use; the instances wrap one such value for callers that build hash
+     * inputs.
+     */
+    static final class GoldilocksField {
 
-        private GoldilocksField(BigInteger value) {
-            this.value = normalize(value, GOLDILOCKS_MODULUS);
-        }
+        /** p = 2^64 - 2^32 + 1 as an unsigned long. */
+        static final long ORDER = 0xFFFFFFFF00000001L;
+        /** 2^64 mod p, i.e. 2^32 - 1. */
+        private static final long EPSILON = 0xFFFFFFFFL;
+        private static final long ORDER_MINUS_TWO = ORDER - 2;
+        private static final long ORDER_MINUS_ONE_DIV_TWO = (ORDER - 1) >>> 1;
 
-        static GoldilocksField fromUnsignedDecimal(String decimalValue) {
-            return new GoldilocksField(new BigInteger(decimalValue));
-        }
+        private final long value;
 
-        static GoldilocksField fromUnsignedHex(String hexValue) {
-            return new GoldilocksField(new BigInteger(hexValue, 16));
+        private GoldilocksField(long canonicalValue) {
+            this.value = canonicalValue;
         }
 
         static GoldilocksField fromUnsignedLong(long unsignedValue) {
-            return new GoldilocksField(toUnsignedBigInteger(unsignedValue));
+            return new GoldilocksField(reduce(unsignedValue));
         }
 
         static GoldilocksField fromSignedLong(long signedValue) {
-            return new GoldilocksField(BigInteger.valueOf(signedValue));
+            // a negative value is below 2^63 < p in magnitude, so one addition of p is enough
+            return new GoldilocksField(signedValue < 0 ? signedValue + ORDER : signedValue);
         }
 
         GoldilocksField add(GoldilocksField other) {
-            return new GoldilocksField(value.add(other.value));
+            return new GoldilocksField(add(value, other.value));
         }
 
         GoldilocksField sub(GoldilocksField other) {
-            return new GoldilocksField(value.subtract(other.value));
+            return new GoldilocksField(sub(value, other.value));
         }
 
         GoldilocksField mul(GoldilocksField other) {
-            return new GoldilocksField(value.multiply(other.value));
+            return new GoldilocksField(mul(value, other.value));
         }
 
         GoldilocksField square() {
-            return mul(this);
+            return new GoldilocksField(square(value));
         }
 
         GoldilocksField doubleValue() {
-            return add(this);
+            return new GoldilocksField(add(value, value));
         }
 
         GoldilocksField negate() {
-            if (isZero()) {
-                return ZERO;
-            }
-            return new GoldilocksField(GOLDILOCKS_MODULUS.subtract(value));
+            return new GoldilocksField(negate(value));
         }
 
         GoldilocksField inverse() {
-            if (isZero()) {
+            if (value == 0L) {
                 throw new IllegalStateException("inverse of zero");
             }
-            return new GoldilocksField(value.modInverse(GOLDILOCKS_MODULUS));
-        }
-
-        GoldilocksField pow(BigInteger exponent) {
-            return new GoldilocksField(value.modPow(exponent, GOLDILOCKS_MODULUS));
+            return new GoldilocksField(inverse(value));
         }
 
         boolean isZero() {
-            return value.signum() == 0;
+            return value == 0L;
         }
 
         boolean isEven() {
-            return !value.testBit(0);
+            return (value & 1L) == 0L;
         }
 
         BigInteger asBigInteger() {
-            return value;
+            return toUnsignedBigInteger(value);
         }
 
         byte[] toLittleEndian8() {
-            byte[] bigEndian = value.toByteArray();
             byte[] result = new byte[8];
-            int copyLength = Math.min(bigEndian.length, 8);
-            for (int i = 0; i < copyLength; i++) {
-                result[i] = bigEndian[bigEndian.length - 1 - i];
-            }
+            writeLittleEndian(value, result, 0);
             return result;
         }
 
-        static GoldilocksField sqrtOrNull(GoldilocksField target) {
-            if (target.isZero()) {
-                return ZERO;
+        /**
+         * Reduces an arbitrary unsigned 64-bit value into [0, p).
+         */
+        static long reduce(long unsignedValue) {
+            return Long.compareUnsigned(unsignedValue, ORDER) >= 0 ? unsignedValue - ORDER : unsignedValue;
+        }
+
+        static long add(long a, long b) {
+            long sum = a + b;
+            if (Long.compareUnsigned(sum, a) < 0) {
+                // 2^64 wrapped away; it is congruent to EPSILON and the result stays below p
+                sum += EPSILON;
             }
+            return reduce(sum);
+        }
 
-            int legendre = legendreSymbol(target.value);
-            if (legendre != 1) {
-                return null;
+        static long sub(long a, long b) {
+            long difference = a - b;
+            if (Long.compareUnsigned(a, b) < 0) {
+                difference -= EPSILON;
+            }
+            return difference;
+        }
+
+        static long negate(long a) {
+            return a == 0L ? 0L : ORDER - a;
+        }
+
+        static long mul(long a, long b) {
+            return reduce128(Math.unsignedMultiplyHigh(a, b), a * b);
+        }
+
+        static long square(long a) {
+            return mul(a, a);
+        }
+
+        static long inverse(long a) {
+            return pow(a, ORDER_MINUS_TWO);
+        }
+
+        static long pow(long base, long unsignedExponent) {
+            long result = 1L;
+            long power = base;
+            long exponent = unsignedExponent;
+            while (exponent != 0L) {
+                if ((exponent & 1L) != 0L) {
+                    result = mul(result, power);
+                }
+                power = square(power);
+                exponent >>>= 1;
             }
+            return result;
+        }
+
+        /**
+         * Reduces the 128-bit value {@code hi * 2^64 + lo} using
+         * 2^64 = 2^32 - 1 and 2^96 = -1 (mod p).
+         */
+        private static long reduce128(long hi, long lo) {
+            long hiHi = hi >>> 32;
+            long hiLo = hi & EPSILON;
 
-            BigInteger q = GOLDILOCKS_MODULUS_MINUS_ONE;
-            int s = 0;
-            while (!q.testBit(0)) {
-                q = q.shiftRight(1);
-                s++;
+            long t0 = lo - hiHi;
+            if (Long.compareUnsigned(lo, hiHi) < 0) {
+                t0 -= EPSILON;
+            }
+            long t1 = hiLo * EPSILON;
+            long t2 = t0 + t1;
+            if (Long.compareUnsigned(t2, t1) < 0) {
+                t2 += EPSILON;
+            }
+            return reduce(t2);
+        }
+
+        static GoldilocksField sqrtOrNull(GoldilocksField target) {
+            long sqrt = sqrtOrMinusOne(target.value);
+            return sqrt == -1L ? null : new GoldilocksField(sqrt);
+        }
+
+        /**
+         * Tonelli-Shanks square root.
+         *
+         * @return the root, or -1 (never a canonical value) if there is none
+         */
+        static long sqrtOrMinusOne(long target) {
+            if (target == 0L) {
+                return 0L;
+            }
+            if (legendreSymbol(target) != 1) {
+                return -1L;
             }
 
-            BigInteger z = BigInteger.TWO;
+            long q = ORDER - 1;
+            int s = Long.numberOfTrailingZeros(q);
+            q >>>= s;
+
+            long z = 2L;
             while (legendreSymbol(z) != -1) {
-                z = z.add(BigInteger.ONE);
+                z++;
             }
 
-            BigInteger c = z.modPow(q, GOLDILOCKS_MODULUS);
-            BigInteger t = target.value.modPow(q, GOLDILOCKS_MODULUS);
-            BigInteger r = target.value.modPow(q.add(BigInteger.ONE).shiftRight(1), GOLDILOCKS_MODULUS);
+            long c = pow(z, q);
+            long t = pow(target, q);
+            long r = pow(target, (q + 1) >>> 1);
 
             int m = s;
-            while (!t.equals(BigInteger.ONE)) {
+            while (t != 1L) {
                 int i = 1;
-                BigInteger t2i = t.multiply(t).mod(GOLDILOCKS_MODULUS);
-                while (i < m && !t2i.equals(BigInteger.ONE)) {
-                    t2i = t2i.multiply(t2i).mod(GOLDILOCKS_MODULUS);
+                long t2i = square(t);
+                while (i < m && t2i != 1L) {
+                    t2i = square(t2i);
                     i++;
                 }
 
-                BigInteger b = c.modPow(BigInteger.ONE.shiftLeft(m - i - 1), GOLDILOCKS_MODULUS);
-                r = r.multiply(b).mod(GOLDILOCKS_MODULUS);
-                t = t.multiply(b).multiply(b).mod(GOLDILOCKS_MODULUS);
-                c = b.multiply(b).mod(GOLDILOCKS_MODULUS);
+                long b = c;
+                for (int j = 0; j < m - i - 1; j++) {
+                    b = square(b);
+                }
+                r = mul(r, b);
+                c = square(b);
+                t = mul(t, c);
                 m = i;
             }
-
-            return new GoldilocksField(r);
+            return r;
         }
 
         static List<GoldilocksField> fromCanonicalLittleEndianBytes(byte[] inputBytes) {
@@ -487,36 +572,22 @@ final class LighterSignerMath {
             }
 
             for (int offset = 0; offset < inputBytes.length; offset += 8) {
-                byte[] chunk = new byte[8];
                 int remaining = Math.min(8, inputBytes.length - offset);
-                System.arraycopy(inputBytes, offset, chunk, 0, remaining);
-                result.add(fromLittleEndian8(chunk));
+                result.add(new GoldilocksField(reduce(readLittleEndian(inputBytes, offset, remaining))));
             }
 
             return result;
         }
 
-        private static GoldilocksField fromLittleEndian8(byte[] littleEndian) {
-            if (littleEndian.length != 8) {
-                throw new IllegalArgumentException("Expected exactly 8 bytes for a Goldilocks field element.");
-            }
-            byte[] bigEndian = new byte[8];
-            for (int i = 0; i < 8; i++) {
-                bigEndian[7 - i] = littleEndian[i];
-            }
-            return new GoldilocksField(new BigInteger(1, bigEndian));
-        }
-
-        private static int legendreSymbol(BigInteger value) {
-            BigInteger candidate = normalize(value, GOLDILOCKS_MODULUS);
-            if (candidate.signum() == 0) {
+        private static int legendreSymbol(long value) {
+            if (value == 0L) {
                 return 0;
             }
-            BigInteger ls = candidate.modPow(GOLDILOCKS_MODULUS_MINUS_ONE_DIV_TWO, GOLDILOCKS_MODULUS);
-            if (ls.equals(BigInteger.ONE)) {
+            long ls = pow(value, ORDER_MINUS_ONE_DIV_TWO);
+            if (ls == 1L) {
                 return 1;
             }
-            if (ls.equals(GOLDILOCKS_MODULUS.subtract(BigInteger.ONE))) {
+            if (ls == ORDER - 1) {
                 return -1;
             }
             return 0;
@@ -531,78 +602,87 @@ final class LighterSignerMath {
                 return false;
             }
             GoldilocksField that = (GoldilocksField) other;
-            return value.equals(that.value);
+            return value == that.value;
         }
 
         @Override
         public int hashCode() {
-            return value.hashCode();
+            return Long.hashCode(value);
         }
 
         @Override
         public String toString() {
-            return value.toString();
+            return Long.toUnsignedString(value);
         }
     }
 
+    /**
+     * An element of GF(p^5) = GF(p)[x] / (x^5 - 3), stored as five canonical
+     * Goldilocks limbs.
+     */
     static final class Fp5 {
 
         private static final int LIMBS = 5;
 
-        private final GoldilocksField[] limbs;
+        private final long[] limbs;
+
+        Fp5(long limb0, long limb1, long limb2, long limb3, long limb4) {
+            this.limbs = new long[] { limb0, limb1, limb2, limb3, limb4 };
+        }
 
         Fp5(GoldilocksField limb0, GoldilocksField limb1, GoldilocksField limb2, GoldilocksField limb3,
                 GoldilocksField limb4) {
-            this.limbs = new GoldilocksField[] { limb0, limb1, limb2, limb3, limb4 };
+            this(limb0.value, limb1.value, limb2.value, limb3.value, limb4.value);
+        }
+
+        private Fp5(long[] limbs) {
+            this.limbs = limbs;
         }
 
         static Fp5 fromUnsignedLong(long value) {
-            return new Fp5(
-                    GoldilocksField.fromUnsignedLong(value),
-                    GoldilocksField.ZERO,
-                    GoldilocksField.ZERO,
-                    GoldilocksField.ZERO,
-                    GoldilocksField.ZERO);
+            return new Fp5(GoldilocksField.reduce(value), 0L, 0L, 0L, 0L);
         }
 
         GoldilocksField[] toLimbArray() {
-            return new GoldilocksField[] { limbs[0], limbs[1], limbs[2], limbs[3], limbs[4] };
+            return new GoldilocksField[] { new GoldilocksField(limbs[0]), new GoldilocksField(limbs[1]),
+                    new GoldilocksField(limbs[2]), new GoldilocksField(limbs[3]), new GoldilocksField(limbs[4]) };
         }
 
         byte[] toLittleEndian40() {
             byte[] output = new byte[40];
             for (int i = 0; i < LIMBS; i++) {
-                byte[] limbBytes = limbs[i].toLittleEndian8();
-                System.arraycopy(limbBytes, 0, output, i * 8, 8);
+                writeLittleEndian(limbs[i], output, i * 8);
             }
             return output;
         }
 
         Fp5 add(Fp5 other) {
+            long[] b = other.limbs;
             return new Fp5(
-                    limbs[0].add(other.limbs[0]),
-                    limbs[1].add(other.limbs[1]),
-                    limbs[2].add(other.limbs[2]),
-                    limbs[3].add(other.limbs[3]),
-                    limbs[4].add(other.limbs[4]));
+                    GoldilocksField.add(limbs[0], b[0]),
+                    GoldilocksField.add(limbs[1], b[1]),
+                    GoldilocksField.add(limbs[2], b[2]),
+                    GoldilocksField.add(limbs[3], b[3]),
+                    GoldilocksField.add(limbs[4], b[4]));
         }
 
         Fp5 sub(Fp5 other) {
+            long[] b = other.limbs;
             return new Fp5(
-                    limbs[0].sub(other.limbs[0]),
-                    limbs[1].sub(other.limbs[1]),
-                    limbs[2].sub(other.limbs[2]),
-                    limbs[3].sub(other.limbs[3]),
-                    limbs[4].sub(other.limbs[4]));
+                    GoldilocksField.sub(limbs[0], b[0]),
+                    GoldilocksField.sub(limbs[1], b[1]),
+                    GoldilocksField.sub(limbs[2], b[2]),
+                    GoldilocksField.sub(limbs[3], b[3]),
+                    GoldilocksField.sub(limbs[4], b[4]));
         }
 
         Fp5 negate() {
             return new Fp5(
-                    limbs[0].negate(),
-                    limbs[1].negate(),
-                    limbs[2].negate(),
-                    limbs[3].negate(),
-                    limbs[4].negate());
+                    GoldilocksField.negate(limbs[0]),
+                    GoldilocksField.negate(limbs[1]),
+                    GoldilocksField.negate(limbs[2]),
+                    GoldilocksField.negate(limbs[3]),
+                    GoldilocksField.negate(limbs[4]));
         }
 
         Fp5 doubleValue() {
@@ -610,79 +690,79 @@ final class LighterSignerMath {
         }
 
         Fp5 triple() {
-            GoldilocksField three = GoldilocksField.fromSignedLong(3);
-            return scalarMul(three);
+            return scalarMul(3L);
+        }
+
+        /**
+         * Multiplies by {@code k * z} for a small constant k, e.g. the curve
+         * constant b = 263z.
+         */
+        Fp5 mulSmallZ(long k) {
+            return new Fp5(
+                    GoldilocksField.mul(limbs[4], FP5_W * k),
+                    GoldilocksField.mul(limbs[0], k),
+                    GoldilocksField.mul(limbs[1], k),
+                    GoldilocksField.mul(limbs[2], k),
+                    GoldilocksField.mul(limbs[3], k));
         }
 
         Fp5 scalarMul(GoldilocksField scalar) {
+            return scalarMul(scalar.value);
+        }
+
+        private Fp5 scalarMul(long scalar) {
             return new Fp5(
-                    limbs[0].mul(scalar),
-                    limbs[1].mul(scalar),
-                    limbs[2].mul(scalar),
-                    limbs[3].mul(scalar),
-                    limbs[4].mul(scalar));
+                    GoldilocksField.mul(limbs[0], scalar),
+                    GoldilocksField.mul(limbs[1], scalar),
+                    GoldilocksField.mul(limbs[2], scalar),
+                    GoldilocksField.mul(limbs[3], scalar),
+                    GoldilocksField.mul(limbs[4], scalar));
         }
 
         Fp5 mul(Fp5 other) {
-            GoldilocksField a0b0 = limbs[0].mul(other.limbs[0]);
-            GoldilocksField a1b4 = limbs[1].mul(other.limbs[4]);
-            GoldilocksField a2b3 = limbs[2].mul(other.limbs[3]);
-            GoldilocksField a3b2 = limbs[3].mul(other.limbs[2]);
-            GoldilocksField a4b1 = limbs[4].mul(other.limbs[1]);
-            GoldilocksField c0 = a0b0.add(FP5_W.mul(a1b4.add(a2b3).add(a3b2).add(a4b1)));
-
-            GoldilocksField a0b1 = limbs[0].mul(other.limbs[1]);
-            GoldilocksField a1b0 = limbs[1].mul(other.limbs[0]);
-            GoldilocksField a2b4 = limbs[2].mul(other.limbs[4]);
-            GoldilocksField a3b3 = limbs[3].mul(other.limbs[3]);
-            GoldilocksField a4b2 = limbs[4].mul(other.limbs[2]);
-            GoldilocksField c1 = a0b1.add(a1b0).add(FP5_W.mul(a2b4.add(a3b3).add(a4b2)));
-
-            GoldilocksField a0b2 = limbs[0].mul(other.limbs[2]);
-            GoldilocksField a1b1 = limbs[1].mul(other.limbs[1]);
-            GoldilocksField a2b0 = limbs[2].mul(other.limbs[0]);
-            GoldilocksField a3b4 = limbs[3].mul(other.limbs[4]);
-            GoldilocksField a4b3 = limbs[4].mul(other.limbs[3]);
-            GoldilocksField c2 = a0b2.add(a1b1).add(a2b0).add(FP5_W.mul(a3b4.add(a4b3)));
-
-            GoldilocksField a0b3 = limbs[0].mul(other.limbs[3]);
-            GoldilocksField a1b2 = limbs[1].mul(other.limbs[2]);
-            GoldilocksField a2b1 = limbs[2].mul(other.limbs[1]);
-            GoldilocksField a3b0 = limbs[3].mul(other.limbs[0]);
-            GoldilocksField a4b4 = limbs[4].mul(other.limbs[4]);
-            GoldilocksField c3 = a0b3.add(a1b2).add(a2b1).add(a3b0).add(FP5_W.mul(a4b4));
-
-            GoldilocksField a0b4 = limbs[0].mul(other.limbs[4]);
-            GoldilocksField a1b3 = limbs[1].mul(other.limbs[3]);
-            GoldilocksField a2b2 = limbs[2].mul(other.limbs[2]);
-            GoldilocksField a3b1 = limbs[3].mul(other.limbs[1]);
-            GoldilocksField a4b0 = limbs[4].mul(other.limbs[0]);
-            GoldilocksField c4 = a0b4.add(a1b3).add(a2b2).add(a3b1).add(a4b0);
+            long a0 = limbs[0], a1 = limbs[1], a2 = limbs[2], a3 = limbs[3], a4 = limbs[4];
+            long[] b = other.limbs;
+            long b0 = b[0], b1 = b[1], b2 = b[2], b3 = b[3], b4 = b[4];
+
+            long c0 = GoldilocksField.add(GoldilocksField.mul(a0, b0), GoldilocksField.mul(FP5_W,
+                    sum(GoldilocksField.mul(a1, b4), GoldilocksField.mul(a2, b3), GoldilocksField.mul(a3, b2),
+                            GoldilocksField.mul(a4, b1))));
+            long c1 = GoldilocksField.add(
+                    GoldilocksField.add(GoldilocksField.mul(a0, b1), GoldilocksField.mul(a1, b0)),
+                    GoldilocksField.mul(FP5_W, sum(GoldilocksField.mul(a2, b4), GoldilocksField.mul(a3, b3),
+                            GoldilocksField.mul(a4, b2), 0L)));
+            long c2 = GoldilocksField.add(
+                    sum(GoldilocksField.mul(a0, b2), GoldilocksField.mul(a1, b1), GoldilocksField.mul(a2, b0), 0L),
+                    GoldilocksField.mul(FP5_W,
+                            GoldilocksField.add(GoldilocksField.mul(a3, b4), GoldilocksField.mul(a4, b3))));
+            long c3 = GoldilocksField.add(
+                    sum(GoldilocksField.mul(a0, b3), GoldilocksField.mul(a1, b2), GoldilocksField.mul(a2, b1),
+                            GoldilocksField.mul(a3, b0)),
+                    GoldilocksField.mul(FP5_W, GoldilocksField.mul(a4, b4)));
+            long c4 = GoldilocksField.add(
+                    sum(GoldilocksField.mul(a0, b4), GoldilocksField.mul(a1, b3), GoldilocksField.mul(a2, b2),
+                            GoldilocksField.mul(a3, b1)),
+                    GoldilocksField.mul(a4, b0));
 
             return new Fp5(c0, c1, c2, c3, c4);
         }
 
         Fp5 square() {
-            GoldilocksField doubleW = FP5_W.doubleValue();
-
-            GoldilocksField c0 = limbs[0].mul(limbs[0])
-                    .add(doubleW.mul(limbs[1].mul(limbs[4]).add(limbs[2].mul(limbs[3]))));
-
-            GoldilocksField c1 = limbs[0].doubleValue().mul(limbs[1])
-                    .add(doubleW.mul(limbs[2].mul(limbs[4])))
-                    .add(FP5_W.mul(limbs[3].mul(limbs[3])));
-
-            GoldilocksField c2 = limbs[0].doubleValue().mul(limbs[2])
-                    .add(limbs[1].mul(limbs[1]))
-                    .add(doubleW.mul(limbs[4].mul(limbs[3])));
-
-            GoldilocksField c3 = limbs[0].doubleValue().mul(limbs[3])
-                    .add(limbs[1].doubleValue().mul(limbs[2]))
-                    .add(FP5_W.mul(limbs[4].mul(limbs[4])));
-
-            GoldilocksField c4 = limbs[0].doubleValue().mul(limbs[4])
-                    .add(limbs[1].doubleValue().mul(limbs[3]))
-                    .add(limbs[2].mul(limbs[2]));
+            long a0 = limbs[0], a1 = limbs[1], a2 = limbs[2], a3 = limbs[3], a4 = limbs[4];
+            long doubleW = 2L * FP5_W;
+            long a0Double = GoldilocksField.add(a0, a0);
+            long a1Double = GoldilocksField.add(a1, a1);
+
+            long c0 = GoldilocksField.add(GoldilocksField.square(a0), GoldilocksField.mul(doubleW,
+                    GoldilocksField.add(GoldilocksField.mul(a1, a4), GoldilocksField.mul(a2, a3))));
+            long c1 = sum(GoldilocksField.mul(a0Double, a1), GoldilocksField.mul(doubleW, GoldilocksField.mul(a2, a4)),
+                    GoldilocksField.mul(FP5_W, GoldilocksField.square(a3)), 0L);
+            long c2 = sum(GoldilocksField.mul(a0Double, a2), GoldilocksField.square(a1),
+                    GoldilocksField.mul(doubleW, GoldilocksField.mul(a4, a3)), 0L);
+            long c3 = sum(GoldilocksField.mul(a0Double, a3), GoldilocksField.mul(a1Double, a2),
+                    GoldilocksField.mul(FP5_W, GoldilocksField.square(a4)), 0L);
+            long c4 = sum(GoldilocksField.mul(a0Double, a4), GoldilocksField.mul(a1Double, a3),
+                    GoldilocksField.square(a2), 0L);
 
             return new Fp5(c0, c1, c2, c3, c4);
         }
@@ -704,13 +784,7 @@ final class LighterSignerMath {
             Fp5 e = d.mul(d.frobenius());
             Fp5 f = e.mul(e.repeatedFrobenius(2));
 
-            GoldilocksField gg = limbs[0].mul(f.limbs[0])
-                    .add(FP5_W.mul(limbs[1].mul(f.limbs[4])
-                            .add(limbs[2].mul(f.limbs[3]))
-                            .add(limbs[3].mul(f.limbs[2]))
-                            .add(limbs[4].mul(f.limbs[1]))));
-
-            return f.scalarMul(gg.inverse());
+            return f.scalarMul(GoldilocksField.inverse(normTimes(f)));
         }
 
         Fp5 frobenius() {
@@ -718,26 +792,18 @@ final class LighterSignerMath {
         }
 
         Fp5 repeatedFrobenius(int count) {
-            if (count == 0) {
-                return this;
-            }
             int normalizedCount = count % LIMBS;
             if (normalizedCount == 0) {
                 return this;
             }
 
-            GoldilocksField z0 = FP5_DTH_ROOT;
-            for (int i = 1; i < normalizedCount; i++) {
-                z0 = z0.mul(FP5_DTH_ROOT);
-            }
-
-            GoldilocksField[] powers = powers(z0, LIMBS);
+            long[] powers = FP5_FROBENIUS_POWERS[normalizedCount];
             return new Fp5(
-                    limbs[0].mul(powers[0]),
-                    limbs[1].mul(powers[1]),
-                    limbs[2].mul(powers[2]),
-                    limbs[3].mul(powers[3]),
-                    limbs[4].mul(powers[4]));
+                    limbs[0],
+                    GoldilocksField.mul(limbs[1], powers[1]),
+                    GoldilocksField.mul(limbs[2], powers[2]),
+                    GoldilocksField.mul(limbs[3], powers[3]),
+                    GoldilocksField.mul(limbs[4], powers[4]));
         }
 
         GoldilocksField legendre() {
@@ -748,12 +814,12 @@ final class LighterSignerMath {
             Fp5 frob2Frob1TimesFrob2 = frob1TimesFrob2.repeatedFrobenius(2);
 
             Fp5 xrExt = this.mul(frob1TimesFrob2).mul(frob2Frob1TimesFrob2);
-            GoldilocksField xr = xrExt.limbs[0];
+            long xr = xrExt.limbs[0];
 
-            GoldilocksField xr31 = expPowerOfTwo(xr, 31);
-            GoldilocksField xr31Inv = xr31.isZero() ? GoldilocksField.ZERO : xr31.inverse();
-            GoldilocksField xr63 = expPowerOfTwo(xr31, 32);
-            return xr63.mul(xr31Inv);
+            long xr31 = expPowerOfTwo(xr, 31);
+            long xr31Inv = xr31 == 0L ? 0L : GoldilocksField.inverse(xr31);
+            long xr63 = expPowerOfTwo(xr31, 32);
+            return new GoldilocksField(GoldilocksField.mul(xr63, xr31Inv));
         }
 
         Fp5 expPowerOfTwo(int exponent) {
@@ -778,29 +844,27 @@ final class LighterSignerMath {
             Fp5 e = d.mul(d.repeatedFrobenius(2)).frobenius();
             Fp5 f = e.square();
 
-            GoldilocksField g = limbs[0].mul(f.limbs[0]).add(
-                    GoldilocksField.fromSignedLong(3).mul(
-                            limbs[1].mul(f.limbs[4])
-                                    .add(limbs[2].mul(f.limbs[3]))
-                                    .add(limbs[3].mul(f.limbs[2]))
-                                    .add(limbs[4].mul(f.limbs[1]))));
-
-            GoldilocksField baseSqrt = GoldilocksField.sqrtOrNull(g);
-            if (baseSqrt == null) {
+            long baseSqrt = GoldilocksField.sqrtOrMinusOne(normTimes(f));
+            if (baseSqrt == -1L) {
                 return null;
             }
 
-            Fp5 eInverse = e.inverseOrZero();
-            return Fp5.fromUnsignedLong(0L).withLimb0(baseSqrt).mul(eInverse);
+            return new Fp5(baseSqrt, 0L, 0L, 0L, 0L).mul(e.inverseOrZero());
         }
 
-        private Fp5 withLimb0(GoldilocksField newLimb0) {
-            return new Fp5(newLimb0, GoldilocksField.ZERO, GoldilocksField.ZERO, GoldilocksField.ZERO,
-                    GoldilocksField.ZERO);
+        /**
+         * @return the constant limb of {@code this * other}, which lies in the
+         *         base field when {@code other} is the product of the conjugates
+         */
+        private long normTimes(Fp5 other) {
+            long[] b = other.limbs;
+            return GoldilocksField.add(GoldilocksField.mul(limbs[0], b[0]), GoldilocksField.mul(FP5_W,
+                    sum(GoldilocksField.mul(limbs[1], b[4]), GoldilocksField.mul(limbs[2], b[3]),
+                            GoldilocksField.mul(limbs[3], b[2]), GoldilocksField.mul(limbs[4], b[1]))));
         }
 
         boolean isZero() {
-            return limbs[0].isZero() && limbs[1].isZero() && limbs[2].isZero() && limbs[3].isZero() && limbs[4].isZero();
+            return (limbs[0] | limbs[1] | limbs[2] | limbs[3] | limbs[4]) == 0L;
         }
 
         static Fp5 fromCanonicalLittleEndian40(byte[] input) {
@@ -808,42 +872,35 @@ final class LighterSignerMath {
                 throw new IllegalArgumentException("Expected 40 bytes for Fp5 element.");
             }
 
-            GoldilocksField[] resultLimbs = new GoldilocksField[5];
-            for (int i = 0; i < 5; i++) {
-                byte[] chunk = new byte[8];
-                System.arraycopy(input, i * 8, chunk, 0, 8);
-                resultLimbs[i] = GoldilocksField.fromLittleEndian8(chunk);
+            long[] resultLimbs = new long[LIMBS];
+            for (int i = 0; i < LIMBS; i++) {
+                resultLimbs[i] = GoldilocksField.reduce(readLittleEndian(input, i * 8, 8));
             }
-            return new Fp5(resultLimbs[0], resultLimbs[1], resultLimbs[2], resultLimbs[3], resultLimbs[4]);
+            return new Fp5(resultLimbs);
         }
 
         private static boolean sgn0(Fp5 value) {
             boolean sign = false;
             boolean zero = true;
-            for (GoldilocksField limb : value.limbs) {
-                boolean signI = limb.isEven();
-                boolean zeroI = limb.isZero();
+            for (long limb : value.limbs) {
+                boolean signI = (limb & 1L) == 0L;
+                boolean zeroI = limb == 0L;
                 sign = sign || (zero && signI);
                 zero = zero && zeroI;
             }
             return sign;
         }
 
-        private static GoldilocksField expPowerOfTwo(GoldilocksField value, int exponent) {
-            GoldilocksField result = value;
+        private static long expPowerOfTwo(long value, int exponent) {
+            long result = value;
             for (int i = 0; i < exponent; i++) {
-                result = result.square();
+                result = GoldilocksField.square(result);
             }
             return result;
         }
 
-        private static GoldilocksField[] powers(GoldilocksField base, int count) {
-            GoldilocksField[] values = new GoldilocksField[count];
-            values[0] = GoldilocksField.ONE;
-            for (int i = 1; i < count; i++) {
-                values[i] = values[i - 1].mul(base);
-            }
-            return values;
+        private static long sum(long a, long b, long c, long d) {
+            return GoldilocksField.add(GoldilocksField.add(a, b), GoldilocksField.add(c, d));
         }
 
         @Override
@@ -888,12 +945,14 @@ final class LighterSignerMath {
         }
 
         static Scalar fromFp5(Fp5 value) {
-            BigInteger result = BigInteger.ZERO;
-            GoldilocksField[] limbs = value.toLimbArray();
-            for (int i = 4; i >= 0; i--) {
-                result = result.shiftLeft(64).add(limbs[i].asBigInteger());
+            byte[] bigEndian = new byte[Fp5.LIMBS * 8];
+            for (int i = 0; i < Fp5.LIMBS; i++) {
+                long limb = value.limbs[Fp5.LIMBS - 1 - i];
+                for (int j = 0; j < 8; j++) {
+                    bigEndian[i * 8 + j] = (byte) (limb >>> (56 - 8 * j));
+                }
             }
-            return new Scalar(result);
+            return new Scalar(new BigInteger(1, bigEndian));
         }
 
         Scalar add(Scalar other) {
@@ -1019,6 +1078,194 @@ final class LighterSignerMath {
         }
     }
 
+    /**
+     * An element of the ECgFp5 group in fractional coordinates (X:Z:U:T), with
+     * x = X/Z on the curve y^2 = x(x^2 + 2x + 263z) and u = U/T = x/y. The group
+     * element for an odd-order curve point Q is the point Q + N, where N = (0, 0)
+     * is the point of order two and the neutral. The addition formulas are
+     * complete, so doubling and the neutral (0:1:0:1) need no special cases.
+     */
+    static final class EcgFp5Point {
+
+        private static final long B1 = 263L;
+
+        static final EcgFp5Point NEUTRAL = new EcgFp5Point(FP5_ZERO, FP5_ONE, FP5_ZERO, FP5_ONE);
+
+        private final Fp5 x;
+        private final Fp5 z;
+        private final Fp5 u;
+        private final Fp5 t;
+
+        EcgFp5Point(Fp5 x, Fp5 z, Fp5 u, Fp5 t) {
+            this.x = x;
+            this.z = z;
+            this.u = u;
+            this.t = t;
+        }
+
+        /**
+         * Maps an odd-order short Weierstrass point Q to the group element
+         * Q + N. On the curve Q is (x_w - a/3, y) and adding N gives
+         * x' = b/x and u' = -x/y.
+         */
+        static EcgFp5Point fromWeierstrass(WeierstrassPoint point) {
+            if (point.isInfinity) {
+                return NEUTRAL;
+            }
+            Fp5 curveX = point.x.sub(A_ECGFP5_DIV_THREE);
+            return new EcgFp5Point(FP5_ONE.mulSmallZ(B1), curveX, curveX.negate(), point.y);
+        }
+
+        EcgFp5Point add(EcgFp5Point other) {
+            Fp5 t1 = x.mul(other.x);
+            Fp5 t2 = z.mul(other.z);
+            Fp5 t3 = u.mul(other.u);
+            Fp5 t4 = t.mul(other.t);
+            Fp5 t5 = x.add(z).mul(other.x.add(other.z)).sub(t1).sub(t2);
+            Fp5 t6 = u.add(t).mul(other.u.add(other.t)).sub(t3).sub(t4);
+            return combine(t1, t2, t3, t4, t5, t6);
+        }
+
+        /**
+         * Adds the point with affine coordinates (x2, u2), i.e. Z = T = 1, which
+         * saves two multiplications over {@link #add(EcgFp5Point)}.
+         */
+        EcgFp5Point addAffine(Fp5 x2, Fp5 u2) {
+            Fp5 t1 = x.mul(x2);
+            Fp5 t3 = u.mul(u2);
+            Fp5 t5 = x.add(z.mul(x2));
+            Fp5 t6 = u.add(t.mul(u2));
+            return combine(t1, z, t3, t, t5, t6);
+        }
+
+        private static EcgFp5Point combine(Fp5 t1, Fp5 t2, Fp5 t3, Fp5 t4, Fp5 t5, Fp5 t6) {
+            Fp5 t7 = t1.add(t2.mulSmallZ(B1));
+            Fp5 t8 = t4.mul(t7);
+            Fp5 t9 = t3.mul(t5.mulSmallZ(2 * B1).add(t7.doubleValue()));
+            Fp5 t10 = t4.add(t3.doubleValue()).mul(t5.add(t7));
+            return new EcgFp5Point(
+                    t10.sub(t8).mulSmallZ(B1),
+                    t8.sub(t9),
+                    t6.mul(t2.mulSmallZ(B1).sub(t1)),
+                    t8.add(t9));
+        }
+
+        /**
+         * Writes the affine x and u limbs to {@code output} at {@code offset}.
+         */
+        void writeAffine(long[] output, int offset) {
+            System.arraycopy(x.mul(z.inverseOrZero()).limbs, 0, output, offset, Fp5.LIMBS);
+            System.arraycopy(u.mul(t.inverseOrZero()).limbs, 0, output, offset + Fp5.LIMBS, Fp5.LIMBS);
+        }
+
+        /**
+         * @return w = 1/u, which for the element Q + N equals
+         *         {@link WeierstrassPoint#encode()} of Q; the neutral encodes to
+         *         zero
+         */
+        Fp5 encode() {
+            return t.mul(u.inverseOrZero());
+        }
+    }
+
+    /**
+     * Fixed-base multiplication by the generator with signed 5-bit windows. For
+     * window i and m in 1..16 the table holds m * 32^i * G in affine (x, u), so
+     * a multiplication is 65 table lookups and additions with no doublings and
+     * a single inversion to encode the result. Each lookup reads every entry of
+     * its window and selects with masks, the digit recoding is branch-free and
+     * every window performs an addition, so the sequence of operations does not
+     * depend on the scalar. The table is about 80 KB and is built on first use.
+     */
+    static final class GeneratorTable {
+
+        private static final int WINDOW_BITS = 5;
+        private static final int WINDOW_ENTRIES = 1 << (WINDOW_BITS - 1);
+        private static final int WINDOW_MASK = (1 << WINDOW_BITS) - 1;
+        private static final int SCALAR_BITS = 320;
+        // one window beyond the scalar absorbs the carry of the signed recoding
+        private static final int WINDOWS = SCALAR_BITS / WINDOW_BITS + 1;
+        private static final int ENTRY_LONGS = 2 * Fp5.LIMBS;
+
+        private static final long[] TABLE = build();
+
+        private GeneratorTable() {
+        }
+
+        static EcgFp5Point multiply(Scalar k) {
+            long[] scalarLimbs = new long[SCALAR_BITS / 64 + 1];
+            BigInteger value = k.asBigInteger();
+            for (int i = 0; i < SCALAR_BITS / 64; i++) {
+                scalarLimbs[i] = value.shiftRight(64 * i).longValue();
+            }
+
+            EcgFp5Point result = EcgFp5Point.NEUTRAL;
+            int carry = 0;
+            for (int window = 0; window < WINDOWS; window++) {
+                int digit = windowBits(scalarLimbs, window) + carry;
+                // digits above 16 become digit - 32 with a carry into the next window
+                carry = (WINDOW_ENTRIES - digit) >>> 31;
+                digit -= carry << WINDOW_BITS;
+
+                long[] x = new long[Fp5.LIMBS];
+                long[] u = new long[Fp5.LIMBS];
+                lookup(window, digit, x, u);
+                result = result.addAffine(new Fp5(x), new Fp5(u));
+            }
+            return result;
+        }
+
+        private static int windowBits(long[] scalarLimbs, int window) {
+            int bit = window * WINDOW_BITS;
+            int index = bit >>> 6;
+            int shift = bit & 63;
+            long bits = scalarLimbs[index] >>> shift;
+            if (shift > 64 - WINDOW_BITS) {
+                bits |= scalarLimbs[index + 1] << (64 - shift);
+            }
+            return (int) (bits & WINDOW_MASK);
+        }
+
+        /**
+         * Selects digit * 32^window * G, leaving (0, 0), the neutral, for a zero
+         * digit. Negation maps (x, u) to (x, -u).
+         */
+        private static void lookup(int window, int digit, long[] x, long[] u) {
+            int sign = digit >> 31;
+            int magnitude = (digit ^ sign) - sign;
+            int offset = window * WINDOW_ENTRIES * ENTRY_LONGS;
+            for (int m = 1; m <= WINDOW_ENTRIES; m++, offset += ENTRY_LONGS) {
+                long mask = ((m ^ magnitude) - 1) >> 31;
+                for (int i = 0; i < Fp5.LIMBS; i++) {
+                    x[i] |= TABLE[offset + i] & mask;
+                    u[i] |= TABLE[offset + Fp5.LIMBS + i] & mask;
+                }
+            }
+            long negate = sign;
+            for (int i = 0; i < Fp5.LIMBS; i++) {
+                u[i] ^= (u[i] ^ GoldilocksField.negate(u[i])) & negate;
+            }
+        }
+
+        private static long[] build() {
+            long[] table = new long[WINDOWS * WINDOW_ENTRIES * ENTRY_LONGS];
+            EcgFp5Point base = EcgFp5Point.fromWeierstrass(GENERATOR_WEIERSTRASS);
+            int offset = 0;
+            for (int window = 0; window < WINDOWS; window++) {
+                EcgFp5Point multiple = base;
+                for (int m = 1; m <= WINDOW_ENTRIES; m++, offset += ENTRY_LONGS) {
+                    if (m > 1) {
+                        multiple = multiple.add(base);
+                    }
+                    multiple.writeAffine(table, offset);
+                }
+                // multiple is 16 * base, so the next window starts at 32 * base
+                base = multiple.add(multiple);
+            }
+            return table;
+        }
+    }
+
     static final class SchnorrSignature {
 
         private final Scalar s;
@@ -1059,4 +1306,21 @@ final class LighterSignerMath {
         }
         return new BigInteger(1, bytes);
     }
+
+    private static void writeLittleEndian(long value, byte[] output, int offset) {
+        for (int i = 0; i < 8; i++) {
+            output[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /**
+     * Reads up to 8 little-endian bytes, treating missing high bytes as zero.
+     */
+    private static long readLittleEndian(byte[] input, int offset, int length) {
+        long value = 0L;
+        for (int i = length - 1; i >= 0; i--) {
+            value = (value << 8) | (input[offset + i] & 0xFFL);
+        }
+        return value;
+    }
 }
@@ -4,13 +4,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import com.fueledbychai.websocket.PriceLevelBuffer;
+
 public class LighterOrderBookUpdate {
 
     private final String channel;
     private final Integer marketId;
     private final Integer code;
-    private final List<LighterOrderBookLevel> asks;
-    private final List<LighterOrderBookLevel> bids;
+    private volatile List<LighterOrderBookLevel> asks;
+    private volatile List<LighterOrderBookLevel> bids;
+    private volatile PriceLevelBuffer askLevels;
+    private volatile PriceLevelBuffer bidLevels;
     private final Long offset;
     private final Long nonce;
     private final Long beginNonce;
@@ -32,6 +36,27 @@ public class LighterOrderBookUpdate {
         this.messageType = messageType;
     }
 
+    /**
+     * Creates an update from levels decoded straight into primitive buffers. The
+     * {@link LighterOrderBookLevel} lists are only built if
+     * {@link #getAsks()} or {@link #getBids()} is called. The buffers must not be
+     * modified afterwards.
+     */
+    public LighterOrderBookUpdate(String channel, Integer marketId, Integer code, PriceLevelBuffer askLevels,
+            PriceLevelBuffer bidLevels, Long offset, Long nonce, Long beginNonce, Long timestamp,
+            String messageType) {
+        this.channel = channel;
+        this.marketId = marketId;
+        this.code = code;
+        this.askLevels = askLevels == null ? new PriceLevelBuffer(1) : askLevels;
+        this.bidLevels = bidLevels == null ? new PriceLevelBuffer(1) : bidLevels;
+        this.offset = offset;
+        this.nonce = nonce;
+        this.beginNonce = beginNonce;
+        this.timestamp = timestamp;
+        this.messageType = messageType;
+    }
+
     public String getChannel() {
         return channel;
     }
@@ -45,11 +70,47 @@ public class LighterOrderBookUpdate {
     }
 
     public List<LighterOrderBookLevel> getAsks() {
-        return asks;
+        List<LighterOrderBookLevel> levels = asks;
+        if (levels == null) {
+            levels = toLevels(askLevels);
+            asks = levels;
+        }
+        return levels;
     }
 
     public List<LighterOrderBookLevel> getBids() {
-        return bids;
+        List<LighterOrderBookLevel> levels = bids;
+        if (levels == null) {
+            levels = toLevels(bidLevels);
+            bids = levels;
+        }
+        return levels;
+    }
+
+    /**
+     * @return the asks as primitive columns, for consumers that keep fixed-point
+     *         books
+     */
+    public PriceLevelBuffer getAskLevels() {
+        PriceLevelBuffer levels = askLevels;
+        if (levels == null) {
+            levels = toBuffer(asks);
+            askLevels = levels;
+        }
+        return levels;
+    }
+
+    /**
+     * @return the bids as primitive columns, for consumers that keep fixed-point
+     *         books
+     */
+    public PriceLevelBuffer getBidLevels() {
+        PriceLevelBuffer levels = bidLevels;
+        if (levels == null) {
+            levels = toBuffer(bids);
+            bidLevels = levels;
+        }
+        return levels;
     }
 
     public Long getOffset() {
@@ -73,17 +134,41 @@ public class LighterOrderBookUpdate {
     }
 
     public LighterOrderBookLevel getBestAsk() {
-        if (asks.isEmpty()) {
+        List<LighterOrderBookLevel> levels = getAsks();
+        if (levels.isEmpty()) {
             return null;
         }
-        return asks.get(0);
+        return levels.get(0);
     }
 
     public LighterOrderBookLevel getBestBid() {
-        if (bids.isEmpty()) {
+        List<LighterOrderBookLevel> levels = getBids();
+        if (levels.isEmpty()) {
             return null;
         }
-        return bids.get(0);
+        return levels.get(0);
+    }
+
+    private List<LighterOrderBookLevel> toLevels(PriceLevelBuffer buffer) {
+        int count = buffer.getCount();
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        List<LighterOrderBookLevel> levels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            levels.add(new LighterOrderBookLevel(buffer.getPrice(i), buffer.getQuantity(i)));
+        }
+        return Collections.unmodifiableList(levels);
+    }
+
+    private PriceLevelBuffer toBuffer(List<LighterOrderBookLevel> levels) {
+        PriceLevelBuffer buffer = new PriceLevelBuffer(Math.max(1, levels.size()));
+        for (LighterOrderBookLevel level : levels) {
+            if (level != null && level.getPrice() != null && level.getSize() != null) {
+                buffer.add(level.getPrice(), level.getSize());
+            }
+        }
+        return buffer;
     }
 
     private List<LighterOrderBookLevel> toUnmodifiableList(List<LighterOrderBookLevel> levels) {
@@ -1,82 +1,53 @@
 package com.fueledbychai.lighter.common.api.ws.processor;
 
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.fueledbychai.websocket.IWebSocketClosedListener;
 import com.fueledbychai.websocket.IWebSocketProcessor;
+import com.fueledbychai.websocket.WebSocketMessageRouter;
 
 /**
- * A multiplexing processor that broadcasts incoming WebSocket messages to
- * multiple child processors. Each child processor parses only messages that
- * match its channel type (returning null for non-matching messages), so
- * broadcasting is safe and efficient.
+ * A multiplexing processor that routes incoming WebSocket messages to the child
+ * processor subscribed to the message's {@code channel}. Only that processor
+ * parses the message.
+ *
+ * Lighter subscribes with {@code type/id} channels but sends {@code type:id}
+ * in updates, so keys are normalized to the slash form. Messages for a market
+ * with no channel of its own fall back to the {@code type/all} subscription,
+ * e.g. {@code market_stats/all}.
  *
  * Used in shared-socket mode where a single WebSocket connection carries
  * subscriptions for multiple channels.
  */
-public class LighterMultiplexingProcessor implements IWebSocketProcessor {
+public class LighterMultiplexingProcessor extends WebSocketMessageRouter {
 
-    private static final Logger logger = LoggerFactory.getLogger(LighterMultiplexingProcessor.class);
-
-    private final List<IWebSocketProcessor> processors = new CopyOnWriteArrayList<>();
-    private final IWebSocketClosedListener closedListener;
+    protected static final String ALL_SUFFIX = "/all";
 
     public LighterMultiplexingProcessor(IWebSocketClosedListener closedListener) {
-        this.closedListener = closedListener;
+        super(closedListener, "channel");
     }
 
-    public void addProcessor(IWebSocketProcessor processor) {
-        if (processor != null && !processors.contains(processor)) {
-            processors.add(processor);
-        }
-    }
-
-    public void removeProcessor(IWebSocketProcessor processor) {
-        processors.remove(processor);
+    public void addProcessor(String channel, IWebSocketProcessor processor) {
+        addRoute(channel, processor);
     }
 
     public int getProcessorCount() {
-        return processors.size();
+        return getRouteCount();
     }
 
     @Override
-    public void messageReceived(String message) {
-        for (IWebSocketProcessor processor : processors) {
-            try {
-                processor.messageReceived(message);
-            } catch (Exception e) {
-                logger.error("Error dispatching message to child processor", e);
-            }
-        }
+    protected String normalizeKey(String key) {
+        return key.replace(':', '/');
     }
 
     @Override
-    public void connectionClosed(int code, String reason, boolean remote) {
-        logger.info("Shared WebSocket connection closed: {}", reason);
-        if (closedListener != null) {
-            closedListener.connectionClosed();
+    protected Route findRoute(String key) {
+        Route route = routes.get(key);
+        if (route != null) {
+            return route;
         }
-    }
-
-    @Override
-    public void connectionError(Exception error) {
-        logger.error("Shared WebSocket connection error", error);
-        if (closedListener != null) {
-            closedListener.connectionClosed();
+        int idx = key.indexOf('/');
+        if (idx <= 0) {
+            return null;
         }
-    }
-
-    @Override
-    public void connectionEstablished() {
-        // no-op
-    }
-
-    @Override
-    public void connectionOpened() {
-        // no-op
+        return routes.get(key.substring(0, idx) + ALL_SUFFIX);
     }
 }
@@ -1,20 +1,22 @@
 package com.fueledbychai.lighter.common.api.ws.processor;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
-
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fueledbychai.lighter.common.api.ws.client.LighterWSClientBuilder;
-import com.fueledbychai.lighter.common.api.ws.model.LighterOrderBookLevel;
 import com.fueledbychai.lighter.common.api.ws.model.LighterOrderBookUpdate;
 import com.fueledbychai.websocket.AbstractWebSocketProcessor;
 import com.fueledbychai.websocket.IWebSocketClosedListener;
-
+import com.fueledbychai.websocket.JsonScanner;
+import com.fueledbychai.websocket.JsonToken;
+import com.fueledbychai.websocket.PriceLevelBuffer;
+
+/**
+ * Parses Lighter order book messages with a {@link JsonScanner}. The channel is
+ * read first so other channels are dropped without being decoded, and price
+ * levels go straight into {@link PriceLevelBuffer}s instead of a JSON tree and
+ * per-level BigDecimals.
+ */
 public class LighterOrderBookWebSocketProcessor extends AbstractWebSocketProcessor<LighterOrderBookUpdate> {
 
     private static final Logger logger = LoggerFactory.getLogger(LighterOrderBookWebSocketProcessor.class);
@@ -25,51 +27,76 @@ public class LighterOrderBookWebSocketProcessor extends AbstractWebSocketProcess
 
     @Override
     protected LighterOrderBookUpdate parseMessage(String message) {
-        JSONObject root = new JSONObject(message);
-        String channel = root.optString("channel", null);
+        String channel = JsonScanner.peekString(message, "channel");
         if (!isOrderBookChannel(channel)) {
             return null;
         }
 
-        Object orderBookObject = root.opt("order_book");
-        if (!(orderBookObject instanceof JSONObject)) {
+        JsonScanner scanner = new JsonScanner(message);
+        if (scanner.nextToken() != JsonToken.START_OBJECT) {
             return null;
         }
 
-        JSONObject orderBookJson = (JSONObject) orderBookObject;
-        Integer marketId = parseInteger(orderBookJson.opt("market_id"));
-        if (marketId == null) {
-            marketId = parseMarketIdFromChannel(channel);
+        SequenceFields rootFields = new SequenceFields();
+        SequenceFields orderBookFields = new SequenceFields();
+        boolean hasOrderBook = false;
+        Integer marketId = null;
+        Integer code = null;
+        PriceLevelBuffer asks = null;
+        PriceLevelBuffer bids = null;
+        String messageType = null;
+
+        while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+            if (scanner.textEquals("order_book")) {
+                if (scanner.nextToken() != JsonToken.START_OBJECT) {
+                    scanner.skipChildren();
+                    continue;
+                }
+                hasOrderBook = true;
+                while (scanner.nextToken() == JsonToken.FIELD_NAME) {
+                    if (scanner.textEquals("market_id")) {
+                        scanner.nextToken();
+                        marketId = readInteger(scanner);
+                    } else if (scanner.textEquals("code")) {
+                        scanner.nextToken();
+                        code = readInteger(scanner);
+                    } else if (scanner.textEquals("asks")) {
+                        scanner.nextToken();
+                        asks = readLevels(scanner);
+                    } else if (scanner.textEquals("bids")) {
+                        scanner.nextToken();
+                        bids = readLevels(scanner);
+                    } else if (!orderBookFields.read(scanner)) {
+                        scanner.skipValue();
+                    }
+                }
+            } else if (scanner.textEquals("type")) {
+                JsonToken token = scanner.nextToken();
+                if (token.isScalarValue() && token != JsonToken.NULL) {
+                    messageType = scanner.getText();
+                } else {
+                    scanner.skipChildren();
+                }
+            } else if (!rootFields.read(scanner)) {
+                scanner.skipValue();
+            }
         }
 
-        Integer code = parseInteger(orderBookJson.opt("code"));
-        List<LighterOrderBookLevel> asks = parseLevels(orderBookJson.optJSONArray("asks"));
-        List<LighterOrderBookLevel> bids = parseLevels(orderBookJson.optJSONArray("bids"));
-
-        Long offset = parseLong(root.opt("offset"));
-        if (offset == null) {
-            offset = parseLong(orderBookJson.opt("offset"));
-        }
-        Long nonce = parseLong(root.opt("nonce"));
-        if (nonce == null) {
-            nonce = parseLong(orderBookJson.opt("nonce"));
-        }
-        Long beginNonce = parseLong(root.opt("begin_nonce"));
-        if (beginNonce == null) {
-            beginNonce = parseLong(orderBookJson.opt("begin_nonce"));
+        if (!hasOrderBook) {
+            return null;
         }
-        Long timestamp = parseLong(root.opt("timestamp"));
-        if (timestamp == null) {
-            timestamp = parseLong(orderBookJson.opt("timestamp"));
+        if (marketId == null) {
+            marketId = parseMarketIdFromChannel(channel);
         }
-
-        String messageType = root.optString("type", null);
         if (messageType != null && messageType.isBlank()) {
             messageType = null;
         }
 
-        return new LighterOrderBookUpdate(channel, marketId, code, asks, bids, offset, nonce, beginNonce, timestamp,
-                messageType);
+        return new LighterOrderBookUpdate(channel, marketId, code, asks, bids,
+                rootFields.offset != null ? rootFields.offset : orderBookFields.offset,
+                rootFields.nonce != null ? rootFields.nonce : orderBookFields.nonce,
+                rootFields.beginNonce != null ? rootFields.beginNonce : orderBookFields.beginNonce,
+                rootFields.timestamp != null ? rootFields.timestamp : orderBookFields.timestamp, messageType);
     }
 
     protected boolean isOrderBookChannel(String channel) {
@@ -88,80 +115,86 @@ public class LighterOrderBookWebSocketProcessor extends AbstractWebSocketProcess
         if (idx < 0 || idx >= channel.length() - 1) {
             return null;
         }
-        return parseInteger(channel.substring(idx + 1));
-    }
-
-    protected List<LighterOrderBookLevel> parseLevels(JSONArray levelsJson) {
-        if (levelsJson == null || levelsJson.isEmpty()) {
-            return List.of();
-        }
-
-        List<LighterOrderBookLevel> levels = new ArrayList<>();
-        for (int i = 0; i < levelsJson.length(); i++) {
-            Object levelObj = levelsJson.opt(i);
-            LighterOrderBookLevel level = parseLevel(levelObj);
-            if (level != null) {
-                levels.add(level);
-            }
+        try {
+            return Integer.valueOf(channel.substring(idx + 1));
+        } catch (NumberFormatException e) {
+            logger.warn("Unable to parse market id from channel '{}'", channel);
+            return null;
         }
-        return levels;
     }
 
-    protected LighterOrderBookLevel parseLevel(Object levelObj) {
-        if (levelObj instanceof JSONObject json) {
-            BigDecimal price = parseBigDecimal(json.opt("price"));
-            BigDecimal size = parseBigDecimal(json.opt("size"));
-            if (price == null || size == null) {
-                return null;
-            }
-            return new LighterOrderBookLevel(price, size);
-        }
-
-        if (levelObj instanceof JSONArray arr && arr.length() >= 2) {
-            BigDecimal price = parseBigDecimal(arr.opt(0));
-            BigDecimal size = parseBigDecimal(arr.opt(1));
-            if (price == null || size == null) {
-                return null;
-            }
-            return new LighterOrderBookLevel(price, size);
+    /**
+     * Reads the price levels at the scanner's current value. Anything other than
+     * an array is skipped and yields null, which the update treats as no levels.
+     */
+    protected PriceLevelBuffer readLevels(JsonScanner scanner) {
+        if (scanner.getCurrentToken() != JsonToken.START_ARRAY) {
+            scanner.skipChildren();
+            return null;
         }
-
-        return null;
+        PriceLevelBuffer levels = new PriceLevelBuffer();
+        scanner.readPriceLevels(levels, "price", "size");
+        return levels;
     }
 
-    protected BigDecimal parseBigDecimal(Object value) {
-        if (value == null || value == JSONObject.NULL) {
+    protected Integer readInteger(JsonScanner scanner) {
+        Long value = readLong(scanner);
+        if (value == null) {
             return null;
         }
-        try {
-            return new BigDecimal(value.toString());
-        } catch (Exception e) {
-            logger.warn("Unable to parse decimal value '{}'", value);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            logger.warn("Unable to parse integer value '{}'", value);
             return null;
         }
+        return value.intValue();
     }
 
-    protected Integer parseInteger(Object value) {
-        if (value == null || value == JSONObject.NULL) {
+    protected Long readLong(JsonScanner scanner) {
+        if (!scanner.isNumeric()) {
+            scanner.skipChildren();
             return null;
         }
         try {
-            return Integer.valueOf(value.toString());
-        } catch (Exception e) {
-            logger.warn("Unable to parse integer value '{}'", value);
+            return scanner.getLong();
+        } catch (NumberFormatException | ArithmeticException e) {
+            logger.warn("Unable to parse long value '{}'", scanner.getText());
             return null;
         }
     }
 
-    protected Long parseLong(Object value) {
-        if (value == null || value == JSONObject.NULL) {
-            return null;
-        }
-        try {
-            return Long.valueOf(value.toString());
-        } catch (Exception e) {
-            logger.warn("Unable to parse long value '{}'", value);
-            return null;
+    /**
+     * Sequencing fields that Lighter sends either at the top level or inside the
+     * order book object.
+     */
+    protected class SequenceFields {
+        protected Long offset;
+        protected Long nonce;
+        protected Long beginNonce;
+        protected Long timestamp;
+
+        /**
+         * Reads the value of the current field if it is one of the sequencing
+         * fields.
+         *
+         * @return false if the field is not a sequencing field and was not consumed
+         */
+        protected boolean read(JsonScanner scanner) {
+            if (scanner.textEquals("offset")) {
+                scanner.nextToken();
+                offset = readLong(scanner);
+            } else if (scanner.textEquals("nonce")) {
+                scanner.nextToken();
+                nonce = readLong(scanner);
+            } else if (scanner.textEquals("begin_nonce")) {
+                scanner.nextToken();
+                beginNonce = readLong(scanner);
+            } else if (scanner.textEquals("timestamp")) {
+                scanner.nextToken();
+                timestamp = readLong(scanner);
+            } else {
+                return false;
+            }
+            return true;
         }
     }
 }
@@ -1,6 +1,7 @@
 package com.fueledbychai.lighter.common.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -10,6 +11,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -435,6 +437,34 @@ public class LighterWebSocketApiTest {
         assertEquals(2, posted.getJSONObject("data").getJSONObject("tx_info").getInt("market_index"));
     }
 
+    @Test
+    void sendSignedTransactionAsyncPipelinesAndCorrelatesAcksByRequestId() throws Exception {
+        TestableLighterWebSocketApi api = new TestableLighterWebSocketApi("wss://example.test/stream?readonly=true");
+        api.connectTxWebSocket();
+        api.lastTxClient.autoAck = false;
+
+        CompletableFuture<LighterSendTxResponse> first = api.sendSignedTransactionAsync(10,
+                new JSONObject().put("nonce", 1700));
+        CompletableFuture<LighterSendTxResponse> second = api.sendSignedTransactionAsync(10,
+                new JSONObject().put("nonce", 1701));
+
+        assertEquals(2, api.postedTxMessages.size());
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        String firstId = new JSONObject(api.postedTxMessages.get(0)).opt("id").toString();
+        String secondId = new JSONObject(api.postedTxMessages.get(1)).opt("id").toString();
+        api.lastTxClient.ack(secondId, 200, "second");
+        api.lastTxClient.ack(firstId, 400, "first");
+
+        LighterSendTxResponse secondResponse = second.get(5, TimeUnit.SECONDS);
+        LighterSendTxResponse firstResponse = first.get(5, TimeUnit.SECONDS);
+        assertTrue(secondResponse.isSuccess());
+        assertEquals("second", secondResponse.getMessage());
+        assertFalse(firstResponse.isSuccess());
+        assertEquals("first", firstResponse.getMessage());
+    }
+
     @Test
     void connectTxWebSocketPreconnectsAndAutoReconnectsAfterClose() throws Exception {
         TestableLighterWebSocketApi api = new TestableLighterWebSocketApi("wss://example.test/stream");
@@ -768,6 +798,7 @@ public class LighterWebSocketApiTest {
         private final Map<String, Integer> connectCountByChannel;
         private final Map<String, Integer> closeCountByChannel;
         private volatile boolean open;
+        private volatile boolean autoAck = true;
 
         TestTxClient(String serverUri, IWebSocketProcessor processor, List<String> postedTxMessages,
                 Map<String, Integer> connectCountByChannel, Map<String, Integer> closeCountByChannel) throws Exception {
@@ -803,9 +834,14 @@ public class LighterWebSocketApiTest {
         @Override
         public void postMessage(String message) {
             postedTxMessages.add(message);
-            JSONObject request = new JSONObject(message);
-            String id = request.opt("id").toString();
-            processor.messageReceived("{\"code\":200,\"msg\":\"ok\",\"id\":\"" + id + "\"}");
+            if (autoAck) {
+                JSONObject request = new JSONObject(message);
+                ack(request.opt("id").toString(), 200, "ok");
+            }
+        }
+
+        void ack(String id, int code, String message) {
+            processor.messageReceived("{\"code\":" + code + ",\"msg\":\"" + message + "\",\"id\":\"" + id + "\"}");
         }
     }
 
@@ -0,0 +1,122 @@
+package com.fueledbychai.lighter.common.api.signer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LighterSignerMathTest {
+
+    private static final String TEST_PRIVATE_KEY = "0x0102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f202122232425262728";
+    private static final BigInteger MODULUS = new BigInteger("18446744069414584321");
+
+    // Reference outputs produced by the BigInteger implementation this class replaced.
+    private static final String EXPECTED_HASH = "9d22f73c04936eeff2dc616ac31479adfd5408cb3238891f0d9c4188cd8f37c2e077d41073ee92f5";
+    private static final String EXPECTED_SHORT_HASH = "ee8008c0575a9f54983635a4ce00b6c1410fc43269640f6fec1d0d51bcda955cef52018f046e42bf";
+    private static final String EXPECTED_AUTH_HASH = "f1d2d23ad6af3acdb21ed95441cc9662db48fe7a85e3792686705c21c6fe51a57c82887705cfec51";
+    private static final String EXPECTED_PUBLIC_KEY = "710c8cd2201061fa5570d20852d90ddabd6c496825b639d6c6486ecb1f859b63f237dee54f3f42b4";
+    private static final String EXPECTED_SIGNATURE = "c2f52a1a7aafdcac0d49c873d652c145b4d582c3cb8a4f3bb67b5f6dfca5e19e"
+            + "f066c34d4f2d6a2b2e04716983c254a088581e3bedd4a4fb2b6f2bec67a08a24b62a1048472c315b9bdcd597551b7b0d";
+    private static final String EXPECTED_INVERSE = "27716e116557b11da8a990c6be5be85b112fa13018ebb7a74d65557a83c64165716160ffa50e8dd7";
+    private static final String EXPECTED_SQRT = "e91032dc7e6a69c80c2a59a2246dac96d2bd0a8cd1c6c73919cf5f68af2332f6fb74316e90c07639";
+
+    @Test
+    void poseidonHashMatchesReferenceOutput() {
+        assertEquals(EXPECTED_HASH, hex(LighterSignerMath.hashToQuinticExtension(referenceInput())));
+
+        List<LighterSignerMath.GoldilocksField> shortInput = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            shortInput.add(LighterSignerMath.GoldilocksField.fromSignedLong(i));
+        }
+        assertEquals(EXPECTED_SHORT_HASH, hex(LighterSignerMath.hashToQuinticExtension(shortInput)));
+        assertEquals(EXPECTED_AUTH_HASH, hex(LighterSignerMath.hashAuthTokenMessage("1700000000:9:3")));
+    }
+
+    @Test
+    void publicKeyAndSignatureMatchReferenceOutput() {
+        LighterSignerMath.Scalar privateKey = LighterSignerMath.parsePrivateKeyHex(TEST_PRIVATE_KEY);
+        LighterSignerMath.Scalar nonce = LighterSignerMath.Scalar
+                .fromBigInteger(new BigInteger("123456789012345678901234567890"));
+        LighterSignerMath.Fp5 hash = LighterSignerMath.hashToQuinticExtension(referenceInput());
+
+        assertEquals(EXPECTED_PUBLIC_KEY, hex(LighterSignerMath.publicKeyFromPrivateKey(privateKey)));
+        assertEquals(EXPECTED_SIGNATURE,
+                LighterSignerMath.toHex(LighterSignerMath.signHashedMessage(hash, privateKey, nonce).toBytes()));
+    }
+
+    @Test
+    void quinticInverseAndSquareRootMatchReferenceOutput() {
+        LighterSignerMath.Fp5 hash = LighterSignerMath.hashToQuinticExtension(referenceInput());
+        LighterSignerMath.Fp5 value = hash.mul(hash).add(LighterSignerMath.Fp5.fromUnsignedLong(7L));
+
+        assertEquals(EXPECTED_INVERSE, hex(value.inverseOrZero()));
+        assertEquals(EXPECTED_SQRT, hex(value.square().canonicalSqrtOrNull()));
+        assertEquals(LighterSignerMath.Fp5.fromUnsignedLong(1L), value.mul(value.inverseOrZero()));
+    }
+
+    @Test
+    void fixedBaseGeneratorMultipleMatchesDoubleAndAdd() {
+        BigInteger order = new BigInteger(
+                "1067993516717146951041484916571792702745057740581727230159139685185762082554198619328292418486241");
+        List<BigInteger> scalars = new ArrayList<>(List.of(BigInteger.ZERO, BigInteger.ONE, BigInteger.TWO,
+                BigInteger.valueOf(16), BigInteger.valueOf(17), BigInteger.valueOf(31), BigInteger.valueOf(32),
+                BigInteger.ONE.shiftLeft(318), order.subtract(BigInteger.ONE), order.subtract(BigInteger.TWO)));
+        Random random = new Random(11);
+        for (int i = 0; i < 20; i++) {
+            scalars.add(new BigInteger(319, random).mod(order));
+        }
+
+        for (BigInteger value : scalars) {
+            LighterSignerMath.Scalar scalar = LighterSignerMath.Scalar.fromBigInteger(value);
+            assertEquals(hex(LighterSignerMath.generatorMultipleDoubleAndAdd(scalar)),
+                    hex(LighterSignerMath.generatorMultiple(scalar)), "k = " + value);
+        }
+    }
+
+    @Test
+    void goldilocksArithmeticMatchesBigInteger() {
+        Random random = new Random(7);
+        long[] edges = { 0L, 1L, 2L, 0xFFFFFFFFL, 0x100000000L, 0xFFFFFFFF00000000L, Long.MAX_VALUE,
+                Long.MIN_VALUE };
+        for (int i = 0; i < 10_000; i++) {
+            long a = LighterSignerMath.GoldilocksField.reduce(i < edges.length ? edges[i] : random.nextLong());
+            long b = LighterSignerMath.GoldilocksField.reduce(
+                    i < edges.length ? edges[edges.length - 1 - i] : random.nextLong());
+            BigInteger bigA = unsigned(a);
+            BigInteger bigB = unsigned(b);
+
+            assertEquals(bigA.add(bigB).mod(MODULUS), unsigned(LighterSignerMath.GoldilocksField.add(a, b)));
+            assertEquals(bigA.subtract(bigB).mod(MODULUS), unsigned(LighterSignerMath.GoldilocksField.sub(a, b)));
+            assertEquals(bigA.multiply(bigB).mod(MODULUS), unsigned(LighterSignerMath.GoldilocksField.mul(a, b)));
+            assertEquals(bigA.negate().mod(MODULUS), unsigned(LighterSignerMath.GoldilocksField.negate(a)));
+        }
+        assertEquals(MODULUS.subtract(BigInteger.valueOf(5)),
+                LighterSignerMath.GoldilocksField.fromSignedLong(-5L).asBigInteger());
+        assertEquals(BigInteger.ONE.shiftLeft(63).negate().mod(MODULUS),
+                LighterSignerMath.GoldilocksField.fromSignedLong(Long.MIN_VALUE).asBigInteger());
+        assertEquals(BigInteger.valueOf(0xFFFFFFFEL),
+                LighterSignerMath.GoldilocksField.fromUnsignedLong(-1L).asBigInteger());
+    }
+
+    private static List<LighterSignerMath.GoldilocksField> referenceInput() {
+        List<LighterSignerMath.GoldilocksField> input = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            input.add(LighterSignerMath.GoldilocksField.fromUnsignedLong(0x9E3779B97F4A7C15L * (i + 1)));
+        }
+        input.add(LighterSignerMath.GoldilocksField.fromSignedLong(-5));
+        input.add(LighterSignerMath.GoldilocksField.fromSignedLong(Long.MIN_VALUE));
+        return input;
+    }
+
+    private static String hex(LighterSignerMath.Fp5 value) {
+        return LighterSignerMath.toHex(value.toLittleEndian40());
+    }
+
+    private static BigInteger unsigned(long value) {
+        return new BigInteger(Long.toUnsignedString(value));
+    }
+}
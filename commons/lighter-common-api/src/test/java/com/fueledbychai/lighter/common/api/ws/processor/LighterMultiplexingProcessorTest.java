@@ -0,0 +1,56 @@
+package com.fueledbychai.lighter.common.api.ws.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+import org.junit.jupiter.api.Test;
+
+import com.fueledbychai.websocket.IWebSocketProcessor;
+
+public class LighterMultiplexingProcessorTest {
+
+    @Test
+    void routesColonChannelsToSlashSubscriptionsAndFallsBackToAll() {
+        LighterMultiplexingProcessor multiplexor = new LighterMultiplexingProcessor(null);
+        RecordingProcessor orderBook = new RecordingProcessor();
+        RecordingProcessor allStats = new RecordingProcessor();
+        multiplexor.addProcessor("order_book/1", orderBook);
+        multiplexor.addProcessor("market_stats/all", allStats);
+
+        multiplexor.messageReceived("{\"channel\":\"order_book:1\",\"order_book\":{}}");
+        multiplexor.messageReceived("{\"channel\":\"order_book:2\",\"order_book\":{}}");
+        multiplexor.messageReceived("{\"channel\":\"market_stats:53\",\"market_stats\":{}}");
+        multiplexor.messageReceived("{\"type\":\"connected\"}");
+
+        assertEquals(1, orderBook.count);
+        assertEquals(1, allStats.count);
+        assertEquals(1L, multiplexor.getRouteStats("order_book:1").getMessageCount());
+        assertEquals(2L, multiplexor.getUnroutedStats().getMessageCount());
+        assertEquals(2, multiplexor.getProcessorCount());
+    }
+
+    private static class RecordingProcessor implements IWebSocketProcessor {
+        int count;
+
+        @Override
+        public void messageReceived(String message) {
+            count++;
+        }
+
+        @Override
+        public void connectionClosed(int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void connectionOpened() {
+        }
+
+        @Override
+        public void connectionError(Exception error) {
+        }
+
+        @Override
+        public void connectionEstablished() {
+        }
+    }
+}
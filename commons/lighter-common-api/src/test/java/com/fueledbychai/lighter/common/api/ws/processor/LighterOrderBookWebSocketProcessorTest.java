@@ -70,6 +70,53 @@ public class LighterOrderBookWebSocketProcessorTest {
         assertEquals(new BigDecimal("0.95"), update.getBestBid().getSize());
     }
 
+    @Test
+    void decodeLevelsIntoPrimitiveBuffersAndPreferRootSequenceFields() {
+        TestableProcessor processor = new TestableProcessor();
+        String message = "{"
+                + "\"order_book\":{"
+                + "\"nonce\":\"5\","
+                + "\"offset\":7,"
+                + "\"asks\":[{\"price\":\"100.00\",\"size\":\"2.50\"},{\"price\":null,\"size\":\"1\"}],"
+                + "\"bids\":null"
+                + "},"
+                + "\"nonce\":9,"
+                + "\"channel\":\"order_book:7\""
+                + "}";
+
+        LighterOrderBookUpdate update = processor.parse(message);
+        assertNotNull(update);
+        assertEquals(7, update.getMarketId());
+        assertEquals(9L, update.getNonce());
+        assertEquals(7L, update.getOffset());
+        assertEquals(1, update.getAskLevels().getCount());
+        assertEquals(1000000L, update.getAskLevels().getScaledPrice(0, 4));
+        assertEquals(2.5, update.getAskLevels().getQuantityAsDouble(0));
+        assertEquals(0, update.getBids().size());
+        assertEquals(new BigDecimal("2.50"), update.getBestAsk().getSize());
+    }
+
+    @Test
+    void skipMalformedLevelsAndKeepTheRestOfTheFrame() {
+        TestableProcessor processor = new TestableProcessor();
+        String message = "{"
+                + "\"channel\":\"order_book:1\","
+                + "\"order_book\":{"
+                + "\"asks\":[{\"price\":\"abc\",\"size\":\"1\"},{\"price\":\"100.00\",\"size\":\"2.50\"}],"
+                + "\"bids\":[[\"99.50\",\"NaN\"],[\"99.25\",\"1.00\"]]"
+                + "},"
+                + "\"nonce\":11"
+                + "}";
+
+        LighterOrderBookUpdate update = processor.parse(message);
+        assertNotNull(update);
+        assertEquals(11L, update.getNonce());
+        assertEquals(1, update.getAskLevels().getCount());
+        assertEquals(new BigDecimal("100.00"), update.getBestAsk().getPrice());
+        assertEquals(1, update.getBids().size());
+        assertEquals(new BigDecimal("99.25"), update.getBestBid().getPrice());
+    }
+
     @Test
     void ignoreNonOrderBookChannel() {
         TestableProcessor processor = new TestableProcessor();
@@ -173,7 +173,7 @@ public class OkxRestApi implements IOkxRestApi {
     }
 
     protected OkHttpClient createHttpClient() {
-        return OkHttpClientFactory.create(REQUEST_TIMEOUT);
+        return OkHttpClientFactory.create(REQUEST_TIMEOUT, baseUrl);
     }
 
     protected String normalizeBaseUrl(String url) {
@@ -21,6 +21,7 @@ package com.fueledbychai.paradex.common;
 
 import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.http.RateLimit;
 import com.fueledbychai.util.DefaultExchangeCapabilities;
 import com.fueledbychai.util.ExchangeCapabilities;
 import com.fueledbychai.util.ExchangeCapabilitiesProvider;
@@ -39,6 +40,8 @@ public class ParadexExchangeCapabilitiesProvider implements ExchangeCapabilities
                 .supportsBrokerage(true)
                 .supportsHistoricalData(true)
                 .addInstrumentType(InstrumentType.PERPETUAL_FUTURES)
+                // every REST call from an IP counts against Paradex's 1500 per minute
+                .restRateLimit(RateLimit.perMinute(1500))
                 .build();
     }
 }
@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.net.Proxy;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -32,6 +31,9 @@ import com.fueledbychai.data.ResponseException;
 import com.fueledbychai.data.Side;
 import com.fueledbychai.data.Ticker;
 import com.fueledbychai.http.BaseRestApi;
+import com.fueledbychai.http.OkHttpClientFactory;
+import com.fueledbychai.http.RequestPriority;
+import com.fueledbychai.http.RequestScheduler;
 import com.fueledbychai.paradex.common.api.historical.OHLCBar;
 import com.fueledbychai.paradex.common.api.order.Flag;
 import com.fueledbychai.paradex.common.api.order.OrderType;
@@ -39,7 +41,6 @@ import com.fueledbychai.paradex.common.api.order.ParadexOrder;
 import com.fueledbychai.paradex.common.api.ws.SystemStatus;
 import com.fueledbychai.time.Span;
 import com.fueledbychai.util.TickerRegistryFactory;
-import com.fueledbychai.websocket.ProxyConfig;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
@@ -105,8 +106,9 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
     }
 
     public ParadexRestApi(String baseUrl, String accountAddressString, String privateKeyString, boolean isTestnet) {
-        this.client = createHttpClient();
         this.baseUrl = baseUrl;
+        this.client = createHttpClient();
+        this.requestScheduler = RequestScheduler.forRest(Exchange.PARADEX);
         this.accountAddressString = accountAddressString;
         this.privateKeyString = privateKeyString;
         // Register the custom adapter
@@ -125,17 +127,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
     }
 
     protected OkHttpClient createHttpClient() {
-        Proxy proxy = ProxyConfig.getInstance().getProxy();
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
-        if (proxy != null && proxy != Proxy.NO_PROXY) {
-            builder.proxy(proxy);
-        }
-        return builder
-                .connectTimeout(Duration.ofSeconds(15))
-                .readTimeout(Duration.ofSeconds(15))
-                .writeTimeout(Duration.ofSeconds(15))
-                .callTimeout(Duration.ofSeconds(15))
-                .build();
+        return OkHttpClientFactory.create(Duration.ofSeconds(15), baseUrl);
     }
 
     @Override
@@ -238,6 +230,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
         Request request = new Request.Builder().url(newUrl).get().build();
         logger.info("Request: " + request);
 
+        pace(RequestPriority.QUERY, 1);
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 String errorBody = response.body() == null ? "" : response.body().string();
@@ -285,6 +278,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
         Request request = new Request.Builder().url(url).get().build();
         logger.info("Request: " + request);
 
+        pace(RequestPriority.QUERY, 1);
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 String body = "";
@@ -431,6 +425,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
             logger.info("Request: " + request);
 
             Response response;
+            pace(RequestPriority.CANCEL, 1);
             try (var s = Span.start("PD_CANCEL_ORDER_BY_ID_REST_CALL", orderId, LATENCY_LOGGER)) {
                 response = client.newCall(request).execute();
                 if (!response.isSuccessful()) {
@@ -467,6 +462,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
             logger.info("Request: " + request);
 
             Response response;
+            pace(RequestPriority.CANCEL, 1);
             try (var s = Span.start("PD_CANCEL_ORDER_BY_CLIENT_ID_REST_CALL", clientOrderId, LATENCY_LOGGER)) {
                 response = client.newCall(request).execute();
                 if (!response.isSuccessful()) {
@@ -515,6 +511,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
             logger.info("Request: " + request);
 
             Response response;
+            pace(RequestPriority.CANCEL, 1);
             try (var s = Span.start("PD_CANCEL_ORDER_BATCH_REST_CALL", String.valueOf(orderIds.size()),
                     LATENCY_LOGGER)) {
                 response = client.newCall(request).execute();
@@ -554,6 +551,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
             Request request = requestBuilder.build();
             logger.info("Request: " + request);
 
+            pace(RequestPriority.QUERY, 1);
             Response response = client.newCall(request).execute();
             if (!response.isSuccessful()) {
                 String body = "";
@@ -625,6 +623,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
         Request request = new Request.Builder().url(newUrl).get().build();
         logger.info("Request: " + request);
 
+        pace(RequestPriority.QUERY, 1);
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 String body = "";
@@ -648,7 +647,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
 
     protected void cancelAllOrders(String jwtToken, String market) {
         checkPrivateApi();
-        executeWithRetry(() -> {
+        executeWithRetry(RequestPriority.CANCEL, 1, () -> {
             String path = "/orders";
             String url = baseUrl + path;
             HttpUrl.Builder urlBuilder = HttpUrl.parse(url).newBuilder();
@@ -731,6 +730,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
         logger.info("Request: " + request);
         logger.info("Request body: " + orderJson.toString());
 
+        pace(RequestPriority.PLACE, 1);
         try (var s = Span.start("PD_SEND_PLACE_ORDER_REST_REQUEST", order.getClientId(), LATENCY_LOGGER)) {
             try (Response response = client.newCall(request).execute()) {
                 if (!response.isSuccessful()) {
@@ -796,6 +796,7 @@ public class ParadexRestApi extends BaseRestApi implements IParadexRestApi {
         logger.info("Request: " + request);
         logger.info("Request body: " + orderJson.toString());
 
+        pace(RequestPriority.PLACE, 1);
         try (var s = Span.start("PD_SEND_MODIFY_ORDER_REST_REQUEST", order.getClientId(), LATENCY_LOGGER)) {
             try (Response response = client.newCall(request).execute()) {
                 if (!response.isSuccessful()) {
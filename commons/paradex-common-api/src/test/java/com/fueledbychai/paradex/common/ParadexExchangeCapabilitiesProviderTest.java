@@ -0,0 +1,19 @@
+package com.fueledbychai.paradex.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.http.RateLimit;
+import com.fueledbychai.http.RequestScheduler;
+
+class ParadexExchangeCapabilitiesProviderTest {
+
+    @Test
+    void restRequestsArePacedToTheDocumentedLimit() {
+        assertEquals(RateLimit.perMinute(1500),
+                new ParadexExchangeCapabilitiesProvider().getCapabilities().getRestRateLimit());
+        assertEquals(RateLimit.perMinute(1500), RequestScheduler.forRest(Exchange.PARADEX).getLimit());
+    }
+}
@@ -138,7 +138,7 @@ public abstract class AbstractBasicBroker implements IBroker {
      * event, flooding the error log indefinitely. Post-disconnect listener
      * notification is not useful, so dropping is the correct behavior.
      */
-    private void dispatch(Runnable task) {
+    protected void dispatch(Runnable task) {
         if (eventExecutor.isShutdown()) {
             return;
         }
@@ -0,0 +1,105 @@
+package com.fueledbychai.broker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fueledbychai.broker.order.OrderTicket;
+
+/**
+ * Result of a batch request, holding one {@link BrokerRequestResult} per order
+ * in the order the tickets were submitted. The batch succeeds only if every
+ * order succeeded; otherwise its message, failure type and refresh hint are
+ * taken from the first failed order.
+ */
+public class BatchBrokerRequestResult extends BrokerRequestResult {
+
+    protected final List<BrokerRequestResult> results;
+    protected final int failureCount;
+
+    public BatchBrokerRequestResult(List<BrokerRequestResult> results) {
+        super();
+        this.results = results == null ? List.of() : List.copyOf(results);
+
+        int failures = 0;
+        BrokerRequestResult firstFailure = null;
+        for (BrokerRequestResult result : this.results) {
+            if (!result.isSuccess()) {
+                failures++;
+                if (firstFailure == null) {
+                    firstFailure = result;
+                }
+            }
+        }
+        this.failureCount = failures;
+
+        if (firstFailure != null) {
+            this.success = false;
+            this.shouldRefresh = firstFailure.shouldRefresh;
+            this.message = failures + "/" + this.results.size() + " orders failed; first error: "
+                    + firstFailure.getMessage();
+            this.failureType = firstFailure.getFailureType();
+        }
+    }
+
+    /**
+     * Runs the request for each order in turn, for brokers without a native
+     * batch endpoint. An exception thrown for one order is recorded as that
+     * order's failure and does not stop the remaining orders.
+     */
+    public static BatchBrokerRequestResult each(List<OrderTicket> orders,
+            Function<OrderTicket, BrokerRequestResult> request) {
+        if (request == null) {
+            throw new IllegalArgumentException("request is required");
+        }
+        List<BrokerRequestResult> results = new ArrayList<>(orders == null ? 0 : orders.size());
+        if (orders != null) {
+            for (OrderTicket order : orders) {
+                BrokerRequestResult result;
+                try {
+                    result = request.apply(order);
+                } catch (RuntimeException ex) {
+                    String message = ex.getMessage() == null ? ex.toString() : ex.getMessage();
+                    result = new BrokerRequestResult(false, true, message, FailureType.UNKNOWN);
+                }
+                results.add(result == null ? new BrokerRequestResult(false, "No result returned") : result);
+            }
+        }
+        return new BatchBrokerRequestResult(results);
+    }
+
+    public List<BrokerRequestResult> getResults() {
+        return results;
+    }
+
+    public BrokerRequestResult getResult(int index) {
+        return results.get(index);
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + results.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj))
+            return false;
+        BatchBrokerRequestResult other = (BatchBrokerRequestResult) obj;
+        return results.equals(other.results);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchBrokerRequestResult [success=" + success + ", failureType=" + failureType + ", message="
+                + message + ", results=" + results + "]";
+    }
+}
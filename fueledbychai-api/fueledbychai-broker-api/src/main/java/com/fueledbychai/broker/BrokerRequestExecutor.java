@@ -0,0 +1,98 @@
+package com.fueledbychai.broker;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared, bounded executor behind the default asynchronous order methods on
+ * {@link IBroker}.
+ * <p>
+ * Brokers without a native non-blocking transport run their blocking
+ * {@code placeOrder}/{@code cancelOrder}/{@code modifyOrder} calls here. The
+ * pool size and queue capacity are read once from the
+ * {@value #THREADS_PROPERTY} and {@value #QUEUE_SIZE_PROPERTY} system
+ * properties (or the matching upper-case environment variables). When the
+ * queue is full the returned future fails with a
+ * {@link RejectedExecutionException} instead of blocking the caller.
+ */
+public final class BrokerRequestExecutor {
+
+    public static final String THREADS_PROPERTY = "fueledbychai.broker.async.threads";
+    public static final String QUEUE_SIZE_PROPERTY = "fueledbychai.broker.async.queue.size";
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    protected static final Logger logger = LoggerFactory.getLogger(BrokerRequestExecutor.class);
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private BrokerRequestExecutor() {
+    }
+
+    /**
+     * Runs the supplied request on the shared executor.
+     *
+     * @param request the blocking request to run
+     * @return a future completed with the request's result, or exceptionally if
+     *         the request threw or the executor rejected it
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> request) {
+        if (request == null) {
+            throw new IllegalArgumentException("request is required");
+        }
+        try {
+            return CompletableFuture.supplyAsync(request, EXECUTOR);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    public static ExecutorService getExecutor() {
+        return EXECUTOR;
+    }
+
+    private static ExecutorService createExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        int queueSize = DEFAULT_QUEUE_SIZE;
+        String value = getProperty(THREADS_PROPERTY);
+        try {
+            if (value != null) {
+                threads = Integer.parseInt(value.trim());
+            }
+            value = getProperty(QUEUE_SIZE_PROPERTY);
+            if (value != null) {
+                queueSize = Integer.parseInt(value.trim());
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid broker async setting '{}'", value);
+        }
+        threads = Math.max(1, threads);
+        queueSize = Math.max(1, queueSize);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "broker-request-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static String getProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(name.toUpperCase().replace('.', '_'));
+        }
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -1,5 +1,10 @@
 package com.fueledbychai.broker;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fueledbychai.broker.order.OrderTicket;
+
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -11,4 +16,46 @@ public class ForwardingBroker implements IBroker {
     @Delegate(types = IBroker.class)
     @Getter(AccessLevel.PROTECTED) // gives you protected delegate() accessor
     private final IBroker delegate;
+
+    /*
+     * The async variants go through this broker's own synchronous methods rather
+     * than the delegate's, so subclasses that decorate placeOrder/cancelOrder/
+     * modifyOrder (retries, circuit breakers) apply to both paths.
+     */
+
+    @Override
+    public CompletableFuture<BrokerRequestResult> placeOrderAsync(OrderTicket order) {
+        return BrokerRequestExecutor.supplyAsync(() -> placeOrder(order));
+    }
+
+    @Override
+    public CompletableFuture<BrokerRequestResult> cancelOrderAsync(String id) {
+        return BrokerRequestExecutor.supplyAsync(() -> cancelOrder(id));
+    }
+
+    @Override
+    public CompletableFuture<BrokerRequestResult> cancelOrderAsync(OrderTicket order) {
+        return BrokerRequestExecutor.supplyAsync(() -> cancelOrder(order));
+    }
+
+    @Override
+    public CompletableFuture<BrokerRequestResult> modifyOrderAsync(OrderTicket order) {
+        return BrokerRequestExecutor.supplyAsync(() -> modifyOrder(order));
+    }
+
+    /*
+     * Batch requests go straight to the delegate so a venue's native batch
+     * endpoint is used; subclasses that decorate the single-order methods should
+     * override these as well.
+     */
+
+    @Override
+    public BatchBrokerRequestResult placeOrders(List<OrderTicket> orders) {
+        return delegate.placeOrders(orders);
+    }
+
+    @Override
+    public BatchBrokerRequestResult modifyOrders(List<OrderTicket> orders) {
+        return delegate.modifyOrders(orders);
+    }
 }
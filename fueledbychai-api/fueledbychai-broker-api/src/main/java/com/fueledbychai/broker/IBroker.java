@@ -22,6 +22,7 @@ package com.fueledbychai.broker;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.fueledbychai.broker.order.FillEventListener;
 import com.fueledbychai.broker.order.OrderEventListener;
@@ -63,12 +64,14 @@ public interface IBroker {
 
     /**
      * Cancels the supplied orders as a single batch request, when the venue
-     * supports it. Implementations that do not support batch cancellation
-     * should throw {@link UnsupportedOperationException}.
+     * supports it. The default cancels the orders one at a time; either way the
+     * result is a {@link BatchBrokerRequestResult} with one result per order.
      *
      * @param orders The orders to cancel as a batch.
      */
-    BrokerRequestResult cancelOrders(List<OrderTicket> orders);
+    default BrokerRequestResult cancelOrders(List<OrderTicket> orders) {
+        return BatchBrokerRequestResult.each(orders, this::cancelOrder);
+    }
 
     /**
      * Cancels all open orders.
@@ -84,6 +87,75 @@ public interface IBroker {
 
     public abstract BrokerRequestResult modifyOrder(OrderTicket order);
 
+    /**
+     * Places the supplied orders, as a single signed request where the venue
+     * has a native batch endpoint. The default places the orders one at a time.
+     * {@link com.fueledbychai.broker.capabilities.BrokerCapabilities#getMaxBatchSize()}
+     * reports how many orders fit in one request.
+     *
+     * @param orders The orders to place with the broker.
+     * @return one result per order, in the order the tickets were supplied
+     */
+    default BatchBrokerRequestResult placeOrders(List<OrderTicket> orders) {
+        return BatchBrokerRequestResult.each(orders, this::placeOrder);
+    }
+
+    /**
+     * Modifies the supplied orders, as a single signed request where the venue
+     * has a native batch endpoint. The default modifies the orders one at a
+     * time.
+     *
+     * @param orders The orders to modify.
+     * @return one result per order, in the order the tickets were supplied
+     */
+    default BatchBrokerRequestResult modifyOrders(List<OrderTicket> orders) {
+        return BatchBrokerRequestResult.each(orders, this::modifyOrder);
+    }
+
+    /**
+     * Places the specified order without waiting for the exchange round trip.
+     * Brokers with a request/response websocket pipeline the request and
+     * complete the future when the matching response arrives; the default runs
+     * {@link #placeOrder(OrderTicket)} on the shared
+     * {@link BrokerRequestExecutor}.
+     *
+     * @param order The order to place with the broker.
+     * @return a future completed with the result of the request
+     */
+    default CompletableFuture<BrokerRequestResult> placeOrderAsync(OrderTicket order) {
+        return BrokerRequestExecutor.supplyAsync(() -> placeOrder(order));
+    }
+
+    /**
+     * Asynchronous variant of {@link #cancelOrder(String)}.
+     *
+     * @param id The id of the order to cancel
+     * @return a future completed with the result of the request
+     */
+    default CompletableFuture<BrokerRequestResult> cancelOrderAsync(String id) {
+        return BrokerRequestExecutor.supplyAsync(() -> cancelOrder(id));
+    }
+
+    /**
+     * Asynchronous variant of {@link #cancelOrder(OrderTicket)}.
+     *
+     * @param order The order to cancel
+     * @return a future completed with the result of the request
+     */
+    default CompletableFuture<BrokerRequestResult> cancelOrderAsync(OrderTicket order) {
+        return BrokerRequestExecutor.supplyAsync(() -> cancelOrder(order));
+    }
+
+    /**
+     * Asynchronous variant of {@link #modifyOrder(OrderTicket)}.
+     *
+     * @param order The order to modify
+     * @return a future completed with the result of the request
+     */
+    default CompletableFuture<BrokerRequestResult> modifyOrderAsync(OrderTicket order) {
+        return BrokerRequestExecutor.supplyAsync(() -> modifyOrder(order));
+    }
+
     /**
      * Gets the next order ID, or -1 if there was a problem getting the orderId
      *
@@ -52,6 +52,7 @@ public abstract class AbstractBrokerCapabilities implements BrokerCapabilities {
 
     protected final double maxOrderSize;
     protected final double minOrderSize;
+    protected final int maxBatchSize;
 
     protected AbstractBrokerCapabilities(Builder builder) {
         this.brokerName = builder.brokerName;
@@ -73,6 +74,7 @@ public abstract class AbstractBrokerCapabilities implements BrokerCapabilities {
 
         this.maxOrderSize = builder.maxOrderSize;
         this.minOrderSize = builder.minOrderSize;
+        this.maxBatchSize = builder.maxBatchSize;
     }
 
     @Override
@@ -170,6 +172,11 @@ public abstract class AbstractBrokerCapabilities implements BrokerCapabilities {
         return minOrderSize;
     }
 
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
     @Override
     public double getMinOrderSize(Ticker ticker) {
         // Default implementation - subclasses can override for ticker-specific logic
@@ -280,6 +287,7 @@ public abstract class AbstractBrokerCapabilities implements BrokerCapabilities {
 
         private double maxOrderSize = 0.0;
         private double minOrderSize = 0.0;
+        private int maxBatchSize = 1;
 
         public Builder(String brokerName) {
             this.brokerName = brokerName;
@@ -370,6 +378,11 @@ public abstract class AbstractBrokerCapabilities implements BrokerCapabilities {
             return this;
         }
 
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
         public Builder supportedMethods(BrokerMethodCapability... methods) {
             for (BrokerMethodCapability method : methods) {
                 this.supportedMethods.add(method);
@@ -125,6 +125,12 @@ public interface BrokerCapabilities {
      */
     double getMinOrderSize();
 
+    /**
+     * Get maximum number of orders sent in a single batch request (1 means
+     * orders are sent individually, 0 means no limit)
+     */
+    int getMaxBatchSize();
+
     /**
      * Get minimum order size for a specific ticker
      */
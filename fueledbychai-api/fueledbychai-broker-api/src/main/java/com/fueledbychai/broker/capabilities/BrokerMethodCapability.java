@@ -40,6 +40,7 @@ public enum BrokerMethodCapability {
     MODIFY_ORDER("modifyOrder(OrderTicket order)", "Modify existing order"),
     MODIFY_ORDER_PRICE("modifyOrderPrice(String id, BigDecimal price)", "Modify order price only"),
     MODIFY_ORDER_SIZE("modifyOrderSize(String id, BigDecimal size)", "Modify order size only"),
+    MODIFY_ORDERS_BATCH("modifyOrders(List<OrderTicket> orders)", "Modify multiple orders in batch"),
     REPLACE_ORDER("replaceOrder(String oldId, OrderTicket newOrder)", "Replace order (cancel + new)"),
 
     // Order Query Methods
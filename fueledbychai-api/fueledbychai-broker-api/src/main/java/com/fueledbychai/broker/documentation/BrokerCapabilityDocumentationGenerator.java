@@ -125,6 +125,11 @@ public class BrokerCapabilityDocumentationGenerator {
         if (capabilities.getMinOrderSize() == 0 && capabilities.getMaxOrderSize() == 0) {
             doc.append("*No order size limits documented*\n\n");
         }
+        if (capabilities.getMaxBatchSize() == 0) {
+            doc.append("**Maximum Batch Size:** unlimited\n\n");
+        } else if (capabilities.getMaxBatchSize() > 1) {
+            doc.append("**Maximum Batch Size:** ").append(capabilities.getMaxBatchSize()).append("\n\n");
+        }
 
         // Limitations
         doc.append("## ⚠️ Limitations & Restrictions\n\n");
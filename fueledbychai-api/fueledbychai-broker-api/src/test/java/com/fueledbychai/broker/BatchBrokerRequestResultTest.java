@@ -0,0 +1,67 @@
+package com.fueledbychai.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fueledbychai.broker.BrokerRequestResult.FailureType;
+import com.fueledbychai.broker.order.OrderTicket;
+import com.fueledbychai.broker.test.TestBroker;
+
+public class BatchBrokerRequestResultTest {
+
+    @Test
+    public void defaultBatchMethodsCallSingleOrderMethodsInOrder() {
+        List<String> placed = new ArrayList<>();
+        IBroker broker = new TestBroker() {
+            @Override
+            public BrokerRequestResult placeOrder(OrderTicket order) {
+                placed.add(order.getClientOrderId());
+                if ("bad".equals(order.getClientOrderId())) {
+                    throw new IllegalStateException("rejected");
+                }
+                return new BrokerRequestResult();
+            }
+        };
+
+        BatchBrokerRequestResult result = broker.placeOrders(Arrays.asList(order("1"), order("bad"), order("3")));
+
+        assertEquals(Arrays.asList("1", "bad", "3"), placed);
+        assertFalse(result.isSuccess());
+        assertEquals(3, result.size());
+        assertTrue(result.getResult(0).isSuccess());
+        assertEquals("rejected", result.getResult(1).getMessage());
+        assertTrue(result.getResult(2).isSuccess());
+        assertEquals(1, result.getFailureCount());
+        assertEquals(FailureType.UNKNOWN, result.getFailureType());
+    }
+
+    @Test
+    public void aggregateTakesFirstFailure() {
+        BatchBrokerRequestResult result = new BatchBrokerRequestResult(Arrays.asList(new BrokerRequestResult(),
+                new BrokerRequestResult(false, false, "too small", FailureType.INVALID_SIZE),
+                new BrokerRequestResult(false, "later")));
+
+        assertFalse(result.isSuccess());
+        assertEquals(FailureType.INVALID_SIZE, result.getFailureType());
+        assertEquals("2/3 orders failed; first error: too small", result.getMessage());
+    }
+
+    @Test
+    public void emptyBatchSucceeds() {
+        assertTrue(new TestBroker().modifyOrders(null).isSuccess());
+        assertEquals(0, new BatchBrokerRequestResult(null).size());
+    }
+
+    private static OrderTicket order(String clientOrderId) {
+        OrderTicket order = new OrderTicket();
+        order.setClientOrderId(clientOrderId);
+        return order;
+    }
+}
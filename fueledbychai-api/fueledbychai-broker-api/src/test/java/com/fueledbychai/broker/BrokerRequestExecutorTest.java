@@ -0,0 +1,56 @@
+package com.fueledbychai.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.fueledbychai.broker.order.OrderTicket;
+import com.fueledbychai.broker.test.TestBroker;
+
+public class BrokerRequestExecutorTest {
+
+    @Test
+    public void defaultAsyncMethodsRunSynchronousCallsOnSharedExecutor() throws Exception {
+        AtomicReference<String> placeThread = new AtomicReference<>();
+        BrokerRequestResult placed = new BrokerRequestResult(true, "placed");
+        IBroker broker = new TestBroker() {
+            @Override
+            public BrokerRequestResult placeOrder(OrderTicket order) {
+                placeThread.set(Thread.currentThread().getName());
+                return placed;
+            }
+        };
+
+        assertSame(placed, broker.placeOrderAsync(new OrderTicket()).get(5, TimeUnit.SECONDS));
+        assertTrue(placeThread.get().startsWith("broker-request-"));
+        assertTrue(broker.cancelOrderAsync("1").get(5, TimeUnit.SECONDS).isSuccess());
+        assertTrue(broker.cancelOrderAsync(new OrderTicket()).get(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    public void supplyAsyncCompletesExceptionallyWhenRequestThrows() throws Exception {
+        CompletableFuture<BrokerRequestResult> future = BrokerRequestExecutor.supplyAsync(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("expected the request failure to propagate");
+        } catch (ExecutionException ex) {
+            assertEquals("boom", ex.getCause().getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void supplyAsyncRequiresRequest() {
+        BrokerRequestExecutor.supplyAsync(null);
+    }
+}
@@ -0,0 +1,370 @@
+package com.fueledbychai.historicaldata;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fueledbychai.data.BarData;
+import com.fueledbychai.data.Ticker;
+
+/**
+ * The on-disk form of one cached bar series: the time ranges that have been
+ * fetched and the bars inside them, stored column by column so the file can be
+ * memory-mapped and scanned one field at a time.
+ * <p>
+ * Layout, big-endian: a 32 byte header (magic, version, bar count, range
+ * count, price scale, volume scale, zone ID length, reserved), the zone ID in
+ * UTF-8, the fetched ranges as pairs of epoch millis, then seven columns of
+ * {@code count} longs each: start time in epoch millis, open, high, low and
+ * close as unscaled prices, unscaled volume and open interest. Missing prices
+ * are stored as {@link Long#MIN_VALUE}. Files are replaced atomically, so a
+ * reader never sees a partly written one.
+ */
+public class BarCacheFile {
+
+    public static final int MAGIC = 0x46424243;
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+
+    protected static final long NULL_VALUE = Long.MIN_VALUE;
+
+    protected static final int TIME = 0;
+    protected static final int OPEN = 1;
+    protected static final int HIGH = 2;
+    protected static final int LOW = 3;
+    protected static final int CLOSE = 4;
+    protected static final int VOLUME = 5;
+    protected static final int OPEN_INTEREST = 6;
+    protected static final int COLUMNS = 7;
+
+    protected final ZoneId zone;
+    protected final List<long[]> ranges;
+    protected final List<BarData> bars;
+
+    /**
+     * @param ranges the fetched [from, to) ranges in epoch millis, sorted and not
+     *               overlapping
+     * @param bars   the bars in the ranges, sorted by start time
+     */
+    public BarCacheFile(ZoneId zone, List<long[]> ranges, List<BarData> bars) {
+        if (zone == null) {
+            throw new IllegalArgumentException("zone is required");
+        }
+        if (ranges == null) {
+            throw new IllegalArgumentException("ranges are required");
+        }
+        if (bars == null) {
+            throw new IllegalArgumentException("bars are required");
+        }
+        this.zone = zone;
+        this.ranges = ranges;
+        this.bars = bars;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public List<long[]> getRanges() {
+        return ranges;
+    }
+
+    public List<BarData> getBars() {
+        return bars;
+    }
+
+    /**
+     * Maps the file and reads its header and ranges. The bars stay in the mapped
+     * columns until they are asked for.
+     */
+    public static Mapped map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a bar cache file: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a bar cache file: " + file);
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported bar cache version " + version + ": " + file);
+            }
+            buffer.getShort();
+            int count = buffer.getInt();
+            int rangeCount = buffer.getInt();
+            int priceScale = buffer.getInt();
+            int volumeScale = buffer.getInt();
+            int zoneLength = buffer.getInt();
+            buffer.getInt();
+            long expected = (long) HEADER_SIZE + zoneLength + rangeCount * 16L + count * 56L;
+            if (count < 0 || rangeCount < 0 || zoneLength < 0 || expected != size) {
+                throw new IOException("Truncated bar cache file: " + file);
+            }
+            byte[] zoneBytes = new byte[zoneLength];
+            buffer.get(zoneBytes);
+            ZoneId zone = ZoneId.of(new String(zoneBytes, StandardCharsets.UTF_8));
+
+            List<long[]> ranges = new ArrayList<>(rangeCount);
+            for (int i = 0; i < rangeCount; i++) {
+                ranges.add(new long[] { buffer.getLong(), buffer.getLong() });
+            }
+            return new Mapped(zone, ranges, buffer, buffer.position(), count, priceScale, volumeScale);
+        }
+    }
+
+    /**
+     * Maps the file and rebuilds all of its bars for the ticker.
+     */
+    public static BarCacheFile read(Path file, Ticker ticker, int barLength, BarData.LengthUnit lengthUnit)
+            throws IOException {
+        Mapped mapped = map(file);
+        List<BarData> bars = new ArrayList<>(mapped.getBarCount());
+        for (int i = 0; i < mapped.getBarCount(); i++) {
+            bars.add(mapped.getBar(i, ticker, barLength, lengthUnit));
+        }
+        return new BarCacheFile(mapped.getZone(), mapped.getRanges(), bars);
+    }
+
+    /**
+     * Writes the series to a temporary file and moves it over the target.
+     *
+     * @throws ArithmeticException if a price or volume does not fit in a long at
+     *                             the series' scale
+     */
+    public void write(Path file) throws IOException {
+        write(file, null);
+    }
+
+    /**
+     * Writes this file's ranges and its bars merged into the bars of base, so a
+     * series can grow without decoding the bars it already has. A bar here
+     * replaces a base bar with the same start time.
+     *
+     * @param base the current contents of the file, or null to write only this
+     *             file's bars
+     * @throws ArithmeticException if a price or volume does not fit in a long at
+     *                             the series' scale
+     */
+    public void write(Path file, Mapped base) throws IOException {
+        int priceScale = base == null ? 0 : base.priceScale;
+        int volumeScale = base == null ? 0 : base.volumeScale;
+        for (BarData bar : bars) {
+            priceScale = Math.max(priceScale, scaleOf(bar.getOpen()));
+            priceScale = Math.max(priceScale, scaleOf(bar.getHigh()));
+            priceScale = Math.max(priceScale, scaleOf(bar.getLow()));
+            priceScale = Math.max(priceScale, scaleOf(bar.getClose()));
+            volumeScale = Math.max(volumeScale, scaleOf(bar.getVolume()));
+        }
+
+        // each entry is a base index, or ~i for the i-th bar of this file
+        int baseCount = base == null ? 0 : base.count;
+        int[] order = new int[baseCount + bars.size()];
+        int count = 0;
+        int b = 0;
+        int n = 0;
+        while (b < baseCount || n < bars.size()) {
+            if (n == bars.size()) {
+                order[count++] = b++;
+            } else if (b == baseCount) {
+                order[count++] = ~n++;
+            } else {
+                long baseTime = base.getTime(b);
+                long time = startOf(bars.get(n));
+                if (baseTime < time) {
+                    order[count++] = b++;
+                } else {
+                    if (baseTime == time) {
+                        b++;
+                    }
+                    order[count++] = ~n++;
+                }
+            }
+        }
+
+        byte[] zoneBytes = zone.getId().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + zoneBytes.length + ranges.size() * 16 + count * 56);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(count).putInt(ranges.size())
+                .putInt(priceScale).putInt(volumeScale).putInt(zoneBytes.length).putInt(0);
+        buffer.put(zoneBytes);
+        for (long[] range : ranges) {
+            buffer.putLong(range[0]).putLong(range[1]);
+        }
+        for (int column = 0; column < COLUMNS; column++) {
+            int scale = column == VOLUME ? volumeScale : priceScale;
+            boolean scaled = column >= OPEN && column <= VOLUME;
+            for (int i = 0; i < count; i++) {
+                int entry = order[i];
+                if (entry >= 0) {
+                    long value = base.get(column, entry);
+                    int baseScale = column == VOLUME ? base.volumeScale : base.priceScale;
+                    buffer.putLong(scaled ? rescale(value, baseScale, scale) : value);
+                } else {
+                    buffer.putLong(valueOf(bars.get(~entry), column, scale));
+                }
+            }
+        }
+        buffer.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    protected static long startOf(BarData bar) {
+        return bar.getDateTime().toInstant().toEpochMilli();
+    }
+
+    protected static long valueOf(BarData bar, int column, int scale) {
+        switch (column) {
+        case TIME:
+            return startOf(bar);
+        case OPEN:
+            return toUnscaled(bar.getOpen(), scale);
+        case HIGH:
+            return toUnscaled(bar.getHigh(), scale);
+        case LOW:
+            return toUnscaled(bar.getLow(), scale);
+        case CLOSE:
+            return toUnscaled(bar.getClose(), scale);
+        case VOLUME:
+            return toUnscaled(bar.getVolume(), scale);
+        default:
+            return bar.getOpenInterest();
+        }
+    }
+
+    protected static long rescale(long unscaled, int fromScale, int toScale) {
+        long value = unscaled;
+        if (value != NULL_VALUE) {
+            for (int i = fromScale; i < toScale; i++) {
+                value = Math.multiplyExact(value, 10L);
+            }
+        }
+        return value;
+    }
+
+    protected static int scaleOf(BigDecimal value) {
+        return value == null ? 0 : Math.max(0, value.stripTrailingZeros().scale());
+    }
+
+    protected static long toUnscaled(BigDecimal value, int scale) {
+        return value == null ? NULL_VALUE : value.setScale(scale).unscaledValue().longValueExact();
+    }
+
+    protected static BigDecimal toDecimal(long unscaled, int scale) {
+        return unscaled == NULL_VALUE ? null : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * A mapped cache file. Only the header and ranges are read up front; bars are
+     * decoded from the columns when asked for, so a long series is not held on
+     * the heap.
+     */
+    public static class Mapped {
+        protected final ZoneId zone;
+        protected final List<long[]> ranges;
+        protected final ByteBuffer buffer;
+        protected final int columns;
+        protected final int count;
+        protected final int priceScale;
+        protected final int volumeScale;
+
+        protected Mapped(ZoneId zone, List<long[]> ranges, ByteBuffer buffer, int columns, int count,
+                int priceScale, int volumeScale) {
+            this.zone = zone;
+            this.ranges = ranges;
+            this.buffer = buffer;
+            this.columns = columns;
+            this.count = count;
+            this.priceScale = priceScale;
+            this.volumeScale = volumeScale;
+        }
+
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        public List<long[]> getRanges() {
+            return ranges;
+        }
+
+        public int getBarCount() {
+            return count;
+        }
+
+        public long getTime(int index) {
+            return get(TIME, index);
+        }
+
+        /**
+         * @return the index of the first bar starting at or after time, or the bar
+         *         count if there is none
+         */
+        public int indexOf(long time) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getTime(mid) < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        public BarData getBar(int index, Ticker ticker, int barLength, BarData.LengthUnit lengthUnit) {
+            ZonedDateTime start = ZonedDateTime.ofInstant(Instant.ofEpochMilli(getTime(index)), zone);
+            BarData bar = new BarData(ticker, start, toDecimal(get(OPEN, index), priceScale),
+                    toDecimal(get(HIGH, index), priceScale), toDecimal(get(LOW, index), priceScale),
+                    toDecimal(get(CLOSE, index), priceScale), toDecimal(get(VOLUME, index), volumeScale), barLength,
+                    lengthUnit);
+            bar.setOpenInterest(get(OPEN_INTEREST, index));
+            return bar;
+        }
+
+        /**
+         * @return the bars starting in [from, to), oldest first
+         */
+        public List<BarData> getBars(long from, long to, Ticker ticker, int barLength,
+                BarData.LengthUnit lengthUnit) {
+            int first = indexOf(from);
+            int last = indexOf(to);
+            List<BarData> result = new ArrayList<>(Math.max(0, last - first));
+            for (int i = first; i < last; i++) {
+                result.add(getBar(i, ticker, barLength, lengthUnit));
+            }
+            return result;
+        }
+
+        protected long get(int column, int index) {
+            return buffer.getLong(columns + (column * count + index) * 8);
+        }
+    }
+}
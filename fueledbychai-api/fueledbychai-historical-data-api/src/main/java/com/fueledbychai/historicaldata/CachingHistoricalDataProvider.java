@@ -0,0 +1,458 @@
+package com.fueledbychai.historicaldata;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fueledbychai.data.BarData;
+import com.fueledbychai.data.BarData.LengthUnit;
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.time.IClock;
+import com.fueledbychai.time.SystemClock;
+
+/**
+ * Keeps the bars returned by another provider in a local directory, one
+ * {@link BarCacheFile} per ticker, bar size, {@link ShowProperty} and RTH
+ * setting, and only asks that provider for the parts of a request it has not
+ * fetched before.
+ * <p>
+ * Only completed bars are kept: a bar that started less than one bar length
+ * ago is always fetched again. A fetched range is only marked as covered as
+ * far as the bars that came back, so an empty or capped response is asked for
+ * again next time. Requests for the same series run one at a time, so a
+ * request that arrives while another is fetching waits and is then served
+ * from what that fetch stored. Bars are served from the mapped file rather
+ * than kept on the heap. Tick, month and year bars are passed straight
+ * through.
+ */
+public class CachingHistoricalDataProvider implements IHistoricalDataProvider {
+
+    public static final String CACHE_DIR_PROPERTY = "fueledbychai.historical.cache.dir";
+
+    protected static final Logger logger = LoggerFactory.getLogger(CachingHistoricalDataProvider.class);
+
+    protected static final long SECOND_MILLIS = 1000L;
+    protected static final long MINUTE_MILLIS = 60 * SECOND_MILLIS;
+    protected static final long HOUR_MILLIS = 60 * MINUTE_MILLIS;
+    protected static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    protected static class Series {
+        protected final Path file;
+        // only used once the series cannot be written to its file
+        protected final TreeMap<Long, BarData> bars = new TreeMap<>();
+        protected final List<long[]> ranges = new ArrayList<>();
+        protected ZoneId zone;
+        protected boolean loaded;
+        protected boolean onDisk;
+        protected boolean persistent = true;
+
+        protected Series(Path file) {
+            this.file = file;
+        }
+    }
+
+    protected final IHistoricalDataProvider delegate;
+    protected final Path directory;
+    protected final Map<String, Series> seriesByKey = new ConcurrentHashMap<>();
+    protected IClock clock = SystemClock.INSTANCE;
+
+    public CachingHistoricalDataProvider(IHistoricalDataProvider delegate, Path directory) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate is required");
+        }
+        if (directory == null) {
+            throw new IllegalArgumentException("directory is required");
+        }
+        this.delegate = delegate;
+        this.directory = directory;
+    }
+
+    /**
+     * @return the cache directory from the system property or environment, or
+     *         null if caching is off
+     */
+    public static Path getConfiguredDirectory() {
+        String value = System.getProperty(CACHE_DIR_PROPERTY);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(CACHE_DIR_PROPERTY.toUpperCase().replace('.', '_'));
+        }
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return Path.of(value.trim());
+    }
+
+    public IHistoricalDataProvider getDelegate() {
+        return delegate;
+    }
+
+    public void setClock(IClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock is required");
+        }
+        this.clock = clock;
+    }
+
+    @Override
+    public void init(Properties props) {
+        delegate.init(props);
+    }
+
+    @Override
+    public LengthUnit getFinestDurationUnit() {
+        return delegate.getFinestDurationUnit();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return delegate.isConnected();
+    }
+
+    @Override
+    public void connect() {
+        delegate.connect();
+    }
+
+    @Override
+    public List<BarData> requestHistoricalData(Ticker ticker, Date endDateTime, int duration,
+            LengthUnit durationLengthUnit, int barSize, LengthUnit barSizeUnit, ShowProperty whatToShow,
+            boolean useRTH) throws IOException {
+        if (endDateTime == null) {
+            return requestHistoricalData(ticker, duration, durationLengthUnit, barSize, barSizeUnit, whatToShow,
+                    useRTH);
+        }
+        long barMillis = toMillis(barSize, barSizeUnit);
+        long durationMillis = toMillis(duration, durationLengthUnit);
+        if (barMillis <= 0 || durationMillis <= 0) {
+            return delegate.requestHistoricalData(ticker, endDateTime, duration, durationLengthUnit, barSize,
+                    barSizeUnit, whatToShow, useRTH);
+        }
+        long now = clock.currentTimeMillis();
+        long end = Math.min(endDateTime.getTime(), now);
+        return request(ticker, end - durationMillis, end, now, barMillis, durationLengthUnit, barSize, barSizeUnit,
+                whatToShow, useRTH);
+    }
+
+    @Override
+    public List<BarData> requestHistoricalData(Ticker ticker, int duration, LengthUnit durationLengthUnit,
+            int barSize, LengthUnit barSizeUnit, ShowProperty whatToShow, boolean useRTH) {
+        long barMillis = toMillis(barSize, barSizeUnit);
+        long durationMillis = toMillis(duration, durationLengthUnit);
+        if (barMillis <= 0 || durationMillis <= 0) {
+            return delegate.requestHistoricalData(ticker, duration, durationLengthUnit, barSize, barSizeUnit,
+                    whatToShow, useRTH);
+        }
+        long now = clock.currentTimeMillis();
+        try {
+            return request(ticker, now - durationMillis, now, now, barMillis, durationLengthUnit, barSize,
+                    barSizeUnit, whatToShow, useRTH);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    protected List<BarData> request(Ticker ticker, long start, long end, long now, long barMillis,
+            LengthUnit durationLengthUnit, int barSize, LengthUnit barSizeUnit, ShowProperty whatToShow,
+            boolean useRTH) throws IOException {
+        String key = seriesKey(ticker, barSize, barSizeUnit, whatToShow, useRTH);
+        Series series = seriesByKey.computeIfAbsent(key, k -> new Series(directory.resolve(k + ".bars")));
+        synchronized (series) {
+            load(series);
+            // a bar starting at or after this is still forming and must not be kept
+            long settled = now - barMillis;
+            TreeMap<Long, BarData> fetchedBars = new TreeMap<>();
+            TreeMap<Long, BarData> unsettled = new TreeMap<>();
+            boolean changed = false;
+            for (long[] gap : missingRanges(series.ranges, start, end)) {
+                List<BarData> fetched = fetch(ticker, gap[0], gap[1], now, settled, durationLengthUnit, barSize,
+                        barSizeUnit, whatToShow, useRTH);
+                long coveredTo = Math.min(gap[1], settled);
+                long first = Long.MAX_VALUE;
+                long last = Long.MIN_VALUE;
+                for (BarData bar : fetched) {
+                    if (bar == null || bar.getDateTime() == null) {
+                        continue;
+                    }
+                    long time = bar.getDateTime().toInstant().toEpochMilli();
+                    if (time < settled) {
+                        fetchedBars.put(time, bar);
+                        changed = true;
+                        if (series.zone == null) {
+                            series.zone = bar.getDateTime().getZone();
+                        }
+                        if (time >= gap[0] && time < coveredTo) {
+                            first = Math.min(first, time);
+                            last = Math.max(last, time);
+                        }
+                    } else {
+                        unsettled.put(time, bar);
+                    }
+                }
+                if (first == Long.MAX_VALUE) {
+                    // nothing came back for the gap, so it is asked for again next time
+                    continue;
+                }
+                // less than a bar at either end cannot hold a missing bar
+                long coveredFrom = first - gap[0] < barMillis ? gap[0] : first;
+                long coveredEnd = coveredTo - (last + barMillis) < barMillis ? coveredTo : last + barMillis;
+                addRange(series.ranges, coveredFrom, coveredEnd);
+            }
+            if (changed) {
+                save(series, fetchedBars, ticker, barSize, barSizeUnit);
+            }
+
+            List<BarData> result = cachedBars(series, start, end, fetchedBars, ticker, barSize, barSizeUnit);
+            result.addAll(unsettled.subMap(start, true, end, false).values());
+            return result;
+        }
+    }
+
+    /**
+     * @return the stored bars starting in [start, end), read from the mapped
+     *         file unless the series is held in memory
+     */
+    protected List<BarData> cachedBars(Series series, long start, long end, TreeMap<Long, BarData> fetchedBars,
+            Ticker ticker, int barSize, LengthUnit barSizeUnit) {
+        List<BarData> result = new ArrayList<>();
+        if (!series.persistent) {
+            for (BarData bar : series.bars.subMap(start, true, end, false).values()) {
+                result.add(copy(bar, ticker));
+            }
+            return result;
+        }
+        if (!series.onDisk) {
+            return result;
+        }
+        try {
+            return BarCacheFile.map(series.file).getBars(start, end, ticker, barSize, barSizeUnit);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to read bar cache {}, fetching it again next time", series.file, e);
+            series.ranges.clear();
+            series.onDisk = false;
+            for (BarData bar : fetchedBars.subMap(start, true, end, false).values()) {
+                result.add(copy(bar, ticker));
+            }
+            return result;
+        }
+    }
+
+    protected List<BarData> fetch(Ticker ticker, long from, long to, long now, long settled,
+            LengthUnit durationLengthUnit, int barSize, LengthUnit barSizeUnit, ShowProperty whatToShow,
+            boolean useRTH) throws IOException {
+        // a gap that reaches the present is asked for as a lookback, which every
+        // provider supports; so is an older gap when the delegate cannot end a
+        // request in the past, keeping only the bars inside the gap
+        boolean lookback = to > settled || !delegate.supportsEndDateTime();
+        // a gap shorter than one of the caller's units is sized in the delegate's
+        // finest unit, so a restart does not fetch a whole day for a few minutes
+        long gap = (lookback ? now : to) - from;
+        LengthUnit unit = durationLengthUnit;
+        long unitMillis = toMillis(1, unit);
+        LengthUnit finest = delegate.getFinestDurationUnit();
+        long finestMillis = toMillis(1, finest);
+        if (finestMillis > 0 && finestMillis < unitMillis && gap < unitMillis) {
+            unit = finest;
+            unitMillis = finestMillis;
+        }
+        int duration = durationFor(gap, unitMillis);
+        List<BarData> fetched;
+        if (!lookback) {
+            fetched = delegate.requestHistoricalData(ticker, new Date(to), duration, unit, barSize, barSizeUnit,
+                    whatToShow, useRTH);
+        } else if (to > settled) {
+            fetched = delegate.requestHistoricalData(ticker, duration, unit, barSize, barSizeUnit, whatToShow,
+                    useRTH);
+        } else {
+            fetched = slice(delegate.requestHistoricalData(ticker, duration, unit, barSize, barSizeUnit,
+                    whatToShow, useRTH), from, to);
+        }
+        return fetched == null ? new ArrayList<>() : fetched;
+    }
+
+    /**
+     * @return the bars starting in [from, to)
+     */
+    protected static List<BarData> slice(List<BarData> bars, long from, long to) {
+        List<BarData> result = new ArrayList<>();
+        if (bars == null) {
+            return result;
+        }
+        for (BarData bar : bars) {
+            if (bar == null || bar.getDateTime() == null) {
+                continue;
+            }
+            long time = bar.getDateTime().toInstant().toEpochMilli();
+            if (time >= from && time < to) {
+                result.add(bar);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the zone and fetched ranges of the series' file; its bars are read
+     * from the mapped file per request.
+     */
+    protected void load(Series series) {
+        if (series.loaded) {
+            return;
+        }
+        series.loaded = true;
+        if (!Files.exists(series.file)) {
+            return;
+        }
+        try {
+            BarCacheFile.Mapped cached = BarCacheFile.map(series.file);
+            series.zone = cached.getZone();
+            series.ranges.addAll(cached.getRanges());
+            series.onDisk = true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable bar cache {}", series.file, e);
+            series.ranges.clear();
+        }
+    }
+
+    /**
+     * Merges the fetched bars into the series' file. If the file cannot take
+     * them, the series is moved to memory and kept there.
+     */
+    protected void save(Series series, TreeMap<Long, BarData> fetchedBars, Ticker ticker, int barSize,
+            LengthUnit barSizeUnit) {
+        if (!series.persistent) {
+            series.bars.putAll(fetchedBars);
+            return;
+        }
+        ZoneId zone = series.zone == null ? IClock.UTC : series.zone;
+        try {
+            BarCacheFile.Mapped base = series.onDisk ? BarCacheFile.map(series.file) : null;
+            new BarCacheFile(zone, series.ranges, new ArrayList<>(fetchedBars.values())).write(series.file, base);
+            series.onDisk = true;
+            return;
+        } catch (ArithmeticException e) {
+            logger.warn("Bars for {} do not fit the cache format, keeping them in memory only", series.file, e);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write bar cache {}, keeping it in memory only", series.file, e);
+        }
+        series.persistent = false;
+        if (series.onDisk) {
+            try {
+                for (BarData bar : BarCacheFile.read(series.file, ticker, barSize, barSizeUnit).getBars()) {
+                    series.bars.put(bar.getDateTime().toInstant().toEpochMilli(), bar);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable bar cache {}", series.file, e);
+                series.ranges.clear();
+            }
+        }
+        series.bars.putAll(fetchedBars);
+    }
+
+    /**
+     * @return the parts of [start, end) not covered by the sorted ranges
+     */
+    protected static List<long[]> missingRanges(List<long[]> ranges, long start, long end) {
+        List<long[]> missing = new ArrayList<>();
+        long cursor = start;
+        for (long[] range : ranges) {
+            if (range[1] <= cursor) {
+                continue;
+            }
+            if (range[0] >= end) {
+                break;
+            }
+            if (range[0] > cursor) {
+                missing.add(new long[] { cursor, range[0] });
+            }
+            cursor = range[1];
+        }
+        if (cursor < end) {
+            missing.add(new long[] { cursor, end });
+        }
+        return missing;
+    }
+
+    /**
+     * Adds [from, to) to the sorted ranges, merging any it touches.
+     */
+    protected static void addRange(List<long[]> ranges, long from, long to) {
+        List<long[]> merged = new ArrayList<>(ranges.size() + 1);
+        int i = 0;
+        while (i < ranges.size() && ranges.get(i)[1] < from) {
+            merged.add(ranges.get(i++));
+        }
+        while (i < ranges.size() && ranges.get(i)[0] <= to) {
+            from = Math.min(from, ranges.get(i)[0]);
+            to = Math.max(to, ranges.get(i)[1]);
+            i++;
+        }
+        merged.add(new long[] { from, to });
+        while (i < ranges.size()) {
+            merged.add(ranges.get(i++));
+        }
+        ranges.clear();
+        ranges.addAll(merged);
+    }
+
+    /**
+     * @return the length in millis, or -1 for units without a fixed length
+     */
+    protected static long toMillis(int amount, LengthUnit unit) {
+        if (amount <= 0 || amount == Integer.MAX_VALUE || unit == null) {
+            return -1;
+        }
+        switch (unit) {
+        case SECOND:
+            return amount * SECOND_MILLIS;
+        case MINUTE:
+            return amount * MINUTE_MILLIS;
+        case HOUR:
+            return amount * HOUR_MILLIS;
+        case DAY:
+            return amount * DAY_MILLIS;
+        case WEEK:
+            return amount * 7 * DAY_MILLIS;
+        default:
+            return -1;
+        }
+    }
+
+    protected static int durationFor(long millis, long unitMillis) {
+        long units = (millis + unitMillis - 1) / unitMillis;
+        return (int) Math.max(1, Math.min(units, Integer.MAX_VALUE - 1));
+    }
+
+    protected static String seriesKey(Ticker ticker, int barSize, LengthUnit barSizeUnit, ShowProperty whatToShow,
+            boolean useRTH) {
+        StringBuilder key = new StringBuilder();
+        key.append(ticker.getExchange() == null ? "NONE" : ticker.getExchange().getExchangeName()).append('_')
+                .append(ticker.getSymbol()).append('_').append(ticker.getInstrumentType());
+        if (ticker.getExpiryYear() > 0) {
+            key.append('_').append(ticker.getExpiryYear()).append('-').append(ticker.getExpiryMonth()).append('-')
+                    .append(ticker.getExpiryDay());
+        }
+        if (ticker.getStrike() != null) {
+            key.append('_').append(ticker.getStrike().toPlainString()).append(ticker.getRight());
+        }
+        key.append('_').append(barSize).append(barSizeUnit).append('_').append(whatToShow).append('_')
+                .append(useRTH ? "RTH" : "ALL");
+        return key.toString().replaceAll("[^A-Za-z0-9._-]", "-");
+    }
+
+    protected static BarData copy(BarData bar, Ticker ticker) {
+        BarData copy = new BarData(ticker, bar.getDateTime(), bar.getOpen(), bar.getHigh(), bar.getLow(),
+                bar.getClose(), bar.getVolume(), bar.getBarLength(), bar.getLengthUnit());
+        copy.setOpenInterest(bar.getOpenInterest());
+        return copy;
+    }
+}
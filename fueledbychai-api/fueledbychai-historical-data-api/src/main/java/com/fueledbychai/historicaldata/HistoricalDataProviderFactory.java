@@ -19,6 +19,7 @@
  */
 package com.fueledbychai.historicaldata;
 
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
@@ -84,6 +85,10 @@ public final class HistoricalDataProviderFactory {
                 throw new IllegalStateException(
                         "HistoricalDataProvider provider returned null for exchange " + exchange.getExchangeName());
             }
+            Path cacheDirectory = CachingHistoricalDataProvider.getConfiguredDirectory();
+            if (cacheDirectory != null) {
+                created = new CachingHistoricalDataProvider(created, cacheDirectory);
+            }
             registerProvider(exchange, created);
             return created;
         }
@@ -87,6 +87,27 @@ public interface IHistoricalDataProvider {
                         BarData.LengthUnit durationLengthUnit, int barSize, BarData.LengthUnit barSizeUnit,
                         ShowProperty whatToShow, boolean useRTH);
 
+        /**
+         * Returns the finest unit this provider accepts for a lookback duration, so
+         * a short request can be sized in that unit instead of being rounded up to
+         * a whole day or hour.
+         * 
+         * @return the finest duration unit, or null if the provider does not say
+         */
+        public default BarData.LengthUnit getFinestDurationUnit() {
+                return null;
+        }
+
+        /**
+         * Says whether the provider serves requests that end at a given time, or
+         * only lookbacks that end now.
+         * 
+         * @return true if the request taking an end date time is supported
+         */
+        public default boolean supportsEndDateTime() {
+                return true;
+        }
+
         /**
          * Checks to see if the application is connected to the historical data provider
          * 
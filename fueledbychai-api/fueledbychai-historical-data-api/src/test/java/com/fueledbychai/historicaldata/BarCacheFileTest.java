@@ -0,0 +1,103 @@
+package com.fueledbychai.historicaldata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fueledbychai.data.BarData;
+import com.fueledbychai.data.BarData.LengthUnit;
+import com.fueledbychai.data.Ticker;
+
+public class BarCacheFileTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private final Ticker ticker = new Ticker("BTC");
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("bar-cache", ".bars");
+        Files.delete(file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void mergedWriteKeepsOrderReplacesBarsAndRescalesTheBase() throws IOException {
+        List<BarData> base = new ArrayList<>();
+        base.add(bar(0, "10.5", "2"));
+        base.add(bar(2, "11", null));
+        base.add(bar(4, "12.5", "3"));
+        List<long[]> ranges = new ArrayList<>();
+        ranges.add(new long[] { 0, 5 * MINUTE });
+        new BarCacheFile(UTC, ranges, base).write(file);
+
+        List<BarData> added = new ArrayList<>();
+        added.add(bar(1, "10.75", "0.25"));
+        added.add(bar(2, "11.125", "1"));
+        added.add(bar(6, "13", "4"));
+        ranges.set(0, new long[] { 0, 7 * MINUTE });
+        new BarCacheFile(UTC, ranges, added).write(file, BarCacheFile.map(file));
+
+        BarCacheFile.Mapped mapped = BarCacheFile.map(file);
+        assertEquals(5, mapped.getBarCount());
+        assertEquals(1, mapped.getRanges().size());
+        assertEquals(7 * MINUTE, mapped.getRanges().get(0)[1]);
+
+        List<BarData> bars = mapped.getBars(0, 7 * MINUTE, ticker, 1, LengthUnit.MINUTE);
+        assertEquals(List.of(0L, MINUTE, 2 * MINUTE, 4 * MINUTE, 6 * MINUTE),
+                List.of(start(bars.get(0)), start(bars.get(1)), start(bars.get(2)), start(bars.get(3)),
+                        start(bars.get(4))));
+        assertEquals(0, new BigDecimal("10.5").compareTo(bars.get(0).getClose()));
+        assertEquals(0, new BigDecimal("2").compareTo(bars.get(0).getVolume()));
+        assertEquals(0, new BigDecimal("11.125").compareTo(bars.get(2).getClose()));
+        assertEquals(0, new BigDecimal("12.5").compareTo(bars.get(3).getClose()));
+        assertEquals(0, new BigDecimal("0.25").compareTo(bars.get(1).getVolume()));
+    }
+
+    @Test
+    public void rangeReadsDecodeOnlyTheRequestedBars() throws IOException {
+        List<BarData> bars = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bars.add(bar(i, "100", null));
+        }
+        new BarCacheFile(UTC, new ArrayList<>(), bars).write(file);
+        BarCacheFile.Mapped mapped = BarCacheFile.map(file);
+
+        List<BarData> middle = mapped.getBars(3 * MINUTE - 1, 6 * MINUTE, ticker, 1, LengthUnit.MINUTE);
+        assertEquals(3, middle.size());
+        assertEquals(3 * MINUTE, start(middle.get(0)));
+        assertEquals(5 * MINUTE, start(middle.get(2)));
+        assertNull(middle.get(0).getVolume());
+        assertEquals(10, mapped.indexOf(Long.MAX_VALUE));
+        assertEquals(0, mapped.indexOf(Long.MIN_VALUE));
+    }
+
+    private BarData bar(int minute, String close, String volume) {
+        BigDecimal price = new BigDecimal(close);
+        return new BarData(ticker, ZonedDateTime.ofInstant(Instant.ofEpochMilli(minute * MINUTE), UTC), price, price,
+                price, price, volume == null ? null : new BigDecimal(volume), 1, LengthUnit.MINUTE);
+    }
+
+    private static long start(BarData bar) {
+        return bar.getDateTime().toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,350 @@
+package com.fueledbychai.historicaldata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fueledbychai.data.BarData;
+import com.fueledbychai.data.BarData.LengthUnit;
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.historicaldata.IHistoricalDataProvider.ShowProperty;
+import com.fueledbychai.time.VirtualClock;
+
+public class CachingHistoricalDataProviderTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long START = ZonedDateTime.of(2024, 3, 1, 12, 0, 0, 0, ZoneId.of("UTC")).toInstant()
+            .toEpochMilli();
+
+    private final Ticker btc = new Ticker("BTC").setExchange(Exchange.REPLAY);
+
+    private Path directory;
+    private VirtualClock clock;
+    private MinuteBarProvider source;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("bar-cache-test");
+        clock = new VirtualClock(START, 1);
+        source = new MinuteBarProvider(clock);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testOnlyTheMissingTailIsFetched() {
+        CachingHistoricalDataProvider cache = newCache();
+
+        List<BarData> first = cache.requestHistoricalData(btc, 60, LengthUnit.MINUTE, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+        assertEquals(60, first.size());
+        assertEquals(1, source.calls.get());
+        assertEquals(60, source.lastDuration);
+
+        clock.advanceTo(START + 10 * MINUTE);
+        List<BarData> second = cache.requestHistoricalData(btc, 60, LengthUnit.MINUTE, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+
+        assertEquals(2, source.calls.get());
+        assertEquals(11, source.lastDuration);
+        assertEquals(60, second.size());
+        assertEquals(START - 50 * MINUTE, second.get(0).getDateTime().toInstant().toEpochMilli());
+        assertEquals(START + 9 * MINUTE, second.get(59).getDateTime().toInstant().toEpochMilli());
+        assertSame(btc, second.get(0).getTicker());
+        assertEquals(new BigDecimal("100.25").add(BigDecimal.valueOf(-50)), second.get(0).getClose());
+    }
+
+    @Test
+    public void testCachedBarsSurviveANewInstance() throws IOException {
+        newCache().requestHistoricalData(btc, 120, LengthUnit.MINUTE, 1, LengthUnit.MINUTE, ShowProperty.TRADES,
+                false);
+        assertEquals(1, source.calls.get());
+
+        CachingHistoricalDataProvider reopened = newCache();
+        List<BarData> bars = reopened.requestHistoricalData(btc, new Date(START - 30 * MINUTE), 60,
+                LengthUnit.MINUTE, 1, LengthUnit.MINUTE, ShowProperty.TRADES, false);
+
+        assertEquals(1, source.calls.get());
+        assertEquals(60, bars.size());
+        BarData bar = bars.get(0);
+        assertEquals(START - 90 * MINUTE, bar.getDateTime().toInstant().toEpochMilli());
+        assertEquals(new BigDecimal("10.25"), bar.getClose());
+        assertEquals(new BigDecimal("1.5"), bar.getVolume());
+        assertEquals(7, bar.getOpenInterest());
+        assertEquals(LengthUnit.MINUTE, bar.getLengthUnit());
+    }
+
+    @Test
+    public void testSeriesAreKeptApart() {
+        CachingHistoricalDataProvider cache = newCache();
+        cache.requestHistoricalData(btc, 30, LengthUnit.MINUTE, 1, LengthUnit.MINUTE, ShowProperty.TRADES, false);
+        cache.requestHistoricalData(btc, 30, LengthUnit.MINUTE, 1, LengthUnit.MINUTE, ShowProperty.MIDPOINT, false);
+        cache.requestHistoricalData(btc, 30, LengthUnit.MINUTE, 1, LengthUnit.MINUTE, ShowProperty.TRADES, true);
+
+        assertEquals(3, source.calls.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneFetch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        source.gate = release;
+        CachingHistoricalDataProvider cache = newCache();
+        Date end = new Date(START - 60 * MINUTE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<BarData>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.requestHistoricalData(btc, end, 30, LengthUnit.MINUTE, 1,
+                        LengthUnit.MINUTE, ShowProperty.TRADES, false)));
+            }
+            assertTrue(source.entered.await(5, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<List<BarData>> result : results) {
+                assertEquals(30, result.get(5, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, source.calls.get());
+    }
+
+    @Test
+    public void testDayLookbackOnlyFetchesTheMinutesMissedWhileStopped() {
+        List<BarData> first = newCache().requestHistoricalData(btc, 1, LengthUnit.DAY, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+        assertEquals(1440, first.size());
+        assertEquals(1, source.lastDuration);
+        assertEquals(LengthUnit.DAY, source.lastDurationUnit);
+
+        clock.advanceTo(START + 5 * MINUTE);
+        List<BarData> restarted = newCache().requestHistoricalData(btc, 1, LengthUnit.DAY, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+
+        assertEquals(2, source.calls.get());
+        assertEquals(6, source.lastDuration);
+        assertEquals(LengthUnit.MINUTE, source.lastDurationUnit);
+        assertEquals(1440, restarted.size());
+        assertEquals(START + 5 * MINUTE - 1440 * MINUTE, restarted.get(0).getDateTime().toInstant().toEpochMilli());
+        assertEquals(START + 4 * MINUTE, restarted.get(1439).getDateTime().toInstant().toEpochMilli());
+    }
+
+    @Test
+    public void testEmptyResponseIsNotRecordedAsCovered() throws IOException {
+        CachingHistoricalDataProvider cache = newCache();
+        Date end = new Date(START - 60 * MINUTE);
+        source.empty = true;
+        assertTrue(cache.requestHistoricalData(btc, end, 30, LengthUnit.MINUTE, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false).isEmpty());
+
+        source.empty = false;
+        List<BarData> bars = cache.requestHistoricalData(btc, end, 30, LengthUnit.MINUTE, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+
+        assertEquals(2, source.calls.get());
+        assertEquals(30, bars.size());
+    }
+
+    @Test
+    public void testCappedResponseOnlyCoversTheBarsReturned() {
+        CachingHistoricalDataProvider cache = newCache();
+        source.maxBars = 30;
+        List<BarData> capped = cache.requestHistoricalData(btc, 60, LengthUnit.MINUTE, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+        assertEquals(30, capped.size());
+
+        source.maxBars = 0;
+        List<BarData> bars = cache.requestHistoricalData(btc, 60, LengthUnit.MINUTE, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+
+        // the missing head and the forming bar are fetched, the cached middle is not
+        assertEquals(3, source.calls.get());
+        assertEquals(60, bars.size());
+        assertEquals(START - 60 * MINUTE, bars.get(0).getDateTime().toInstant().toEpochMilli());
+        assertEquals(START - MINUTE, bars.get(59).getDateTime().toInstant().toEpochMilli());
+    }
+
+    @Test
+    public void testStoredBarsAreServedFromTheFileNotTheHeap() {
+        CachingHistoricalDataProvider cache = newCache();
+        cache.requestHistoricalData(btc, 120, LengthUnit.MINUTE, 1, LengthUnit.MINUTE, ShowProperty.TRADES, false);
+        clock.advanceTo(START + 10 * MINUTE);
+        List<BarData> bars = cache.requestHistoricalData(btc, 120, LengthUnit.MINUTE, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+
+        assertEquals(120, bars.size());
+        assertFalse(cache.seriesByKey.isEmpty());
+        for (CachingHistoricalDataProvider.Series series : cache.seriesByKey.values()) {
+            assertTrue(series.persistent);
+            assertTrue(series.bars.isEmpty());
+        }
+    }
+
+    @Test
+    public void testOlderGapIsALookbackWhenTheProviderCannotEndInThePast() throws IOException {
+        source.endDated = false;
+        CachingHistoricalDataProvider cache = newCache();
+        cache.requestHistoricalData(btc, 30, LengthUnit.MINUTE, 1, LengthUnit.MINUTE, ShowProperty.TRADES, false);
+
+        List<BarData> older = cache.requestHistoricalData(btc, new Date(START - 30 * MINUTE), 60, LengthUnit.MINUTE,
+                1, LengthUnit.MINUTE, ShowProperty.TRADES, false);
+
+        assertEquals(2, source.calls.get());
+        assertEquals(90, source.lastDuration);
+        assertEquals(60, older.size());
+        assertEquals(START - 90 * MINUTE, older.get(0).getDateTime().toInstant().toEpochMilli());
+        assertEquals(START - 31 * MINUTE, older.get(59).getDateTime().toInstant().toEpochMilli());
+
+        List<BarData> all = cache.requestHistoricalData(btc, 90, LengthUnit.MINUTE, 1, LengthUnit.MINUTE,
+                ShowProperty.TRADES, false);
+
+        // only the forming bar is asked for again
+        assertEquals(3, source.calls.get());
+        assertEquals(1, source.lastDuration);
+        assertEquals(90, all.size());
+    }
+
+    @Test
+    public void testMonthlyBarsPassThrough() {
+        CachingHistoricalDataProvider cache = newCache();
+        cache.requestHistoricalData(btc, 1, LengthUnit.YEAR, 1, LengthUnit.MONTH, ShowProperty.TRADES, false);
+        cache.requestHistoricalData(btc, 1, LengthUnit.YEAR, 1, LengthUnit.MONTH, ShowProperty.TRADES, false);
+
+        assertEquals(2, source.calls.get());
+    }
+
+    private CachingHistoricalDataProvider newCache() {
+        CachingHistoricalDataProvider cache = new CachingHistoricalDataProvider(source, directory);
+        cache.setClock(clock);
+        return cache;
+    }
+
+    /**
+     * Returns one bar per minute, with a close that encodes the bar's offset from
+     * START, and counts the calls.
+     */
+    private static class MinuteBarProvider implements IHistoricalDataProvider {
+        private final VirtualClock clock;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile int lastDuration;
+        private volatile LengthUnit lastDurationUnit;
+        private volatile boolean empty;
+        private volatile int maxBars;
+        private volatile boolean endDated = true;
+
+        private MinuteBarProvider(VirtualClock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void init(Properties props) {
+            // no-op
+        }
+
+        @Override
+        public List<BarData> requestHistoricalData(Ticker ticker, Date endDateTime, int duration,
+                LengthUnit durationLengthUnit, int barSize, LengthUnit barSizeUnit, ShowProperty whatToShow,
+                boolean useRTH) throws IOException {
+            if (!endDated) {
+                throw new UnsupportedOperationException("Not yet implemented");
+            }
+            return bars(ticker, endDateTime.getTime(), duration, durationLengthUnit, barSizeUnit);
+        }
+
+        @Override
+        public List<BarData> requestHistoricalData(Ticker ticker, int duration, LengthUnit durationLengthUnit,
+                int barSize, LengthUnit barSizeUnit, ShowProperty whatToShow, boolean useRTH) {
+            return bars(ticker, clock.currentTimeMillis(), duration, durationLengthUnit, barSizeUnit);
+        }
+
+        @Override
+        public LengthUnit getFinestDurationUnit() {
+            return LengthUnit.MINUTE;
+        }
+
+        @Override
+        public boolean supportsEndDateTime() {
+            return endDated;
+        }
+
+        private List<BarData> bars(Ticker ticker, long end, int duration, LengthUnit durationLengthUnit,
+                LengthUnit barSizeUnit) {
+            calls.incrementAndGet();
+            lastDuration = duration;
+            lastDurationUnit = durationLengthUnit;
+            entered.countDown();
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<BarData> bars = new ArrayList<>();
+            if (barSizeUnit != LengthUnit.MINUTE || empty) {
+                return bars;
+            }
+            long unitMillis = durationLengthUnit == LengthUnit.DAY ? 1440 * MINUTE : MINUTE;
+            long from = end - duration * unitMillis;
+            if (maxBars > 0) {
+                // like a provider with a page cap, only the latest bars come back
+                from = Math.max(from, end - maxBars * MINUTE);
+            }
+            for (long time = from; time < end; time += MINUTE) {
+                BigDecimal close = new BigDecimal("100.25").add(BigDecimal.valueOf((time - START) / MINUTE));
+                BarData bar = new BarData(ticker, ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.of("UTC")),
+                        close, close, close, close, new BigDecimal("1.5"), 1, LengthUnit.MINUTE);
+                bar.setOpenInterest(7);
+                bars.add(bar);
+            }
+            return bars;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public void connect() {
+            // no-op
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fueledbychai.marketdata;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Level 1 listener wrapper that conflates quotes for a slow listener, either
+ * keeping only the latest quote or merging the fields of all undelivered quotes.
+ */
+public class ConflatingLevel1QuoteListener extends ConflatingQuoteListener<ILevel1Quote>
+        implements Level1QuoteListener {
+
+    protected final Level1QuoteListener delegate;
+
+    public ConflatingLevel1QuoteListener(Level1QuoteListener delegate, QuoteConflationPolicy policy,
+            Executor executor, QuoteConflationStats stats) {
+        super(policy, executor, stats);
+        if (delegate == null) {
+            throw new IllegalArgumentException("Listener is required");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void quoteRecieved(ILevel1Quote quote) {
+        offer(quote);
+    }
+
+    @Override
+    protected ILevel1Quote conflate(ILevel1Quote pending, ILevel1Quote latest) {
+        if (policy == QuoteConflationPolicy.MERGE) {
+            return merge(pending, latest);
+        }
+        return latest;
+    }
+
+    @Override
+    protected void deliver(ILevel1Quote quote) {
+        delegate.quoteRecieved(quote);
+    }
+
+    @Override
+    public Level1QuoteListener getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Builds a quote holding every value from both quotes, with values and clears
+     * in the later quote taking precedence.
+     */
+    public static ILevel1Quote merge(ILevel1Quote earlier, ILevel1Quote later) {
+        Level1Quote merged = new Level1Quote(later.getTicker(), later.getTimeStamp());
+        for (QuoteType type : earlier.getTypes()) {
+            merged.addQuote(type, earlier.getValue(type));
+        }
+        for (QuoteType type : earlier.getClearedTypes()) {
+            merged.clearQuote(type);
+        }
+        for (QuoteType type : later.getTypes()) {
+            merged.addQuote(type, later.getValue(type));
+        }
+        for (QuoteType type : later.getClearedTypes()) {
+            merged.clearQuote(type);
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,43 @@
+package com.fueledbychai.marketdata;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Level 2 listener wrapper that delivers only the most recent book for a slow
+ * listener. Each Level 2 quote is a full book, so both conflating policies keep the
+ * latest one.
+ */
+public class ConflatingLevel2QuoteListener extends ConflatingQuoteListener<ILevel2Quote>
+        implements Level2QuoteListener {
+
+    protected final Level2QuoteListener delegate;
+
+    public ConflatingLevel2QuoteListener(Level2QuoteListener delegate, QuoteConflationPolicy policy,
+            Executor executor, QuoteConflationStats stats) {
+        super(policy, executor, stats);
+        if (delegate == null) {
+            throw new IllegalArgumentException("Listener is required");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void level2QuoteReceived(ILevel2Quote quote) {
+        offer(quote);
+    }
+
+    @Override
+    protected ILevel2Quote conflate(ILevel2Quote pending, ILevel2Quote latest) {
+        return latest;
+    }
+
+    @Override
+    protected void deliver(ILevel2Quote quote) {
+        delegate.level2QuoteReceived(quote);
+    }
+
+    @Override
+    public Level2QuoteListener getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,139 @@
+package com.fueledbychai.marketdata;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class for listener wrappers that hold at most one undelivered quote for a
+ * slow listener.
+ * <p>
+ * Incoming quotes are folded into a single pending slot and a drain task is
+ * scheduled on the executor only when no drain is already running, so a listener
+ * that falls behind never has more than one quote and one task queued for it. The
+ * drain delivers to the wrapped listener on one thread at a time.
+ * <p>
+ * Quotes must be offered in the order they were produced, so the quote engine
+ * calls the wrapper on the firing thread rather than through its executor.
+ *
+ * @param <Q> the quote type delivered to the wrapped listener
+ */
+public abstract class ConflatingQuoteListener<Q> {
+
+    protected static final Logger logger = LoggerFactory.getLogger(ConflatingQuoteListener.class);
+
+    protected final QuoteConflationPolicy policy;
+    protected final Executor executor;
+    protected final QuoteConflationStats stats;
+    protected final AtomicReference<Q> pending = new AtomicReference<>();
+    protected final AtomicBoolean draining = new AtomicBoolean();
+    protected volatile boolean closed;
+
+    protected ConflatingQuoteListener(QuoteConflationPolicy policy, Executor executor, QuoteConflationStats stats) {
+        if (policy == null || policy == QuoteConflationPolicy.NONE) {
+            throw new IllegalArgumentException("A conflating policy is required");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        this.policy = policy;
+        this.executor = executor;
+        this.stats = stats == null ? new QuoteConflationStats() : stats;
+    }
+
+    /**
+     * Conflates the quote into the pending slot and makes sure a drain is
+     * scheduled.
+     */
+    protected void offer(Q quote) {
+        if (closed) {
+            stats.recordDropped();
+            return;
+        }
+        Q previous;
+        Q next;
+        do {
+            previous = pending.get();
+            next = previous == null ? quote : conflate(previous, quote);
+        } while (!pending.compareAndSet(previous, next));
+        if (previous != null) {
+            stats.recordConflated();
+        }
+        scheduleDrain();
+    }
+
+    protected void scheduleDrain() {
+        if (pending.get() == null || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            if (pending.getAndSet(null) != null) {
+                stats.recordDropped();
+            }
+            logger.warn("Unable to schedule conflated quote delivery for {}", getDelegate(), e);
+        }
+    }
+
+    protected void drain() {
+        try {
+            Q quote;
+            while ((quote = pending.getAndSet(null)) != null) {
+                if (closed) {
+                    stats.recordDropped();
+                    return;
+                }
+                try {
+                    deliver(quote);
+                } catch (Throwable ex) {
+                    logger.warn("Error processing conflated quote for listener", ex);
+                }
+                stats.recordDelivered();
+            }
+        } finally {
+            draining.set(false);
+        }
+        // a quote may have arrived between the last poll and releasing the drain
+        scheduleDrain();
+    }
+
+    /**
+     * Stops delivery. A quote still pending is counted as dropped.
+     */
+    public void close() {
+        closed = true;
+        if (pending.getAndSet(null) != null) {
+            stats.recordDropped();
+        }
+    }
+
+    public QuoteConflationPolicy getPolicy() {
+        return policy;
+    }
+
+    public QuoteConflationStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Combines an undelivered quote with a newer one.
+     *
+     * @param pending the quote waiting to be delivered
+     * @param latest  the quote that just arrived
+     * @return the quote to deliver in place of both
+     */
+    protected abstract Q conflate(Q pending, Q latest);
+
+    protected abstract void deliver(Q quote);
+
+    /**
+     * @return the listener this wrapper delivers to
+     */
+    public abstract Object getDelegate();
+}
@@ -23,6 +23,8 @@ package com.fueledbychai.marketdata;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 
+import com.fueledbychai.data.FixedPoint;
+
 /**
  * Level1 Quotes will implement this interface which provides a means to get the
  * value of the quote.
@@ -39,4 +41,17 @@ public interface ILevel1Quote extends IQuote {
      */
     public BigDecimal getValue(QuoteType type);
 
+    /**
+     * The value of this quote as a fixed-point long at the requested scale, e.g.
+     * a bid of 101.25 at scale 2 is 10125. Digits beyond the scale are rounded
+     * half-up.
+     * 
+     * @param type  The quote type to read
+     * @param scale The number of decimal places in the returned value
+     * @return The scaled quote value.
+     */
+    public default long getScaledValue(QuoteType type, int scale) {
+        return FixedPoint.toScaled(getValue(type), scale);
+    }
+
 }
@@ -0,0 +1,72 @@
+package com.fueledbychai.marketdata;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fueledbychai.data.Ticker;
+
+/**
+ * Bounded pool of {@link PrimitiveLevel1Quote} instances so engines can publish
+ * level 1 updates without allocating a quote per update.
+ * <p>
+ * A quote returned by {@link #acquire(Ticker, ZonedDateTime)} holds one
+ * reference. Code that hands the quote to several asynchronous consumers should
+ * {@link PrimitiveLevel1Quote#retain() retain} it once per consumer and each
+ * consumer {@link PrimitiveLevel1Quote#release() releases} it when done; the quote
+ * goes back to the pool when the last reference is released. If the pool is empty
+ * a new quote is allocated, and if it is full a released quote is left to the
+ * garbage collector, so the pool never blocks.
+ */
+public class Level1QuotePool {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    protected final ArrayBlockingQueue<PrimitiveLevel1Quote> available;
+    protected final AtomicLong allocatedCount = new AtomicLong();
+
+    public Level1QuotePool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public Level1QuotePool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        available = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return an empty quote bound to the ticker and timestamp, holding one
+     *         reference
+     */
+    public PrimitiveLevel1Quote acquire(Ticker ticker, ZonedDateTime timeStamp) {
+        PrimitiveLevel1Quote quote = available.poll();
+        if (quote == null) {
+            allocatedCount.incrementAndGet();
+            quote = new PrimitiveLevel1Quote(null, null, this);
+        }
+        quote.reset(ticker, timeStamp);
+        quote.referenceCount.set(1);
+        return quote;
+    }
+
+    protected void recycle(PrimitiveLevel1Quote quote) {
+        quote.reset(null, null);
+        available.offer(quote);
+    }
+
+    /**
+     * @return the number of quotes currently idle in the pool
+     */
+    public int getAvailableCount() {
+        return available.size();
+    }
+
+    /**
+     * @return the number of quotes this pool has had to allocate
+     */
+    public long getAllocatedCount() {
+        return allocatedCount.get();
+    }
+}
@@ -1,6 +1,7 @@
 package com.fueledbychai.marketdata;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fueledbychai.data.FixedPoint;
 import com.fueledbychai.data.Ticker;
 
 public class OrderBook implements IOrderBook {
@@ -756,7 +758,16 @@ public class OrderBook implements IOrderBook {
 
         public Map<BigDecimal, Double> aggregateOrders(BigDecimal tickSize) {
             int scale = tickSize.scale();
+            // a tick of 10^-scale only truncates digits, so it is done on the
+            // scaled long instead of dividing and multiplying BigDecimals
+            boolean powerOfTen = scale >= 0 && scale <= FixedPoint.MAX_SCALE
+                    && BigInteger.ONE.equals(tickSize.unscaledValue());
             return orders.entrySet().stream().collect(Collectors.toMap(entry -> {
+                if (powerOfTen) {
+                    long scaled = FixedPoint.toScaled(entry.getKey(), scale,
+                            descending ? RoundingMode.DOWN : RoundingMode.UP);
+                    return FixedPoint.toBigDecimal(scaled, scale);
+                }
                 if (descending) {
                     // For bids, round down
                     return entry.getKey().divide(tickSize).setScale(scale, RoundingMode.DOWN).multiply(tickSize)
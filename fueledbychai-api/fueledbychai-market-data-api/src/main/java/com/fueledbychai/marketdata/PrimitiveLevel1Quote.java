@@ -0,0 +1,463 @@
+package com.fueledbychai.marketdata;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fueledbychai.data.FixedPoint;
+import com.fueledbychai.data.FixedPointScale;
+import com.fueledbychai.data.FueledByChaiException;
+import com.fueledbychai.data.Ticker;
+
+/**
+ * Level 1 quote backed by fixed primitive slots instead of hash collections.
+ * <p>
+ * Each {@link QuoteType} owns the slot at its {@code ordinal()}. A value is stored
+ * as an unscaled {@code long} plus a decimal scale, so {@code 100.25} is kept as
+ * {@code 10025} with scale 2, and presence and cleared state are bitmasks. Setting
+ * values through the primitive setters allocates nothing; {@link #getValue}
+ * materializes a {@link BigDecimal} on first read of a slot and caches it until the
+ * slot changes. The arrays returned by {@link #getTypes()} and
+ * {@link #getClearedTypes()} are cached per mask and must not be modified.
+ * <p>
+ * Instances are mutable and can be reused with {@link #reset(Ticker, ZonedDateTime)}
+ * or borrowed from a {@link Level1QuotePool}. They are not thread-safe: populate a
+ * quote on one thread before firing it, and copy it with {@link #copy()} if a
+ * listener needs to keep it after the engine reuses it.
+ */
+public class PrimitiveLevel1Quote implements ILevel1Quote {
+
+    protected static final QuoteType[] QUOTE_TYPES = QuoteType.values();
+    protected static final int SLOT_COUNT = QUOTE_TYPES.length;
+    protected static final QuoteType[] NO_TYPES = new QuoteType[0];
+    protected static final TypesCache NO_TYPES_CACHE = new TypesCache(0L, NO_TYPES);
+    protected static final long[] POWERS_OF_TEN = new long[FixedPoint.MAX_SCALE + 1];
+
+    static {
+        if (SLOT_COUNT > Long.SIZE) {
+            throw new IllegalStateException("QuoteType has more values than fit in a long bitmask");
+        }
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    protected Ticker ticker;
+    protected ZonedDateTime timeStamp;
+
+    protected final long[] unscaledValues = new long[SLOT_COUNT];
+    protected final byte[] scales = new byte[SLOT_COUNT];
+    protected final BigDecimal[] decimalCache = new BigDecimal[SLOT_COUNT];
+    protected long presentMask;
+    protected long clearedMask;
+    // slots whose value does not fit an unscaled long and live only in decimalCache
+    protected long decimalOnlyMask;
+
+    // a fired quote is read by several listener threads at once, so each cached
+    // array is published together with its mask
+    protected volatile TypesCache typesCache = NO_TYPES_CACHE;
+    protected volatile TypesCache clearedTypesCache = NO_TYPES_CACHE;
+
+    protected final Level1QuotePool pool;
+    protected final AtomicInteger referenceCount = new AtomicInteger();
+
+    public PrimitiveLevel1Quote() {
+        this(null, null, null);
+    }
+
+    public PrimitiveLevel1Quote(Ticker ticker, ZonedDateTime timeStamp) {
+        this(ticker, timeStamp, null);
+    }
+
+    protected PrimitiveLevel1Quote(Ticker ticker, ZonedDateTime timeStamp, Level1QuotePool pool) {
+        this.ticker = ticker;
+        this.timeStamp = timeStamp;
+        this.pool = pool;
+    }
+
+    /**
+     * Clears every slot and rebinds the quote so it can be reused for a new update.
+     */
+    public PrimitiveLevel1Quote reset(Ticker ticker, ZonedDateTime timeStamp) {
+        this.ticker = ticker;
+        this.timeStamp = timeStamp;
+        long mask = presentMask | decimalOnlyMask;
+        while (mask != 0) {
+            int ordinal = Long.numberOfTrailingZeros(mask);
+            decimalCache[ordinal] = null;
+            mask &= mask - 1;
+        }
+        presentMask = 0;
+        clearedMask = 0;
+        decimalOnlyMask = 0;
+        return this;
+    }
+
+    /**
+     * Sets a value from its unscaled representation, e.g. {@code (10025, 2)} for
+     * {@code 100.25}.
+     */
+    public PrimitiveLevel1Quote set(QuoteType type, long unscaledValue, int scale) {
+        if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("scale out of range: " + scale);
+        }
+        int ordinal = type.ordinal();
+        long bit = 1L << ordinal;
+        unscaledValues[ordinal] = unscaledValue;
+        scales[ordinal] = (byte) scale;
+        decimalCache[ordinal] = null;
+        decimalOnlyMask &= ~bit;
+        clearedMask &= ~bit;
+        presentMask |= bit;
+        return this;
+    }
+
+    /**
+     * Sets a value from a double, rounded half-up to the given number of decimal
+     * places.
+     */
+    public PrimitiveLevel1Quote set(QuoteType type, double value, int scale) {
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("scale must be between 0 and " + (POWERS_OF_TEN.length - 1));
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("value must be finite");
+        }
+        double scaled = value * POWERS_OF_TEN[scale];
+        if (Math.abs(scaled) >= Long.MAX_VALUE) {
+            return set(type, BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP));
+        }
+        return set(type, Math.round(scaled), scale);
+    }
+
+    /**
+     * Sets a value from a BigDecimal. Values whose unscaled form fits in a long are
+     * stored primitively; the BigDecimal itself is kept as the cached read value.
+     */
+    public PrimitiveLevel1Quote set(QuoteType type, BigDecimal value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is required");
+        }
+        int ordinal = type.ordinal();
+        long bit = 1L << ordinal;
+        if (value.scale() >= Byte.MIN_VALUE && value.scale() <= Byte.MAX_VALUE && value.precision() <= 18) {
+            unscaledValues[ordinal] = value.unscaledValue().longValue();
+            scales[ordinal] = (byte) value.scale();
+            decimalOnlyMask &= ~bit;
+        } else {
+            decimalOnlyMask |= bit;
+        }
+        decimalCache[ordinal] = value;
+        clearedMask &= ~bit;
+        presentMask |= bit;
+        return this;
+    }
+
+    /**
+     * Same as {@link #set(QuoteType, BigDecimal)}, named to match
+     * {@link AbstractQuote#addQuote(QuoteType, BigDecimal)}.
+     */
+    public void addQuote(QuoteType type, BigDecimal value) {
+        set(type, value);
+    }
+
+    public void clearQuote(QuoteType type) {
+        int ordinal = type.ordinal();
+        long bit = 1L << ordinal;
+        presentMask &= ~bit;
+        decimalOnlyMask &= ~bit;
+        decimalCache[ordinal] = null;
+        clearedMask |= bit;
+    }
+
+    /**
+     * Copies every slot, the ticker and the timestamp from another quote.
+     */
+    public PrimitiveLevel1Quote copyFrom(ILevel1Quote other) {
+        if (other instanceof PrimitiveLevel1Quote) {
+            PrimitiveLevel1Quote source = (PrimitiveLevel1Quote) other;
+            reset(source.ticker, source.timeStamp);
+            System.arraycopy(source.unscaledValues, 0, unscaledValues, 0, SLOT_COUNT);
+            System.arraycopy(source.scales, 0, scales, 0, SLOT_COUNT);
+            System.arraycopy(source.decimalCache, 0, decimalCache, 0, SLOT_COUNT);
+            presentMask = source.presentMask;
+            clearedMask = source.clearedMask;
+            decimalOnlyMask = source.decimalOnlyMask;
+            return this;
+        }
+        reset(other.getTicker(), other.getTimeStamp());
+        for (QuoteType type : other.getTypes()) {
+            BigDecimal value = other.getValue(type);
+            if (value != null) {
+                set(type, value);
+            }
+        }
+        for (QuoteType type : other.getClearedTypes()) {
+            clearQuote(type);
+        }
+        return this;
+    }
+
+    /**
+     * @return an unpooled copy that is safe to keep after this quote is reused
+     */
+    public PrimitiveLevel1Quote copy() {
+        return new PrimitiveLevel1Quote().copyFrom(this);
+    }
+
+    @Override
+    public Ticker getTicker() {
+        return ticker;
+    }
+
+    @Override
+    public ZonedDateTime getTimeStamp() {
+        return timeStamp;
+    }
+
+    public void setTimeStamp(ZonedDateTime timeStamp) {
+        this.timeStamp = timeStamp;
+    }
+
+    @Override
+    public QuoteType[] getTypes() {
+        long mask = presentMask;
+        TypesCache cache = typesCache;
+        if (cache.mask != mask) {
+            cache = new TypesCache(mask, typesForMask(mask));
+            typesCache = cache;
+        }
+        return cache.types;
+    }
+
+    @Override
+    public QuoteType[] getClearedTypes() {
+        long mask = clearedMask;
+        TypesCache cache = clearedTypesCache;
+        if (cache.mask != mask) {
+            cache = new TypesCache(mask, typesForMask(mask));
+            clearedTypesCache = cache;
+        }
+        return cache.types;
+    }
+
+    @Override
+    public boolean hasUpdates() {
+        return (presentMask | clearedMask) != 0;
+    }
+
+    @Override
+    public boolean containsType(QuoteType type) {
+        return (presentMask & (1L << type.ordinal())) != 0;
+    }
+
+    @Override
+    public boolean isCleared(QuoteType type) {
+        return (clearedMask & (1L << type.ordinal())) != 0;
+    }
+
+    @Override
+    public BigDecimal getValue(QuoteType type) {
+        if (!containsType(type)) {
+            throw new FueledByChaiException("Quote does not contain type: " + type);
+        }
+        int ordinal = type.ordinal();
+        BigDecimal value = decimalCache[ordinal];
+        if (value == null) {
+            value = BigDecimal.valueOf(unscaledValues[ordinal], scales[ordinal]);
+            decimalCache[ordinal] = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return the unscaled long value of the slot, see {@link #getScale(QuoteType)}
+     * @throws ArithmeticException if the value was set from a BigDecimal too large
+     *                             for a long
+     */
+    public long getUnscaledValue(QuoteType type) {
+        requirePresent(type);
+        int ordinal = type.ordinal();
+        if ((decimalOnlyMask & (1L << ordinal)) != 0) {
+            throw new ArithmeticException(type + " does not fit in an unscaled long");
+        }
+        return unscaledValues[ordinal];
+    }
+
+    @Override
+    public long getScaledValue(QuoteType type, int scale) {
+        requirePresent(type);
+        int ordinal = type.ordinal();
+        int slotScale = scales[ordinal];
+        if ((decimalOnlyMask & (1L << ordinal)) != 0 || slotScale < 0 || slotScale > FixedPoint.MAX_SCALE) {
+            return FixedPoint.toScaled(getValue(type), scale);
+        }
+        return FixedPoint.rescale(unscaledValues[ordinal], slotScale, scale);
+    }
+
+    /**
+     * Sets a price from a fixed-point value at the scale the ticker's
+     * {@link FixedPointScale} uses for prices.
+     */
+    public PrimitiveLevel1Quote setPrice(QuoteType type, long scaledPrice, FixedPointScale scale) {
+        return set(type, scaledPrice, scale.getPriceScale());
+    }
+
+    /**
+     * Sets a size from a fixed-point value at the scale the ticker's
+     * {@link FixedPointScale} uses for quantities.
+     */
+    public PrimitiveLevel1Quote setQuantity(QuoteType type, long scaledQuantity, FixedPointScale scale) {
+        return set(type, scaledQuantity, scale.getQuantityScale());
+    }
+
+    public int getScale(QuoteType type) {
+        requirePresent(type);
+        int ordinal = type.ordinal();
+        if ((decimalOnlyMask & (1L << ordinal)) != 0) {
+            return decimalCache[ordinal].scale();
+        }
+        return scales[ordinal];
+    }
+
+    public double getDouble(QuoteType type) {
+        requirePresent(type);
+        int ordinal = type.ordinal();
+        if ((decimalOnlyMask & (1L << ordinal)) != 0) {
+            return decimalCache[ordinal].doubleValue();
+        }
+        int scale = scales[ordinal];
+        long unscaled = unscaledValues[ordinal];
+        if (scale == 0) {
+            return unscaled;
+        }
+        if (scale > 0 && scale < POWERS_OF_TEN.length) {
+            return unscaled / (double) POWERS_OF_TEN[scale];
+        }
+        return getValue(type).doubleValue();
+    }
+
+    /**
+     * @return bitmask of the present types, bit {@code n} set for the type with
+     *         ordinal {@code n}
+     */
+    public long getPresentMask() {
+        return presentMask;
+    }
+
+    public long getClearedMask() {
+        return clearedMask;
+    }
+
+    /**
+     * Adds a reference so the quote is returned to its pool only after a matching
+     * number of {@link #release()} calls.
+     */
+    public PrimitiveLevel1Quote retain() {
+        referenceCount.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Drops a reference, returning the quote to the pool it was acquired from when
+     * the last reference is released. Has no effect on unpooled quotes.
+     */
+    public void release() {
+        if (pool == null) {
+            return;
+        }
+        int remaining = referenceCount.decrementAndGet();
+        if (remaining == 0) {
+            pool.recycle(this);
+        } else if (remaining < 0) {
+            referenceCount.incrementAndGet();
+            throw new IllegalStateException("Quote released more times than it was acquired");
+        }
+    }
+
+    protected void requirePresent(QuoteType type) {
+        if (!containsType(type)) {
+            throw new FueledByChaiException("Quote does not contain type: " + type);
+        }
+    }
+
+    /**
+     * The types of a mask, built once and shared while the mask is unchanged.
+     */
+    protected static final class TypesCache {
+        protected final long mask;
+        protected final QuoteType[] types;
+
+        protected TypesCache(long mask, QuoteType[] types) {
+            this.mask = mask;
+            this.types = types;
+        }
+    }
+
+    protected static QuoteType[] typesForMask(long mask) {
+        if (mask == 0) {
+            return NO_TYPES;
+        }
+        QuoteType[] types = new QuoteType[Long.bitCount(mask)];
+        int index = 0;
+        while (mask != 0) {
+            types[index++] = QUOTE_TYPES[Long.numberOfTrailingZeros(mask)];
+            mask &= mask - 1;
+        }
+        return types;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(presentMask);
+        result = 31 * result + Long.hashCode(clearedMask);
+        long mask = presentMask;
+        while (mask != 0) {
+            int ordinal = Long.numberOfTrailingZeros(mask);
+            result = 31 * result + getValue(QUOTE_TYPES[ordinal]).stripTrailingZeros().hashCode();
+            mask &= mask - 1;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        PrimitiveLevel1Quote other = (PrimitiveLevel1Quote) obj;
+        if (presentMask != other.presentMask || clearedMask != other.clearedMask) {
+            return false;
+        }
+        long mask = presentMask;
+        while (mask != 0) {
+            QuoteType type = QUOTE_TYPES[Long.numberOfTrailingZeros(mask)];
+            if (getValue(type).compareTo(other.getValue(type)) != 0) {
+                return false;
+            }
+            mask &= mask - 1;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PrimitiveLevel1Quote [ticker=").append(ticker).append(", timeStamp=")
+                .append(timeStamp).append(", values={");
+        QuoteType[] types = getTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(types[i]).append('=').append(getValue(types[i]));
+        }
+        sb.append("}, clearedQuoteTypes=").append(Arrays.toString(getClearedTypes())).append(']');
+        return sb.toString();
+    }
+}
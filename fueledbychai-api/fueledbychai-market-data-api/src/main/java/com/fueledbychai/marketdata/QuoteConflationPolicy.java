@@ -0,0 +1,24 @@
+package com.fueledbychai.marketdata;
+
+/**
+ * Controls how quotes are queued for a listener that cannot keep up with the feed.
+ */
+public enum QuoteConflationPolicy {
+
+    /** Every quote is delivered. This is the default subscription behaviour. */
+    NONE,
+
+    /**
+     * Only the most recent quote per ticker is kept while the listener is busy;
+     * older undelivered quotes are discarded.
+     */
+    LATEST,
+
+    /**
+     * Undelivered Level 1 quotes are merged field by field, so the listener
+     * receives the latest value of every {@link QuoteType} that changed while it
+     * was busy. Level 2 quotes are full snapshots and are treated as
+     * {@link #LATEST}.
+     */
+    MERGE;
+}
@@ -0,0 +1,78 @@
+package com.fueledbychai.marketdata;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing how much conflation a listener, or a whole quote engine, is
+ * performing. A high conflated count relative to delivered means the consumer is
+ * slower than the feed.
+ */
+public class QuoteConflationStats {
+
+    protected final LongAdder delivered = new LongAdder();
+    protected final LongAdder conflated = new LongAdder();
+    protected final LongAdder dropped = new LongAdder();
+    protected final QuoteConflationStats parent;
+
+    public QuoteConflationStats() {
+        this(null);
+    }
+
+    /**
+     * @param parent aggregate stats that are also updated by this instance, may be
+     *               null
+     */
+    public QuoteConflationStats(QuoteConflationStats parent) {
+        this.parent = parent;
+    }
+
+    public void recordDelivered() {
+        delivered.increment();
+        if (parent != null) {
+            parent.recordDelivered();
+        }
+    }
+
+    public void recordConflated() {
+        conflated.increment();
+        if (parent != null) {
+            parent.recordConflated();
+        }
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+        if (parent != null) {
+            parent.recordDropped();
+        }
+    }
+
+    /**
+     * @return the number of quotes handed to the listener
+     */
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * @return the number of quotes replaced by, or merged into, a newer quote
+     *         before they could be delivered
+     */
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+
+    /**
+     * @return the number of quotes discarded without delivery, e.g. because the
+     *         listener was unsubscribed or the engine shut down
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "QuoteConflationStats [delivered=" + getDeliveredCount() + ", conflated=" + getConflatedCount()
+                + ", dropped=" + getDroppedCount() + "]";
+    }
+}
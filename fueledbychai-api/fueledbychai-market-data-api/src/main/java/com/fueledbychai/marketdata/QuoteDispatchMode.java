@@ -0,0 +1,27 @@
+package com.fueledbychai.marketdata;
+
+/**
+ * Selects how a {@link QuoteEngine} hands quotes off to its listeners.
+ */
+public enum QuoteDispatchMode {
+
+    /**
+     * Each listener notification is submitted as its own task to the shared quote
+     * thread pool. Listeners may observe quotes for the same ticker out of order.
+     */
+    EXECUTOR,
+
+    /**
+     * Quotes are published into preallocated ring buffers sharded by ticker, each
+     * drained by a single consumer thread. Every listener sees the quotes of a given
+     * ticker in the order they were fired.
+     */
+    RING_BUFFER,
+
+    /**
+     * Listeners are called on the thread that fires the quote, before the fire
+     * method returns. Every listener sees every quote in firing order; used for
+     * replays where a single thread drives the whole simulation.
+     */
+    DIRECT;
+}
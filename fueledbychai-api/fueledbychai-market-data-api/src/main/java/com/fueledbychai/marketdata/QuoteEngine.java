@@ -19,13 +19,18 @@
  */
 package com.fueledbychai.marketdata;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -39,6 +44,9 @@ import org.slf4j.LoggerFactory;
 
 import com.fueledbychai.data.Exchange;
 import com.fueledbychai.data.Ticker;
+import com.fueledbychai.data.TickerIdMap;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+import com.fueledbychai.marketdata.replay.MarketDataRecorder;
 
 /**
  * @author FueledByChai Contributors
@@ -49,6 +57,11 @@ public abstract class QuoteEngine implements IQuoteEngine {
 
     protected static final Logger logger = LoggerFactory.getLogger(QuoteEngine.class);
 
+    public static final String DISPATCH_MODE_PROPERTY = "fueledbychai.quote.dispatch.mode";
+    public static final String DISPATCH_SHARDS_PROPERTY = "fueledbychai.quote.dispatch.shards";
+    public static final String DISPATCH_RING_SIZE_PROPERTY = "fueledbychai.quote.dispatch.ring.size";
+    public static final String DISPATCH_OVERFLOW_PROPERTY = "fueledbychai.quote.dispatch.overflow";
+
     // Thread pool for handling quote notifications
     private final ThreadPoolExecutor quoteExecutor;
 
@@ -134,22 +147,51 @@ public abstract class QuoteEngine implements IQuoteEngine {
         return getInstance(clazz);
     }
 
+    /**
+     * Orders tickers by {@link Ticker#getTickerId()}. Listener maps use it so that,
+     * like the snapshots below, every ticker for the same instrument is one key
+     * even when tick size or other attributes differ.
+     */
+    protected static final Comparator<Ticker> TICKER_ID_ORDER = Comparator
+            .nullsFirst(Comparator.comparingInt(Ticker::getTickerId));
+
     protected List<ErrorListener> errorListeners;
     protected Map<Ticker, List<Level1QuoteListener>> level1ListenerMap = Collections
-            .synchronizedMap(new HashMap<Ticker, List<Level1QuoteListener>>());
+            .synchronizedMap(new TreeMap<Ticker, List<Level1QuoteListener>>(TICKER_ID_ORDER));
 
     // List of global Level1 listeners that receive all Level1 quotes
     protected List<Level1QuoteListener> globalLevel1ListenerList = Collections
             .synchronizedList(new ArrayList<Level1QuoteListener>());
 
     protected Map<Ticker, List<Level2QuoteListener>> level2ListenerMap = Collections
-            .synchronizedMap(new HashMap<Ticker, List<Level2QuoteListener>>());
+            .synchronizedMap(new TreeMap<Ticker, List<Level2QuoteListener>>(TICKER_ID_ORDER));
     protected Map<Ticker, List<OrderFlowListener>> orderFlowListenerMap = Collections
-            .synchronizedMap(new HashMap<Ticker, List<OrderFlowListener>>());
+            .synchronizedMap(new TreeMap<Ticker, List<OrderFlowListener>>(TICKER_ID_ORDER));
 
     protected List<OrderFlowListener> globalOrderFlowListenerList = Collections
             .synchronizedList(new ArrayList<OrderFlowListener>());
 
+    // Copy-on-write listener arrays, rebuilt on subscribe/unsubscribe so the ring
+    // buffer dispatch path can read them without locking. Indexed by ticker ID so
+    // dispatch does not hash the ticker.
+    protected final TickerIdMap<Level1QuoteListener[]> level1ListenerSnapshots = new TickerIdMap<>();
+    protected final TickerIdMap<Level2QuoteListener[]> level2ListenerSnapshots = new TickerIdMap<>();
+    protected final TickerIdMap<OrderFlowListener[]> orderFlowListenerSnapshots = new TickerIdMap<>();
+    protected volatile Level1QuoteListener[] globalLevel1ListenerSnapshot = new Level1QuoteListener[0];
+    protected volatile OrderFlowListener[] globalOrderFlowListenerSnapshot = new OrderFlowListener[0];
+
+    // Conflating wrappers keyed by the listener the caller subscribed with, so the
+    // plain unsubscribe methods can find and remove them.
+    protected final Map<Ticker, Map<Level1QuoteListener, ConflatingLevel1QuoteListener>> conflatingLevel1Listeners = new ConcurrentSkipListMap<>(
+            TICKER_ID_ORDER);
+    protected final Map<Ticker, Map<Level2QuoteListener, ConflatingLevel2QuoteListener>> conflatingLevel2Listeners = new ConcurrentSkipListMap<>(
+            TICKER_ID_ORDER);
+    protected final QuoteConflationStats conflationStats = new QuoteConflationStats();
+
+    protected volatile QuoteDispatchMode dispatchMode = QuoteDispatchMode.EXECUTOR;
+    protected volatile RingBufferQuoteDispatcher ringBufferDispatcher;
+    protected volatile MarketDataRecorder recorder;
+
     public QuoteEngine() {
         this(500); // Default to 500 threads
     }
@@ -168,6 +210,130 @@ public abstract class QuoteEngine implements IQuoteEngine {
             logger.debug("Quote Engine Pool size: " + quoteExecutor.getPoolSize() + ", Active threads: "
                     + quoteExecutor.getActiveCount());
         }, 0, 1, TimeUnit.SECONDS);
+        String mode = getDispatchProperty(DISPATCH_MODE_PROPERTY);
+        if (mode != null) {
+            try {
+                setDispatchMode(QuoteDispatchMode.valueOf(mode.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring unknown quote dispatch mode '{}'", mode);
+            }
+        }
+        String recordDirectory = getDispatchProperty(MarketDataRecorder.DIRECTORY_PROPERTY);
+        if (recordDirectory != null) {
+            try {
+                setRecorder(MarketDataRecorder.getShared(Paths.get(recordDirectory.trim())));
+            } catch (IOException e) {
+                logger.error("Unable to start recording market data to " + recordDirectory, e);
+            }
+        }
+    }
+
+    /**
+     * Switches how quotes are handed to listeners. {@link QuoteDispatchMode#EXECUTOR}
+     * is the default; {@link QuoteDispatchMode#RING_BUFFER} preserves per-ticker
+     * ordering and is sized from the {@code fueledbychai.quote.dispatch.*} system
+     * properties.
+     * 
+     * @param mode the dispatch mode to use for subsequently fired quotes
+     */
+    public synchronized void setDispatchMode(QuoteDispatchMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Dispatch mode is required");
+        }
+        if (mode == dispatchMode) {
+            return;
+        }
+        if (mode == QuoteDispatchMode.RING_BUFFER) {
+            setRingBufferDispatcher(createRingBufferDispatcher());
+        } else {
+            RingBufferQuoteDispatcher previous = ringBufferDispatcher;
+            ringBufferDispatcher = null;
+            dispatchMode = mode;
+            if (previous != null) {
+                previous.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Dispatches quotes through the supplied ring buffer dispatcher, replacing and
+     * shutting down any previous one.
+     */
+    public synchronized void setRingBufferDispatcher(RingBufferQuoteDispatcher dispatcher) {
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("Dispatcher is required");
+        }
+        RingBufferQuoteDispatcher previous = ringBufferDispatcher;
+        ringBufferDispatcher = dispatcher;
+        dispatchMode = QuoteDispatchMode.RING_BUFFER;
+        if (previous != null && previous != dispatcher) {
+            previous.shutdown();
+        }
+    }
+
+    public QuoteDispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    public RingBufferQuoteDispatcher getRingBufferDispatcher() {
+        return ringBufferDispatcher;
+    }
+
+    /**
+     * Records every Level 1 quote and trade this engine fires, and the book
+     * updates it passes to {@link #recordBook(Ticker, ZonedDateTime, boolean, List, List)},
+     * to the given recorder. Recording is skipped when null.
+     */
+    public void setRecorder(MarketDataRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public MarketDataRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Hands a book update to the recorder, if one is attached. Engines that
+     * parse book deltas call this with the levels as received, since the books
+     * fired to listeners are not recorded.
+     */
+    protected void recordBook(Ticker ticker, ZonedDateTime timestamp, boolean snapshot, List<PriceLevel> bids,
+            List<PriceLevel> asks) {
+        MarketDataRecorder current = recorder;
+        if (current != null) {
+            current.recordBook(ticker, timestamp, snapshot, bids, asks);
+        }
+    }
+
+    protected RingBufferQuoteDispatcher createRingBufferDispatcher() {
+        int shards = Math.min(4, Runtime.getRuntime().availableProcessors());
+        int ringSize = RingBufferQuoteDispatcher.DEFAULT_RING_SIZE;
+        RingBufferQuoteDispatcher.OverflowPolicy overflowPolicy = RingBufferQuoteDispatcher.OverflowPolicy.BLOCK;
+        String value = getDispatchProperty(DISPATCH_SHARDS_PROPERTY);
+        try {
+            if (value != null) {
+                shards = Integer.parseInt(value.trim());
+            }
+            value = getDispatchProperty(DISPATCH_RING_SIZE_PROPERTY);
+            if (value != null) {
+                ringSize = Integer.parseInt(value.trim());
+            }
+            value = getDispatchProperty(DISPATCH_OVERFLOW_PROPERTY);
+            if (value != null) {
+                overflowPolicy = RingBufferQuoteDispatcher.OverflowPolicy.valueOf(value.trim().toUpperCase());
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring invalid quote dispatch setting '{}'", value);
+        }
+        return new RingBufferQuoteDispatcher(shards, ringSize, overflowPolicy);
+    }
+
+    protected static String getDispatchProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(name.toUpperCase().replace('.', '_'));
+        }
+        return value == null || value.isBlank() ? null : value;
     }
 
     public void addErrorListener(ErrorListener listener) {
@@ -200,14 +366,43 @@ public abstract class QuoteEngine implements IQuoteEngine {
             }
             synchronized (listeners) {
                 listeners.add(listener);
+                level1ListenerSnapshots.put(ticker, listeners.toArray(new Level1QuoteListener[0]));
             }
         }
     }
 
+    /**
+     * Subscribe to level 1 market data, conflating quotes while the listener is
+     * busy so a slow consumer never builds an unbounded backlog. Quotes are
+     * conflated on the thread that fires them, before any hand-off to the quote
+     * executor, so the pending quote is always the newest one whatever the
+     * dispatch mode.
+     * 
+     * @param ticker   The ticker to create the subscription for
+     * @param listener The listener which will be invoked when quotes for the
+     *                 specified ticker arrive.
+     * @param policy   How undelivered quotes are conflated
+     */
+    public void subscribeLevel1(Ticker ticker, Level1QuoteListener listener, QuoteConflationPolicy policy) {
+        if (policy == null || policy == QuoteConflationPolicy.NONE) {
+            subscribeLevel1(ticker, listener);
+            return;
+        }
+        ConflatingLevel1QuoteListener conflating = new ConflatingLevel1QuoteListener(listener, policy, quoteExecutor,
+                new QuoteConflationStats(conflationStats));
+        if (conflatingLevel1Listeners.computeIfAbsent(ticker, t -> new ConcurrentHashMap<>()).putIfAbsent(listener,
+                conflating) != null) {
+            logger.warn("Listener is already subscribed to {} with conflation", ticker);
+            return;
+        }
+        subscribeLevel1(ticker, conflating);
+    }
+
     @Override
     public void subscribeGlobalLevel1(Level1QuoteListener listener) {
         synchronized (globalLevel1ListenerList) {
             globalLevel1ListenerList.add(listener);
+            globalLevel1ListenerSnapshot = globalLevel1ListenerList.toArray(new Level1QuoteListener[0]);
         }
     }
 
@@ -215,16 +410,26 @@ public abstract class QuoteEngine implements IQuoteEngine {
     public void unsubscribeGlobalLevel1(Level1QuoteListener listener) {
         synchronized (globalLevel1ListenerList) {
             globalLevel1ListenerList.remove(listener);
+            globalLevel1ListenerSnapshot = globalLevel1ListenerList.toArray(new Level1QuoteListener[0]);
         }
     }
 
     @Override
     public void unsubscribeLevel1(Ticker ticker, Level1QuoteListener listener) {
+        Map<Level1QuoteListener, ConflatingLevel1QuoteListener> conflatingListeners = conflatingLevel1Listeners
+                .get(ticker);
+        ConflatingLevel1QuoteListener conflating = conflatingListeners == null ? null
+                : conflatingListeners.remove(listener);
+        if (conflating != null) {
+            conflating.close();
+            listener = conflating;
+        }
         synchronized (level1ListenerMap) {
             List<Level1QuoteListener> listeners = level1ListenerMap.get(ticker);
             if (listeners != null) {
                 synchronized (listeners) {
                     listeners.remove(listener);
+                    level1ListenerSnapshots.put(ticker, listeners.toArray(new Level1QuoteListener[0]));
                 }
             }
         }
@@ -240,6 +445,7 @@ public abstract class QuoteEngine implements IQuoteEngine {
             }
             synchronized (listeners) {
                 listeners.add(listener);
+                orderFlowListenerSnapshots.put(ticker, listeners.toArray(new OrderFlowListener[0]));
             }
         }
     }
@@ -251,6 +457,7 @@ public abstract class QuoteEngine implements IQuoteEngine {
             if (listeners != null) {
                 synchronized (listeners) {
                     listeners.remove(listener);
+                    orderFlowListenerSnapshots.put(ticker, listeners.toArray(new OrderFlowListener[0]));
                 }
             }
         }
@@ -260,6 +467,7 @@ public abstract class QuoteEngine implements IQuoteEngine {
     public void subscribeGlobalOrderFlow(OrderFlowListener listener) {
         synchronized (globalOrderFlowListenerList) {
             globalOrderFlowListenerList.add(listener);
+            globalOrderFlowListenerSnapshot = globalOrderFlowListenerList.toArray(new OrderFlowListener[0]);
         }
     }
 
@@ -267,17 +475,37 @@ public abstract class QuoteEngine implements IQuoteEngine {
     public void unsubscribeGlobalOrderFlow(OrderFlowListener listener) {
         synchronized (globalOrderFlowListenerList) {
             globalOrderFlowListenerList.remove(listener);
+            globalOrderFlowListenerSnapshot = globalOrderFlowListenerList.toArray(new OrderFlowListener[0]);
         }
     }
 
     @Override
     public void fireLevel1Quote(final ILevel1Quote quote) {
+        // read once: the ticker is needed for latency, dispatch and every listener task
+        final Ticker ticker = quote.getTicker();
+        final long receivedNanos = QuoteLatency.recordFire(ticker);
+        MarketDataRecorder currentRecorder = recorder;
+        if (currentRecorder != null) {
+            currentRecorder.recordLevel1(quote);
+        }
+        RingBufferQuoteDispatcher dispatcher = ringBufferDispatcher;
+        if (dispatcher != null) {
+            dispatcher.publishLevel1(quote, level1ListenerSnapshots.get(ticker),
+                    globalLevel1ListenerSnapshot);
+            return;
+        }
+        if (dispatchMode == QuoteDispatchMode.DIRECT) {
+            fireLevel1Direct(globalLevel1ListenerSnapshot, quote);
+            fireLevel1Direct(level1ListenerSnapshots.get(ticker), quote);
+            return;
+        }
         synchronized (level1ListenerMap) {
             // Fire to global listeners
             if (globalLevel1ListenerList != null) {
                 for (final Level1QuoteListener listener : globalLevel1ListenerList) {
                     try {
                         quoteExecutor.submit(() -> {
+                            QuoteLatency.recordListener(ticker, receivedNanos);
                             try {
                                 listener.quoteRecieved(quote);
                             } catch (Exception ex) {
@@ -290,14 +518,20 @@ public abstract class QuoteEngine implements IQuoteEngine {
                 }
             }
 
-            List<Level1QuoteListener> listeners = level1ListenerMap.get(quote.getTicker());
+            List<Level1QuoteListener> listeners = level1ListenerMap.get(ticker);
             if (listeners == null) {
                 return;
             }
             for (final Level1QuoteListener listener : listeners) {
+                if (listener instanceof ConflatingQuoteListener) {
+                    // conflate in firing order; the wrapper schedules its own delivery
+                    fireLevel1Direct(listener, quote);
+                    continue;
+                }
                 try {
                     synchronized (listeners) {
                         quoteExecutor.submit(() -> {
+                            QuoteLatency.recordListener(ticker, receivedNanos);
                             try {
                                 listener.quoteRecieved(quote);
                             } catch (Exception ex) {
@@ -316,15 +550,37 @@ public abstract class QuoteEngine implements IQuoteEngine {
 
     @Override
     public void fireMarketDepthQuote(ILevel2Quote quote) {
+        final Ticker ticker = quote.getTicker();
+        final long receivedNanos = QuoteLatency.recordFire(ticker);
+        RingBufferQuoteDispatcher dispatcher = ringBufferDispatcher;
+        if (dispatcher != null) {
+            dispatcher.publishLevel2(quote, level2ListenerSnapshots.get(ticker));
+            return;
+        }
+        if (dispatchMode == QuoteDispatchMode.DIRECT) {
+            Level2QuoteListener[] listeners = level2ListenerSnapshots.get(ticker);
+            if (listeners != null) {
+                for (Level2QuoteListener listener : listeners) {
+                    fireLevel2Direct(listener, quote);
+                }
+            }
+            return;
+        }
         synchronized (level2ListenerMap) {
-            List<Level2QuoteListener> listeners = level2ListenerMap.get(quote.getTicker());
+            List<Level2QuoteListener> listeners = level2ListenerMap.get(ticker);
             if (listeners == null) {
                 return;
             }
             for (Level2QuoteListener listener : listeners) {
+                if (listener instanceof ConflatingQuoteListener) {
+                    // conflate in firing order; the wrapper schedules its own delivery
+                    fireLevel2Direct(listener, quote);
+                    continue;
+                }
                 try {
                     synchronized (listeners) {
                         quoteExecutor.submit(() -> {
+                            QuoteLatency.recordListener(ticker, receivedNanos);
                             try {
                                 listener.level2QuoteReceived(quote);
                             } catch (Throwable ex) {
@@ -341,12 +597,30 @@ public abstract class QuoteEngine implements IQuoteEngine {
 
     @Override
     public void fireOrderFlow(OrderFlow orderFlow) {
+        final Ticker ticker = orderFlow.getTicker();
+        final long receivedNanos = QuoteLatency.recordFire(ticker);
+        MarketDataRecorder currentRecorder = recorder;
+        if (currentRecorder != null) {
+            currentRecorder.recordOrderFlow(orderFlow);
+        }
+        RingBufferQuoteDispatcher dispatcher = ringBufferDispatcher;
+        if (dispatcher != null) {
+            dispatcher.publishOrderFlow(orderFlow, orderFlowListenerSnapshots.get(ticker),
+                    globalOrderFlowListenerSnapshot);
+            return;
+        }
+        if (dispatchMode == QuoteDispatchMode.DIRECT) {
+            fireOrderFlowDirect(globalOrderFlowListenerSnapshot, orderFlow);
+            fireOrderFlowDirect(orderFlowListenerSnapshots.get(ticker), orderFlow);
+            return;
+        }
         synchronized (orderFlowListenerMap) {
             // Fire to global listeners
             if (globalOrderFlowListenerList != null) {
                 for (final OrderFlowListener listener : globalOrderFlowListenerList) {
                     try {
                         quoteExecutor.submit(() -> {
+                            QuoteLatency.recordListener(ticker, receivedNanos);
                             try {
                                 listener.orderflowReceived(orderFlow);
                             } catch (Exception ex) {
@@ -359,7 +633,7 @@ public abstract class QuoteEngine implements IQuoteEngine {
                 }
             }
 
-            List<OrderFlowListener> listeners = orderFlowListenerMap.get(orderFlow.getTicker());
+            List<OrderFlowListener> listeners = orderFlowListenerMap.get(ticker);
             if (listeners == null) {
                 return;
             }
@@ -367,6 +641,7 @@ public abstract class QuoteEngine implements IQuoteEngine {
                 try {
                     synchronized (listeners) {
                         quoteExecutor.submit(() -> {
+                            QuoteLatency.recordListener(ticker, receivedNanos);
                             try {
                                 listener.orderflowReceived(orderFlow);
                             } catch (Exception ex) {
@@ -381,6 +656,48 @@ public abstract class QuoteEngine implements IQuoteEngine {
         }
     }
 
+    protected void fireLevel1Direct(Level1QuoteListener[] listeners, ILevel1Quote quote) {
+        if (listeners == null) {
+            return;
+        }
+        for (Level1QuoteListener listener : listeners) {
+            try {
+                listener.quoteRecieved(quote);
+            } catch (Exception ex) {
+                logger.warn("Error processing Level1 quote for listener", ex);
+            }
+        }
+    }
+
+    protected void fireLevel1Direct(Level1QuoteListener listener, ILevel1Quote quote) {
+        try {
+            listener.quoteRecieved(quote);
+        } catch (Exception ex) {
+            logger.warn("Error processing Level1 quote for listener", ex);
+        }
+    }
+
+    protected void fireLevel2Direct(Level2QuoteListener listener, ILevel2Quote quote) {
+        try {
+            listener.level2QuoteReceived(quote);
+        } catch (Throwable ex) {
+            logger.error("Error processing Level2 quote for listener", ex);
+        }
+    }
+
+    protected void fireOrderFlowDirect(OrderFlowListener[] listeners, OrderFlow orderFlow) {
+        if (listeners == null) {
+            return;
+        }
+        for (OrderFlowListener listener : listeners) {
+            try {
+                listener.orderflowReceived(orderFlow);
+            } catch (Exception ex) {
+                logger.warn("Error processing OrderFlow for listener", ex);
+            }
+        }
+    }
+
     public void subscribeMarketDepth(Ticker ticker, Level2QuoteListener listener) {
         synchronized (ticker) {
             List<Level2QuoteListener> listeners = level2ListenerMap.get(ticker);
@@ -388,15 +705,53 @@ public abstract class QuoteEngine implements IQuoteEngine {
                 listeners = Collections.synchronizedList(new ArrayList<Level2QuoteListener>());
                 level2ListenerMap.put(ticker, listeners);
             }
-            listeners.add(listener);
+            synchronized (listeners) {
+                listeners.add(listener);
+                level2ListenerSnapshots.put(ticker, listeners.toArray(new Level2QuoteListener[0]));
+            }
         }
     }
 
+    /**
+     * Subscribe to MarketDepth (Level 2) quotes, delivering only the latest book
+     * while the listener is busy. Books are conflated on the thread that fires
+     * them, as for {@link #subscribeLevel1(Ticker, Level1QuoteListener, QuoteConflationPolicy)}.
+     * 
+     * @param ticker   The ticker to subscribe to
+     * @param listener The listener which will receive the market depth quote events
+     * @param policy   How undelivered quotes are conflated
+     */
+    public void subscribeMarketDepth(Ticker ticker, Level2QuoteListener listener, QuoteConflationPolicy policy) {
+        if (policy == null || policy == QuoteConflationPolicy.NONE) {
+            subscribeMarketDepth(ticker, listener);
+            return;
+        }
+        ConflatingLevel2QuoteListener conflating = new ConflatingLevel2QuoteListener(listener, policy, quoteExecutor,
+                new QuoteConflationStats(conflationStats));
+        if (conflatingLevel2Listeners.computeIfAbsent(ticker, t -> new ConcurrentHashMap<>()).putIfAbsent(listener,
+                conflating) != null) {
+            logger.warn("Listener is already subscribed to market depth for {} with conflation", ticker);
+            return;
+        }
+        subscribeMarketDepth(ticker, conflating);
+    }
+
     public void unsubscribeMarketDepth(Ticker ticker, Level2QuoteListener listener) {
+        Map<Level2QuoteListener, ConflatingLevel2QuoteListener> conflatingListeners = conflatingLevel2Listeners
+                .get(ticker);
+        ConflatingLevel2QuoteListener conflating = conflatingListeners == null ? null
+                : conflatingListeners.remove(listener);
+        if (conflating != null) {
+            conflating.close();
+            listener = conflating;
+        }
         synchronized (ticker) {
             List<Level2QuoteListener> listeners = level2ListenerMap.get(ticker);
             if (listeners != null) {
-                listeners.remove(listener);
+                synchronized (listeners) {
+                    listeners.remove(listener);
+                    level2ListenerSnapshots.put(ticker, listeners.toArray(new Level2QuoteListener[0]));
+                }
             }
         }
     }
@@ -406,6 +761,7 @@ public abstract class QuoteEngine implements IQuoteEngine {
      * QuoteEngine is no longer needed to prevent resource leaks.
      */
     public void shutdown() {
+        shutdownRingBufferDispatcher();
         if (quoteExecutor != null && !quoteExecutor.isShutdown()) {
             logger.info("Shutting down quote processing thread pool");
             quoteExecutor.shutdown();
@@ -417,12 +773,45 @@ public abstract class QuoteEngine implements IQuoteEngine {
      * emergency situations to force immediate shutdown.
      */
     public void shutdownNow() {
+        shutdownRingBufferDispatcher();
         if (quoteExecutor != null && !quoteExecutor.isShutdown()) {
             logger.info("Force shutting down quote processing thread pool");
             quoteExecutor.shutdownNow();
         }
     }
 
+    /**
+     * @return delivered, conflated and dropped counts summed over every conflating
+     *         subscription on this engine
+     */
+    public QuoteConflationStats getConflationStats() {
+        return conflationStats;
+    }
+
+    /**
+     * @return the conflation counters of a single conflating subscription, or null
+     *         if the listener is not subscribed to the ticker with conflation
+     */
+    public QuoteConflationStats getConflationStats(Ticker ticker, Object listener) {
+        Map<Level1QuoteListener, ConflatingLevel1QuoteListener> level1 = conflatingLevel1Listeners.get(ticker);
+        if (level1 != null && level1.get(listener) != null) {
+            return level1.get(listener).getStats();
+        }
+        Map<Level2QuoteListener, ConflatingLevel2QuoteListener> level2 = conflatingLevel2Listeners.get(ticker);
+        if (level2 != null && level2.get(listener) != null) {
+            return level2.get(listener).getStats();
+        }
+        return null;
+    }
+
+    protected void shutdownRingBufferDispatcher() {
+        RingBufferQuoteDispatcher dispatcher = ringBufferDispatcher;
+        if (dispatcher != null && !dispatcher.isShutdown()) {
+            logger.info("Shutting down ring buffer quote dispatcher");
+            dispatcher.shutdown();
+        }
+    }
+
     /**
      * Checks if the quote processing thread pool has been shut down
      * 
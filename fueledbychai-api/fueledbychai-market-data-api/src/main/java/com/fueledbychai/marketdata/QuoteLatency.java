@@ -0,0 +1,43 @@
+package com.fueledbychai.marketdata;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.time.LatencyStage;
+import com.fueledbychai.time.PipelineLatency;
+
+/**
+ * Records the quote engine stages of {@link PipelineLatency} against a ticker.
+ */
+final class QuoteLatency {
+
+    private QuoteLatency() {
+    }
+
+    /**
+     * Records the {@link LatencyStage#QUOTE_FIRE} stage for the frame the current
+     * thread is handling.
+     *
+     * @return the receive mark to record listener latency against, or
+     *         {@link PipelineLatency#NO_MARK}
+     */
+    static long recordFire(Ticker ticker) {
+        long receivedNanos = PipelineLatency.getReceivedNanos();
+        if (receivedNanos != PipelineLatency.NO_MARK) {
+            PipelineLatency.recordSince(LatencyStage.QUOTE_FIRE, exchangeName(ticker), symbol(ticker), receivedNanos);
+        }
+        return receivedNanos;
+    }
+
+    static void recordListener(Ticker ticker, long receivedNanos) {
+        if (receivedNanos != PipelineLatency.NO_MARK) {
+            PipelineLatency.recordSince(LatencyStage.LISTENER, exchangeName(ticker), symbol(ticker), receivedNanos);
+        }
+    }
+
+    private static String exchangeName(Ticker ticker) {
+        return ticker == null || ticker.getExchange() == null ? null : ticker.getExchange().getExchangeName();
+    }
+
+    private static String symbol(Ticker ticker) {
+        return ticker == null ? null : ticker.getSymbol();
+    }
+}
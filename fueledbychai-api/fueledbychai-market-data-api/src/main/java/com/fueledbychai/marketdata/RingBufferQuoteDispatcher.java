@@ -0,0 +1,343 @@
+package com.fueledbychai.marketdata;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.time.PipelineLatency;
+
+/**
+ * Disruptor-style dispatcher that delivers quote events to listeners from a set of
+ * preallocated ring buffers.
+ * <p>
+ * Events are sharded by ticker symbol, and each shard is drained by exactly one
+ * consumer thread, so every listener observes the events of a given ticker in the
+ * order they were published. Producers claim slots with a CAS on the shard cursor
+ * and never take a lock; the listener arrays handed to {@code publish*} are expected
+ * to be immutable copy-on-write snapshots, so the consumer can iterate them without
+ * synchronization.
+ * <p>
+ * When a shard is full the configured {@link OverflowPolicy} applies: either the
+ * producer waits for the consumer to free a slot, or the new event is dropped and
+ * counted.
+ */
+public class RingBufferQuoteDispatcher {
+
+    protected static final Logger logger = LoggerFactory.getLogger(RingBufferQuoteDispatcher.class);
+
+    public static final int DEFAULT_RING_SIZE = 4096;
+
+    public enum OverflowPolicy {
+        /** Producers wait until the shard's consumer frees a slot. */
+        BLOCK,
+        /** The event being published is discarded and counted as dropped. */
+        DROP_NEWEST;
+    }
+
+    protected static final int EVENT_LEVEL1 = 1;
+    protected static final int EVENT_LEVEL2 = 2;
+    protected static final int EVENT_ORDER_FLOW = 3;
+
+    protected static final int SPIN_TRIES = 200;
+    protected static final long PARK_NANOS = 1_000_000L;
+
+    protected final Shard[] shards;
+    protected final OverflowPolicy overflowPolicy;
+    protected final AtomicLong droppedCount = new AtomicLong();
+    protected volatile boolean running = true;
+
+    public RingBufferQuoteDispatcher() {
+        this(Math.min(4, Runtime.getRuntime().availableProcessors()), DEFAULT_RING_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param shardCount     number of ring buffers, each with its own consumer thread
+     * @param ringSize       slots per ring buffer; rounded up to a power of two
+     * @param overflowPolicy what to do when a ring buffer is full
+     */
+    public RingBufferQuoteDispatcher(int shardCount, int ringSize, OverflowPolicy overflowPolicy) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        if (ringSize <= 0) {
+            throw new IllegalArgumentException("ringSize must be positive");
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("overflowPolicy is required");
+        }
+        this.overflowPolicy = overflowPolicy;
+        int capacity = Integer.highestOneBit(ringSize);
+        if (capacity < ringSize) {
+            capacity <<= 1;
+        }
+        ThreadFactory threadFactory = new DispatcherThreadFactory();
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(capacity);
+        }
+        for (Shard shard : shards) {
+            shard.consumer = threadFactory.newThread(shard::consume);
+            shard.consumer.start();
+        }
+        logger.info("Initialized ring buffer quote dispatcher with {} shards of {} slots, overflow policy {}",
+                shardCount, capacity, overflowPolicy);
+    }
+
+    public boolean publishLevel1(ILevel1Quote quote, Level1QuoteListener[] listeners,
+            Level1QuoteListener[] globalListeners) {
+        return publish(quote.getTicker(), EVENT_LEVEL1, quote, listeners, globalListeners);
+    }
+
+    public boolean publishLevel2(ILevel2Quote quote, Level2QuoteListener[] listeners) {
+        return publish(quote.getTicker(), EVENT_LEVEL2, quote, listeners, null);
+    }
+
+    public boolean publishOrderFlow(OrderFlow orderFlow, OrderFlowListener[] listeners,
+            OrderFlowListener[] globalListeners) {
+        return publish(orderFlow.getTicker(), EVENT_ORDER_FLOW, orderFlow, listeners, globalListeners);
+    }
+
+    /**
+     * Publishes one event to the shard owning the ticker.
+     *
+     * @return true if the event was enqueued, false if there were no listeners or it
+     *         was dropped
+     */
+    protected boolean publish(Ticker ticker, int type, Object event, Object[] listeners, Object[] globalListeners) {
+        boolean hasListeners = listeners != null && listeners.length > 0;
+        boolean hasGlobalListeners = globalListeners != null && globalListeners.length > 0;
+        if (!hasListeners && !hasGlobalListeners) {
+            return false;
+        }
+        if (!running) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        Shard shard = shardFor(ticker);
+        long sequence = shard.claim();
+        if (sequence < 0) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        Slot slot = shard.slots[(int) (sequence & shard.mask)];
+        slot.type = type;
+        slot.event = event;
+        slot.ticker = ticker;
+        slot.receivedNanos = PipelineLatency.getReceivedNanos();
+        slot.listeners = hasListeners ? listeners : null;
+        slot.globalListeners = hasGlobalListeners ? globalListeners : null;
+        shard.publish(sequence);
+        return true;
+    }
+
+    protected Shard shardFor(Ticker ticker) {
+        if (shards.length == 1) {
+            return shards[0];
+        }
+        // Tickers are mutable, so route on the symbol rather than Ticker.hashCode()
+        // to keep a ticker pinned to the same shard for its lifetime.
+        String symbol = ticker == null ? null : ticker.getSymbol();
+        int hash = symbol == null ? 0 : symbol.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    protected void dispatch(Slot slot) {
+        Object[] globalListeners = slot.globalListeners;
+        if (globalListeners != null) {
+            for (Object listener : globalListeners) {
+                QuoteLatency.recordListener(slot.ticker, slot.receivedNanos);
+                deliver(slot.type, slot.event, listener, true);
+            }
+        }
+        Object[] listeners = slot.listeners;
+        if (listeners != null) {
+            for (Object listener : listeners) {
+                QuoteLatency.recordListener(slot.ticker, slot.receivedNanos);
+                deliver(slot.type, slot.event, listener, false);
+            }
+        }
+    }
+
+    protected void deliver(int type, Object event, Object listener, boolean global) {
+        try {
+            switch (type) {
+            case EVENT_LEVEL1:
+                ((Level1QuoteListener) listener).quoteRecieved((ILevel1Quote) event);
+                break;
+            case EVENT_LEVEL2:
+                ((Level2QuoteListener) listener).level2QuoteReceived((ILevel2Quote) event);
+                break;
+            case EVENT_ORDER_FLOW:
+                ((OrderFlowListener) listener).orderflowReceived((OrderFlow) event);
+                break;
+            default:
+                logger.warn("Unknown quote event type {}", type);
+            }
+        } catch (Throwable ex) {
+            // don't let one listener blowing up prevent the others from getting the event
+            logger.warn("Error processing quote event for {}listener", global ? "global " : "", ex);
+        }
+    }
+
+    public long getPublishedCount() {
+        long published = 0;
+        for (Shard shard : shards) {
+            published += shard.cursor.get() + 1;
+        }
+        return published;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @return the number of events published but not yet delivered, across all
+     *         shards
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (Shard shard : shards) {
+            backlog += shard.cursor.get() - shard.consumed.get();
+        }
+        return backlog;
+    }
+
+    /**
+     * Stops the consumer threads. Events still in the ring buffers are discarded.
+     */
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.consumer);
+        }
+    }
+
+    public boolean isShutdown() {
+        return !running;
+    }
+
+    protected static class Slot {
+        int type;
+        Object event;
+        Ticker ticker;
+        long receivedNanos = PipelineLatency.NO_MARK;
+        Object[] listeners;
+        Object[] globalListeners;
+
+        void clear() {
+            event = null;
+            ticker = null;
+            listeners = null;
+            globalListeners = null;
+        }
+    }
+
+    protected class Shard {
+        final Slot[] slots;
+        final int capacity;
+        final long mask;
+        /** Highest sequence claimed by a producer. */
+        final AtomicLong cursor = new AtomicLong(-1);
+        /** Highest sequence fully delivered by the consumer. */
+        final AtomicLong consumed = new AtomicLong(-1);
+        /** Sequence last published into each slot, used to detect availability. */
+        final AtomicLongArray available;
+        volatile boolean consumerWaiting;
+        Thread consumer;
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            slots = new Slot[capacity];
+            available = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                slots[i] = new Slot();
+                available.set(i, -1);
+            }
+        }
+
+        /**
+         * @return the claimed sequence, or -1 if the event must be dropped
+         */
+        long claim() {
+            while (true) {
+                long current = cursor.get();
+                long next = current + 1;
+                if (next - capacity > consumed.get()) {
+                    if (overflowPolicy == OverflowPolicy.DROP_NEWEST || Thread.currentThread() == consumer
+                            || !running) {
+                        // a listener re-firing from the consumer thread would deadlock waiting on itself
+                        return -1;
+                    }
+                    LockSupport.parkNanos(1_000L);
+                    continue;
+                }
+                if (cursor.compareAndSet(current, next)) {
+                    return next;
+                }
+            }
+        }
+
+        void publish(long sequence) {
+            available.set((int) (sequence & mask), sequence);
+            if (consumerWaiting) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        void consume() {
+            long next = consumed.get() + 1;
+            int idle = 0;
+            while (running) {
+                int index = (int) (next & mask);
+                if (available.get(index) != next) {
+                    if (++idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        consumerWaiting = true;
+                        if (available.get(index) != next && running) {
+                            LockSupport.parkNanos(PARK_NANOS);
+                        }
+                        consumerWaiting = false;
+                    }
+                    continue;
+                }
+                idle = 0;
+                Slot slot = slots[index];
+                dispatch(slot);
+                slot.clear();
+                consumed.set(next);
+                next++;
+            }
+        }
+    }
+
+    private static class DispatcherThreadFactory implements ThreadFactory {
+        private static final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "quote-dispatch-" + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
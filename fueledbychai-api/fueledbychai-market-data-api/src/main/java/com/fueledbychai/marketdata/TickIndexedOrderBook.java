@@ -0,0 +1,1133 @@
+package com.fueledbychai.marketdata;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fueledbychai.data.FixedPoint;
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.marketdata.OrderBook.DepthVwapParams;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+
+/**
+ * Order book that keeps each side as a sorted array of scaled {@code long}
+ * prices and primitive {@code double} sizes.
+ * <p>
+ * Prices are stored as integers in units of {@code 10^-priceScale}. By default
+ * the price scale is the scale of the tick size plus
+ * {@link #DEFAULT_SUB_TICK_DIGITS}, so prices quoted finer than the tick are
+ * still kept exactly. Levels are ordered from worst to best, which keeps the
+ * best price at the end of the array: best bid/ask reads are O(1) and updates
+ * near the touch only shift a few entries.
+ * <p>
+ * Every tick size the book is asked about is kept as an aggregation that is
+ * maintained incrementally. Each change to a raw level is applied as a size
+ * delta to the bucket it falls into, so reads never re-bucket the whole side.
+ * Bids are bucketed down to the tick and asks are bucketed up.
+ * <p>
+ * The book expects a single writer thread. Listeners are called on the writer
+ * thread, and the copy handed to
+ * {@link OrderBookUpdateListener#orderBookUpdated} is only built when a
+ * listener is registered.
+ */
+public class TickIndexedOrderBook implements IOrderBook {
+
+    protected static final Logger logger = LoggerFactory.getLogger(TickIndexedOrderBook.class);
+
+    /** Extra decimal digits kept below the tick size when scaling prices. */
+    public static final int DEFAULT_SUB_TICK_DIGITS = 4;
+
+    /**
+     * Tick size used for tickers that do not define a minimum tick size. Prices
+     * are then kept to {@link #FALLBACK_PRICE_SCALE} digits with no extra
+     * sub-tick digits.
+     */
+    public static final BigDecimal FALLBACK_TICK_SIZE = new BigDecimal("0.00000001");
+    public static final int FALLBACK_PRICE_SCALE = 8;
+
+    /**
+     * Most aggregations kept besides the book's own tick size. The least recently
+     * read one is dropped to make room for a new tick size.
+     */
+    public static final int MAX_EXTRA_AGGREGATIONS = 8;
+
+    protected static final int INITIAL_CAPACITY = 64;
+    protected static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    protected final Ticker ticker;
+    protected final BigDecimal tickSize;
+    protected final int priceScale;
+    protected final double priceFactor;
+    protected final PriceLadder bids;
+    protected final PriceLadder asks;
+    protected final Aggregation defaultAggregation;
+    protected Aggregation[] aggregations;
+    protected int aggregationCount;
+    protected long aggregationReads;
+    protected volatile boolean initialized = false;
+    protected final List<OrderBookUpdateListener> orderbookUpdateListeners = new CopyOnWriteArrayList<>();
+
+    // Last published top of book at the default tick size, used for change
+    // detection
+    protected long publishedBestBid;
+    protected double publishedBestBidSize;
+    protected long publishedBestAsk;
+    protected double publishedBestAskSize;
+
+    /**
+     * Build a new order book for the specified ticker, aggregated by the
+     * ticker's minimum tick size, or by {@link #FALLBACK_TICK_SIZE} if the ticker
+     * has none.
+     *
+     * @param ticker
+     */
+    public TickIndexedOrderBook(Ticker ticker) {
+        this(ticker, tickSizeOf(ticker), hasTickSize(ticker) ? defaultPriceScale(ticker.getMinimumTickSize())
+                : FALLBACK_PRICE_SCALE);
+    }
+
+    /**
+     * Build a order book aggregated by the specified tickSize
+     *
+     * @param ticker
+     * @param tickSize
+     */
+    public TickIndexedOrderBook(Ticker ticker, BigDecimal tickSize) {
+        this(ticker, tickSize, defaultPriceScale(tickSize));
+    }
+
+    /**
+     * Build a order book aggregated by the specified tickSize that stores prices
+     * with the given number of decimal digits.
+     *
+     * @param ticker
+     * @param tickSize
+     * @param priceScale number of decimal digits kept for each price
+     */
+    public TickIndexedOrderBook(Ticker ticker, BigDecimal tickSize, int priceScale) {
+        validateTickSize(tickSize);
+        if (priceScale < 0 || priceScale > 18) {
+            throw new IllegalArgumentException("priceScale must be between 0 and 18: " + priceScale);
+        }
+        this.ticker = ticker;
+        this.tickSize = tickSize;
+        this.priceScale = priceScale;
+        this.priceFactor = Math.pow(10, priceScale);
+        this.bids = new PriceLadder(true, INITIAL_CAPACITY);
+        this.asks = new PriceLadder(false, INITIAL_CAPACITY);
+        this.aggregations = new Aggregation[4];
+        this.defaultAggregation = addAggregation(tickSize);
+    }
+
+    /**
+     * Copy constructor used by {@link #cloneOrderBook()}. Listeners are not
+     * copied.
+     */
+    protected TickIndexedOrderBook(TickIndexedOrderBook source) {
+        this.ticker = source.ticker;
+        this.tickSize = source.tickSize;
+        this.priceScale = source.priceScale;
+        this.priceFactor = source.priceFactor;
+        this.bids = new PriceLadder(source.bids);
+        this.asks = new PriceLadder(source.asks);
+        this.aggregations = new Aggregation[source.aggregations.length];
+        for (int i = 0; i < source.aggregationCount; i++) {
+            this.aggregations[i] = new Aggregation(source.aggregations[i]);
+        }
+        this.aggregationCount = source.aggregationCount;
+        this.aggregationReads = source.aggregationReads;
+        this.defaultAggregation = this.aggregations[0];
+        this.initialized = source.initialized;
+        this.publishedBestBid = source.publishedBestBid;
+        this.publishedBestBidSize = source.publishedBestBidSize;
+        this.publishedBestAsk = source.publishedBestAsk;
+        this.publishedBestAskSize = source.publishedBestAskSize;
+    }
+
+    protected static boolean hasTickSize(Ticker ticker) {
+        return ticker != null && ticker.getMinimumTickSize() != null && ticker.getMinimumTickSize().signum() > 0;
+    }
+
+    protected static BigDecimal tickSizeOf(Ticker ticker) {
+        return hasTickSize(ticker) ? ticker.getMinimumTickSize() : FALLBACK_TICK_SIZE;
+    }
+
+    protected static int defaultPriceScale(BigDecimal tickSize) {
+        validateTickSize(tickSize);
+        return Math.max(0, tickSize.stripTrailingZeros().scale()) + DEFAULT_SUB_TICK_DIGITS;
+    }
+
+    protected static void validateTickSize(BigDecimal tickSize) {
+        if (tickSize == null || tickSize.signum() <= 0) {
+            throw new IllegalArgumentException("tickSize must be positive: " + tickSize);
+        }
+    }
+
+    public Ticker getTicker() {
+        return ticker;
+    }
+
+    public BigDecimal getTickSize() {
+        return tickSize;
+    }
+
+    /**
+     * @return the number of decimal digits in the scaled prices used by this book
+     */
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    /**
+     * Converts a price to this book's scaled representation, rounding to the
+     * nearest unit.
+     */
+    public long toScaledPrice(BigDecimal price) {
+        return FixedPoint.toScaled(price, priceScale);
+    }
+
+    /**
+     * Converts a price to this book's scaled representation, rounding to the
+     * nearest unit.
+     */
+    public long toScaledPrice(double price) {
+        return FixedPoint.toScaled(price, priceScale);
+    }
+
+    /**
+     * Converts a scaled price from this book back to a {@link BigDecimal}.
+     */
+    public BigDecimal fromScaledPrice(long scaledPrice) {
+        return FixedPoint.toBigDecimal(scaledPrice, priceScale);
+    }
+
+    /**
+     * Parses a decimal price string straight into this book's scaled
+     * representation, without going through a {@link BigDecimal}.
+     */
+    public long parseScaledPrice(CharSequence price) {
+        return FixedPoint.parse(price, priceScale);
+    }
+
+    @Override
+    public synchronized void clearOrderBook() {
+        bids.clear();
+        asks.clear();
+        evictAggregations();
+        defaultAggregation.bids.clear();
+        defaultAggregation.asks.clear();
+        publishedBestBid = 0L;
+        publishedBestBidSize = 0.0;
+        publishedBestAsk = 0L;
+        publishedBestAskSize = 0.0;
+        initialized = false;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Replaces the contents of the book with the given levels.
+     *
+     * @param bids      List of bid entries (price, size pairs)
+     * @param asks      List of ask entries (price, size pairs)
+     * @param timestamp The timestamp for this update
+     */
+    @Override
+    public synchronized void updateFromSnapshot(List<PriceLevel> bids, List<PriceLevel> asks,
+            ZonedDateTime timestamp) {
+        this.bids.clear();
+        this.asks.clear();
+        for (PriceLevel bid : bids) {
+            if (bid.getSize() == null || Double.isNaN(bid.getSize())) {
+                logger.warn("NaN or null bid size encountered in updateFromSnapshot for price {}. Skipping.",
+                        bid.getPrice());
+                continue;
+            }
+            this.bids.set(scalePrice(bid.getPrice(), true), bid.getSize());
+        }
+        for (PriceLevel ask : asks) {
+            if (ask.getSize() == null || Double.isNaN(ask.getSize())) {
+                logger.warn("NaN or null ask size encountered in updateFromSnapshot for price {}. Skipping.",
+                        ask.getPrice());
+                continue;
+            }
+            this.asks.set(scalePrice(ask.getPrice(), false), ask.getSize());
+        }
+        completeSnapshot(timestamp);
+    }
+
+    /**
+     * Replaces the contents of the book with the given price/size arrays.
+     *
+     * @param bidPrices Array of bid prices
+     * @param bidSizes  Array of bid sizes (must be same length as bidPrices)
+     * @param askPrices Array of ask prices
+     * @param askSizes  Array of ask sizes (must be same length as askPrices)
+     * @param timestamp The timestamp for this update
+     */
+    @Override
+    public synchronized void updateFromSnapshot(BigDecimal[] bidPrices, Double[] bidSizes, BigDecimal[] askPrices,
+            Double[] askSizes, ZonedDateTime timestamp) {
+        this.bids.clear();
+        this.asks.clear();
+        for (int i = 0; i < bidPrices.length; i++) {
+            Double size = bidSizes[i];
+            if (size == null || Double.isNaN(size)) {
+                logger.warn("NaN or null bid size encountered in updateFromSnapshot (array) for price {}. Skipping.",
+                        bidPrices[i]);
+                continue;
+            }
+            this.bids.set(scalePrice(bidPrices[i], true), size);
+        }
+        for (int i = 0; i < askPrices.length; i++) {
+            Double size = askSizes[i];
+            if (size == null || Double.isNaN(size)) {
+                logger.warn("NaN or null ask size encountered in updateFromSnapshot (array) for price {}. Skipping.",
+                        askPrices[i]);
+                continue;
+            }
+            this.asks.set(scalePrice(askPrices[i], false), size);
+        }
+        completeSnapshot(timestamp);
+    }
+
+    /**
+     * Replaces the contents of the book with levels that are already scaled to
+     * this book's {@link #getPriceScale() price scale}.
+     *
+     * @param bidPrices scaled bid prices
+     * @param bidSizes  bid sizes
+     * @param bidCount  number of bid entries to read
+     * @param askPrices scaled ask prices
+     * @param askSizes  ask sizes
+     * @param askCount  number of ask entries to read
+     * @param timestamp The timestamp for this update
+     */
+    public synchronized void updateFromSnapshot(long[] bidPrices, double[] bidSizes, int bidCount, long[] askPrices,
+            double[] askSizes, int askCount, ZonedDateTime timestamp) {
+        this.bids.clear();
+        this.asks.clear();
+        for (int i = 0; i < bidCount; i++) {
+            if (!Double.isNaN(bidSizes[i])) {
+                this.bids.set(bidPrices[i], bidSizes[i]);
+            }
+        }
+        for (int i = 0; i < askCount; i++) {
+            if (!Double.isNaN(askSizes[i])) {
+                this.asks.set(askPrices[i], askSizes[i]);
+            }
+        }
+        completeSnapshot(timestamp);
+    }
+
+    /**
+     * Applies a set of level changes in place. A size of zero or less removes the
+     * level. Prices are scaled to this book's {@link #getPriceScale() price
+     * scale}. Listeners are notified once, after all changes have been applied.
+     *
+     * @param bidPrices scaled bid prices
+     * @param bidSizes  new bid sizes
+     * @param bidCount  number of bid entries to read
+     * @param askPrices scaled ask prices
+     * @param askSizes  new ask sizes
+     * @param askCount  number of ask entries to read
+     * @param timestamp The timestamp for this update
+     */
+    public synchronized void applyDelta(long[] bidPrices, double[] bidSizes, int bidCount, long[] askPrices,
+            double[] askSizes, int askCount, ZonedDateTime timestamp) {
+        for (int i = 0; i < bidCount; i++) {
+            applyLevel(bids, bidPrices[i], bidSizes[i]);
+        }
+        for (int i = 0; i < askCount; i++) {
+            applyLevel(asks, askPrices[i], askSizes[i]);
+        }
+        publish(timestamp);
+    }
+
+    /**
+     * Sets the size of a single bid level. A size of zero or less removes the
+     * level.
+     */
+    public synchronized void updateBid(BigDecimal price, double size, ZonedDateTime timestamp) {
+        applyLevel(bids, scalePrice(price, true), size);
+        publish(timestamp);
+    }
+
+    /**
+     * Sets the size of a single ask level. A size of zero or less removes the
+     * level.
+     */
+    public synchronized void updateAsk(BigDecimal price, double size, ZonedDateTime timestamp) {
+        applyLevel(asks, scalePrice(price, false), size);
+        publish(timestamp);
+    }
+
+    protected void completeSnapshot(ZonedDateTime timestamp) {
+        for (int i = 0; i < aggregationCount; i++) {
+            aggregations[i].rebuild(bids, asks);
+        }
+        initialized = true;
+        publish(timestamp);
+    }
+
+    protected void applyLevel(PriceLadder side, long price, double size) {
+        if (Double.isNaN(size)) {
+            logger.warn("Attempted to update with NaN size for price {}. Ignoring update.", fromScaledPrice(price));
+            return;
+        }
+        double current = size > 0.0 ? size : 0.0;
+        double previous = side.set(price, current);
+        if (previous == 0.0 && current == 0.0) {
+            return;
+        }
+        for (int i = 0; i < aggregationCount; i++) {
+            aggregations[i].refresh(side, price);
+        }
+        if (bids.isEmpty() && asks.isEmpty()) {
+            // an emptied book has nothing left to aggregate; other tick sizes are
+            // rebuilt on their next read
+            evictAggregations();
+        }
+    }
+
+    /**
+     * Drops every aggregation except the one at the book's own tick size.
+     */
+    protected void evictAggregations() {
+        for (int i = 1; i < aggregationCount; i++) {
+            aggregations[i] = null;
+        }
+        aggregationCount = 1;
+    }
+
+    protected long scalePrice(BigDecimal price, boolean bid) {
+        return FixedPoint.toScaled(price, priceScale, bid ? RoundingMode.FLOOR : RoundingMode.CEILING);
+    }
+
+    protected Aggregation aggregationFor(BigDecimal requestedTickSize) {
+        if (requestedTickSize == null || requestedTickSize == tickSize) {
+            return defaultAggregation;
+        }
+        for (int i = 0; i < aggregationCount; i++) {
+            if (aggregations[i].tickSize.compareTo(requestedTickSize) == 0) {
+                aggregations[i].lastRead = ++aggregationReads;
+                return aggregations[i];
+            }
+        }
+        validateTickSize(requestedTickSize);
+        if (aggregationCount > MAX_EXTRA_AGGREGATIONS) {
+            removeAggregation(leastRecentlyRead());
+        }
+        Aggregation aggregation = addAggregation(requestedTickSize);
+        aggregation.lastRead = ++aggregationReads;
+        aggregation.rebuild(bids, asks);
+        return aggregation;
+    }
+
+    protected Aggregation addAggregation(BigDecimal aggregationTickSize) {
+        if (aggregationCount == aggregations.length) {
+            aggregations = Arrays.copyOf(aggregations, aggregations.length * 2);
+        }
+        Aggregation aggregation = new Aggregation(aggregationTickSize, priceScale);
+        aggregations[aggregationCount++] = aggregation;
+        return aggregation;
+    }
+
+    protected int leastRecentlyRead() {
+        int oldest = 1;
+        for (int i = 2; i < aggregationCount; i++) {
+            if (aggregations[i].lastRead < aggregations[oldest].lastRead) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    protected void removeAggregation(int index) {
+        int moved = aggregationCount - index - 1;
+        if (moved > 0) {
+            System.arraycopy(aggregations, index + 1, aggregations, index, moved);
+        }
+        aggregations[--aggregationCount] = null;
+    }
+
+    @Override
+    public BidSizePair getBestBidWithSize() {
+        return getBestBid();
+    }
+
+    @Override
+    public BidSizePair getBestAskWithSize() {
+        return getBestAsk();
+    }
+
+    @Override
+    public BidSizePair getBestBid() {
+        return getBestBid(tickSize);
+    }
+
+    @Override
+    public synchronized BidSizePair getBestBid(BigDecimal tickSize) {
+        Aggregation aggregation = aggregationFor(tickSize);
+        return new BidSizePair(aggregation.toPrice(aggregation.bids.bestPrice()), aggregation.bids.bestSize());
+    }
+
+    @Override
+    public BidSizePair getBestAsk() {
+        return getBestAsk(tickSize);
+    }
+
+    @Override
+    public synchronized BidSizePair getBestAsk(BigDecimal tickSize) {
+        Aggregation aggregation = aggregationFor(tickSize);
+        return new BidSizePair(aggregation.toPrice(aggregation.asks.bestPrice()), aggregation.asks.bestSize());
+    }
+
+    /**
+     * @return the scaled best bid at the book's tick size, or 0 if there are no
+     *         bids
+     */
+    public synchronized long getBestBidPriceScaled() {
+        return defaultAggregation.bids.bestPrice();
+    }
+
+    /**
+     * @return the size at the best bid at the book's tick size, or 0 if there are
+     *         no bids
+     */
+    public synchronized double getBestBidSize() {
+        return defaultAggregation.bids.bestSize();
+    }
+
+    /**
+     * @return the scaled best ask at the book's tick size, or 0 if there are no
+     *         asks
+     */
+    public synchronized long getBestAskPriceScaled() {
+        return defaultAggregation.asks.bestPrice();
+    }
+
+    /**
+     * @return the size at the best ask at the book's tick size, or 0 if there are
+     *         no asks
+     */
+    public synchronized double getBestAskSize() {
+        return defaultAggregation.asks.bestSize();
+    }
+
+    public synchronized int getBidLevelCount() {
+        return defaultAggregation.bids.size();
+    }
+
+    public synchronized int getAskLevelCount() {
+        return defaultAggregation.asks.size();
+    }
+
+    /**
+     * @param level 0 for the best bid, 1 for the next level and so on
+     * @return the scaled bid price at the given level at the book's tick size
+     */
+    public synchronized long getBidPriceScaled(int level) {
+        return defaultAggregation.bids.priceAt(level);
+    }
+
+    /**
+     * @param level 0 for the best bid, 1 for the next level and so on
+     * @return the bid size at the given level at the book's tick size
+     */
+    public synchronized double getBidSize(int level) {
+        return defaultAggregation.bids.sizeAt(level);
+    }
+
+    /**
+     * @param level 0 for the best ask, 1 for the next level and so on
+     * @return the scaled ask price at the given level at the book's tick size
+     */
+    public synchronized long getAskPriceScaled(int level) {
+        return defaultAggregation.asks.priceAt(level);
+    }
+
+    /**
+     * @param level 0 for the best ask, 1 for the next level and so on
+     * @return the ask size at the given level at the book's tick size
+     */
+    public synchronized double getAskSize(int level) {
+        return defaultAggregation.asks.sizeAt(level);
+    }
+
+    @Override
+    public BigDecimal getMidpoint() {
+        return getMidpoint(tickSize);
+    }
+
+    /**
+     * @return the midpoint of the best bid and ask at the given tick size, or
+     *         null if either side is empty
+     */
+    @Override
+    public synchronized BigDecimal getMidpoint(BigDecimal tickSize) {
+        Aggregation aggregation = aggregationFor(tickSize);
+        if (aggregation.bids.isEmpty() || aggregation.asks.isEmpty()) {
+            return null;
+        }
+        BigDecimal bestBid = aggregation.toPrice(aggregation.bids.bestPrice());
+        BigDecimal bestAsk = aggregation.toPrice(aggregation.asks.bestPrice());
+        return bestBid.add(bestAsk).divide(TWO);
+    }
+
+    @Override
+    public double calculateWeightedOrderBookImbalance(double lambda) {
+        return calculateWeightedOrderBookImbalance(lambda, tickSize);
+    }
+
+    @Override
+    public synchronized double calculateWeightedOrderBookImbalance(double lambda, BigDecimal tickSize) {
+        Aggregation aggregation = aggregationFor(tickSize);
+        if (aggregation.bids.isEmpty() || aggregation.asks.isEmpty()) {
+            return 0.0;
+        }
+        double midPrice = (aggregation.bids.bestPrice() + aggregation.asks.bestPrice()) / priceFactor / 2.0;
+        double totalWeightedBidVolume = weightedVolume(aggregation.bids, midPrice, lambda);
+        double totalWeightedAskVolume = weightedVolume(aggregation.asks, midPrice, lambda);
+
+        double totalWeightedVolume = totalWeightedBidVolume + totalWeightedAskVolume;
+        if (totalWeightedVolume == 0) {
+            logger.warn("Total weighted volume is zero. BidVol: {}, AskVol: {}", totalWeightedBidVolume,
+                    totalWeightedAskVolume);
+            return 0.0;
+        }
+        return (totalWeightedBidVolume - totalWeightedAskVolume) / totalWeightedVolume * 100.0;
+    }
+
+    protected double weightedVolume(PriceLadder side, double midPrice, double lambda) {
+        double total = 0.0;
+        for (int level = 0; level < side.size(); level++) {
+            double price = side.priceAt(level) / priceFactor;
+            double distance = side.bid ? midPrice - price : price - midPrice;
+            total += Math.exp(-lambda * distance) * side.sizeAt(level);
+        }
+        return total;
+    }
+
+    @Override
+    public BigDecimal getCenterOfGravityMidpoint(int levels) {
+        return getCenterOfGravityMidpoint(levels, tickSize);
+    }
+
+    @Override
+    public synchronized BigDecimal getCenterOfGravityMidpoint(int levels, BigDecimal tickSize) {
+        Aggregation aggregation = aggregationFor(tickSize);
+        double bidVolume = volume(aggregation.bids, levels);
+        double askVolume = volume(aggregation.asks, levels);
+        double totalVolume = bidVolume + askVolume;
+        if (totalVolume == 0) {
+            return null;
+        }
+        double vwmid = (notional(aggregation.bids, levels) + notional(aggregation.asks, levels)) / totalVolume;
+        return BigDecimal.valueOf(vwmid).setScale(tickSize.scale(), RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public BigDecimal getVWAPMidpoint(int levels) {
+        return getVWAPMidpoint(levels, tickSize);
+    }
+
+    /**
+     * Returns the average of the bid and ask VWAPs over the top N levels at the
+     * given tick size, or null if either side is empty.
+     */
+    @Override
+    public synchronized BigDecimal getVWAPMidpoint(int levels, BigDecimal tickSize) {
+        Aggregation aggregation = aggregationFor(tickSize);
+        double bidVolume = volume(aggregation.bids, levels);
+        double askVolume = volume(aggregation.asks, levels);
+        if (bidVolume == 0 || askVolume == 0) {
+            return null;
+        }
+        double vwmid = (notional(aggregation.bids, levels) / bidVolume
+                + notional(aggregation.asks, levels) / askVolume) / 2.0;
+        return BigDecimal.valueOf(vwmid).setScale(tickSize.scale(), RoundingMode.HALF_UP);
+    }
+
+    protected double volume(PriceLadder side, int levels) {
+        double total = 0.0;
+        int limit = Math.min(levels, side.size());
+        for (int level = 0; level < limit; level++) {
+            total += side.sizeAt(level);
+        }
+        return total;
+    }
+
+    protected double notional(PriceLadder side, int levels) {
+        double total = 0.0;
+        int limit = Math.min(levels, side.size());
+        for (int level = 0; level < limit; level++) {
+            total += side.priceAt(level) / priceFactor * side.sizeAt(level);
+        }
+        return total;
+    }
+
+    /**
+     * VWAP midpoint where each side is integrated until 'targetUnits' is filled.
+     */
+    @Override
+    public synchronized BigDecimal getImpactVwapMidpoint(double targetUnits, DepthVwapParams p) {
+        if (targetUnits <= 0) {
+            return getDepthVwapMidpoint(p);
+        }
+        PriceLadder bidLadder = defaultAggregation.bids;
+        PriceLadder askLadder = defaultAggregation.asks;
+        if (bidLadder.isEmpty() || askLadder.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        final double bestBid = bidLadder.bestPrice() / priceFactor;
+        final double bestAsk = askLadder.bestPrice() / priceFactor;
+        final double midTouch = (bestBid + bestAsk) * 0.5;
+
+        double vwapBid = vwapToFill(bidLadder, bestBid, midTouch, targetUnits, p.bpCap, p.tickCap, p.Lmax);
+        double vwapAsk = vwapToFill(askLadder, bestAsk, midTouch, targetUnits, p.bpCap, p.tickCap, p.Lmax);
+        if (Double.isNaN(vwapBid)) {
+            vwapBid = bestBid;
+        }
+        if (Double.isNaN(vwapAsk)) {
+            vwapAsk = bestAsk;
+        }
+
+        double vwmid = 0.5 * (vwapBid + vwapAsk);
+        return BigDecimal.valueOf(vwmid).setScale(tickSize.scale(), RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal getDepthVwapMidpoint() {
+        return getDepthVwapMidpoint(new DepthVwapParams());
+    }
+
+    /** Depth-first VWAP midpoint using slice×multiple coverage and bp/tick caps. */
+    @Override
+    public synchronized BigDecimal getDepthVwapMidpoint(DepthVwapParams params) {
+        PriceLadder bidLadder = defaultAggregation.bids;
+        PriceLadder askLadder = defaultAggregation.asks;
+        if (bidLadder.isEmpty() || askLadder.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        final double bestBid = bidLadder.bestPrice() / priceFactor;
+        final double bestAsk = askLadder.bestPrice() / priceFactor;
+        final double midTouch = (bestBid + bestAsk) * 0.5;
+        final double bpCap = Math.max(0.0, params.bpCap);
+        final int tickCap = Math.max(0, params.tickCap);
+        final int Lmax = Math.max(1, params.Lmax);
+        final double targetDepth = Math.max(0.0, params.MxSlice * params.slice);
+
+        double vwapBid = depthVwap(bidLadder, bestBid, midTouch, targetDepth, bpCap, tickCap, Lmax,
+                params.lambdaDecay);
+        double vwapAsk = depthVwap(askLadder, bestAsk, midTouch, targetDepth, bpCap, tickCap, Lmax,
+                params.lambdaDecay);
+
+        double vwmid = 0.5 * (vwapBid + vwapAsk);
+        return BigDecimal.valueOf(vwmid).setScale(tickSize.scale(), RoundingMode.HALF_UP);
+    }
+
+    protected double depthVwap(PriceLadder side, double bestPx, double midTouch, double targetDepth, double bpCap,
+            int tickCap, int Lmax, double lambdaDecay) {
+        final double tick = tickSize.doubleValue();
+        double sumWP = 0.0;
+        double sumWQ = 0.0;
+        double cumQ = 0.0;
+        int used = 0;
+        for (int level = 0; level < side.size() && used < Lmax; level++) {
+            double px = side.priceAt(level) / priceFactor;
+            double qty = side.sizeAt(level);
+
+            if (Math.abs((px - bestPx) / tick) > tickCap) {
+                break;
+            }
+            if (Math.abs(px - bestPx) / midTouch * 1e4 > bpCap) {
+                break;
+            }
+
+            double w = (lambdaDecay <= 0.0) ? 1.0 : Math.exp(-lambdaDecay * used);
+            sumWP += w * px * qty;
+            sumWQ += w * qty;
+            cumQ += qty;
+            used++;
+
+            if (cumQ >= targetDepth) {
+                break;
+            }
+        }
+        return (sumWQ > 0.0) ? (sumWP / sumWQ) : bestPx;
+    }
+
+    protected double vwapToFill(PriceLadder side, double bestPx, double midTouch, double targetUnits, double bpCap,
+            int tickCap, int Lmax) {
+        final double tick = tickSize.doubleValue();
+        double rem = targetUnits;
+        double sumPQ = 0.0;
+        double sumQ = 0.0;
+        int used = 0;
+        for (int level = 0; level < side.size() && used < Lmax && rem > 0.0; level++) {
+            double px = side.priceAt(level) / priceFactor;
+
+            if (Math.abs((px - bestPx) / tick) > tickCap) {
+                break;
+            }
+            if (Math.abs(px - bestPx) / midTouch * 1e4 > bpCap) {
+                break;
+            }
+
+            double take = Math.min(rem, side.sizeAt(level));
+            sumPQ += px * take;
+            sumQ += take;
+            rem -= take;
+            used++;
+        }
+        return (sumQ > 0.0) ? (sumPQ / sumQ) : Double.NaN;
+    }
+
+    @Override
+    public void printTopLevels(int levels) {
+        printTopLevels(levels, tickSize);
+    }
+
+    @Override
+    public synchronized void printTopLevels(int levels, BigDecimal tickSize) {
+        Aggregation aggregation = aggregationFor(tickSize);
+        logger.info("Top " + levels + " levels of Buy Side:");
+        for (int level = 0; level < Math.min(levels, aggregation.bids.size()); level++) {
+            logger.info("Price: " + aggregation.toPrice(aggregation.bids.priceAt(level)) + ", Size: "
+                    + aggregation.bids.sizeAt(level));
+        }
+        logger.info("Top " + levels + " levels of Sell Side:");
+        for (int level = 0; level < Math.min(levels, aggregation.asks.size()); level++) {
+            logger.info("Price: " + aggregation.toPrice(aggregation.asks.priceAt(level)) + ", Size: "
+                    + aggregation.asks.sizeAt(level));
+        }
+    }
+
+    @Override
+    public void addOrderBookUpdateListener(OrderBookUpdateListener listener) {
+        orderbookUpdateListeners.add(listener);
+    }
+
+    @Override
+    public void removeOrderBookUpdateListener(OrderBookUpdateListener listener) {
+        orderbookUpdateListeners.remove(listener);
+    }
+
+    /**
+     * Notifies listeners of top of book changes since the last publish, followed
+     * by a snapshot of the book. Nothing is built when there are no listeners.
+     */
+    protected void publish(ZonedDateTime timestamp) {
+        PriceLadder bidLadder = defaultAggregation.bids;
+        PriceLadder askLadder = defaultAggregation.asks;
+        long bestBid = bidLadder.bestPrice();
+        double bestBidSize = bidLadder.bestSize();
+        long bestAsk = askLadder.bestPrice();
+        double bestAskSize = askLadder.bestSize();
+        boolean bidChanged = bestBid != publishedBestBid || bestBidSize != publishedBestBidSize;
+        boolean askChanged = bestAsk != publishedBestAsk || bestAskSize != publishedBestAskSize;
+        publishedBestBid = bestBid;
+        publishedBestBidSize = bestBidSize;
+        publishedBestAsk = bestAsk;
+        publishedBestAskSize = bestAskSize;
+
+        if (!initialized || orderbookUpdateListeners.isEmpty()) {
+            return;
+        }
+        if (bidChanged) {
+            BigDecimal price = defaultAggregation.toPrice(bestBid);
+            for (OrderBookUpdateListener listener : orderbookUpdateListeners) {
+                try {
+                    listener.bestBidUpdated(ticker, price, bestBidSize, timestamp);
+                } catch (Throwable t) {
+                    logger.error("Listener threw exception for {}: {}", ticker, t.getMessage(), t);
+                }
+            }
+        }
+        if (askChanged) {
+            BigDecimal price = defaultAggregation.toPrice(bestAsk);
+            for (OrderBookUpdateListener listener : orderbookUpdateListeners) {
+                try {
+                    listener.bestAskUpdated(ticker, price, bestAskSize, timestamp);
+                } catch (Throwable t) {
+                    logger.error("Listener threw exception for {}: {}", ticker, t.getMessage(), t);
+                }
+            }
+        }
+        IOrderBook snapshot = cloneOrderBook();
+        for (OrderBookUpdateListener listener : orderbookUpdateListeners) {
+            try {
+                listener.orderBookUpdated(ticker, snapshot, timestamp);
+            } catch (Throwable t) {
+                logger.error("Listener threw exception for {}: {}", ticker, t.getMessage(), t);
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of the current book. Only book state is copied; listeners
+     * are not.
+     */
+    public synchronized TickIndexedOrderBook cloneOrderBook() {
+        return new TickIndexedOrderBook(this);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TickIndexedOrderBook [bids=" + bids.toString(priceScale) + ", asks=" + asks.toString(priceScale)
+                + ", ticker=" + ticker + "]";
+    }
+
+    /**
+     * The levels of a book aggregated to a single tick size.
+     */
+    protected static final class Aggregation {
+        protected final BigDecimal tickSize;
+        protected final long tick;
+        protected final int displayScale;
+        protected final long displayDivisor;
+        protected final PriceLadder bids;
+        protected final PriceLadder asks;
+        protected long lastRead;
+
+        protected Aggregation(BigDecimal tickSize, int priceScale) {
+            this.tickSize = tickSize;
+            this.tick = Math.max(1L, FixedPoint.toScaled(tickSize, priceScale, RoundingMode.CEILING));
+            this.displayScale = Math.min(Math.max(0, tickSize.scale()), priceScale);
+            this.displayDivisor = FixedPoint.pow10(priceScale - displayScale);
+            this.bids = new PriceLadder(true, INITIAL_CAPACITY);
+            this.asks = new PriceLadder(false, INITIAL_CAPACITY);
+        }
+
+        protected Aggregation(Aggregation source) {
+            this.tickSize = source.tickSize;
+            this.tick = source.tick;
+            this.displayScale = source.displayScale;
+            this.displayDivisor = source.displayDivisor;
+            this.bids = new PriceLadder(source.bids);
+            this.asks = new PriceLadder(source.asks);
+            this.lastRead = source.lastRead;
+        }
+
+        /**
+         * Rounds bids down and asks up to a multiple of the tick.
+         */
+        protected long bucket(long price, boolean bid) {
+            return bid ? Math.floorDiv(price, tick) * tick : -Math.floorDiv(-price, tick) * tick;
+        }
+
+        protected BigDecimal toPrice(long bucket) {
+            if (bucket == 0L) {
+                return BigDecimal.ZERO;
+            }
+            return BigDecimal.valueOf(bucket / displayDivisor, displayScale);
+        }
+
+        /**
+         * Rebuilds both sides from the raw ladders. Raw levels are visited from
+         * worst to best, so every bucket is appended at (or merged into) the end.
+         */
+        protected void rebuild(PriceLadder rawBids, PriceLadder rawAsks) {
+            rebuildSide(bids, rawBids);
+            rebuildSide(asks, rawAsks);
+        }
+
+        /**
+         * Recomputes the bucket holding a raw price from its member levels.
+         * Summing the members in ladder order, as a rebuild does, keeps the
+         * bucket equal to a full rebuild however many updates it has seen,
+         * where accumulating size deltas would drift.
+         */
+        protected void refresh(PriceLadder raw, long price) {
+            long bucket = bucket(price, raw.bid);
+            long fromKey = raw.bid ? bucket : -bucket;
+            int from = raw.lowerBound(fromKey);
+            int to = raw.lowerBound(fromKey + tick);
+            double size = 0.0;
+            for (int i = from; i < to; i++) {
+                size += raw.sizes[i];
+            }
+            (raw.bid ? bids : asks).setAggregated(bucket, size, to - from);
+        }
+
+        private void rebuildSide(PriceLadder target, PriceLadder raw) {
+            target.clear();
+            for (int i = 0; i < raw.size; i++) {
+                long price = raw.bid ? raw.keys[i] : -raw.keys[i];
+                target.appendOrMerge(bucket(price, raw.bid), raw.sizes[i]);
+            }
+        }
+    }
+
+    /**
+     * One side of the book. Levels are stored in ascending key order where the
+     * key is the price for bids and the negated price for asks, which places the
+     * best level at the end of the arrays for both sides.
+     */
+    protected static final class PriceLadder {
+        protected final boolean bid;
+        protected long[] keys;
+        protected double[] sizes;
+        protected int[] counts;
+        protected int size;
+
+        protected PriceLadder(boolean bid, int capacity) {
+            this.bid = bid;
+            this.keys = new long[capacity];
+            this.sizes = new double[capacity];
+            this.counts = new int[capacity];
+        }
+
+        protected PriceLadder(PriceLadder source) {
+            this.bid = source.bid;
+            int capacity = Math.max(source.size, 1);
+            this.keys = Arrays.copyOf(source.keys, capacity);
+            this.sizes = Arrays.copyOf(source.sizes, capacity);
+            this.counts = Arrays.copyOf(source.counts, capacity);
+            this.size = source.size;
+        }
+
+        protected int size() {
+            return size;
+        }
+
+        protected boolean isEmpty() {
+            return size == 0;
+        }
+
+        protected long priceAt(int level) {
+            long key = keys[size - 1 - level];
+            return bid ? key : -key;
+        }
+
+        protected double sizeAt(int level) {
+            return sizes[size - 1 - level];
+        }
+
+        protected long bestPrice() {
+            return size == 0 ? 0L : priceAt(0);
+        }
+
+        protected double bestSize() {
+            return size == 0 ? 0.0 : sizes[size - 1];
+        }
+
+        protected void clear() {
+            size = 0;
+        }
+
+        /**
+         * Sets the size of a level, removing it when the size is zero or less.
+         *
+         * @return the previous size, or 0 if the level did not exist
+         */
+        protected double set(long price, double quantity) {
+            long key = bid ? price : -price;
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                double previous = sizes[index];
+                if (quantity > 0.0) {
+                    sizes[index] = quantity;
+                } else {
+                    removeAt(index);
+                }
+                return previous;
+            }
+            if (quantity > 0.0) {
+                insertAt(-index - 1, key, quantity, 1);
+            }
+            return 0.0;
+        }
+
+        /**
+         * Sets an aggregated level and the number of raw levels in it, removing
+         * the level once no raw level is left.
+         */
+        protected void setAggregated(long price, double quantity, int count) {
+            long key = bid ? price : -price;
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                if (count <= 0) {
+                    removeAt(index);
+                } else {
+                    sizes[index] = quantity;
+                    counts[index] = count;
+                }
+            } else if (count > 0) {
+                insertAt(-index - 1, key, quantity, count);
+            }
+        }
+
+        /**
+         * @return the index of the first level whose key is at least the given key
+         */
+        protected int lowerBound(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * Adds a level that is at least as good as every level already present.
+         */
+        protected void appendOrMerge(long price, double quantity) {
+            long key = bid ? price : -price;
+            if (size > 0 && keys[size - 1] == key) {
+                sizes[size - 1] += quantity;
+                counts[size - 1]++;
+            } else {
+                insertAt(size, key, quantity, 1);
+            }
+        }
+
+        private void insertAt(int index, long key, double quantity, int count) {
+            if (size == keys.length) {
+                int capacity = Math.max(INITIAL_CAPACITY, keys.length * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            int moved = size - index;
+            if (moved > 0) {
+                System.arraycopy(keys, index, keys, index + 1, moved);
+                System.arraycopy(sizes, index, sizes, index + 1, moved);
+                System.arraycopy(counts, index, counts, index + 1, moved);
+            }
+            keys[index] = key;
+            sizes[index] = quantity;
+            counts[index] = count;
+            size++;
+        }
+
+        private void removeAt(int index) {
+            int moved = size - index - 1;
+            if (moved > 0) {
+                System.arraycopy(keys, index + 1, keys, index, moved);
+                System.arraycopy(sizes, index + 1, sizes, index, moved);
+                System.arraycopy(counts, index + 1, counts, index, moved);
+            }
+            size--;
+        }
+
+        protected String toString(int priceScale) {
+            StringBuilder sb = new StringBuilder("[");
+            for (int level = 0; level < size; level++) {
+                if (level > 0) {
+                    sb.append(", ");
+                }
+                sb.append("{Price: ").append(BigDecimal.valueOf(priceAt(level), priceScale).stripTrailingZeros()
+                        .toPlainString()).append(", Size: ").append(sizeAt(level)).append("}");
+            }
+            return sb.append("]").toString();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.fueledbychai.marketdata.replay;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.data.FueledByChaiException;
+import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.journal.JournalEncoding;
+import com.fueledbychai.marketdata.QuoteType;
+
+/**
+ * Binary layout shared by {@link MarketDataJournalEncoder} and
+ * {@link MarketDataJournalReader}.
+ * <p>
+ * A journal uses the {@link JournalEncoding} header, with {@link #MAGIC} and
+ * {@link #VERSION}, and its length-prefixed records. A zero length marks the
+ * end of the data, so a preallocated file can be read up to the last record
+ * written.
+ * <p>
+ * Every payload starts with a record type byte. Tickers are dictionary encoded:
+ * a {@link #TICKER} record binds a small integer id to the identity fields of a
+ * {@link Ticker} the first time the ticker appears in a journal, and event
+ * records refer to it by id. The fields are written one by one, see
+ * {@link #putTicker(ByteBuffer, Ticker)}, so the file never holds serialized
+ * Java objects. Event timestamps are zigzag
+ * varint deltas in microseconds from the previous event of the journal.
+ * Decimal values are written as a header byte holding the scale, with
+ * {@link #DELTA_FLAG} set when the zigzag varint that follows is the change from
+ * the previous value of the same field for the same ticker rather than the
+ * unscaled value itself, so consecutive prices of a ticker take one or two
+ * bytes.
+ */
+public final class MarketDataJournal {
+
+    public static final int MAGIC = 0x46424A4C; // "FBJL"
+    public static final short VERSION = 2;
+    public static final int HEADER_SIZE = JournalEncoding.HEADER_SIZE;
+
+    public static final byte TICKER = 1;
+    public static final byte LEVEL1 = 2;
+    public static final byte BOOK = 3;
+    public static final byte ORDER_FLOW = 4;
+
+    /** Set in a {@link #BOOK} record when the levels replace the whole book. */
+    public static final int BOOK_SNAPSHOT_FLAG = 0x01;
+
+    public static final int DELTA_FLAG = 0x80;
+    public static final int MAX_SCALE = 0x7F;
+
+    /*
+     * Per-ticker fields that carry their own delta-encoding state: one per
+     * QuoteType for Level1 values, followed by the book and trade fields.
+     */
+    static final int BOOK_BID_PRICE_FIELD = QuoteType.values().length;
+    static final int BOOK_ASK_PRICE_FIELD = BOOK_BID_PRICE_FIELD + 1;
+    static final int BOOK_SIZE_FIELD = BOOK_BID_PRICE_FIELD + 2;
+    static final int TRADE_PRICE_FIELD = BOOK_BID_PRICE_FIELD + 3;
+    static final int TRADE_SIZE_FIELD = BOOK_BID_PRICE_FIELD + 4;
+    static final int FIELD_COUNT = BOOK_BID_PRICE_FIELD + 5;
+
+    static final ZoneId UTC = ZoneId.of("UTC");
+
+    private MarketDataJournal() {
+    }
+
+    public static long toEpochMicros(ZonedDateTime time) {
+        return JournalEncoding.toEpochMicros(time.toInstant());
+    }
+
+    public static ZonedDateTime fromEpochMicros(long micros) {
+        return JournalEncoding.fromEpochMicros(micros).atZone(UTC);
+    }
+
+    static void writeHeader(ByteBuffer buffer, long baseTimeMicros) {
+        JournalEncoding.writeHeader(buffer, MAGIC, VERSION, baseTimeMicros);
+    }
+
+    /**
+     * @return an upper bound on the bytes {@link #putTicker(ByteBuffer, Ticker)}
+     *         writes for the ticker
+     */
+    static int tickerSize(Ticker ticker) {
+        int size = 64;
+        size += stringSize(ticker.getId()) + stringSize(ticker.getSymbol()) + stringSize(ticker.getCurrency());
+        size += stringSize(ticker.getExchange() == null ? null : ticker.getExchange().getExchangeName());
+        size += stringSize(ticker.getPrimaryExchange() == null ? null
+                : ticker.getPrimaryExchange().getExchangeName());
+        size += stringSize(ticker.getInstrumentType() == null ? null : ticker.getInstrumentType().name());
+        size += stringSize(ticker.getRight() == null ? null : ticker.getRight().name());
+        size += decimalSize(ticker.getMinimumTickSize()) + decimalSize(ticker.getContractMultiplier());
+        size += decimalSize(ticker.getOrderSizeIncrement()) + decimalSize(ticker.getMinimumOrderSize());
+        return size + decimalSize(ticker.getMinimumOrderSizeNotional()) + decimalSize(ticker.getStrike());
+    }
+
+    /**
+     * Writes the fields that identify and describe a ticker: id, symbol,
+     * exchange and primary exchange names, currency, instrument type, tick size,
+     * contract multiplier, order size increment, minimum order size and
+     * notional, expiry year, month and day, strike, right and funding interval.
+     * Enums and exchanges are written by name.
+     */
+    static void putTicker(ByteBuffer out, Ticker ticker) {
+        putString(out, ticker.getId());
+        putString(out, ticker.getSymbol());
+        putString(out, ticker.getExchange() == null ? null : ticker.getExchange().getExchangeName());
+        putString(out, ticker.getPrimaryExchange() == null ? null : ticker.getPrimaryExchange().getExchangeName());
+        putString(out, ticker.getCurrency());
+        putString(out, ticker.getInstrumentType() == null ? null : ticker.getInstrumentType().name());
+        putDecimal(out, ticker.getMinimumTickSize());
+        putDecimal(out, ticker.getContractMultiplier());
+        putDecimal(out, ticker.getOrderSizeIncrement());
+        putDecimal(out, ticker.getMinimumOrderSize());
+        putDecimal(out, ticker.getMinimumOrderSizeNotional());
+        JournalEncoding.putZigZag(out, ticker.getExpiryYear());
+        JournalEncoding.putZigZag(out, ticker.getExpiryMonth());
+        JournalEncoding.putZigZag(out, ticker.getExpiryDay());
+        putDecimal(out, ticker.getStrike());
+        putString(out, ticker.getRight() == null ? null : ticker.getRight().name());
+        JournalEncoding.putZigZag(out, ticker.getFundingRateInterval());
+    }
+
+    /**
+     * Reads a ticker written by {@link #putTicker(ByteBuffer, Ticker)}.
+     *
+     * @throws IllegalStateException if the ticker names an unknown exchange,
+     *                               instrument type or right
+     */
+    static Ticker getTicker(ByteBuffer in) {
+        Ticker ticker = new Ticker();
+        ticker.setId(getString(in));
+        ticker.setSymbol(getString(in));
+        ticker.setExchange(toExchange(getString(in)));
+        ticker.setPrimaryExchange(toExchange(getString(in)));
+        ticker.setCurrency(getString(in));
+        String instrumentType = getString(in);
+        ticker.setInstrumentType(instrumentType == null ? null : toEnum(InstrumentType.class, instrumentType));
+        ticker.setMinimumTickSize(getDecimal(in));
+        ticker.setContractMultiplier(getDecimal(in));
+        ticker.setOrderSizeIncrement(getDecimal(in));
+        ticker.setMinimumOrderSize(getDecimal(in));
+        ticker.setMinimumOrderSizeNotional(getDecimal(in));
+        ticker.setExpiryYear((int) JournalEncoding.getZigZag(in));
+        ticker.setExpiryMonth((int) JournalEncoding.getZigZag(in));
+        ticker.setExpiryDay((int) JournalEncoding.getZigZag(in));
+        ticker.setStrike(getDecimal(in));
+        String right = getString(in);
+        ticker.setRight(right == null ? null : toEnum(Ticker.Right.class, right));
+        ticker.setFundingRateInterval((int) JournalEncoding.getZigZag(in));
+        return ticker;
+    }
+
+    protected static int stringSize(String value) {
+        return value == null ? 1 : 10 + value.length() * 3;
+    }
+
+    protected static int decimalSize(BigDecimal value) {
+        if (value == null) {
+            return 1;
+        }
+        return value.unscaledValue().bitLength() > 63 ? 1 + stringSize(value.toPlainString()) : 21;
+    }
+
+    /*
+     * Strings are a zigzag varint byte length, -1 for null, followed by UTF-8.
+     */
+    protected static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            JournalEncoding.putZigZag(out, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        JournalEncoding.putZigZag(out, bytes.length);
+        out.put(bytes);
+    }
+
+    protected static String getString(ByteBuffer in) {
+        int length = (int) JournalEncoding.getZigZag(in);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Decimals are a presence byte followed by the zigzag scale and unscaled
+     * value; values too wide for a long are written as their plain string.
+     */
+    protected static void putDecimal(ByteBuffer out, BigDecimal value) {
+        if (value == null) {
+            out.put((byte) 0);
+        } else if (value.unscaledValue().bitLength() > 63) {
+            out.put((byte) 2);
+            putString(out, value.toPlainString());
+        } else {
+            out.put((byte) 1);
+            JournalEncoding.putZigZag(out, value.scale());
+            JournalEncoding.putZigZag(out, value.unscaledValue().longValue());
+        }
+    }
+
+    protected static BigDecimal getDecimal(ByteBuffer in) {
+        byte presence = in.get();
+        if (presence == 0) {
+            return null;
+        }
+        if (presence == 2) {
+            return new BigDecimal(getString(in));
+        }
+        int scale = (int) JournalEncoding.getZigZag(in);
+        return new BigDecimal(BigInteger.valueOf(JournalEncoding.getZigZag(in)), scale);
+    }
+
+    protected static Exchange toExchange(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Exchange.getExchangeFromString(name);
+        } catch (FueledByChaiException e) {
+            throw new IllegalStateException("Unknown exchange " + name + " in journal", e);
+        }
+    }
+
+    protected static <E extends Enum<E>> E toEnum(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown " + type.getSimpleName() + " " + name + " in journal", e);
+        }
+    }
+
+    /**
+     * Brings a value to a scale between 0 and {@link #MAX_SCALE} with an unscaled
+     * value that fits in a long.
+     *
+     * @throws IllegalArgumentException if the value is too large to encode
+     */
+    static BigDecimal normalize(BigDecimal value) {
+        if (value.scale() < 0) {
+            value = value.setScale(0);
+        }
+        if (value.scale() > MAX_SCALE || value.unscaledValue().bitLength() > 63) {
+            value = value.stripTrailingZeros();
+            if (value.scale() < 0) {
+                value = value.setScale(0);
+            }
+            if (value.scale() > MAX_SCALE) {
+                value = value.setScale(MAX_SCALE, RoundingMode.HALF_EVEN);
+            }
+            if (value.unscaledValue().bitLength() > 63) {
+                throw new IllegalArgumentException("value is out of range: " + value);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,266 @@
+package com.fueledbychai.marketdata.replay;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.journal.JournalEncoding;
+import com.fueledbychai.marketdata.ILevel1Quote;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+import com.fueledbychai.marketdata.OrderFlow;
+import com.fueledbychai.marketdata.QuoteType;
+
+/**
+ * Encodes market data events into {@link MarketDataJournal} records.
+ * <p>
+ * An encoder holds the ticker dictionary and delta state of one journal, so a
+ * new encoder is needed for each file. Each {@code encode*} call returns a
+ * buffer, positioned at the first byte, holding the event record preceded by a
+ * ticker record when the event's ticker is new to the journal. The buffer is
+ * reused by the next call. Not thread-safe.
+ */
+public class MarketDataJournalEncoder {
+
+    protected static final int MAX_VALUE_SIZE = 11;
+
+    protected final Map<Ticker, TickerState> tickers = new HashMap<>();
+    protected final long baseTimeMicros;
+    protected long lastTimeMicros;
+    protected ByteBuffer payload = ByteBuffer.allocate(256);
+    protected ByteBuffer records = ByteBuffer.allocate(512);
+
+    protected static class TickerState {
+        protected final int id;
+        protected final long[] values = new long[MarketDataJournal.FIELD_COUNT];
+        protected final byte[] scales = new byte[MarketDataJournal.FIELD_COUNT];
+
+        protected TickerState(int id) {
+            this.id = id;
+            Arrays.fill(scales, (byte) -1);
+        }
+    }
+
+    /**
+     * @param baseTimeMicros the base timestamp written to the journal header
+     */
+    public MarketDataJournalEncoder(long baseTimeMicros) {
+        this.baseTimeMicros = baseTimeMicros;
+        this.lastTimeMicros = baseTimeMicros;
+    }
+
+    public long getBaseTimeMicros() {
+        return baseTimeMicros;
+    }
+
+    /**
+     * @return the journal header for this encoder's base time
+     */
+    public ByteBuffer encodeHeader() {
+        ByteBuffer header = ByteBuffer.allocate(MarketDataJournal.HEADER_SIZE);
+        MarketDataJournal.writeHeader(header, baseTimeMicros);
+        return header.flip();
+    }
+
+    public ByteBuffer encodeLevel1(ILevel1Quote quote) {
+        if (quote == null) {
+            throw new IllegalArgumentException("quote is required");
+        }
+        QuoteType[] types = quote.getTypes();
+        QuoteType[] cleared = quote.getClearedTypes();
+        BigDecimal[] values = new BigDecimal[types.length];
+        int count = 0;
+        for (int i = 0; i < types.length; i++) {
+            BigDecimal value = quote.getValue(types[i]);
+            if (value != null) {
+                values[i] = MarketDataJournal.normalize(value);
+                count++;
+            }
+        }
+        long micros = toEpochMicros(quote.getTimeStamp());
+
+        records.clear();
+        TickerState state = resolve(quote.getTicker());
+        ByteBuffer out = startPayload(24 + types.length * (MAX_VALUE_SIZE + 1) + cleared.length);
+        out.put(MarketDataJournal.LEVEL1);
+        putEventHeader(out, state, micros);
+        JournalEncoding.putVarLong(out, count);
+        for (int i = 0; i < types.length; i++) {
+            if (values[i] != null) {
+                out.put((byte) types[i].ordinal());
+                putValue(out, state, types[i].ordinal(), values[i]);
+            }
+        }
+        JournalEncoding.putVarLong(out, cleared.length);
+        for (QuoteType type : cleared) {
+            out.put((byte) type.ordinal());
+        }
+        return finishRecords();
+    }
+
+    public ByteBuffer encodeOrderFlow(OrderFlow orderFlow) {
+        if (orderFlow == null) {
+            throw new IllegalArgumentException("orderFlow is required");
+        }
+        BigDecimal price = normalize(orderFlow.getPrice());
+        BigDecimal size = normalize(orderFlow.getSize());
+        long micros = toEpochMicros(orderFlow.getTimestamp());
+
+        records.clear();
+        TickerState state = resolve(orderFlow.getTicker());
+        ByteBuffer out = startPayload(24 + 2 * MAX_VALUE_SIZE);
+        out.put(MarketDataJournal.ORDER_FLOW);
+        putEventHeader(out, state, micros);
+        out.put(orderFlow.getSide() == null ? (byte) -1 : (byte) orderFlow.getSide().ordinal());
+        putValue(out, state, MarketDataJournal.TRADE_PRICE_FIELD, price);
+        putValue(out, state, MarketDataJournal.TRADE_SIZE_FIELD, size);
+        return finishRecords();
+    }
+
+    /**
+     * Encodes a change to the order book of a ticker.
+     *
+     * @param snapshot true if the levels replace the whole book, false if they
+     *                 update it, with a zero size removing a level
+     */
+    public ByteBuffer encodeBook(Ticker ticker, ZonedDateTime timestamp, boolean snapshot, List<PriceLevel> bids,
+            List<PriceLevel> asks) {
+        BigDecimal[] bidLevels = normalizeLevels(bids);
+        BigDecimal[] askLevels = normalizeLevels(asks);
+        long micros = toEpochMicros(timestamp);
+
+        records.clear();
+        TickerState state = resolve(ticker);
+        ByteBuffer out = startPayload(32 + (bidLevels.length + askLevels.length) * MAX_VALUE_SIZE);
+        out.put(MarketDataJournal.BOOK);
+        putEventHeader(out, state, micros);
+        out.put((byte) (snapshot ? MarketDataJournal.BOOK_SNAPSHOT_FLAG : 0));
+        putLevels(out, state, MarketDataJournal.BOOK_BID_PRICE_FIELD, bidLevels);
+        putLevels(out, state, MarketDataJournal.BOOK_ASK_PRICE_FIELD, askLevels);
+        return finishRecords();
+    }
+
+    protected TickerState resolve(Ticker ticker) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("ticker is required");
+        }
+        TickerState state = tickers.get(ticker);
+        if (state != null) {
+            return state;
+        }
+        state = new TickerState(tickers.size());
+        ByteBuffer out = startPayload(16 + MarketDataJournal.tickerSize(ticker));
+        out.put(MarketDataJournal.TICKER);
+        JournalEncoding.putVarLong(out, state.id);
+        MarketDataJournal.putTicker(out, ticker);
+        appendPayload();
+        tickers.put(ticker, state);
+        return state;
+    }
+
+    protected void putEventHeader(ByteBuffer out, TickerState state, long micros) {
+        JournalEncoding.putZigZag(out, micros - lastTimeMicros);
+        lastTimeMicros = micros;
+        JournalEncoding.putVarLong(out, state.id);
+    }
+
+    /**
+     * Writes the level count followed by the alternating prices and sizes built
+     * by {@link #normalizeLevels(List)}.
+     */
+    protected void putLevels(ByteBuffer out, TickerState state, int priceField, BigDecimal[] levels) {
+        JournalEncoding.putVarLong(out, levels.length / 2);
+        for (int i = 0; i < levels.length; i += 2) {
+            putValue(out, state, priceField, levels[i]);
+            putValue(out, state, MarketDataJournal.BOOK_SIZE_FIELD, levels[i + 1]);
+        }
+    }
+
+    /**
+     * @param value a value already passed through {@link #normalize(BigDecimal)}
+     */
+    protected void putValue(ByteBuffer out, TickerState state, int field, BigDecimal value) {
+        int scale = value.scale();
+        long unscaled = value.unscaledValue().longValue();
+        long previous = state.values[field];
+        long delta = unscaled - previous;
+        if (state.scales[field] == scale && ((unscaled ^ previous) & (unscaled ^ delta)) >= 0) {
+            out.put((byte) (scale | MarketDataJournal.DELTA_FLAG));
+            JournalEncoding.putZigZag(out, delta);
+        } else {
+            out.put((byte) scale);
+            JournalEncoding.putZigZag(out, unscaled);
+        }
+        state.values[field] = unscaled;
+        state.scales[field] = (byte) scale;
+    }
+
+    protected ByteBuffer startPayload(int maxSize) {
+        if (payload.capacity() < maxSize) {
+            payload = ByteBuffer.allocate(Math.max(maxSize, payload.capacity() * 2));
+        }
+        payload.clear();
+        return payload;
+    }
+
+    protected void appendPayload() {
+        payload.flip();
+        int length = payload.remaining();
+        int needed = JournalEncoding.varLongSize(length) + length;
+        if (records.remaining() < needed) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(records.capacity() * 2, records.position() + needed));
+            records.flip();
+            larger.put(records);
+            records = larger;
+        }
+        JournalEncoding.putVarLong(records, length);
+        records.put(payload);
+    }
+
+    protected ByteBuffer finishRecords() {
+        appendPayload();
+        return records.flip();
+    }
+
+    /*
+     * Values are validated before any dictionary or delta state changes, so an
+     * event that cannot be encoded leaves the encoder untouched.
+     */
+    protected static BigDecimal normalize(BigDecimal value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is required");
+        }
+        return MarketDataJournal.normalize(value);
+    }
+
+    protected static long toEpochMicros(ZonedDateTime timestamp) {
+        if (timestamp == null) {
+            throw new IllegalArgumentException("timestamp is required");
+        }
+        return MarketDataJournal.toEpochMicros(timestamp);
+    }
+
+    /**
+     * @return the prices and sizes of the valid levels, alternating; levels with
+     *         a missing price or a missing or non-finite size are skipped
+     */
+    protected static BigDecimal[] normalizeLevels(List<PriceLevel> levels) {
+        if (levels == null || levels.isEmpty()) {
+            return new BigDecimal[0];
+        }
+        BigDecimal[] values = new BigDecimal[levels.size() * 2];
+        int count = 0;
+        for (PriceLevel level : levels) {
+            if (level != null && level.getPrice() != null && level.getSize() != null
+                    && Double.isFinite(level.getSize())) {
+                values[count++] = MarketDataJournal.normalize(level.getPrice());
+                values[count++] = MarketDataJournal.normalize(BigDecimal.valueOf(level.getSize()));
+            }
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+}
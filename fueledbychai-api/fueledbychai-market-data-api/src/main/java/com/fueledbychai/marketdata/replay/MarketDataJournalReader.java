@@ -0,0 +1,348 @@
+package com.fueledbychai.marketdata.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.journal.JournalEncoding;
+import com.fueledbychai.marketdata.ILevel1Quote;
+import com.fueledbychai.marketdata.PrimitiveLevel1Quote;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+import com.fueledbychai.marketdata.OrderFlow;
+import com.fueledbychai.marketdata.QuoteType;
+
+/**
+ * Reads the events of a memory-mapped {@link MarketDataJournal} file one at a
+ * time.
+ * <p>
+ * {@link #next()} moves to and decodes the next event; ticker records are
+ * consumed on the way. The getters describe the current event. Reading stops
+ * at the end of the file, at a zero record length and at a record cut short by
+ * a writer that did not close cleanly. Not thread-safe.
+ * <p>
+ * The file is mapped one window at a time, so journals larger than 2 GB can be
+ * read. A record that crosses the end of a window is read from a new window
+ * starting at the record.
+ */
+public class MarketDataJournalReader implements Closeable {
+
+    public enum EventType {
+        LEVEL1, BOOK, ORDER_FLOW
+    }
+
+    /** Bytes mapped at a time, unless a single record needs more. */
+    public static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    protected static final QuoteType[] QUOTE_TYPES = QuoteType.values();
+    protected static final OrderFlow.Side[] SIDES = OrderFlow.Side.values();
+    protected static final int MAX_LENGTH_SIZE = 10;
+
+    protected final Path path;
+    protected final FileChannel channel;
+    protected final long size;
+    protected final long windowSize;
+    protected MappedByteBuffer buffer;
+    protected long windowStart;
+    protected boolean finished;
+    protected final long baseTimeMicros;
+    protected final List<Ticker> tickers = new ArrayList<>();
+    protected final List<TickerState> states = new ArrayList<>();
+
+    protected long timestampMicros;
+    protected EventType eventType;
+    protected TickerState current;
+    protected ILevel1Quote level1Quote;
+    protected int valueScale;
+    protected OrderFlow orderFlow;
+    protected boolean bookSnapshot;
+    protected List<PriceLevel> bids;
+    protected List<PriceLevel> asks;
+
+    protected static class TickerState {
+        protected final Ticker ticker;
+        protected final long[] values = new long[MarketDataJournal.FIELD_COUNT];
+
+        protected TickerState(Ticker ticker) {
+            this.ticker = ticker;
+        }
+    }
+
+    public MarketDataJournalReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize the number of bytes to map at a time
+     */
+    public MarketDataJournalReader(Path path, long windowSize) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path is required");
+        }
+        if (windowSize < MarketDataJournal.HEADER_SIZE || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("windowSize must be between " + MarketDataJournal.HEADER_SIZE + " and "
+                    + Integer.MAX_VALUE + ": " + windowSize);
+        }
+        this.path = path;
+        this.windowSize = windowSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            size = channel.size();
+            if (size < MarketDataJournal.HEADER_SIZE) {
+                throw new IOException("Journal has no header: " + path);
+            }
+            map(0, MarketDataJournal.HEADER_SIZE);
+            if (buffer.getInt() != MarketDataJournal.MAGIC) {
+                throw new IOException("Not a market data journal: " + path);
+            }
+            short version = buffer.getShort();
+            if (version != MarketDataJournal.VERSION) {
+                throw new IOException("Unsupported journal version " + version + ": " + path);
+            }
+            buffer.getShort();
+            baseTimeMicros = buffer.getLong();
+            timestampMicros = baseTimeMicros;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getBaseTimeMicros() {
+        return baseTimeMicros;
+    }
+
+    /**
+     * Moves to the next event.
+     *
+     * @return false if there are no more events
+     */
+    public boolean next() {
+        eventType = null;
+        current = null;
+        level1Quote = null;
+        orderFlow = null;
+        bids = null;
+        asks = null;
+        try {
+            while (!finished && position() < size) {
+                ensure(position(), Math.min(MAX_LENGTH_SIZE, size - position()));
+                long length = JournalEncoding.getVarLong(buffer);
+                if (length <= 0 || length > size - position() || length > Integer.MAX_VALUE) {
+                    break;
+                }
+                ensure(position(), length);
+                int end = buffer.position() + (int) length;
+                byte type = buffer.get();
+                if (type == MarketDataJournal.TICKER) {
+                    readTicker();
+                    buffer.position(end);
+                    continue;
+                }
+                EventType event = toEventType(type);
+                if (event == null) {
+                    // unknown record types are skipped so older readers can read newer files
+                    buffer.position(end);
+                    continue;
+                }
+                timestampMicros += JournalEncoding.getZigZag(buffer);
+                current = states.get((int) JournalEncoding.getVarLong(buffer));
+                decode(event);
+                eventType = event;
+                buffer.position(end);
+                return true;
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            // a record cut short by a writer that stopped mid-write
+        }
+        finished = true;
+        return false;
+    }
+
+    /**
+     * @return the file offset of the next byte to read
+     */
+    protected long position() {
+        return windowStart + buffer.position();
+    }
+
+    /**
+     * Positions the buffer at the file offset, mapping a new window there unless
+     * the current one already holds the next {@code needed} bytes.
+     */
+    protected void ensure(long position, long needed) {
+        if (position >= windowStart && position + needed <= windowStart + buffer.limit()) {
+            buffer.position((int) (position - windowStart));
+            return;
+        }
+        try {
+            map(position, needed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map " + path + " at " + position, e);
+        }
+    }
+
+    protected void map(long position, long needed) throws IOException {
+        long length = Math.min(size - position, Math.max(windowSize, needed));
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        windowStart = position;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public long getTimestampMicros() {
+        return timestampMicros;
+    }
+
+    public ZonedDateTime getTimestamp() {
+        return MarketDataJournal.fromEpochMicros(timestampMicros);
+    }
+
+    public Ticker getTicker() {
+        return current == null ? null : current.ticker;
+    }
+
+    public ILevel1Quote getLevel1Quote() {
+        checkEventType(EventType.LEVEL1);
+        return level1Quote;
+    }
+
+    public OrderFlow getOrderFlow() {
+        checkEventType(EventType.ORDER_FLOW);
+        return orderFlow;
+    }
+
+    /**
+     * @return true if the current book event replaces the whole book, false if it
+     *         updates it, with a zero size removing a level
+     */
+    public boolean isBookSnapshot() {
+        checkEventType(EventType.BOOK);
+        return bookSnapshot;
+    }
+
+    public List<PriceLevel> getBids() {
+        checkEventType(EventType.BOOK);
+        return bids;
+    }
+
+    public List<PriceLevel> getAsks() {
+        checkEventType(EventType.BOOK);
+        return asks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    protected void readTicker() {
+        int id = (int) JournalEncoding.getVarLong(buffer);
+        if (id != states.size()) {
+            throw new IllegalStateException("Unexpected ticker id " + id + " in " + path);
+        }
+        Ticker ticker = MarketDataJournal.getTicker(buffer);
+        tickers.add(ticker);
+        states.add(new TickerState(ticker));
+    }
+
+    /*
+     * Delta-encoded values depend on every earlier value of the same field, so
+     * each event is decoded as soon as it is reached.
+     */
+    protected void decode(EventType event) {
+        ZonedDateTime timestamp = getTimestamp();
+        switch (event) {
+        case LEVEL1:
+            PrimitiveLevel1Quote quote = new PrimitiveLevel1Quote(current.ticker, timestamp);
+            int count = (int) JournalEncoding.getVarLong(buffer);
+            for (int i = 0; i < count; i++) {
+                int ordinal = buffer.get();
+                long unscaled = getUnscaledValue(ordinal);
+                quote.set(QUOTE_TYPES[ordinal], unscaled, valueScale);
+            }
+            int cleared = (int) JournalEncoding.getVarLong(buffer);
+            for (int i = 0; i < cleared; i++) {
+                quote.clearQuote(QUOTE_TYPES[buffer.get()]);
+            }
+            level1Quote = quote;
+            break;
+        case ORDER_FLOW:
+            int side = buffer.get();
+            BigDecimal price = getValue(MarketDataJournal.TRADE_PRICE_FIELD);
+            BigDecimal size = getValue(MarketDataJournal.TRADE_SIZE_FIELD);
+            orderFlow = new OrderFlow(current.ticker, price, size, side < 0 ? null : SIDES[side], timestamp);
+            break;
+        case BOOK:
+            bookSnapshot = (buffer.get() & MarketDataJournal.BOOK_SNAPSHOT_FLAG) != 0;
+            bids = getLevels(MarketDataJournal.BOOK_BID_PRICE_FIELD);
+            asks = getLevels(MarketDataJournal.BOOK_ASK_PRICE_FIELD);
+            break;
+        }
+    }
+
+    protected BigDecimal getValue(int field) {
+        long value = getUnscaledValue(field);
+        return BigDecimal.valueOf(value, valueScale);
+    }
+
+    /**
+     * Reads a value without building a BigDecimal, leaving its scale in
+     * {@link #valueScale}.
+     */
+    protected long getUnscaledValue(int field) {
+        int header = buffer.get() & 0xFF;
+        long value = JournalEncoding.getZigZag(buffer);
+        if ((header & MarketDataJournal.DELTA_FLAG) != 0) {
+            value += current.values[field];
+        }
+        current.values[field] = value;
+        valueScale = header & MarketDataJournal.MAX_SCALE;
+        return value;
+    }
+
+    protected List<PriceLevel> getLevels(int priceField) {
+        int count = (int) JournalEncoding.getVarLong(buffer);
+        List<PriceLevel> levels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BigDecimal price = getValue(priceField);
+            BigDecimal size = getValue(MarketDataJournal.BOOK_SIZE_FIELD);
+            levels.add(new PriceLevel(price, size.doubleValue()));
+        }
+        return levels;
+    }
+
+    protected void checkEventType(EventType expected) {
+        if (eventType != expected) {
+            throw new IllegalStateException("Current event is " + eventType + ", not " + expected);
+        }
+    }
+
+    protected static EventType toEventType(byte type) {
+        switch (type) {
+        case MarketDataJournal.LEVEL1:
+            return EventType.LEVEL1;
+        case MarketDataJournal.BOOK:
+            return EventType.BOOK;
+        case MarketDataJournal.ORDER_FLOW:
+            return EventType.ORDER_FLOW;
+        default:
+            return null;
+        }
+    }
+}
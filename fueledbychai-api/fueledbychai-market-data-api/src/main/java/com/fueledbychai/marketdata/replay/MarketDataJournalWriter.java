@@ -0,0 +1,98 @@
+package com.fueledbychai.marketdata.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.marketdata.ILevel1Quote;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+import com.fueledbychai.marketdata.OrderFlow;
+
+/**
+ * Writes market data events to a {@link MarketDataJournal} file.
+ * <p>
+ * Records are staged in a buffer and written to the file when it fills, on
+ * {@link #flush()} and on {@link #close()}. Events should be written in
+ * timestamp order for {@link ReplayQuoteEngine} to replay them as recorded.
+ * Not thread-safe.
+ */
+public class MarketDataJournalWriter implements Closeable {
+
+    protected static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final FileChannel channel;
+    protected final MarketDataJournalEncoder encoder;
+    protected final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Creates the journal, replacing any existing file.
+     *
+     * @param baseTime the base timestamp of the journal, usually the time of the
+     *                 first event
+     */
+    public MarketDataJournalWriter(Path path, ZonedDateTime baseTime) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path is required");
+        }
+        if (baseTime == null) {
+            throw new IllegalArgumentException("baseTime is required");
+        }
+        this.encoder = new MarketDataJournalEncoder(MarketDataJournal.toEpochMicros(baseTime));
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        write(encoder.encodeHeader());
+    }
+
+    public void write(ILevel1Quote quote) throws IOException {
+        write(encoder.encodeLevel1(quote));
+    }
+
+    public void write(OrderFlow orderFlow) throws IOException {
+        write(encoder.encodeOrderFlow(orderFlow));
+    }
+
+    /**
+     * @see MarketDataJournalEncoder#encodeBook(Ticker, ZonedDateTime, boolean,
+     *      List, List)
+     */
+    public void writeBook(Ticker ticker, ZonedDateTime timestamp, boolean snapshot, List<PriceLevel> bids,
+            List<PriceLevel> asks) throws IOException {
+        write(encoder.encodeBook(ticker, timestamp, snapshot, bids, asks));
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    protected void write(ByteBuffer records) throws IOException {
+        if (records.remaining() > buffer.remaining()) {
+            flush();
+        }
+        if (records.remaining() > buffer.remaining()) {
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+        } else {
+            buffer.put(records);
+        }
+    }
+}
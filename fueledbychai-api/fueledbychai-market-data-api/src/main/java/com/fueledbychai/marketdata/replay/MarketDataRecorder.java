@@ -0,0 +1,212 @@
+package com.fueledbychai.marketdata.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.journal.AsyncJournalWriter;
+import com.fueledbychai.journal.RollingMappedJournal;
+import com.fueledbychai.marketdata.ILevel1Quote;
+import com.fueledbychai.marketdata.Level1QuotePool;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+import com.fueledbychai.marketdata.OrderFlow;
+import com.fueledbychai.marketdata.PrimitiveLevel1Quote;
+
+/**
+ * Records normalized quotes, book updates and trades to rolling memory-mapped
+ * {@link MarketDataJournal} files that {@link ReplayQuoteEngine} can replay.
+ * <p>
+ * Feed threads only copy the event and queue it; a single writer thread
+ * encodes and appends it, and level 1 copies are borrowed from a
+ * {@link Level1QuotePool} and returned once written, and events are dropped rather than queued once the
+ * memory budget is used up, so recording never holds up the feed. Each segment
+ * file is a complete journal with its own ticker dictionary. Events are
+ * written in the order they are recorded, which across tickers can differ
+ * slightly from timestamp order.
+ * <p>
+ * A recorder is usually attached to quote engines through
+ * {@link com.fueledbychai.marketdata.QuoteEngine#setRecorder(MarketDataRecorder)},
+ * or to every engine through the {@value #DIRECTORY_PROPERTY} property, which
+ * uses {@link #getShared(Path)}.
+ */
+public class MarketDataRecorder extends AsyncJournalWriter<MarketDataRecorder.Event> {
+
+    protected static final Logger logger = LoggerFactory.getLogger(MarketDataRecorder.class);
+
+    public static final String DIRECTORY_PROPERTY = "fueledbychai.marketdata.record.dir";
+
+    public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024 * 1024;
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    protected static MarketDataRecorder shared;
+
+    protected final RollingMappedJournal journal;
+    protected MarketDataJournalEncoder encoder;
+    protected final Level1QuotePool quotePool = new Level1QuotePool();
+
+    protected static final class Event {
+        protected final PrimitiveLevel1Quote quote;
+        protected final OrderFlow orderFlow;
+        protected final Ticker ticker;
+        protected final ZonedDateTime timestamp;
+        protected final boolean snapshot;
+        protected final List<PriceLevel> bids;
+        protected final List<PriceLevel> asks;
+
+        protected Event(PrimitiveLevel1Quote quote, OrderFlow orderFlow, Ticker ticker, ZonedDateTime timestamp,
+                boolean snapshot, List<PriceLevel> bids, List<PriceLevel> asks) {
+            this.quote = quote;
+            this.orderFlow = orderFlow;
+            this.ticker = ticker;
+            this.timestamp = timestamp;
+            this.snapshot = snapshot;
+            this.bids = bids;
+            this.asks = asks;
+        }
+    }
+
+    public MarketDataRecorder(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * @param segmentSize  the size of each journal file in bytes
+     * @param memoryBudget the most bytes of events that may wait for the writer
+     *                     before new events are dropped
+     */
+    public MarketDataRecorder(Path directory, int segmentSize, long memoryBudget) throws IOException {
+        super("market-data-recorder", memoryBudget);
+        this.journal = new RollingMappedJournal(directory, "market-data", ".fbj", segmentSize);
+    }
+
+    /**
+     * @return the started recorder shared by every quote engine in the JVM,
+     *         created on first use and closed when the JVM exits
+     */
+    public static synchronized MarketDataRecorder getShared(Path directory) throws IOException {
+        if (shared == null) {
+            MarketDataRecorder recorder = new MarketDataRecorder(directory);
+            recorder.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    recorder.close();
+                } catch (IOException e) {
+                    logger.error("Unable to close market data recorder", e);
+                }
+            }, "market-data-recorder-shutdown"));
+            shared = recorder;
+        }
+        return shared;
+    }
+
+    /**
+     * Copies the quote and queues it; pooled quotes may be reused as soon as
+     * this returns.
+     *
+     * @return false if the quote was dropped
+     */
+    public boolean recordLevel1(ILevel1Quote quote) {
+        if (quote == null) {
+            return false;
+        }
+        PrimitiveLevel1Quote copy = quotePool.acquire(quote.getTicker(), quote.getTimeStamp()).copyFrom(quote);
+        if (!offer(new Event(copy, null, null, null, false, null, null))) {
+            copy.release();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the trade was dropped
+     */
+    public boolean recordOrderFlow(OrderFlow orderFlow) {
+        if (orderFlow == null) {
+            return false;
+        }
+        return offer(new Event(null, orderFlow, null, null, false, null, null));
+    }
+
+    /**
+     * Queues a change to the order book of a ticker. The lists are copied, so
+     * the caller may reuse them.
+     *
+     * @param snapshot true if the levels replace the whole book, false if they
+     *                 update it, with a zero size removing a level
+     * @return false if the update was dropped
+     */
+    public boolean recordBook(Ticker ticker, ZonedDateTime timestamp, boolean snapshot, List<PriceLevel> bids,
+            List<PriceLevel> asks) {
+        if (ticker == null || timestamp == null) {
+            return false;
+        }
+        return offer(new Event(null, null, ticker, timestamp, snapshot,
+                bids == null ? List.of() : new ArrayList<>(bids), asks == null ? List.of() : new ArrayList<>(asks)));
+    }
+
+    @Override
+    protected int estimateSize(Event event) {
+        if (event.quote != null) {
+            return 96 + event.quote.getTypes().length * 48;
+        }
+        if (event.orderFlow != null) {
+            return 160;
+        }
+        return 96 + (event.bids.size() + event.asks.size()) * 64;
+    }
+
+    @Override
+    protected void write(Event event) throws IOException {
+        try {
+            ByteBuffer records = encode(event);
+            if (!journal.fits(records.remaining())) {
+                // the new segment gets a new dictionary, so the event is encoded again
+                startSegment(event);
+                records = encode(event);
+                if (!journal.fits(records.remaining())) {
+                    throw new IllegalArgumentException(
+                            "Event of " + records.remaining() + " bytes is larger than a journal segment");
+                }
+            }
+            journal.append(records);
+        } finally {
+            if (event.quote != null) {
+                event.quote.release();
+            }
+        }
+    }
+
+    @Override
+    protected void closeJournal() throws IOException {
+        journal.close();
+    }
+
+    protected ByteBuffer encode(Event event) throws IOException {
+        if (encoder == null) {
+            startSegment(event);
+        }
+        if (event.quote != null) {
+            return encoder.encodeLevel1(event.quote);
+        }
+        if (event.orderFlow != null) {
+            return encoder.encodeOrderFlow(event.orderFlow);
+        }
+        return encoder.encodeBook(event.ticker, event.timestamp, event.snapshot, event.bids, event.asks);
+    }
+
+    protected void startSegment(Event event) throws IOException {
+        ZonedDateTime timestamp = event.quote != null ? event.quote.getTimeStamp()
+                : event.orderFlow != null ? event.orderFlow.getTimestamp() : event.timestamp;
+        long baseTimeMicros = timestamp == null ? 0 : MarketDataJournal.toEpochMicros(timestamp);
+        journal.roll();
+        encoder = new MarketDataJournalEncoder(baseTimeMicros);
+        journal.append(encoder.encodeHeader());
+    }
+}
@@ -0,0 +1,348 @@
+package com.fueledbychai.marketdata.replay;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.marketdata.Level2Quote;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+import com.fueledbychai.marketdata.QuoteDispatchMode;
+import com.fueledbychai.marketdata.QuoteEngine;
+import com.fueledbychai.marketdata.TickIndexedOrderBook;
+import com.fueledbychai.time.VirtualClock;
+
+/**
+ * Quote engine that replays recorded {@link MarketDataJournal} files.
+ * <p>
+ * The files are memory mapped and their events merged into a single stream in
+ * timestamp order, ties going to the file listed first. Level 1 quotes and
+ * order flow are fired as recorded; book records are applied in place to a
+ * per-ticker {@link TickIndexedOrderBook}, which is fired as a
+ * {@link Level2Quote}. The engine uses
+ * {@link QuoteDispatchMode#DIRECT} dispatch so listeners see events in the
+ * recorded order, on the replay thread.
+ * <p>
+ * With a speed of 1 events are paced to the recorded gaps, 10 plays ten times
+ * faster, and 0 or less replays as fast as possible. When a
+ * {@link VirtualClock} is set it is advanced to each event's time before the
+ * event is fired, so simulated brokers and strategies see the recorded time.
+ * <p>
+ * The files and speed come from the setters, the {@value #FILES_PROPERTY} and
+ * {@value #SPEED_PROPERTY} properties passed to {@link #startEngine(Properties)},
+ * or the system properties or environment variables of the same names.
+ */
+public class ReplayQuoteEngine extends QuoteEngine {
+
+    protected static final Logger logger = LoggerFactory.getLogger(ReplayQuoteEngine.class);
+
+    public static final String FILES_PROPERTY = "fueledbychai.replay.files";
+    public static final String SPEED_PROPERTY = "fueledbychai.replay.speed";
+
+    protected List<Path> files = new ArrayList<>();
+    protected double speed = 0;
+    protected VirtualClock clock;
+    protected final Map<Ticker, TickIndexedOrderBook> books = new HashMap<>();
+    protected volatile boolean running;
+    protected volatile long lastEventMicros;
+    protected Thread replayThread;
+
+    public ReplayQuoteEngine() {
+        super(1);
+        setDispatchMode(QuoteDispatchMode.DIRECT);
+        // replayed data is already on disk
+        setRecorder(null);
+    }
+
+    @Override
+    public String getDataProviderName() {
+        return "Replay";
+    }
+
+    public synchronized void setFiles(List<Path> files) {
+        if (files == null) {
+            throw new IllegalArgumentException("files is required");
+        }
+        this.files = new ArrayList<>(files);
+    }
+
+    public synchronized List<Path> getFiles() {
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * @param speed the replay speed relative to the recording, or 0 to replay as
+     *              fast as possible
+     */
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @param clock the clock to advance to each event's time, or null to leave
+     *              time alone
+     */
+    public void setClock(VirtualClock clock) {
+        this.clock = clock;
+    }
+
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    @Override
+    public void startEngine() {
+        startEngine(new Properties());
+    }
+
+    /**
+     * Starts replaying on a background thread.
+     */
+    @Override
+    public synchronized void startEngine(Properties props) {
+        if (running) {
+            return;
+        }
+        String fileList = getProperty(props, FILES_PROPERTY);
+        if (fileList != null) {
+            List<Path> paths = new ArrayList<>();
+            for (String file : fileList.split(",")) {
+                if (!file.isBlank()) {
+                    paths.add(Paths.get(file.trim()));
+                }
+            }
+            setFiles(paths);
+        }
+        String speedValue = getProperty(props, SPEED_PROPERTY);
+        if (speedValue != null) {
+            try {
+                setSpeed(Double.parseDouble(speedValue.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid replay speed '{}'", speedValue);
+            }
+        }
+        running = true;
+        replayThread = new Thread(() -> {
+            try {
+                replayFiles();
+            } catch (IOException e) {
+                logger.error("Replay failed: " + e.getMessage(), e);
+            } finally {
+                running = false;
+            }
+        }, "replay-quote-engine");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    /**
+     * Replays the files on the calling thread, returning when every event has
+     * been fired or the engine is stopped.
+     *
+     * @return the number of events fired
+     */
+    public int replay() throws IOException {
+        synchronized (this) {
+            if (running) {
+                throw new IllegalStateException("Replay is already running");
+            }
+            running = true;
+        }
+        try {
+            return replayFiles();
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public synchronized void stopEngine() {
+        running = false;
+        if (replayThread != null && replayThread != Thread.currentThread()) {
+            replayThread.interrupt();
+        }
+        replayThread = null;
+    }
+
+    /**
+     * @return the time of the last event fired, or the epoch before the first
+     */
+    @Override
+    public Date getServerTime() {
+        return new Date(lastEventMicros / 1_000);
+    }
+
+    @Override
+    public boolean started() {
+        return running;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return running;
+    }
+
+    @Override
+    public void useDelayedData(boolean useDelayed) {
+        // recorded data has no delayed variant
+    }
+
+    protected int replayFiles() throws IOException {
+        List<MarketDataJournalReader> readers = new ArrayList<>();
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        try {
+            for (Path file : getFiles()) {
+                MarketDataJournalReader reader = new MarketDataJournalReader(file);
+                readers.add(reader);
+                if (reader.next()) {
+                    cursors.add(new Cursor(reader, readers.size() - 1));
+                }
+            }
+            books.clear();
+            int count = 0;
+            long firstEventMicros = 0;
+            long startNanos = 0;
+            Cursor cursor;
+            while (running && (cursor = cursors.poll()) != null) {
+                MarketDataJournalReader reader = cursor.reader;
+                long eventMicros = reader.getTimestampMicros();
+                if (count == 0) {
+                    firstEventMicros = eventMicros;
+                    startNanos = System.nanoTime();
+                } else if (speed > 0) {
+                    pace(startNanos, (long) ((eventMicros - firstEventMicros) * 1_000 / speed));
+                }
+                if (clock != null) {
+                    clock.advanceTo(eventMicros / 1_000);
+                }
+                lastEventMicros = eventMicros;
+                fire(reader);
+                count++;
+                if (reader.next()) {
+                    cursors.add(cursor);
+                }
+            }
+            logger.info("Replayed {} events from {} files", count, readers.size());
+            return count;
+        } finally {
+            for (MarketDataJournalReader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    logger.warn("Unable to close " + reader.getPath(), e);
+                }
+            }
+        }
+    }
+
+    protected void fire(MarketDataJournalReader reader) {
+        switch (reader.getEventType()) {
+        case LEVEL1:
+            fireLevel1Quote(reader.getLevel1Quote());
+            break;
+        case ORDER_FLOW:
+            fireOrderFlow(reader.getOrderFlow());
+            break;
+        case BOOK:
+            fireBook(reader.getTicker(), reader.getTimestamp(), reader.isBookSnapshot(), reader.getBids(),
+                    reader.getAsks());
+            break;
+        }
+    }
+
+    protected void fireBook(Ticker ticker, ZonedDateTime timestamp, boolean snapshot, List<PriceLevel> bids,
+            List<PriceLevel> asks) {
+        TickIndexedOrderBook book = books.get(ticker);
+        if (book == null) {
+            BigDecimal tickSize = ticker.getMinimumTickSize();
+            if (tickSize == null || tickSize.signum() <= 0) {
+                tickSize = finestIncrement(bids, asks);
+            }
+            book = new TickIndexedOrderBook(ticker, tickSize);
+            books.put(ticker, book);
+        }
+        if (snapshot || !book.isInitialized()) {
+            // a recording that starts mid-stream builds the book from its first update
+            book.updateFromSnapshot(bids, asks, timestamp);
+        } else {
+            for (PriceLevel bid : bids) {
+                book.updateBid(bid.getPrice(), bid.getSize(), timestamp);
+            }
+            for (PriceLevel ask : asks) {
+                book.updateAsk(ask.getPrice(), ask.getSize(), timestamp);
+            }
+        }
+        fireMarketDepthQuote(new Level2Quote(ticker, book, timestamp));
+    }
+
+    protected void pace(long startNanos, long offsetNanos) {
+        long remaining;
+        while (running && (remaining = startNanos + offsetNanos - System.nanoTime()) > 0) {
+            if (remaining > TimeUnit.MILLISECONDS.toNanos(2)) {
+                LockSupport.parkNanos(remaining - TimeUnit.MILLISECONDS.toNanos(1));
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Tick size for tickers recorded without one: the smallest increment of the
+     * recorded prices, so the book is not aggregated.
+     */
+    protected static BigDecimal finestIncrement(List<PriceLevel> bids, List<PriceLevel> asks) {
+        int scale = 0;
+        for (PriceLevel level : bids) {
+            scale = Math.max(scale, level.getPrice().scale());
+        }
+        for (PriceLevel level : asks) {
+            scale = Math.max(scale, level.getPrice().scale());
+        }
+        return BigDecimal.ONE.movePointLeft(scale);
+    }
+
+    protected static String getProperty(Properties props, String name) {
+        String value = props == null ? null : props.getProperty(name);
+        if (value == null || value.isBlank()) {
+            value = System.getProperty(name);
+        }
+        if (value == null || value.isBlank()) {
+            value = System.getenv(name.toUpperCase().replace('.', '_'));
+        }
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    protected static class Cursor implements Comparable<Cursor> {
+        protected final MarketDataJournalReader reader;
+        protected final int index;
+
+        protected Cursor(MarketDataJournalReader reader, int index) {
+            this.reader = reader;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int result = Long.compare(reader.getTimestampMicros(), other.reader.getTimestampMicros());
+            return result != 0 ? result : Integer.compare(index, other.index);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.fueledbychai.marketdata.replay;
+
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.marketdata.QuoteEngine;
+import com.fueledbychai.marketdata.QuoteEngineProvider;
+
+public class ReplayQuoteEngineProvider implements QuoteEngineProvider {
+
+    @Override
+    public Exchange getExchange() {
+        return Exchange.REPLAY;
+    }
+
+    @Override
+    public Class<? extends QuoteEngine> getQuoteEngineClass() {
+        return ReplayQuoteEngine.class;
+    }
+}
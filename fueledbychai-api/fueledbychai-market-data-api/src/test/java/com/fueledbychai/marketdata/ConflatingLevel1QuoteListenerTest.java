@@ -0,0 +1,137 @@
+package com.fueledbychai.marketdata;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fueledbychai.data.Ticker;
+
+public class ConflatingLevel1QuoteListenerTest {
+
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor = tasks::add;
+    private final List<ILevel1Quote> received = new ArrayList<>();
+    private Ticker ticker;
+
+    @Before
+    public void setUp() {
+        ticker = new Ticker("BTC");
+        tasks.clear();
+        received.clear();
+    }
+
+    @Test
+    public void testLatestKeepsOnlyNewestQuoteWhileBusy() {
+        QuoteConflationStats total = new QuoteConflationStats();
+        ConflatingLevel1QuoteListener listener = new ConflatingLevel1QuoteListener(received::add,
+                QuoteConflationPolicy.LATEST, executor, new QuoteConflationStats(total));
+
+        listener.quoteRecieved(quote(QuoteType.BID, "1"));
+        listener.quoteRecieved(quote(QuoteType.BID, "2"));
+        ILevel1Quote last = quote(QuoteType.BID, "3");
+        listener.quoteRecieved(last);
+
+        assertEquals(1, tasks.size());
+        runAll();
+
+        assertEquals(1, received.size());
+        assertSame(last, received.get(0));
+        assertEquals(2, listener.getStats().getConflatedCount());
+        assertEquals(1, listener.getStats().getDeliveredCount());
+        assertEquals(2, total.getConflatedCount());
+        assertEquals(1, total.getDeliveredCount());
+    }
+
+    @Test
+    public void testMergeCombinesFieldsAcrossQuotes() {
+        ConflatingLevel1QuoteListener listener = new ConflatingLevel1QuoteListener(received::add,
+                QuoteConflationPolicy.MERGE, executor, null);
+
+        Level1Quote first = quote(QuoteType.BID, "100");
+        first.addQuote(QuoteType.LAST, new BigDecimal("100.5"));
+        listener.quoteRecieved(first);
+        listener.quoteRecieved(quote(QuoteType.ASK, "101"));
+        Level1Quote third = quote(QuoteType.BID, "100.25");
+        third.clearQuote(QuoteType.LAST);
+        listener.quoteRecieved(third);
+        runAll();
+
+        assertEquals(1, received.size());
+        ILevel1Quote merged = received.get(0);
+        assertEquals(new BigDecimal("100.25"), merged.getValue(QuoteType.BID));
+        assertEquals(new BigDecimal("101"), merged.getValue(QuoteType.ASK));
+        assertFalse(merged.containsType(QuoteType.LAST));
+        assertTrue(merged.isCleared(QuoteType.LAST));
+        assertEquals(2, listener.getStats().getConflatedCount());
+    }
+
+    @Test
+    public void testQuotesArrivingAfterDrainAreDeliveredSeparately() {
+        ConflatingLevel1QuoteListener listener = new ConflatingLevel1QuoteListener(received::add,
+                QuoteConflationPolicy.LATEST, executor, null);
+
+        listener.quoteRecieved(quote(QuoteType.BID, "1"));
+        runAll();
+        listener.quoteRecieved(quote(QuoteType.BID, "2"));
+        runAll();
+
+        assertEquals(2, received.size());
+        assertEquals(0, listener.getStats().getConflatedCount());
+        assertEquals(2, listener.getStats().getDeliveredCount());
+    }
+
+    @Test
+    public void testCloseDropsPendingQuote() {
+        ConflatingLevel1QuoteListener listener = new ConflatingLevel1QuoteListener(received::add,
+                QuoteConflationPolicy.LATEST, executor, null);
+
+        listener.quoteRecieved(quote(QuoteType.BID, "1"));
+        listener.close();
+        listener.quoteRecieved(quote(QuoteType.BID, "2"));
+        runAll();
+
+        assertTrue(received.isEmpty());
+        assertEquals(2, listener.getStats().getDroppedCount());
+    }
+
+    @Test
+    public void testRejectedDrainCountsDrop() {
+        ConflatingLevel1QuoteListener listener = new ConflatingLevel1QuoteListener(received::add,
+                QuoteConflationPolicy.LATEST, command -> {
+                    throw new RejectedExecutionException("shut down");
+                }, null);
+
+        listener.quoteRecieved(quote(QuoteType.BID, "1"));
+
+        assertTrue(received.isEmpty());
+        assertEquals(1, listener.getStats().getDroppedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonePolicyRejected() {
+        new ConflatingLevel1QuoteListener(received::add, QuoteConflationPolicy.NONE, executor, null);
+    }
+
+    private Level1Quote quote(QuoteType type, String value) {
+        Level1Quote quote = new Level1Quote(ticker, ZonedDateTime.now());
+        quote.addQuote(type, new BigDecimal(value));
+        return quote;
+    }
+
+    private void runAll() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
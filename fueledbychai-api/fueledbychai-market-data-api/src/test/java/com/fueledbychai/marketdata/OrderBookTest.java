@@ -43,4 +43,18 @@ public class OrderBookTest {
         // The size at 101.01 is 6.0, as only one ask rounds to that price
         assertEquals(6.0, bestAsk.size, 0.00001);
     }
+
+    @Test
+    public void testBestBidAndAskWithWholeTickSize() {
+        Ticker ticker = new Ticker("TEST").setMinimumTickSize(BigDecimal.valueOf(5));
+        OrderBook book = new OrderBook(ticker);
+        ZonedDateTime now = ZonedDateTime.now();
+        book.updateFromSnapshot(new BigDecimal[] { new BigDecimal("103"), new BigDecimal("101") },
+                new Double[] { 3.0, 2.0 }, new BigDecimal[] { new BigDecimal("106"), new BigDecimal("108") },
+                new Double[] { 4.0, 1.0 }, now);
+        IOrderBook.BidSizePair bestBid = book.getBestBid(BigDecimal.valueOf(5));
+        IOrderBook.BidSizePair bestAsk = book.getBestAsk(BigDecimal.valueOf(5));
+        assertEquals(0, new BigDecimal("100").compareTo(bestBid.price));
+        assertEquals(0, new BigDecimal("110").compareTo(bestAsk.price));
+    }
 }
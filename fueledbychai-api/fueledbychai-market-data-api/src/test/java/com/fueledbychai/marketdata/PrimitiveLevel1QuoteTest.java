@@ -0,0 +1,133 @@
+package com.fueledbychai.marketdata;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fueledbychai.data.FueledByChaiException;
+import com.fueledbychai.data.Ticker;
+
+public class PrimitiveLevel1QuoteTest {
+
+    private Ticker ticker;
+    private ZonedDateTime timestamp;
+
+    @Before
+    public void setUp() {
+        ticker = new Ticker("ETH");
+        timestamp = ZonedDateTime.now();
+    }
+
+    @Test
+    public void testPrimitiveSlotsExposeBigDecimals() {
+        PrimitiveLevel1Quote quote = new PrimitiveLevel1Quote(ticker, timestamp);
+        quote.set(QuoteType.BID, 10025L, 2);
+        quote.set(QuoteType.ASK, 100.2649, 3);
+        quote.set(QuoteType.VOLUME, new BigDecimal("1234.5"));
+
+        assertEquals(new BigDecimal("100.25"), quote.getValue(QuoteType.BID));
+        assertEquals(new BigDecimal("100.265"), quote.getValue(QuoteType.ASK));
+        assertEquals(new BigDecimal("1234.5"), quote.getValue(QuoteType.VOLUME));
+        assertEquals(12345L, quote.getUnscaledValue(QuoteType.VOLUME));
+        assertEquals(1, quote.getScale(QuoteType.VOLUME));
+        assertEquals(100.25, quote.getDouble(QuoteType.BID), 0.0);
+        assertSame(quote.getValue(QuoteType.BID), quote.getValue(QuoteType.BID));
+        assertTrue(quote.containsType(QuoteType.ASK));
+        assertFalse(quote.containsType(QuoteType.LAST));
+        assertArrayEquals(new QuoteType[] { QuoteType.BID, QuoteType.ASK, QuoteType.VOLUME }, quote.getTypes());
+    }
+
+    @Test
+    public void testClearAndSetTrackClearedTypes() {
+        PrimitiveLevel1Quote quote = new PrimitiveLevel1Quote(ticker, timestamp);
+        quote.set(QuoteType.LAST, 5L, 0);
+        quote.clearQuote(QuoteType.LAST);
+
+        assertFalse(quote.containsType(QuoteType.LAST));
+        assertTrue(quote.isCleared(QuoteType.LAST));
+        assertArrayEquals(new QuoteType[] { QuoteType.LAST }, quote.getClearedTypes());
+        assertTrue(quote.hasUpdates());
+
+        quote.set(QuoteType.LAST, 6L, 0);
+        assertFalse(quote.isCleared(QuoteType.LAST));
+        assertEquals(0, quote.getClearedTypes().length);
+    }
+
+    @Test(expected = FueledByChaiException.class)
+    public void testMissingTypeThrows() {
+        new PrimitiveLevel1Quote(ticker, timestamp).getValue(QuoteType.BID);
+    }
+
+    @Test
+    public void testValuesTooLargeForLongKeepBigDecimal() {
+        PrimitiveLevel1Quote quote = new PrimitiveLevel1Quote(ticker, timestamp);
+        BigDecimal huge = new BigDecimal("123456789012345678901234.5");
+        quote.set(QuoteType.VOLUME_NOTIONAL, huge);
+
+        assertEquals(huge, quote.getValue(QuoteType.VOLUME_NOTIONAL));
+        assertEquals(1, quote.getScale(QuoteType.VOLUME_NOTIONAL));
+        try {
+            quote.getUnscaledValue(QuoteType.VOLUME_NOTIONAL);
+            fail("Expected ArithmeticException");
+        } catch (ArithmeticException expected) {
+        }
+    }
+
+    @Test
+    public void testResetAndCopy() {
+        PrimitiveLevel1Quote quote = new PrimitiveLevel1Quote(ticker, timestamp);
+        quote.set(QuoteType.BID, 1L, 0);
+        PrimitiveLevel1Quote copy = quote.copy();
+
+        quote.reset(new Ticker("BTC"), timestamp);
+
+        assertFalse(quote.hasUpdates());
+        assertEquals(0, quote.getTypes().length);
+        assertEquals("BTC", quote.getTicker().getSymbol());
+        assertEquals(BigDecimal.ONE, copy.getValue(QuoteType.BID));
+        assertEquals(ticker, copy.getTicker());
+    }
+
+    @Test
+    public void testCopyFromLevel1Quote() {
+        Level1Quote source = new Level1Quote(ticker, timestamp);
+        source.addQuote(QuoteType.BID, new BigDecimal("1.5"));
+        source.clearQuote(QuoteType.ASK);
+
+        PrimitiveLevel1Quote quote = new PrimitiveLevel1Quote().copyFrom(source);
+
+        assertEquals(new BigDecimal("1.5"), quote.getValue(QuoteType.BID));
+        assertTrue(quote.isCleared(QuoteType.ASK));
+        assertEquals(timestamp, quote.getTimeStamp());
+    }
+
+    @Test
+    public void testPoolRecyclesAfterLastRelease() {
+        Level1QuotePool pool = new Level1QuotePool(2);
+        PrimitiveLevel1Quote quote = pool.acquire(ticker, timestamp);
+        quote.set(QuoteType.BID, 1L, 0);
+        quote.retain();
+
+        quote.release();
+        assertEquals(0, pool.getAvailableCount());
+        quote.release();
+        assertEquals(1, pool.getAvailableCount());
+
+        PrimitiveLevel1Quote reused = pool.acquire(ticker, timestamp);
+        assertSame(quote, reused);
+        assertFalse(reused.containsType(QuoteType.BID));
+        assertEquals(1, pool.getAllocatedCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDoubleReleaseRejected() {
+        Level1QuotePool pool = new Level1QuotePool(2);
+        PrimitiveLevel1Quote quote = pool.acquire(ticker, timestamp);
+        quote.release();
+        quote.release();
+    }
+}
@@ -21,18 +21,26 @@ OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 package com.fueledbychai.marketdata;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.jmock.Expectations;
 import org.jmock.Mockery;
@@ -187,6 +195,58 @@ public class QuoteEngineTest {
         assertEquals(0, engine.level2ListenerMap.get(ticker).size());
     }
 
+    @Test
+    public void testSubscribeLevel1WithConflation() throws Exception {
+        QuoteEngine engine = createNewQuoteEngine();
+        Ticker ticker = new Ticker("ABC").setInstrumentType(InstrumentType.STOCK);
+        final CountDownLatch latch = new CountDownLatch(1);
+        Level1QuoteListener listener = quote -> latch.countDown();
+
+        engine.subscribeLevel1(ticker, listener, QuoteConflationPolicy.LATEST);
+        assertEquals(1, engine.level1ListenerMap.get(ticker).size());
+        assertTrue(engine.level1ListenerMap.get(ticker).get(0) instanceof ConflatingLevel1QuoteListener);
+
+        engine.fireLevel1Quote(new Level1Quote(ticker, ZonedDateTime.now()));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNotNull(engine.getConflationStats(ticker, listener));
+
+        engine.unsubscribeLevel1(ticker, listener);
+        assertEquals(0, engine.level1ListenerMap.get(ticker).size());
+        assertNull(engine.getConflationStats(ticker, listener));
+    }
+
+    @Test
+    public void testConflationKeepsTheNewestQuoteInExecutorMode() throws Exception {
+        QuoteEngine engine = createNewQuoteEngine();
+        assertEquals(QuoteDispatchMode.EXECUTOR, engine.getDispatchMode());
+        Ticker ticker = new Ticker("ABC").setInstrumentType(InstrumentType.STOCK);
+        final List<BigDecimal> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch last = new CountDownLatch(1);
+        final int quotes = 5_000;
+        Level1QuoteListener listener = quote -> {
+            BigDecimal value = quote.getValue(QuoteType.LAST);
+            received.add(value);
+            if (value.intValue() == quotes) {
+                last.countDown();
+            }
+        };
+
+        engine.subscribeLevel1(ticker, listener, QuoteConflationPolicy.LATEST);
+        for (int i = 1; i <= quotes; i++) {
+            Level1Quote quote = new Level1Quote(ticker, ZonedDateTime.now());
+            quote.addQuote(QuoteType.LAST, BigDecimal.valueOf(i));
+            engine.fireLevel1Quote(quote);
+        }
+
+        assertTrue(last.await(5, TimeUnit.SECONDS));
+        synchronized (received) {
+            for (int i = 1; i < received.size(); i++) {
+                assertTrue(received.get(i - 1).compareTo(received.get(i)) < 0);
+            }
+        }
+        engine.unsubscribeLevel1(ticker, listener);
+    }
+
     @Test
     public void testFireLevel1Quote() throws Exception {
 
@@ -211,6 +271,63 @@ public class QuoteEngineTest {
 
     }
 
+    @Test
+    public void testFireLevel1QuoteRingBufferPreservesOrder() throws Exception {
+        QuoteEngine quoteEngine = createNewQuoteEngine();
+        quoteEngine.setDispatchMode(QuoteDispatchMode.RING_BUFFER);
+        final Ticker ticker = new Ticker("ABC").setInstrumentType(InstrumentType.STOCK);
+        final List<ILevel1Quote> received = Collections.synchronizedList(new ArrayList<ILevel1Quote>());
+        final List<ILevel1Quote> globalReceived = Collections.synchronizedList(new ArrayList<ILevel1Quote>());
+        final CountDownLatch latch = new CountDownLatch(200);
+        quoteEngine.subscribeLevel1(ticker, quote -> {
+            received.add(quote);
+            latch.countDown();
+        });
+        quoteEngine.subscribeGlobalLevel1(quote -> {
+            globalReceived.add(quote);
+            latch.countDown();
+        });
+
+        List<ILevel1Quote> fired = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Level1Quote quote = new Level1Quote(ticker, ZonedDateTime.now());
+            quote.addQuote(QuoteType.BID, BigDecimal.valueOf(i));
+            fired.add(quote);
+            quoteEngine.fireLevel1Quote(quote);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(fired, received);
+        assertEquals(fired, globalReceived);
+        assertEquals(0, quoteEngine.getRingBufferDispatcher().getDroppedCount());
+        quoteEngine.shutdown();
+    }
+
+    @Test
+    public void testTickersForTheSameInstrumentShareListenersInEveryMode() throws Exception {
+        for (QuoteDispatchMode mode : QuoteDispatchMode.values()) {
+            QuoteEngine quoteEngine = createNewQuoteEngine();
+            quoteEngine.setDispatchMode(mode);
+            Ticker ticker = new Ticker("XYZ").setInstrumentType(InstrumentType.STOCK)
+                    .setMinimumTickSize(new BigDecimal("0.01"));
+            Ticker finerTicker = new Ticker("XYZ").setInstrumentType(InstrumentType.STOCK)
+                    .setMinimumTickSize(new BigDecimal("0.001"));
+            final CountDownLatch level1 = new CountDownLatch(2);
+            final CountDownLatch level2 = new CountDownLatch(2);
+            quoteEngine.subscribeLevel1(ticker, quote -> level1.countDown());
+            quoteEngine.subscribeLevel1(finerTicker, quote -> level1.countDown());
+            quoteEngine.subscribeMarketDepth(ticker, quote -> level2.countDown());
+            quoteEngine.subscribeMarketDepth(finerTicker, quote -> level2.countDown());
+
+            quoteEngine.fireLevel1Quote(new Level1Quote(finerTicker, ZonedDateTime.now()));
+            quoteEngine.fireMarketDepthQuote(new Level2Quote(ticker, null, ZonedDateTime.now()));
+
+            assertTrue(mode + " level 1", level1.await(5, TimeUnit.SECONDS));
+            assertTrue(mode + " level 2", level2.await(5, TimeUnit.SECONDS));
+            quoteEngine.shutdown();
+        }
+    }
+
     @Test
     public void testFireLevel1Quote_ThrowsException() {
         QuoteEngine quoteEngine = createNewQuoteEngine();
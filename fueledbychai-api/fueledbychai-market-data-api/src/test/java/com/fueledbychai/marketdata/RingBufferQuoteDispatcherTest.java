@@ -0,0 +1,133 @@
+package com.fueledbychai.marketdata;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.marketdata.RingBufferQuoteDispatcher.OverflowPolicy;
+
+public class RingBufferQuoteDispatcherTest {
+
+    private RingBufferQuoteDispatcher dispatcher;
+
+    @After
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testPerTickerOrderingWithConcurrentProducers() throws Exception {
+        dispatcher = new RingBufferQuoteDispatcher(2, 64, OverflowPolicy.BLOCK);
+        final int quotesPerTicker = 2000;
+        final Ticker[] tickers = { new Ticker("AAA"), new Ticker("BBB"), new Ticker("CCC") };
+        final CountDownLatch done = new CountDownLatch(quotesPerTicker * tickers.length);
+        final List<List<ILevel1Quote>> received = new ArrayList<>();
+        final List<List<ILevel1Quote>> fired = new ArrayList<>();
+        Thread[] producers = new Thread[tickers.length];
+
+        for (int t = 0; t < tickers.length; t++) {
+            final List<ILevel1Quote> receivedForTicker = Collections.synchronizedList(new ArrayList<ILevel1Quote>());
+            final List<ILevel1Quote> firedForTicker = new ArrayList<>();
+            received.add(receivedForTicker);
+            fired.add(firedForTicker);
+            final Level1QuoteListener[] listeners = { quote -> {
+                receivedForTicker.add(quote);
+                done.countDown();
+            } };
+            final Ticker ticker = tickers[t];
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < quotesPerTicker; i++) {
+                    Level1Quote quote = new Level1Quote(ticker, ZonedDateTime.now());
+                    quote.addQuote(QuoteType.BID, BigDecimal.valueOf(i));
+                    firedForTicker.add(quote);
+                    dispatcher.publishLevel1(quote, listeners, null);
+                }
+            });
+        }
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int t = 0; t < tickers.length; t++) {
+            assertEquals(fired.get(t), received.get(t));
+        }
+        assertEquals(quotesPerTicker * tickers.length, dispatcher.getPublishedCount());
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void testDropNewestWhenRingIsFull() throws Exception {
+        dispatcher = new RingBufferQuoteDispatcher(1, 4, OverflowPolicy.DROP_NEWEST);
+        final Ticker ticker = new Ticker("AAA");
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<ILevel1Quote> received = Collections.synchronizedList(new ArrayList<ILevel1Quote>());
+        Level1QuoteListener[] listeners = { quote -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(quote);
+        } };
+
+        assertTrue(dispatcher.publishLevel1(new Level1Quote(ticker, ZonedDateTime.now()), listeners, null));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (dispatcher.publishLevel1(new Level1Quote(ticker, ZonedDateTime.now()), listeners, null)) {
+                accepted++;
+            }
+        }
+        release.countDown();
+
+        // the slot being delivered stays claimed until the listener returns
+        assertEquals(3, accepted);
+        assertEquals(7, dispatcher.getDroppedCount());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(4, received.size());
+    }
+
+    @Test
+    public void testListenerExceptionDoesNotStopDelivery() throws Exception {
+        dispatcher = new RingBufferQuoteDispatcher(1, 8, OverflowPolicy.BLOCK);
+        final CountDownLatch delivered = new CountDownLatch(1);
+        Level1QuoteListener[] listeners = { quote -> {
+            throw new IllegalStateException("boom");
+        }, quote -> delivered.countDown() };
+
+        dispatcher.publishLevel1(new Level1Quote(new Ticker("AAA"), ZonedDateTime.now()), listeners, null);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testNothingPublishedWithoutListeners() {
+        dispatcher = new RingBufferQuoteDispatcher(1, 8, OverflowPolicy.BLOCK);
+
+        assertFalse(dispatcher.publishLevel1(new Level1Quote(new Ticker("AAA"), ZonedDateTime.now()),
+                new Level1QuoteListener[0], null));
+        assertEquals(0, dispatcher.getPublishedCount());
+    }
+}
@@ -0,0 +1,254 @@
+package com.fueledbychai.marketdata;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+
+public class TickIndexedOrderBookTest {
+
+    private TickIndexedOrderBook orderBook;
+    private Ticker ticker;
+    private ZonedDateTime timestamp;
+
+    @Before
+    public void setUp() {
+        ticker = new Ticker("TEST");
+        ticker.setMinimumTickSize(new BigDecimal("0.01"));
+        orderBook = new TickIndexedOrderBook(ticker);
+        timestamp = ZonedDateTime.now(ZoneId.of("UTC"));
+    }
+
+    @Test
+    public void testSnapshotUpdate() {
+        List<PriceLevel> bids = new ArrayList<>();
+        List<PriceLevel> asks = new ArrayList<>();
+        bids.add(new PriceLevel(new BigDecimal("100.49"), 300.0));
+        bids.add(new PriceLevel(new BigDecimal("100.50"), 500.0));
+        bids.add(new PriceLevel(new BigDecimal("100.48"), 200.0));
+        asks.add(new PriceLevel(new BigDecimal("100.52"), 600.0));
+        asks.add(new PriceLevel(new BigDecimal("100.51"), 400.0));
+        asks.add(new PriceLevel(new BigDecimal("100.53"), 100.0));
+
+        orderBook.updateFromSnapshot(bids, asks, timestamp);
+
+        assertTrue(orderBook.isInitialized());
+        assertEquals(new BigDecimal("100.50"), orderBook.getBestBid().price);
+        assertEquals(500.0, orderBook.getBestBid().size, 0.00001);
+        assertEquals(new BigDecimal("100.51"), orderBook.getBestAsk().price);
+        assertEquals(400.0, orderBook.getBestAsk().size, 0.00001);
+        assertEquals(new BigDecimal("100.505"), orderBook.getMidpoint());
+        assertEquals(3, orderBook.getBidLevelCount());
+        assertEquals(orderBook.toScaledPrice(new BigDecimal("100.48")), orderBook.getBidPriceScaled(2));
+        assertEquals(orderBook.toScaledPrice(new BigDecimal("100.53")), orderBook.getAskPriceScaled(2));
+    }
+
+    @Test
+    public void testSubTickPricesAreAggregatedToTick() {
+        orderBook.updateFromSnapshot(new BigDecimal[] { new BigDecimal("100.005"), new BigDecimal("100.001") },
+                new Double[] { 8.0, 4.0 }, new BigDecimal[] { new BigDecimal("101.002"), new BigDecimal("101.009") },
+                new Double[] { 6.0, 2.0 }, timestamp);
+
+        assertEquals(new BigDecimal("100.00"), orderBook.getBestBid().price);
+        assertEquals(12.0, orderBook.getBestBid().size, 0.00001);
+        assertEquals(new BigDecimal("101.01"), orderBook.getBestAsk().price);
+        assertEquals(8.0, orderBook.getBestAsk().size, 0.00001);
+    }
+
+    @Test
+    public void testDeltasMaintainCoarserAggregation() {
+        BigDecimal coarseTick = new BigDecimal("0.05");
+        orderBook.updateFromSnapshot(new BigDecimal[] { new BigDecimal("100.04"), new BigDecimal("100.02") },
+                new Double[] { 1.0, 2.0 }, new BigDecimal[] { new BigDecimal("100.06"), new BigDecimal("100.09") },
+                new Double[] { 3.0, 4.0 }, timestamp);
+
+        assertEquals(new BigDecimal("100.00"), orderBook.getBestBid(coarseTick).price);
+        assertEquals(3.0, orderBook.getBestBid(coarseTick).size, 0.00001);
+        assertEquals(new BigDecimal("100.10"), orderBook.getBestAsk(coarseTick).price);
+        assertEquals(7.0, orderBook.getBestAsk(coarseTick).size, 0.00001);
+
+        orderBook.updateBid(new BigDecimal("100.04"), 0.0, timestamp);
+        orderBook.updateBid(new BigDecimal("100.07"), 5.0, timestamp);
+        orderBook.updateAsk(new BigDecimal("100.09"), 1.5, timestamp);
+
+        assertEquals(new BigDecimal("100.05"), orderBook.getBestBid(coarseTick).price);
+        assertEquals(5.0, orderBook.getBestBid(coarseTick).size, 0.00001);
+        assertEquals(new BigDecimal("100.10"), orderBook.getBestAsk(coarseTick).price);
+        assertEquals(4.5, orderBook.getBestAsk(coarseTick).size, 0.00001);
+
+        orderBook.updateBid(new BigDecimal("100.07"), 0.0, timestamp);
+        assertEquals(new BigDecimal("100.00"), orderBook.getBestBid(coarseTick).price);
+        assertEquals(2.0, orderBook.getBestBid(coarseTick).size, 0.00001);
+    }
+
+    @Test
+    public void testApplyDeltaWithScaledPrices() {
+        long[] bidPrices = { orderBook.toScaledPrice(99.99), orderBook.toScaledPrice(99.98) };
+        double[] bidSizes = { 1.0, 2.0 };
+        long[] askPrices = { orderBook.toScaledPrice(100.01) };
+        double[] askSizes = { 3.0 };
+        orderBook.updateFromSnapshot(bidPrices, bidSizes, 2, askPrices, askSizes, 1, timestamp);
+
+        orderBook.applyDelta(new long[] { orderBook.toScaledPrice(99.99) }, new double[] { 0.0 }, 1,
+                new long[] { orderBook.toScaledPrice(100.00) }, new double[] { 4.0 }, 1, timestamp);
+
+        assertEquals(orderBook.toScaledPrice(99.98), orderBook.getBestBidPriceScaled());
+        assertEquals(2.0, orderBook.getBestBidSize(), 0.00001);
+        assertEquals(orderBook.toScaledPrice(100.00), orderBook.getBestAskPriceScaled());
+        assertEquals(4.0, orderBook.getBestAskSize(), 0.00001);
+        assertEquals(1, orderBook.getBidLevelCount());
+        assertEquals(2, orderBook.getAskLevelCount());
+    }
+
+    @Test
+    public void testCloneIsIndependent() {
+        orderBook.updateFromSnapshot(new BigDecimal[] { new BigDecimal("10.00") }, new Double[] { 1.0 },
+                new BigDecimal[] { new BigDecimal("10.01") }, new Double[] { 1.0 }, timestamp);
+
+        IOrderBook clone = orderBook.cloneOrderBook();
+        orderBook.updateBid(new BigDecimal("10.00"), 0.0, timestamp);
+
+        assertEquals(new BigDecimal("10.00"), clone.getBestBid().price);
+        assertEquals(BigDecimal.ZERO, orderBook.getBestBid().price);
+        assertTrue(clone.isInitialized());
+    }
+
+    @Test
+    public void testListenersNotifiedOnTopOfBookChange() {
+        List<BigDecimal> bestBids = new ArrayList<>();
+        List<IOrderBook> snapshots = new ArrayList<>();
+        orderBook.addOrderBookUpdateListener(new OrderBookUpdateListener() {
+            @Override
+            public void bestBidUpdated(Ticker ticker, BigDecimal bestBid, Double bidSize, ZonedDateTime timeStamp) {
+                bestBids.add(bestBid);
+            }
+
+            @Override
+            public void bestAskUpdated(Ticker ticker, BigDecimal bestAsk, Double askSize, ZonedDateTime timeStamp) {
+            }
+
+            @Override
+            public void orderBookImbalanceUpdated(Ticker ticker, BigDecimal imbalance, ZonedDateTime timeStamp) {
+            }
+
+            @Override
+            public void orderBookUpdated(Ticker ticker, IOrderBook book, ZonedDateTime timeStamp) {
+                snapshots.add(book);
+            }
+        });
+
+        orderBook.updateFromSnapshot(new BigDecimal[] { new BigDecimal("10.00") }, new Double[] { 1.0 },
+                new BigDecimal[] { new BigDecimal("10.02") }, new Double[] { 1.0 }, timestamp);
+        orderBook.updateBid(new BigDecimal("9.99"), 1.0, timestamp);
+        orderBook.updateBid(new BigDecimal("10.01"), 1.0, timestamp);
+
+        assertEquals(2, bestBids.size());
+        assertEquals(new BigDecimal("10.00"), bestBids.get(0));
+        assertEquals(new BigDecimal("10.01"), bestBids.get(1));
+        assertEquals(3, snapshots.size());
+        assertNotSame(orderBook, snapshots.get(0));
+        assertEquals(new BigDecimal("10.00"), snapshots.get(0).getBestBid().price);
+    }
+
+    @Test
+    public void testClearOrderBook() {
+        orderBook.updateFromSnapshot(new BigDecimal[] { new BigDecimal("10.00") }, new Double[] { 1.0 },
+                new BigDecimal[] { new BigDecimal("10.01") }, new Double[] { 1.0 }, timestamp);
+
+        orderBook.clearOrderBook();
+
+        assertFalse(orderBook.isInitialized());
+        assertNull(orderBook.getMidpoint());
+        assertEquals(0, orderBook.getBidLevelCount());
+        assertEquals(0, orderBook.getAskLevelCount());
+    }
+
+    @Test
+    public void testMidpointIsNullWithOneSideEmpty() {
+        orderBook.updateFromSnapshot(new BigDecimal[] { new BigDecimal("10.00") }, new Double[] { 1.0 },
+                new BigDecimal[0], new Double[0], timestamp);
+
+        assertNull(orderBook.getMidpoint());
+        assertNull(orderBook.getMidpoint(new BigDecimal("0.10")));
+        assertEquals(0.0, orderBook.calculateWeightedOrderBookImbalance(0.5), 0.0);
+
+        orderBook.updateAsk(new BigDecimal("10.02"), 1.0, timestamp);
+        assertEquals(new BigDecimal("10.01"), orderBook.getMidpoint());
+    }
+
+    @Test
+    public void testTickerWithoutTickSizeUsesFallback() {
+        TickIndexedOrderBook book = new TickIndexedOrderBook(new Ticker("NOTICK").setMinimumTickSize(null));
+        book.updateFromSnapshot(new BigDecimal[] { new BigDecimal("0.12345678") }, new Double[] { 1.0 },
+                new BigDecimal[] { new BigDecimal("65000.5") }, new Double[] { 2.0 }, timestamp);
+
+        assertEquals(TickIndexedOrderBook.FALLBACK_TICK_SIZE, book.getTickSize());
+        assertEquals(TickIndexedOrderBook.FALLBACK_PRICE_SCALE, book.getPriceScale());
+        assertEquals(0, new BigDecimal("0.12345678").compareTo(book.getBestBid().price));
+        assertEquals(0, new BigDecimal("65000.5").compareTo(book.getBestAsk().price));
+    }
+
+    @Test
+    public void testNullTickerUsesFallback() {
+        assertFalse(TickIndexedOrderBook.hasTickSize(null));
+
+        TickIndexedOrderBook book = new TickIndexedOrderBook((Ticker) null);
+
+        assertEquals(TickIndexedOrderBook.FALLBACK_TICK_SIZE, book.getTickSize());
+        assertEquals(TickIndexedOrderBook.FALLBACK_PRICE_SCALE, book.getPriceScale());
+    }
+
+    @Test
+    public void testCoarserAggregationDoesNotDriftOverManyDeltas() {
+        BigDecimal coarseTick = new BigDecimal("0.05");
+        orderBook.updateBid(new BigDecimal("100.01"), 0.1, timestamp);
+        orderBook.updateBid(new BigDecimal("100.02"), 0.2, timestamp);
+        assertEquals(0.1 + 0.2, orderBook.getBestBid(coarseTick).size, 0.0);
+        for (int i = 0; i < 1_000; i++) {
+            orderBook.updateBid(new BigDecimal("100.01"), 0.7 + i * 0.013, timestamp);
+            orderBook.updateBid(new BigDecimal("100.02"), 0.3 * i, timestamp);
+        }
+        orderBook.updateBid(new BigDecimal("100.01"), 0.1, timestamp);
+        orderBook.updateBid(new BigDecimal("100.02"), 0.2, timestamp);
+
+        // the same sum a fresh rebuild of the bucket produces
+        assertEquals(0.1 + 0.2, orderBook.getBestBid(coarseTick).size, 0.0);
+    }
+
+    @Test
+    public void testAggregationsAreEvictedWhenTheBookEmpties() {
+        orderBook.updateBid(new BigDecimal("10.01"), 1.0, timestamp);
+        orderBook.updateAsk(new BigDecimal("10.07"), 1.0, timestamp);
+        assertEquals(new BigDecimal("10.0"), orderBook.getBestBid(new BigDecimal("0.1")).price);
+        assertEquals(2, orderBook.aggregationCount);
+
+        orderBook.updateBid(new BigDecimal("10.01"), 0.0, timestamp);
+        assertEquals(2, orderBook.aggregationCount);
+        orderBook.updateAsk(new BigDecimal("10.07"), 0.0, timestamp);
+        assertEquals(1, orderBook.aggregationCount);
+
+        orderBook.updateBid(new BigDecimal("10.03"), 1.0, timestamp);
+        assertEquals(new BigDecimal("10.0"), orderBook.getBestBid(new BigDecimal("0.1")).price);
+        assertEquals(2, orderBook.aggregationCount);
+    }
+
+    @Test
+    public void testAggregationCountIsBounded() {
+        orderBook.updateBid(new BigDecimal("10.01"), 1.0, timestamp);
+        for (int i = 1; i <= 20; i++) {
+            orderBook.getBestBid(new BigDecimal("0.01").multiply(BigDecimal.valueOf(i + 1)));
+        }
+
+        assertEquals(TickIndexedOrderBook.MAX_EXTRA_AGGREGATIONS + 1, orderBook.aggregationCount);
+        assertEquals(new BigDecimal("10.01"), orderBook.getBestBid().price);
+    }
+}
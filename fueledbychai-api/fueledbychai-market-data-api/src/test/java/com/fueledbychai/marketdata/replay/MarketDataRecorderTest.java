@@ -0,0 +1,194 @@
+package com.fueledbychai.marketdata.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.marketdata.Level1Quote;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+import com.fueledbychai.marketdata.OrderFlow;
+import com.fueledbychai.marketdata.PrimitiveLevel1Quote;
+import com.fueledbychai.marketdata.QuoteType;
+
+public class MarketDataRecorderTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 3, 1, 12, 0, 0, 0, ZoneId.of("UTC"));
+
+    private final Ticker btc = new Ticker("BTC").setExchange(Exchange.REPLAY)
+            .setMinimumTickSize(new BigDecimal("0.1"));
+    private final Ticker eth = new Ticker("ETH").setExchange(Exchange.REPLAY)
+            .setMinimumTickSize(new BigDecimal("0.01"));
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("recorder-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path file : listFiles()) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testRecordedEventsReplayAcrossRolledSegments() throws IOException {
+        try (MarketDataRecorder recorder = new MarketDataRecorder(directory, 4096, 1024 * 1024)) {
+            recorder.start();
+            for (int i = 0; i < 500; i++) {
+                Ticker ticker = i % 2 == 0 ? btc : eth;
+                Level1Quote quote = new Level1Quote(ticker, START.plusNanos(i * 1_000_000L));
+                quote.addQuote(QuoteType.BID, new BigDecimal("100.00").add(BigDecimal.valueOf(i, 2)));
+                assertTrue(recorder.recordLevel1(quote));
+            }
+            recorder.recordOrderFlow(new OrderFlow(btc, new BigDecimal("104.99"), new BigDecimal("2"),
+                    OrderFlow.Side.BUY, START.plusNanos(500_000_000L)));
+            recorder.recordBook(btc, START.plusNanos(501_000_000L), true,
+                    List.of(new PriceLevel(new BigDecimal("104.9"), 1.0)),
+                    List.of(new PriceLevel(new BigDecimal("105.0"), 2.0)));
+        }
+
+        List<Path> files = listFiles();
+        assertTrue("expected rolled segments, got " + files, files.size() > 1);
+
+        List<BigDecimal> bids = new ArrayList<>();
+        List<OrderFlow> trades = new ArrayList<>();
+        List<String> books = new ArrayList<>();
+        ReplayQuoteEngine engine = new ReplayQuoteEngine();
+        try {
+            engine.subscribeGlobalLevel1(quote -> bids.add(quote.getValue(QuoteType.BID)));
+            engine.subscribeGlobalOrderFlow(trades::add);
+            engine.subscribeMarketDepth(btc,
+                    quote -> books.add(quote.getOrderBook().getBestBid().getPrice() + "/"
+                            + quote.getOrderBook().getBestAsk().getPrice()));
+            engine.setFiles(files);
+
+            assertEquals(502, engine.replay());
+        } finally {
+            engine.shutdownNow();
+        }
+
+        assertEquals(500, bids.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(0, new BigDecimal("100.00").add(BigDecimal.valueOf(i, 2)).compareTo(bids.get(i)));
+        }
+        assertEquals(1, trades.size());
+        assertEquals(new BigDecimal("104.99"), trades.get(0).getPrice());
+        assertEquals(List.of("104.9/105.0"), books);
+    }
+
+    @Test
+    public void testEverySegmentDeclaresItsTickersFieldByField() throws IOException {
+        Ticker option = new Ticker("BTC-28MAR25-90000-P").setId("7").setExchange(Exchange.DERIBIT)
+                .setCurrency("BTC").setInstrumentType(InstrumentType.OPTION).setMinimumTickSize(new BigDecimal("0.0001"))
+                .setOrderSizeIncrement(new BigDecimal("0.1")).setExpiryYear(2025).setExpiryMonth(3).setExpiryDay(28)
+                .setStrike(new BigDecimal("90000")).setRight(Ticker.Right.PUT);
+        try (MarketDataRecorder recorder = new MarketDataRecorder(directory, 2048, 1024 * 1024)) {
+            recorder.start();
+            for (int i = 0; i < 300; i++) {
+                Level1Quote quote = new Level1Quote(i % 3 == 0 ? option : btc, START.plusNanos(i * 1_000_000L));
+                quote.addQuote(QuoteType.BID, new BigDecimal("0.0500").add(BigDecimal.valueOf(i, 4)));
+                assertTrue(recorder.recordLevel1(quote));
+            }
+        }
+
+        List<Path> files = listFiles();
+        assertTrue("expected rolled segments, got " + files, files.size() > 1);
+        int events = 0;
+        for (Path file : files) {
+            byte[] bytes = Files.readAllBytes(file);
+            for (int i = 0; i + 1 < bytes.length; i++) {
+                assertFalse(file + " holds a Java serialization stream",
+                        bytes[i] == (byte) 0xAC && bytes[i + 1] == (byte) 0xED);
+            }
+            // each segment is read on its own, so it must carry its own dictionary
+            try (MarketDataJournalReader reader = new MarketDataJournalReader(file)) {
+                while (reader.next()) {
+                    Ticker ticker = reader.getTicker();
+                    if (ticker.getSymbol().equals(option.getSymbol())) {
+                        assertEquals(option, ticker);
+                        assertEquals(28, ticker.getExpiryDay());
+                        assertEquals(new BigDecimal("90000"), ticker.getStrike());
+                        assertEquals(Ticker.Right.PUT, ticker.getRight());
+                    } else {
+                        assertEquals(btc, ticker);
+                    }
+                    events++;
+                }
+            }
+        }
+        assertEquals(300, events);
+    }
+
+    @Test
+    public void testReusedQuotesAreCopiedIntoPooledQuotesAndReplayedPrimitively() throws IOException {
+        MarketDataRecorder recorder = new MarketDataRecorder(directory, 4096, 1024 * 1024);
+        try {
+            recorder.start();
+            PrimitiveLevel1Quote quote = new PrimitiveLevel1Quote();
+            for (int i = 0; i < 200; i++) {
+                quote.reset(btc, START.plusNanos(i * 1_000_000L)).set(QuoteType.BID, 10_000L + i, 2)
+                        .set(QuoteType.ASK_SIZE, 1.5, 1);
+                assertTrue(recorder.recordLevel1(quote));
+            }
+        } finally {
+            recorder.close();
+        }
+        assertEquals(recorder.quotePool.getAllocatedCount(), recorder.quotePool.getAvailableCount());
+
+        int events = 0;
+        for (Path file : listFiles()) {
+            try (MarketDataJournalReader reader = new MarketDataJournalReader(file)) {
+                while (reader.next()) {
+                    PrimitiveLevel1Quote replayed = (PrimitiveLevel1Quote) reader.getLevel1Quote();
+                    assertEquals(10_000L + events, replayed.getUnscaledValue(QuoteType.BID));
+                    assertEquals(2, replayed.getScale(QuoteType.BID));
+                    assertEquals(new BigDecimal("1.5"), replayed.getValue(QuoteType.ASK_SIZE));
+                    events++;
+                }
+            }
+        }
+        assertEquals(200, events);
+    }
+
+    @Test
+    public void testEventsOverMemoryBudgetAreDropped() throws IOException {
+        try (MarketDataRecorder recorder = new MarketDataRecorder(directory, 4096, 16)) {
+            recorder.start();
+            Level1Quote quote = new Level1Quote(btc, START);
+            quote.addQuote(QuoteType.BID, BigDecimal.ONE);
+
+            assertFalse(recorder.recordLevel1(quote));
+            assertEquals(1, recorder.getDroppedCount());
+            assertEquals(1, recorder.quotePool.getAvailableCount());
+        }
+        assertTrue(listFiles().isEmpty());
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.fueledbychai.marketdata.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fueledbychai.data.Exchange;
+import com.fueledbychai.data.InstrumentType;
+import com.fueledbychai.data.Ticker;
+import com.fueledbychai.marketdata.ILevel1Quote;
+import com.fueledbychai.marketdata.Level1Quote;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
+import com.fueledbychai.marketdata.OrderFlow;
+import com.fueledbychai.marketdata.QuoteType;
+import com.fueledbychai.time.VirtualClock;
+
+public class ReplayQuoteEngineTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 3, 1, 12, 0, 0, 0, ZoneId.of("UTC"));
+
+    private final Ticker btc = new Ticker("BTC").setExchange(Exchange.REPLAY)
+            .setMinimumTickSize(new BigDecimal("0.1"));
+    private final Ticker eth = new Ticker("ETH").setExchange(Exchange.REPLAY)
+            .setMinimumTickSize(new BigDecimal("0.01"));
+
+    private Path directory;
+    private ReplayQuoteEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("replay-test");
+        engine = new ReplayQuoteEngine();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        engine.shutdownNow();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testJournalRoundTripsValuesAndDeltas() throws IOException {
+        Path file = directory.resolve("btc.fbj");
+        try (MarketDataJournalWriter writer = new MarketDataJournalWriter(file, START)) {
+            writer.write(level1(btc, 0, "64000.5", "64001.0"));
+            writer.write(level1(btc, 250, "63999.9", "64000.25"));
+            Level1Quote cleared = new Level1Quote(btc, START.plusNanos(300_000_000L));
+            cleared.clearQuote(QuoteType.BID);
+            writer.write(cleared);
+            writer.write(new OrderFlow(btc, new BigDecimal("64000.0"), new BigDecimal("0.015"), OrderFlow.Side.SELL,
+                    START.plusNanos(300_001_000L)));
+        }
+
+        try (MarketDataJournalReader reader = new MarketDataJournalReader(file)) {
+            assertTrue(reader.next());
+            assertEquals(MarketDataJournalReader.EventType.LEVEL1, reader.getEventType());
+            assertEquals(btc, reader.getTicker());
+            assertEquals(START, reader.getTimestamp());
+            assertEquals(new BigDecimal("64000.5"), reader.getLevel1Quote().getValue(QuoteType.BID));
+
+            assertTrue(reader.next());
+            ILevel1Quote quote = reader.getLevel1Quote();
+            assertEquals(START.plusNanos(250_000_000L), quote.getTimeStamp());
+            assertEquals(new BigDecimal("63999.9"), quote.getValue(QuoteType.BID));
+            assertEquals(new BigDecimal("64000.25"), quote.getValue(QuoteType.ASK));
+
+            assertTrue(reader.next());
+            assertTrue(reader.getLevel1Quote().isCleared(QuoteType.BID));
+
+            assertTrue(reader.next());
+            OrderFlow trade = reader.getOrderFlow();
+            assertEquals(new BigDecimal("64000.0"), trade.getPrice());
+            assertEquals(new BigDecimal("0.015"), trade.getSize());
+            assertEquals(OrderFlow.Side.SELL, trade.getSide());
+            assertEquals(START.plusNanos(300_001_000L), trade.getTimestamp());
+
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void testTickerFieldsRoundTripWithoutJavaSerialization() throws IOException {
+        Ticker option = new Ticker("ETH-27DEC24-4000-C").setId("42").setExchange(Exchange.DERIBIT)
+                .setPrimaryExchange(Exchange.REPLAY).setCurrency("USDC").setInstrumentType(InstrumentType.OPTION)
+                .setMinimumTickSize(new BigDecimal("0.0005")).setContractMultiplier(new BigDecimal("1"))
+                .setOrderSizeIncrement(new BigDecimal("0.1")).setMinimumOrderSize(new BigDecimal("0.1"))
+                .setMinimumOrderSizeNotional(new BigDecimal("10")).setExpiryYear(2024).setExpiryMonth(12)
+                .setExpiryDay(27).setStrike(new BigDecimal("4000")).setRight(Ticker.Right.CALL)
+                .setFundingRateInterval(8);
+        Path file = directory.resolve("option.fbj");
+        try (MarketDataJournalWriter writer = new MarketDataJournalWriter(file, START)) {
+            writer.write(level1(option, 0, "0.0315", "0.032"));
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        for (int i = 0; i + 1 < bytes.length; i++) {
+            assertFalse("journal holds a Java serialization stream",
+                    bytes[i] == (byte) 0xAC && bytes[i + 1] == (byte) 0xED);
+        }
+        try (MarketDataJournalReader reader = new MarketDataJournalReader(file)) {
+            assertTrue(reader.next());
+            Ticker read = reader.getTicker();
+            assertEquals(option, read);
+            assertEquals("42", read.getId());
+            assertEquals(Exchange.DERIBIT, read.getExchange());
+            assertEquals(new BigDecimal("0.0005"), read.getMinimumTickSize());
+            assertEquals(new BigDecimal("10"), read.getMinimumOrderSizeNotional());
+            assertEquals(27, read.getExpiryDay());
+            assertEquals(new BigDecimal("4000"), read.getStrike());
+            assertEquals(Ticker.Right.CALL, read.getRight());
+            assertEquals(8, read.getFundingRateInterval());
+            assertNotNull(read.getDecimalFormat());
+        }
+    }
+
+    @Test
+    public void testReaderMapsLargeJournalsInWindows() throws IOException {
+        Path file = directory.resolve("windows.fbj");
+        int quotes = 2_000;
+        try (MarketDataJournalWriter writer = new MarketDataJournalWriter(file, START)) {
+            for (int i = 0; i < quotes; i++) {
+                writer.write(level1(i % 2 == 0 ? btc : eth, i, String.valueOf(64000 + i) + ".5",
+                        String.valueOf(64001 + i) + ".25"));
+            }
+        }
+
+        // a window smaller than a few records forces records across window ends
+        try (MarketDataJournalReader reader = new MarketDataJournalReader(file, 64)) {
+            for (int i = 0; i < quotes; i++) {
+                assertTrue(reader.next());
+                assertEquals(i % 2 == 0 ? btc : eth, reader.getTicker());
+                assertEquals(START.plusNanos(i * 1_000_000L), reader.getTimestamp());
+                assertEquals(new BigDecimal(String.valueOf(64000 + i) + ".5"),
+                        reader.getLevel1Quote().getValue(QuoteType.BID));
+                assertEquals(new BigDecimal(String.valueOf(64001 + i) + ".25"),
+                        reader.getLevel1Quote().getValue(QuoteType.ASK));
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void testReplayMergesFilesInTimestampOrder() throws IOException {
+        Path btcFile = directory.resolve("btc.fbj");
+        Path ethFile = directory.resolve("eth.fbj");
+        try (MarketDataJournalWriter writer = new MarketDataJournalWriter(btcFile, START)) {
+            writer.write(level1(btc, 0, "64000.5", "64001.0"));
+            writer.write(level1(btc, 20, "64000.6", "64001.1"));
+            writer.write(new OrderFlow(btc, new BigDecimal("64001.1"), new BigDecimal("0.5"), OrderFlow.Side.BUY,
+                    START.plusNanos(30_000_000L)));
+        }
+        try (MarketDataJournalWriter writer = new MarketDataJournalWriter(ethFile, START)) {
+            writer.write(level1(eth, 10, "3100.10", "3100.20"));
+            writer.write(level1(eth, 20, "3100.11", "3100.21"));
+        }
+
+        List<String> events = new ArrayList<>();
+        VirtualClock clock = new VirtualClock(0L, 1L);
+        engine.subscribeGlobalLevel1(quote -> events.add(quote.getTicker().getSymbol() + "@"
+                + millisAfterStart(quote.getTimeStamp()) + "/" + (clock.currentTimeMillis() - start())));
+        engine.subscribeGlobalOrderFlow(trade -> events.add("trade@" + millisAfterStart(trade.getTimestamp())));
+        engine.setFiles(List.of(btcFile, ethFile));
+        engine.setClock(clock);
+
+        assertEquals(5, engine.replay());
+
+        assertEquals(List.of("BTC@0/0", "ETH@10/10", "BTC@20/20", "ETH@20/20", "trade@30"), events);
+        assertEquals(start() + 30, engine.getServerTime().getTime());
+        assertFalse(engine.started());
+    }
+
+    @Test
+    public void testReplayRebuildsOrderBook() throws IOException {
+        Path file = directory.resolve("book.fbj");
+        try (MarketDataJournalWriter writer = new MarketDataJournalWriter(file, START)) {
+            writer.writeBook(btc, START, true,
+                    List.of(level("64000.0", 1.5), level("63999.9", 2.0)),
+                    List.of(level("64000.1", 0.7), level("64000.2", 3.0)));
+            writer.writeBook(btc, START.plusNanos(1_000_000L), false, List.of(level("64000.0", 0.0)),
+                    List.of(level("64000.1", 0.25)));
+        }
+
+        List<String> bests = new ArrayList<>();
+        engine.subscribeMarketDepth(btc, quote -> bests.add(quote.getOrderBook().getBestBid().getPrice() + "x"
+                + quote.getOrderBook().getBestBid().getSize() + " " + quote.getOrderBook().getBestAsk().getPrice()
+                + "x" + quote.getOrderBook().getBestAsk().getSize()));
+        engine.setFiles(List.of(file));
+
+        assertEquals(2, engine.replay());
+
+        assertEquals(List.of("64000.0x1.5 64000.1x0.7", "63999.9x2.0 64000.1x0.25"), bests);
+    }
+
+    @Test
+    public void testReplayAppliesBookDeltasInPlace() throws IOException {
+        Path file = directory.resolve("deltas.fbj");
+        try (MarketDataJournalWriter writer = new MarketDataJournalWriter(file, START)) {
+            // the recording starts mid-stream, with an update rather than a snapshot
+            writer.writeBook(btc, START, false, List.of(level("64000.0", 1.0)), List.of(level("64000.5", 1.0)));
+            writer.writeBook(btc, START.plusNanos(1_000_000L), false, List.of(level("64000.2", 2.0)), List.of());
+            writer.writeBook(btc, START.plusNanos(2_000_000L), false, List.of(), List.of(level("64000.5", 0.0),
+                    level("64000.3", 4.0)));
+            writer.writeBook(btc, START.plusNanos(3_000_000L), true, List.of(level("63000.0", 1.0)),
+                    List.of(level("63000.1", 1.0)));
+        }
+
+        List<String> bests = new ArrayList<>();
+        List<Object> books = new ArrayList<>();
+        engine.subscribeMarketDepth(btc, quote -> {
+            books.add(quote.getOrderBook());
+            bests.add(quote.getOrderBook().getBestBid().getPrice() + " " + quote.getOrderBook().getBestAsk().getPrice());
+        });
+        engine.setFiles(List.of(file));
+
+        assertEquals(4, engine.replay());
+
+        assertEquals(List.of("64000.0 64000.5", "64000.2 64000.5", "64000.2 64000.3", "63000.0 63000.1"), bests);
+        assertTrue(books.stream().allMatch(book -> book == books.get(0)));
+    }
+
+    private static Level1Quote level1(Ticker ticker, long millis, String bid, String ask) {
+        Level1Quote quote = new Level1Quote(ticker, START.plusNanos(millis * 1_000_000L));
+        quote.addQuote(QuoteType.BID, new BigDecimal(bid));
+        quote.addQuote(QuoteType.ASK, new BigDecimal(ask));
+        return quote;
+    }
+
+    private static PriceLevel level(String price, double size) {
+        return new PriceLevel(new BigDecimal(price), size);
+    }
+
+    private static long start() {
+        return START.toInstant().toEpochMilli();
+    }
+
+    private static long millisAfterStart(ZonedDateTime time) {
+        return time.toInstant().toEpochMilli() - start();
+    }
+}
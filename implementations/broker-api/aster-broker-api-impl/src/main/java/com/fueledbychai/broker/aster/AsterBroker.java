@@ -249,11 +249,6 @@ public class AsterBroker extends AbstractBasicBroker {
         return lastFailure == null ? new BrokerRequestResult() : lastFailure;
     }
 
-    @Override
-    public BrokerRequestResult cancelOrders(java.util.List<OrderTicket> orders) {
-        throw new UnsupportedOperationException("Batch cancel not supported by AsterBroker");
-    }
-
     @Override
     public BrokerRequestResult placeOrder(OrderTicket order) {
         if (!connected) {
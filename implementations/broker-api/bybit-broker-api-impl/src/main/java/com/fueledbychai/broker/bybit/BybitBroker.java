@@ -128,11 +128,6 @@ public class BybitBroker extends AbstractBasicBroker {
         return new BrokerRequestResult();
     }
 
-    @Override
-    public BrokerRequestResult cancelOrders(List<OrderTicket> orders) {
-        throw new UnsupportedOperationException("Batch cancel not supported by BybitBroker");
-    }
-
     @Override
     public BrokerRequestResult placeOrder(OrderTicket order) {
         if (!connected) {
@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import com.fueledbychai.BestBidOffer;
 import com.fueledbychai.broker.AbstractBasicBroker;
+import com.fueledbychai.broker.BatchBrokerRequestResult;
 import com.fueledbychai.broker.BrokerRequestResult;
 import com.fueledbychai.broker.BrokerStatus;
 import com.fueledbychai.broker.Position;
@@ -57,6 +58,7 @@ import com.fueledbychai.hyperliquid.ws.HyperliquidWebSocketClient;
 import com.fueledbychai.hyperliquid.ws.HyperliquidWebSocketClientBuilder;
 import com.fueledbychai.hyperliquid.ws.IHyperliquidRestApi;
 import com.fueledbychai.hyperliquid.ws.IHyperliquidWebsocketApi;
+import com.fueledbychai.hyperliquid.ws.json.ws.SubmitOrderResponse;
 import com.fueledbychai.hyperliquid.ws.json.ws.SubmitPostResponse;
 import com.fueledbychai.hyperliquid.ws.listeners.accountinfo.AccountWebSocketProcessor;
 import com.fueledbychai.hyperliquid.ws.listeners.accountinfo.HyperliquidPositionUpdate;
@@ -190,40 +192,94 @@ public class HyperliquidBroker extends AbstractBasicBroker implements Level1Quot
     @Override
     public BrokerRequestResult placeOrder(OrderTicket order) {
         checkConnected();
-        BestBidOffer bbo = bestBidOfferMap.get(order.getTicker().getSymbol());
+        BestBidOffer bbo = awaitBestBidOffer(order.getTicker());
+        order.setOrderEntryTime(getCurrentTime());
+        HyperliquidOrderTicket hyperliquidOrderTicket = new HyperliquidOrderTicket(bbo, order);
+        pendingOrderMapByCloid.put(order.getClientOrderId(), order);
+        logger.info("Created order ticket: ");
+        try (var s = Span.start("HL_BROKER_PLACE_ORDER", order.getClientOrderId())) {
+            SubmitPostResponse submittedOrders = websocketApi
+                    .submitOrders(translator.translateOrderTickets(hyperliquidOrderTicket));
+            updateOrderIds(order, submittedOrders);
+        }
+
+        return new BrokerRequestResult();
+
+    }
+
+    /**
+     * Places all orders in a single signed order action, so a full requote
+     * costs one signature and one round trip.
+     */
+    @Override
+    public BatchBrokerRequestResult placeOrders(List<OrderTicket> orders) {
+        checkConnected();
+        if (orders == null || orders.isEmpty()) {
+            return new BatchBrokerRequestResult(List.of());
+        }
+
+        List<HyperliquidOrderTicket> hyperliquidOrderTickets = new ArrayList<>(orders.size());
+        for (OrderTicket order : orders) {
+            if (order == null) {
+                throw new IllegalArgumentException("order is required");
+            }
+            BestBidOffer bbo = awaitBestBidOffer(order.getTicker());
+            order.setOrderEntryTime(getCurrentTime());
+            hyperliquidOrderTickets.add(new HyperliquidOrderTicket(bbo, order));
+            pendingOrderMapByCloid.put(order.getClientOrderId(), order);
+        }
+
+        try (var s = Span.start("HL_BROKER_PLACE_ORDERS", String.valueOf(orders.size()))) {
+            SubmitPostResponse submittedOrders = websocketApi
+                    .submitOrders(translator.translateOrderTickets(hyperliquidOrderTickets));
+            return buildBatchResult(orders, submittedOrders);
+        }
+    }
+
+    protected BatchBrokerRequestResult buildBatchResult(List<OrderTicket> orders, SubmitPostResponse response) {
+        List<BrokerRequestResult> results = new ArrayList<>(orders.size());
+        if (!Boolean.TRUE.equals(response.success)) {
+            for (int i = 0; i < orders.size(); i++) {
+                results.add(new BrokerRequestResult(false, true, response.errorMessage,
+                        BrokerRequestResult.FailureType.UNKNOWN));
+            }
+            return new BatchBrokerRequestResult(results);
+        }
+
+        updateOrderIds(orders, response);
+        for (SubmitOrderResponse orderResponse : response.orders) {
+            if (orderResponse.orderId <= 0) {
+                results.add(new BrokerRequestResult(false, true, "Order rejected with status " + orderResponse.status,
+                        BrokerRequestResult.FailureType.UNKNOWN));
+            } else {
+                results.add(new BrokerRequestResult());
+            }
+        }
+        return new BatchBrokerRequestResult(results);
+    }
+
+    protected BestBidOffer awaitBestBidOffer(Ticker ticker) {
+        BestBidOffer bbo = bestBidOfferMap.get(ticker.getSymbol());
         int tries = 0;
         int maxTries = 30; // Wait up to 30 seconds for market data
         while (bbo == null) {
             try {
-                logger.info("Waiting for market data for " + order.getTicker().getSymbol() + " to place order");
+                logger.info("Waiting for market data for " + ticker.getSymbol() + " to place order");
                 Thread.sleep(1000);
-                bbo = bestBidOfferMap.get(order.getTicker().getSymbol());
+                bbo = bestBidOfferMap.get(ticker.getSymbol());
                 tries++;
                 if (tries > maxTries) {
                     break;
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                throw new FueledByChaiException(
-                        "Interrupted while waiting for market data for " + order.getTicker().getSymbol());
+                throw new FueledByChaiException("Interrupted while waiting for market data for " + ticker.getSymbol());
             }
         }
         if (bbo == null) {
-            throw new FueledByChaiException(
-                    "No market data available for " + order.getTicker() + ", cannot place order");
-        }
-        order.setOrderEntryTime(getCurrentTime());
-        HyperliquidOrderTicket hyperliquidOrderTicket = new HyperliquidOrderTicket(bbo, order);
-        pendingOrderMapByCloid.put(order.getClientOrderId(), order);
-        logger.info("Created order ticket: ");
-        try (var s = Span.start("HL_BROKER_PLACE_ORDER", order.getClientOrderId())) {
-            SubmitPostResponse submittedOrders = websocketApi
-                    .submitOrders(translator.translateOrderTickets(hyperliquidOrderTicket));
-            updateOrderIds(order, submittedOrders);
+            throw new FueledByChaiException("No market data available for " + ticker + ", cannot place order");
         }
-
-        return new BrokerRequestResult();
-
+        return bbo;
     }
 
     @Override
@@ -425,11 +481,6 @@ public class HyperliquidBroker extends AbstractBasicBroker implements Level1Quot
 
     }
 
-    @Override
-    public BrokerRequestResult cancelOrders(List<OrderTicket> orders) {
-        throw new UnsupportedOperationException("Batch cancel not supported by HyperliquidBroker");
-    }
-
     public void ordersUpdateWsEventReceived(List<WsOrderUpdate> event) {
 
         for (WsOrderUpdate orderUpdate : event) {
@@ -594,7 +645,11 @@ public class HyperliquidBroker extends AbstractBasicBroker implements Level1Quot
         for (int i = 0; i < orders.size(); i++) {
             OrderTicket order = orders.get(i);
             int hyperliquidOrderId = response.orders.get(i).orderId;
+            if (hyperliquidOrderId <= 0) {
+                continue;
+            }
             order.setOrderId(String.valueOf(hyperliquidOrderId));
+            exchangeIdToCloidMap.put(String.valueOf(hyperliquidOrderId), order.getClientOrderId());
         }
     }
 
@@ -72,9 +72,8 @@ public class HyperliquidBrokerCapabilities extends AbstractBrokerCapabilities {
                         BrokerMethodCapability.CANCEL_ALL_ORDERS, BrokerMethodCapability.CANCEL_ALL_ORDERS_FOR_TICKER,
                         // Note: CANCEL_ORDERS_BY_IDS and CANCEL_ORDERS_BY_TICKETS not supported
 
-                        // Order placement - single orders only
-                        BrokerMethodCapability.PLACE_ORDER,
-                        // Note: PLACE_ORDERS_BATCH not supported - must place individually
+                        // Order placement - batches are sent as one signed order action
+                        BrokerMethodCapability.PLACE_ORDER, BrokerMethodCapability.PLACE_ORDERS_BATCH,
 
                         // Order modification via cancel/replace pattern
                         BrokerMethodCapability.REPLACE_ORDER,
@@ -103,6 +102,7 @@ public class HyperliquidBrokerCapabilities extends AbstractBrokerCapabilities {
                 // Size limits
                 .minOrderSize(0.00001) // 0.00001 BTC minimum
                 .maxOrderSize(0.0) // No hard limit (subject to available liquidity)
+                .maxBatchSize(0) // One order action carries any number of orders
 
                 // Limitations
                 .limitations("Market orders are converted to aggressive limit orders with 5% slippage protection",
@@ -181,9 +181,6 @@ public class HyperliquidBrokerCapabilities extends AbstractBrokerCapabilities {
         case CANCEL_ORDERS_BY_TICKETS:
             return "Hyperliquid does not support batch order cancellation. Use individual cancelOrder() calls instead.";
 
-        case PLACE_ORDERS_BATCH:
-            return "Hyperliquid does not support batch order placement. Submit orders individually for better error handling.";
-
         case MODIFY_ORDER:
         case MODIFY_ORDER_PRICE:
         case MODIFY_ORDER_SIZE:
@@ -7,17 +7,23 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fueledbychai.broker.AbstractBasicBroker;
+import com.fueledbychai.broker.BatchBrokerRequestResult;
+import com.fueledbychai.broker.BrokerRequestExecutor;
 import com.fueledbychai.broker.BrokerRequestResult;
 import com.fueledbychai.broker.BrokerStatus;
 import com.fueledbychai.broker.Position;
@@ -36,6 +42,7 @@ import com.fueledbychai.lighter.common.api.order.LighterCancelOrderRequest;
 import com.fueledbychai.lighter.common.api.order.LighterCreateOrderRequest;
 import com.fueledbychai.lighter.common.api.order.LighterModifyOrderRequest;
 import com.fueledbychai.lighter.common.api.signer.LighterNativeTransactionSigner;
+import com.fueledbychai.lighter.common.api.signer.LighterSignedTransaction;
 import com.fueledbychai.lighter.common.api.ws.listener.ILighterAccountOrdersListener;
 import com.fueledbychai.lighter.common.api.ws.model.LighterAccountStats;
 import com.fueledbychai.lighter.common.api.ws.model.LighterAccountStatsUpdate;
@@ -69,6 +76,7 @@ public class LighterBroker extends AbstractBasicBroker {
     protected final AtomicLong nextClientOrderId = new AtomicLong(System.currentTimeMillis());
     protected final AtomicLong lastSubmittedNonce = new AtomicLong(UNINITIALIZED_NONCE);
     protected final Object nonceLock = new Object();
+    protected final Object txSubmitLock = new Object();
     protected final Object authRefreshSchedulerLock = new Object();
     protected final ILighterAccountOrdersListener accountOrdersListener = this::onLighterAccountOrdersEvent;
     protected final Map<String, String> clientOrderIdByOrderId = new ConcurrentHashMap<>();
@@ -181,30 +189,64 @@ public class LighterBroker extends AbstractBasicBroker {
         }
 
         try {
-            long nonce = getNextManagedNonce();
-            LighterCancelOrderRequest cancelRequest = translator.translateCancelOrder(resolvedOrder, accountIndex,
-                    apiKeyIndex, nonce);
-            LighterSendTxResponse response = sendWithNonceRetry(
-                    "cancel order", nonce, cancelRequest, refreshedNonce -> translator
-                            .translateCancelOrder(resolvedOrder, accountIndex, apiKeyIndex, refreshedNonce),
-                    websocketApi::cancelOrder);
-            if (response == null || !response.isSuccess()) {
-                return buildFailedTxResult("Failed to cancel order", response);
-            }
-
-            resolvedOrder.setCurrentStatus(OrderStatus.Status.PENDING_CANCEL);
-            OrderStatus pendingCancel = new OrderStatus(OrderStatus.Status.PENDING_CANCEL, resolvedOrder.getOrderId(),
-                    resolvedOrder.getFilledSize(), resolvedOrder.getRemainingSize(), resolvedOrder.getFilledPrice(),
-                    resolvedOrder.getTicker(), getCurrentTime());
-            pendingCancel.setClientOrderId(resolvedOrder.getClientOrderId());
-            super.fireOrderEvent(new OrderEvent(resolvedOrder, pendingCancel));
-            return new BrokerRequestResult();
+            INonceRequestBuilder<LighterCancelOrderRequest> requestBuilder = nonce -> translator
+                    .translateCancelOrder(resolvedOrder, accountIndex, apiKeyIndex, nonce);
+            LighterSendTxResponse response = sendWithNonceRetry("cancel order", requestBuilder, requestBuilder,
+                    websocketApi::cancelOrderAsync);
+            return completeCancelOrder(resolvedOrder, response);
         } catch (Exception ex) {
             logger.error("Error canceling order {}", resolvedOrder.getOrderId(), ex);
             return new BrokerRequestResult(false, true, ex.getMessage(), BrokerRequestResult.FailureType.UNKNOWN);
         }
     }
 
+    @Override
+    public CompletableFuture<BrokerRequestResult> cancelOrderAsync(String id) {
+        OrderTicket openOrder = id == null || id.isBlank() ? null : orderRegistry.getOrderById(id);
+        if (openOrder != null) {
+            return cancelOrderAsync(openOrder);
+        }
+        // cancelling by bare order index probes every known market, so run it off the caller's thread
+        return super.cancelOrderAsync(id);
+    }
+
+    @Override
+    public CompletableFuture<BrokerRequestResult> cancelOrderAsync(OrderTicket order) {
+        checkConnected();
+        if (order == null) {
+            return CompletableFuture.completedFuture(new BrokerRequestResult(false, true, "order is required",
+                    BrokerRequestResult.FailureType.VALIDATION_FAILED));
+        }
+
+        OrderTicket resolvedOrder = resolveOrderForCancel(order);
+        if (resolvedOrder == null) {
+            return CompletableFuture.completedFuture(new BrokerRequestResult(false, true,
+                    "Unable to resolve order for cancel", BrokerRequestResult.FailureType.ORDER_NOT_FOUND));
+        }
+
+        CompletableFuture<LighterSendTxResponse> response;
+        try {
+            response = sendWithNonceRetryAsync("cancel order",
+                    nonce -> translator.translateCancelOrder(resolvedOrder, accountIndex, apiKeyIndex, nonce),
+                    refreshedNonce -> translator.translateCancelOrder(resolvedOrder, accountIndex, apiKeyIndex,
+                            refreshedNonce),
+                    websocketApi::cancelOrderAsync);
+        } catch (Exception ex) {
+            logger.error("Error canceling order {}", resolvedOrder.getOrderId(), ex);
+            return CompletableFuture.completedFuture(
+                    new BrokerRequestResult(false, true, ex.getMessage(), BrokerRequestResult.FailureType.UNKNOWN));
+        }
+
+        return response.handle((txResponse, error) -> {
+            if (error != null) {
+                Throwable cause = unwrapCompletionException(error);
+                logger.error("Error canceling order {}", resolvedOrder.getOrderId(), cause);
+                return buildAsyncFailureResult(cause);
+            }
+            return completeCancelOrder(resolvedOrder, txResponse);
+        });
+    }
+
     @Override
     public BrokerRequestResult placeOrder(OrderTicket order) {
         checkConnected();
@@ -217,33 +259,73 @@ public class LighterBroker extends AbstractBasicBroker {
             ensureClientOrderId(order);
             order.setOrderEntryTime(getCurrentTime());
 
-            long nonce = getNextManagedNonce();
-            LighterCreateOrderRequest createOrderRequest = translator.translateCreateOrder(order, accountIndex,
-                    apiKeyIndex, nonce);
+            LighterSendTxResponse response = sendWithNonceRetry("submit order", nonce -> {
+                LighterCreateOrderRequest createOrderRequest = translator.translateCreateOrder(order, accountIndex,
+                        apiKeyIndex, nonce);
+                if (order.getOrderId() == null || order.getOrderId().isBlank()) {
+                    order.setOrderId(order.getClientOrderId());
+                }
+                orderRegistry.addOpenOrder(order);
+                return createOrderRequest;
+            }, refreshedNonce -> {
+                LighterCreateOrderRequest retryRequest = translator.translateCreateOrder(order, accountIndex,
+                        apiKeyIndex, refreshedNonce);
+                ensureAccountOrdersSubscription(retryRequest.getMarketIndex());
+                return retryRequest;
+            }, websocketApi::submitOrderAsync);
+            return completePlaceOrder(order, response);
+        } catch (Exception ex) {
+            logger.error("Error placing Lighter order", ex);
+            return new BrokerRequestResult(false, true, ex.getMessage(), BrokerRequestResult.FailureType.UNKNOWN);
+        }
+    }
 
-            if (order.getOrderId() == null || order.getOrderId().isBlank()) {
-                order.setOrderId(order.getClientOrderId());
-            }
-            orderRegistry.addOpenOrder(order);
+    /**
+     * Signs and posts the order on the tx websocket and returns without waiting
+     * for the acknowledgement, so many orders can be in flight at once. The
+     * future completes when the response with the matching request id arrives.
+     */
+    @Override
+    public CompletableFuture<BrokerRequestResult> placeOrderAsync(OrderTicket order) {
+        checkConnected();
+        if (order == null) {
+            return CompletableFuture.completedFuture(new BrokerRequestResult(false, true, "order is required",
+                    BrokerRequestResult.FailureType.VALIDATION_FAILED));
+        }
 
-            LighterSendTxResponse response = sendWithNonceRetry("submit order", nonce, createOrderRequest,
-                    refreshedNonce -> {
-                        LighterCreateOrderRequest retryRequest = translator.translateCreateOrder(order, accountIndex,
-                                apiKeyIndex, refreshedNonce);
-                        ensureAccountOrdersSubscription(retryRequest.getMarketIndex());
-                        return retryRequest;
-                    }, websocketApi::submitOrder);
-            if (response == null || !response.isSuccess()) {
-                order.setCurrentStatus(OrderStatus.Status.REJECTED);
-                orderRegistry.addCompletedOrder(order);
-                return buildFailedTxResult("Failed to place order", response);
-            }
+        CompletableFuture<LighterSendTxResponse> response;
+        try {
+            ensureClientOrderId(order);
+            order.setOrderEntryTime(getCurrentTime());
 
-            return new BrokerRequestResult();
+            response = sendWithNonceRetryAsync("submit order", nonce -> {
+                LighterCreateOrderRequest createOrderRequest = translator.translateCreateOrder(order, accountIndex,
+                        apiKeyIndex, nonce);
+                if (order.getOrderId() == null || order.getOrderId().isBlank()) {
+                    order.setOrderId(order.getClientOrderId());
+                }
+                orderRegistry.addOpenOrder(order);
+                return createOrderRequest;
+            }, refreshedNonce -> {
+                LighterCreateOrderRequest retryRequest = translator.translateCreateOrder(order, accountIndex,
+                        apiKeyIndex, refreshedNonce);
+                ensureAccountOrdersSubscription(retryRequest.getMarketIndex());
+                return retryRequest;
+            }, websocketApi::submitOrderAsync);
         } catch (Exception ex) {
             logger.error("Error placing Lighter order", ex);
-            return new BrokerRequestResult(false, true, ex.getMessage(), BrokerRequestResult.FailureType.UNKNOWN);
+            return CompletableFuture.completedFuture(
+                    new BrokerRequestResult(false, true, ex.getMessage(), BrokerRequestResult.FailureType.UNKNOWN));
         }
+
+        return response.handle((txResponse, error) -> {
+            if (error != null) {
+                Throwable cause = unwrapCompletionException(error);
+                logger.error("Error placing Lighter order", cause);
+                return buildAsyncFailureResult(cause);
+            }
+            return completePlaceOrder(order, txResponse);
+        });
     }
 
     @Override
@@ -256,28 +338,54 @@ public class LighterBroker extends AbstractBasicBroker {
 
         try {
             order.setOrderEntryTime(getCurrentTime());
-            long nonce = getNextManagedNonce();
-            LighterModifyOrderRequest modifyOrderRequest = translator.translateModifyOrder(order, accountIndex,
-                    apiKeyIndex, nonce);
-
-            ensureAccountOrdersSubscription(modifyOrderRequest.getMarketIndex());
+            INonceRequestBuilder<LighterModifyOrderRequest> requestBuilder = nonce -> {
+                LighterModifyOrderRequest modifyOrderRequest = translator.translateModifyOrder(order, accountIndex,
+                        apiKeyIndex, nonce);
+                ensureAccountOrdersSubscription(modifyOrderRequest.getMarketIndex());
+                return modifyOrderRequest;
+            };
+            LighterSendTxResponse response = sendWithNonceRetry("modify order", requestBuilder, requestBuilder,
+                    websocketApi::modifyOrderAsync);
+            return completeModifyOrder(response);
+        } catch (Exception ex) {
+            logger.error("Error modifying Lighter order {}", order.getOrderId(), ex);
+            return new BrokerRequestResult(false, true, ex.getMessage(), BrokerRequestResult.FailureType.UNKNOWN);
+        }
+    }
 
-            LighterSendTxResponse response = sendWithNonceRetry("modify order", nonce, modifyOrderRequest,
-                    refreshedNonce -> {
-                        LighterModifyOrderRequest retryRequest = translator.translateModifyOrder(order, accountIndex,
-                                apiKeyIndex, refreshedNonce);
-                        ensureAccountOrdersSubscription(retryRequest.getMarketIndex());
-                        return retryRequest;
-                    }, websocketApi::modifyOrder);
-            if (response == null || !response.isSuccess()) {
-                return buildFailedTxResult("Failed to modify order", response);
-            }
+    @Override
+    public CompletableFuture<BrokerRequestResult> modifyOrderAsync(OrderTicket order) {
+        checkConnected();
+        if (order == null) {
+            return CompletableFuture.completedFuture(new BrokerRequestResult(false, true, "order is required",
+                    BrokerRequestResult.FailureType.VALIDATION_FAILED));
+        }
 
-            return new BrokerRequestResult();
+        CompletableFuture<LighterSendTxResponse> response;
+        try {
+            order.setOrderEntryTime(getCurrentTime());
+            INonceRequestBuilder<LighterModifyOrderRequest> requestBuilder = nonce -> {
+                LighterModifyOrderRequest modifyOrderRequest = translator.translateModifyOrder(order, accountIndex,
+                        apiKeyIndex, nonce);
+                ensureAccountOrdersSubscription(modifyOrderRequest.getMarketIndex());
+                return modifyOrderRequest;
+            };
+            response = sendWithNonceRetryAsync("modify order", requestBuilder, requestBuilder,
+                    websocketApi::modifyOrderAsync);
         } catch (Exception ex) {
             logger.error("Error modifying Lighter order {}", order.getOrderId(), ex);
-            return new BrokerRequestResult(false, true, ex.getMessage(), BrokerRequestResult.FailureType.UNKNOWN);
+            return CompletableFuture.completedFuture(
+                    new BrokerRequestResult(false, true, ex.getMessage(), BrokerRequestResult.FailureType.UNKNOWN));
         }
+
+        return response.handle((txResponse, error) -> {
+            if (error != null) {
+                Throwable cause = unwrapCompletionException(error);
+                logger.error("Error modifying Lighter order {}", order.getOrderId(), cause);
+                return buildAsyncFailureResult(cause);
+            }
+            return completeModifyOrder(txResponse);
+        });
     }
 
     @Override
@@ -427,9 +535,95 @@ public class LighterBroker extends AbstractBasicBroker {
         throw new UnsupportedOperationException("Cancel all orders not implemented yet");
     }
 
+    /**
+     * Places the orders through {@code jsonapi/sendtxbatch}, signing up to
+     * {@link ILighterWebSocketApi#MAX_SEND_TX_BATCH_SIZE} orders with
+     * consecutive nonces per message.
+     */
     @Override
-    public BrokerRequestResult cancelOrders(java.util.List<OrderTicket> orders) {
-        throw new UnsupportedOperationException("Batch cancel not supported by LighterBroker");
+    public BatchBrokerRequestResult placeOrders(List<OrderTicket> orders) {
+        checkConnected();
+        BrokerRequestResult[] results = new BrokerRequestResult[orders == null ? 0 : orders.size()];
+        List<Integer> positions = new ArrayList<>(results.length);
+        List<OrderTicket> targets = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            OrderTicket order = orders.get(i);
+            if (order == null) {
+                results[i] = new BrokerRequestResult(false, true, "order is required",
+                        BrokerRequestResult.FailureType.VALIDATION_FAILED);
+                continue;
+            }
+            ensureClientOrderId(order);
+            order.setOrderEntryTime(getCurrentTime());
+            if (order.getOrderId() == null || order.getOrderId().isBlank()) {
+                order.setOrderId(order.getClientOrderId());
+            }
+            orderRegistry.addOpenOrder(order);
+            positions.add(i);
+            targets.add(order);
+        }
+
+        sendOrderBatches("submit order", targets, positions, results, (order, nonce) -> {
+            LighterCreateOrderRequest createOrderRequest = translator.translateCreateOrder(order, accountIndex,
+                    apiKeyIndex, nonce);
+            ensureAccountOrdersSubscription(createOrderRequest.getMarketIndex());
+            return websocketApi.signOrder(createOrderRequest);
+        }, this::completePlaceOrder);
+        return new BatchBrokerRequestResult(List.of(results));
+    }
+
+    @Override
+    public BrokerRequestResult cancelOrders(List<OrderTicket> orders) {
+        checkConnected();
+        BrokerRequestResult[] results = new BrokerRequestResult[orders == null ? 0 : orders.size()];
+        List<Integer> positions = new ArrayList<>(results.length);
+        List<OrderTicket> targets = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            OrderTicket order = orders.get(i);
+            OrderTicket resolvedOrder = order == null ? null : resolveOrderForCancel(order);
+            if (order == null) {
+                results[i] = new BrokerRequestResult(false, true, "order is required",
+                        BrokerRequestResult.FailureType.VALIDATION_FAILED);
+            } else if (resolvedOrder == null) {
+                results[i] = new BrokerRequestResult(false, true, "Unable to resolve order for cancel",
+                        BrokerRequestResult.FailureType.ORDER_NOT_FOUND);
+            } else {
+                positions.add(i);
+                targets.add(resolvedOrder);
+            }
+        }
+
+        sendOrderBatches("cancel order", targets, positions, results, (order, nonce) -> websocketApi
+                .signCancelOrder(translator.translateCancelOrder(order, accountIndex, apiKeyIndex, nonce)),
+                this::completeCancelOrder);
+        return new BatchBrokerRequestResult(List.of(results));
+    }
+
+    @Override
+    public BatchBrokerRequestResult modifyOrders(List<OrderTicket> orders) {
+        checkConnected();
+        BrokerRequestResult[] results = new BrokerRequestResult[orders == null ? 0 : orders.size()];
+        List<Integer> positions = new ArrayList<>(results.length);
+        List<OrderTicket> targets = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            OrderTicket order = orders.get(i);
+            if (order == null) {
+                results[i] = new BrokerRequestResult(false, true, "order is required",
+                        BrokerRequestResult.FailureType.VALIDATION_FAILED);
+                continue;
+            }
+            order.setOrderEntryTime(getCurrentTime());
+            positions.add(i);
+            targets.add(order);
+        }
+
+        sendOrderBatches("modify order", targets, positions, results, (order, nonce) -> {
+            LighterModifyOrderRequest modifyOrderRequest = translator.translateModifyOrder(order, accountIndex,
+                    apiKeyIndex, nonce);
+            ensureAccountOrdersSubscription(modifyOrderRequest.getMarketIndex());
+            return websocketApi.signModifyOrder(modifyOrderRequest);
+        }, (order, response) -> completeModifyOrder(response));
+        return new BatchBrokerRequestResult(List.of(results));
     }
 
     protected void checkConnected() {
@@ -927,12 +1121,10 @@ public class LighterBroker extends AbstractBasicBroker {
             }
 
             try {
-                long nonce = getNextManagedNonce();
-                LighterCancelOrderRequest cancelRequest = buildCancelOrderRequest(marketIndex.intValue(), orderIndex,
-                        nonce);
-                LighterSendTxResponse response = sendWithNonceRetry("cancel order by index", nonce, cancelRequest,
-                        refreshedNonce -> buildCancelOrderRequest(marketIndex.intValue(), orderIndex, refreshedNonce),
-                        websocketApi::cancelOrder);
+                INonceRequestBuilder<LighterCancelOrderRequest> requestBuilder = nonce -> buildCancelOrderRequest(
+                        marketIndex.intValue(), orderIndex, nonce);
+                LighterSendTxResponse response = sendWithNonceRetry("cancel order by index", requestBuilder,
+                        requestBuilder, websocketApi::cancelOrderAsync);
                 if (response != null && response.isSuccess()) {
                     return new BrokerRequestResult();
                 }
@@ -951,6 +1143,52 @@ public class LighterBroker extends AbstractBasicBroker {
         return new BrokerRequestResult(false, true, lastError, BrokerRequestResult.FailureType.ORDER_NOT_FOUND);
     }
 
+    protected BrokerRequestResult completePlaceOrder(OrderTicket order, LighterSendTxResponse response) {
+        if (response == null || !response.isSuccess()) {
+            order.setCurrentStatus(OrderStatus.Status.REJECTED);
+            orderRegistry.addCompletedOrder(order);
+            return buildFailedTxResult("Failed to place order", response);
+        }
+
+        return new BrokerRequestResult();
+    }
+
+    protected BrokerRequestResult completeCancelOrder(OrderTicket resolvedOrder, LighterSendTxResponse response) {
+        if (response == null || !response.isSuccess()) {
+            return buildFailedTxResult("Failed to cancel order", response);
+        }
+
+        resolvedOrder.setCurrentStatus(OrderStatus.Status.PENDING_CANCEL);
+        OrderStatus pendingCancel = new OrderStatus(OrderStatus.Status.PENDING_CANCEL, resolvedOrder.getOrderId(),
+                resolvedOrder.getFilledSize(), resolvedOrder.getRemainingSize(), resolvedOrder.getFilledPrice(),
+                resolvedOrder.getTicker(), getCurrentTime());
+        pendingCancel.setClientOrderId(resolvedOrder.getClientOrderId());
+        super.fireOrderEvent(new OrderEvent(resolvedOrder, pendingCancel));
+        return new BrokerRequestResult();
+    }
+
+    protected BrokerRequestResult completeModifyOrder(LighterSendTxResponse response) {
+        if (response == null || !response.isSuccess()) {
+            return buildFailedTxResult("Failed to modify order", response);
+        }
+
+        return new BrokerRequestResult();
+    }
+
+    protected BrokerRequestResult buildAsyncFailureResult(Throwable cause) {
+        String message = cause.getMessage() == null ? cause.toString() : cause.getMessage();
+        return new BrokerRequestResult(false, true, message, BrokerRequestResult.FailureType.UNKNOWN);
+    }
+
+    protected Throwable unwrapCompletionException(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
     protected BrokerRequestResult buildFailedTxResult(String prefix, LighterSendTxResponse response) {
         String message = prefix;
         if (response != null && response.getMessage() != null && !response.getMessage().isBlank()) {
@@ -1028,10 +1266,25 @@ public class LighterBroker extends AbstractBasicBroker {
         return cancelRequest;
     }
 
-    protected <T> LighterSendTxResponse sendWithNonceRetry(String operationName, long nonce, T request,
-            INonceRequestBuilder<T> retryRequestBuilder, ITxRequestSender<T> requestSender) throws Exception {
+    /**
+     * Takes a nonce, builds the request and sends it, retrying once with a
+     * refreshed nonce on an invalid-nonce rejection. As on the pipelined and
+     * batch paths, only taking the nonce and posting the request run under
+     * {@link #txSubmitLock}, so the call reaches the exchange in nonce order
+     * but other callers can post while it waits for its acknowledgement. The
+     * refresh and the retry take the lock again.
+     */
+    protected <T> LighterSendTxResponse sendWithNonceRetry(String operationName, INonceRequestBuilder<T> requestBuilder,
+            INonceRequestBuilder<T> retryRequestBuilder, IAsyncTxRequestSender<T> requestSender) throws Exception {
+        long nonce;
+        CompletableFuture<LighterSendTxResponse> pending;
+        synchronized (txSubmitLock) {
+            nonce = getNextManagedNonce();
+            pending = sendAsync(requestSender, requestBuilder.build(nonce));
+        }
+
         try {
-            LighterSendTxResponse response = requestSender.send(request);
+            LighterSendTxResponse response = awaitTxResponse(pending);
             if (!isInvalidNonceResponse(response)) {
                 return response;
             }
@@ -1041,13 +1294,155 @@ public class LighterBroker extends AbstractBasicBroker {
             if (!isInvalidNonceException(ex)) {
                 throw ex;
             }
-            logger.warn("Lighter {} failed for nonce={}, refreshing nonce and retrying once: {}", operationName, nonce,
+            logger.warn("Lighter {} failed for nonce={}, refreshing nonce and retrying once: {}", operationName,
+                    nonce, ex.getMessage());
+        }
+        return awaitTxResponse(resendWithRefreshedNonce(operationName, retryRequestBuilder, requestSender));
+    }
+
+    /**
+     * Pipelined counterpart of {@link #sendWithNonceRetry}. Taking the nonce and
+     * posting the request happen under {@link #txSubmitLock}, so concurrent
+     * callers reach the exchange in nonce order while their acknowledgements are
+     * still outstanding. An invalid-nonce rejection is retried once with a
+     * refreshed nonce on the {@link BrokerRequestExecutor}, since the refresh is
+     * a blocking REST call that must not run on the websocket thread.
+     */
+    protected <T> CompletableFuture<LighterSendTxResponse> sendWithNonceRetryAsync(String operationName,
+            INonceRequestBuilder<T> requestBuilder, INonceRequestBuilder<T> retryRequestBuilder,
+            IAsyncTxRequestSender<T> requestSender) throws Exception {
+        long nonce;
+        CompletableFuture<LighterSendTxResponse> response;
+        synchronized (txSubmitLock) {
+            nonce = getNextManagedNonce();
+            response = sendAsync(requestSender, requestBuilder.build(nonce));
+        }
+
+        return response.handle((txResponse, error) -> {
+            Throwable cause = error == null ? null : unwrapCompletionException(error);
+            if (cause == null ? !isInvalidNonceResponse(txResponse) : !isInvalidNonceException(cause)) {
+                return response;
+            }
+            logger.warn("Lighter {} rejected for nonce={}, refreshing nonce and retrying once (message={})",
+                    operationName, nonce, cause == null ? txResponse.getMessage() : cause.getMessage());
+            return BrokerRequestExecutor
+                    .supplyAsync(() -> resendWithRefreshedNonce(operationName, retryRequestBuilder, requestSender))
+                    .thenCompose(Function.identity());
+        }).thenCompose(Function.identity());
+    }
+
+    protected <T> CompletableFuture<LighterSendTxResponse> resendWithRefreshedNonce(String operationName,
+            INonceRequestBuilder<T> retryRequestBuilder, IAsyncTxRequestSender<T> requestSender) {
+        try {
+            synchronized (txSubmitLock) {
+                refreshManagedNonce(operationName + " invalid nonce");
+                return sendAsync(requestSender, retryRequestBuilder.build(getNextManagedNonce()));
+            }
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    protected <T> CompletableFuture<LighterSendTxResponse> sendAsync(IAsyncTxRequestSender<T> requestSender,
+            T request) {
+        try {
+            CompletableFuture<LighterSendTxResponse> response = requestSender.send(request);
+            return response == null ? CompletableFuture.completedFuture(null) : response;
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Sends the orders in chunks of at most
+     * {@link ILighterWebSocketApi#MAX_SEND_TX_BATCH_SIZE} and stores each
+     * order's result at its position in {@code results}. The exchange accepts or
+     * rejects a batch as a whole, so every order in a chunk is completed with
+     * the chunk's response.
+     */
+    protected void sendOrderBatches(String operationName, List<OrderTicket> orders, List<Integer> positions,
+            BrokerRequestResult[] results, IBatchTxSigner signer, IBatchTxCompleter completer) {
+        for (int start = 0; start < orders.size(); start += ILighterWebSocketApi.MAX_SEND_TX_BATCH_SIZE) {
+            int end = Math.min(orders.size(), start + ILighterWebSocketApi.MAX_SEND_TX_BATCH_SIZE);
+            List<OrderTicket> chunk = orders.subList(start, end);
+            try {
+                LighterSendTxResponse response = sendBatchWithNonceRetry(operationName, chunk, signer);
+                for (int i = start; i < end; i++) {
+                    results[positions.get(i)] = completer.complete(orders.get(i), response);
+                }
+            } catch (Exception ex) {
+                logger.error("Error sending Lighter {} batch of {} orders", operationName, chunk.size(), ex);
+                for (int i = start; i < end; i++) {
+                    // completing without a response rejects placed orders; report the actual error
+                    completer.complete(orders.get(i), null);
+                    results[positions.get(i)] = buildAsyncFailureResult(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Batch counterpart of {@link #sendWithNonceRetry}. The nonces are taken and
+     * the batch is posted under {@link #txSubmitLock}, so the batch holds a
+     * consecutive nonce range even while pipelined single orders are in flight.
+     */
+    protected LighterSendTxResponse sendBatchWithNonceRetry(String operationName, List<OrderTicket> orders,
+            IBatchTxSigner signer) throws Exception {
+        try {
+            LighterSendTxResponse response = awaitTxResponse(postBatch(operationName, orders, signer, false));
+            if (!isInvalidNonceResponse(response)) {
+                return response;
+            }
+            logger.warn("Lighter {} batch rejected for nonce, refreshing nonce and retrying once (message={})",
+                    operationName, response.getMessage());
+        } catch (Exception ex) {
+            if (!isInvalidNonceException(ex)) {
+                throw ex;
+            }
+            logger.warn("Lighter {} batch failed for nonce, refreshing nonce and retrying once: {}", operationName,
                     ex.getMessage());
         }
+        return awaitTxResponse(postBatch(operationName, orders, signer, true));
+    }
 
-        long refreshedNonce = refreshManagedNonce(operationName + " invalid nonce");
-        T retryRequest = retryRequestBuilder.build(refreshedNonce);
-        return requestSender.send(retryRequest);
+    protected CompletableFuture<LighterSendTxResponse> postBatch(String operationName, List<OrderTicket> orders,
+            IBatchTxSigner signer, boolean refreshNonce) throws Exception {
+        synchronized (txSubmitLock) {
+            if (refreshNonce) {
+                refreshManagedNonce(operationName + " invalid nonce");
+            }
+            List<LighterSignedTransaction> transactions = new ArrayList<>(orders.size());
+            for (OrderTicket order : orders) {
+                transactions.add(signer.sign(order, getNextManagedNonce()));
+            }
+            return sendAsync(websocketApi::sendSignedTransactionBatchAsync, transactions);
+        }
+    }
+
+    protected LighterSendTxResponse awaitTxResponse(CompletableFuture<LighterSendTxResponse> response)
+            throws Exception {
+        try {
+            return response.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (ExecutionException ex) {
+            Throwable cause = unwrapCompletionException(ex);
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw ex;
+        }
+    }
+
+    @FunctionalInterface
+    protected interface IBatchTxSigner {
+        LighterSignedTransaction sign(OrderTicket order, long nonce) throws Exception;
+    }
+
+    @FunctionalInterface
+    protected interface IBatchTxCompleter {
+        BrokerRequestResult complete(OrderTicket order, LighterSendTxResponse response);
     }
 
     @FunctionalInterface
@@ -1056,8 +1451,8 @@ public class LighterBroker extends AbstractBasicBroker {
     }
 
     @FunctionalInterface
-    protected interface ITxRequestSender<T> {
-        LighterSendTxResponse send(T request) throws Exception;
+    protected interface IAsyncTxRequestSender<T> {
+        CompletableFuture<LighterSendTxResponse> send(T request) throws Exception;
     }
 
     protected synchronized void subscribeAccountOrdersForKnownMarkets(String token) {
@@ -2,15 +2,19 @@ package com.fueledbychai.broker.lighter;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,11 +27,13 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fueledbychai.broker.BatchBrokerRequestResult;
 import com.fueledbychai.broker.BrokerAccountInfoListener;
 import com.fueledbychai.broker.BrokerRequestResult;
 import com.fueledbychai.broker.order.Fill;
@@ -38,6 +44,7 @@ import com.fueledbychai.data.Ticker;
 import com.fueledbychai.lighter.common.api.ILighterRestApi;
 import com.fueledbychai.lighter.common.api.ILighterWebSocketApi;
 import com.fueledbychai.lighter.common.api.order.LighterCreateOrderRequest;
+import com.fueledbychai.lighter.common.api.signer.LighterSignedTransaction;
 import com.fueledbychai.lighter.common.api.ws.model.LighterAccountStats;
 import com.fueledbychai.lighter.common.api.ws.model.LighterAccountStatsUpdate;
 import com.fueledbychai.lighter.common.api.ws.model.LighterOrder;
@@ -87,14 +94,15 @@ class LighterBrokerTest {
 
         when(mockRestApi.getNextNonce(255L, 3)).thenReturn(99L);
         when(mockTranslator.translateCreateOrder(order, 255L, 3, 99L)).thenReturn(request);
-        when(mockWebSocketApi.submitOrder(request)).thenReturn(new LighterSendTxResponse("1", 200, "ok", "{}"));
+        when(mockWebSocketApi.submitOrderAsync(request))
+                .thenReturn(CompletableFuture.completedFuture(new LighterSendTxResponse("1", 200, "ok", "{}")));
 
         BrokerRequestResult result = broker.placeOrder(order);
 
         assertTrue(result.isSuccess());
         verify(mockRestApi).getNextNonce(255L, 3);
         verify(mockTranslator).translateCreateOrder(order, 255L, 3, 99L);
-        verify(mockWebSocketApi).submitOrder(request);
+        verify(mockWebSocketApi).submitOrderAsync(request);
     }
 
     @Test
@@ -113,8 +121,8 @@ class LighterBrokerTest {
                     request.setNonce(nonce);
                     return request;
                 });
-        when(mockWebSocketApi.submitOrder(any(LighterCreateOrderRequest.class)))
-                .thenReturn(new LighterSendTxResponse("1", 200, "ok", "{}"));
+        when(mockWebSocketApi.submitOrderAsync(any(LighterCreateOrderRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(new LighterSendTxResponse("1", 200, "ok", "{}")));
 
         BrokerRequestResult firstResult = broker.placeOrder(firstOrder);
         BrokerRequestResult secondResult = broker.placeOrder(secondOrder);
@@ -140,16 +148,223 @@ class LighterBrokerTest {
         when(mockRestApi.getNextNonce(255L, 3)).thenReturn(99L, 120L);
         when(mockTranslator.translateCreateOrder(order, 255L, 3, 99L)).thenReturn(firstRequest);
         when(mockTranslator.translateCreateOrder(order, 255L, 3, 120L)).thenReturn(retryRequest);
-        when(mockWebSocketApi.submitOrder(firstRequest))
-                .thenReturn(new LighterSendTxResponse("1", 400, "invalid nonce", "{}"));
-        when(mockWebSocketApi.submitOrder(retryRequest)).thenReturn(new LighterSendTxResponse("2", 200, "ok", "{}"));
+        when(mockWebSocketApi.submitOrderAsync(firstRequest)).thenReturn(
+                CompletableFuture.completedFuture(new LighterSendTxResponse("1", 400, "invalid nonce", "{}")));
+        when(mockWebSocketApi.submitOrderAsync(retryRequest))
+                .thenReturn(CompletableFuture.completedFuture(new LighterSendTxResponse("2", 200, "ok", "{}")));
 
         BrokerRequestResult result = broker.placeOrder(order);
 
         assertTrue(result.isSuccess());
         verify(mockRestApi, times(2)).getNextNonce(255L, 3);
-        verify(mockWebSocketApi).submitOrder(firstRequest);
-        verify(mockWebSocketApi).submitOrder(retryRequest);
+        verify(mockWebSocketApi).submitOrderAsync(firstRequest);
+        verify(mockWebSocketApi).submitOrderAsync(retryRequest);
+    }
+
+    @Test
+    void placeOrderAsync_PipelinesOrdersWithoutWaitingForAcks() throws Exception {
+        OrderTicket firstOrder = buildLimitOrder("201");
+        OrderTicket secondOrder = buildLimitOrder("202");
+        CompletableFuture<LighterSendTxResponse> firstAck = new CompletableFuture<>();
+        CompletableFuture<LighterSendTxResponse> secondAck = new CompletableFuture<>();
+
+        List<Long> usedNonces = new ArrayList<>();
+        when(mockRestApi.getNextNonce(255L, 3)).thenReturn(99L);
+        when(mockTranslator.translateCreateOrder(any(OrderTicket.class), eq(255L), eq(3), anyLong()))
+                .thenAnswer(invocation -> {
+                    long nonce = invocation.getArgument(3, Long.class).longValue();
+                    usedNonces.add(Long.valueOf(nonce));
+                    LighterCreateOrderRequest request = new LighterCreateOrderRequest();
+                    request.setMarketIndex(7);
+                    request.setNonce(nonce);
+                    return request;
+                });
+        when(mockWebSocketApi.submitOrderAsync(any(LighterCreateOrderRequest.class))).thenReturn(firstAck,
+                secondAck);
+
+        CompletableFuture<BrokerRequestResult> firstResult = broker.placeOrderAsync(firstOrder);
+        CompletableFuture<BrokerRequestResult> secondResult = broker.placeOrderAsync(secondOrder);
+
+        // both orders are on the wire before either acknowledgement arrives
+        verify(mockWebSocketApi, times(2)).submitOrderAsync(any(LighterCreateOrderRequest.class));
+        assertEquals(List.of(Long.valueOf(99L), Long.valueOf(100L)), usedNonces);
+        assertFalse(firstResult.isDone());
+        assertFalse(secondResult.isDone());
+
+        secondAck.complete(new LighterSendTxResponse("2", 200, "ok", "{}"));
+        firstAck.complete(new LighterSendTxResponse("1", 400, "order rejected", "{}"));
+
+        assertTrue(secondResult.get(5, TimeUnit.SECONDS).isSuccess());
+        assertFalse(firstResult.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(OrderStatus.Status.REJECTED, firstOrder.getCurrentStatus());
+        verify(mockWebSocketApi, never()).submitOrder(any(LighterCreateOrderRequest.class));
+    }
+
+    @Test
+    void placeOrderAsync_InvalidNonceResponseRefreshesAndRetries() throws Exception {
+        OrderTicket order = buildLimitOrder("203");
+
+        LighterCreateOrderRequest firstRequest = new LighterCreateOrderRequest();
+        firstRequest.setMarketIndex(7);
+        firstRequest.setNonce(99L);
+
+        LighterCreateOrderRequest retryRequest = new LighterCreateOrderRequest();
+        retryRequest.setMarketIndex(7);
+        retryRequest.setNonce(120L);
+
+        when(mockRestApi.getNextNonce(255L, 3)).thenReturn(99L, 120L);
+        when(mockTranslator.translateCreateOrder(order, 255L, 3, 99L)).thenReturn(firstRequest);
+        when(mockTranslator.translateCreateOrder(order, 255L, 3, 120L)).thenReturn(retryRequest);
+        when(mockWebSocketApi.submitOrderAsync(firstRequest)).thenReturn(
+                CompletableFuture.completedFuture(new LighterSendTxResponse("1", 400, "invalid nonce", "{}")));
+        when(mockWebSocketApi.submitOrderAsync(retryRequest))
+                .thenReturn(CompletableFuture.completedFuture(new LighterSendTxResponse("2", 200, "ok", "{}")));
+
+        BrokerRequestResult result = broker.placeOrderAsync(order).get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.isSuccess());
+        verify(mockRestApi, times(2)).getNextNonce(255L, 3);
+        verify(mockWebSocketApi).submitOrderAsync(firstRequest);
+        verify(mockWebSocketApi).submitOrderAsync(retryRequest);
+    }
+
+    @Test
+    void placeOrders_SignsConsecutiveNoncesIntoOneBatch() {
+        broker.accountOrdersSubscribed = true;
+        OrderTicket firstOrder = buildLimitOrder("301");
+        OrderTicket secondOrder = buildLimitOrder("302");
+
+        when(mockRestApi.getNextNonce(255L, 3)).thenReturn(99L);
+        when(mockTranslator.translateCreateOrder(any(OrderTicket.class), eq(255L), eq(3), anyLong()))
+                .thenAnswer(invocation -> {
+                    LighterCreateOrderRequest request = new LighterCreateOrderRequest();
+                    request.setMarketIndex(7);
+                    request.setNonce(invocation.getArgument(3, Long.class).longValue());
+                    return request;
+                });
+        when(mockWebSocketApi.signOrder(any(LighterCreateOrderRequest.class))).thenAnswer(invocation -> {
+            LighterCreateOrderRequest request = invocation.getArgument(0);
+            return new LighterSignedTransaction(14, new JSONObject(), String.valueOf(request.getNonce()), null);
+        });
+        List<List<String>> batches = new ArrayList<>();
+        when(mockWebSocketApi.sendSignedTransactionBatchAsync(any())).thenAnswer(invocation -> {
+            List<LighterSignedTransaction> transactions = invocation.getArgument(0);
+            batches.add(transactions.stream().map(LighterSignedTransaction::getTxHash).toList());
+            return CompletableFuture.completedFuture(new LighterSendTxResponse("1", 200, "ok", "{}"));
+        });
+
+        List<OrderTicket> orders = new ArrayList<>();
+        orders.add(firstOrder);
+        orders.add(null);
+        orders.add(secondOrder);
+        BatchBrokerRequestResult result = broker.placeOrders(orders);
+
+        assertEquals(List.of(List.of("99", "100")), batches);
+        assertEquals(3, result.size());
+        assertTrue(result.getResult(0).isSuccess());
+        assertFalse(result.getResult(1).isSuccess());
+        assertTrue(result.getResult(2).isSuccess());
+        assertEquals(1, result.getFailureCount());
+        verify(mockWebSocketApi, never()).submitOrder(any(LighterCreateOrderRequest.class));
+    }
+
+    @Test
+    void placeOrder_PostsItsNonceBeforeAConcurrentBatch() throws Exception {
+        broker.accountOrdersSubscribed = true;
+        OrderTicket syncOrder = buildLimitOrder("401");
+        OrderTicket firstBatchOrder = buildLimitOrder("402");
+        OrderTicket secondBatchOrder = buildLimitOrder("403");
+        CountDownLatch syncNonceTaken = new CountDownLatch(1);
+        CountDownLatch releaseSync = new CountDownLatch(1);
+        List<Long> postedNonces = Collections.synchronizedList(new ArrayList<>());
+
+        when(mockRestApi.getNextNonce(255L, 3)).thenReturn(99L);
+        when(mockTranslator.translateCreateOrder(any(OrderTicket.class), eq(255L), eq(3), anyLong()))
+                .thenAnswer(invocation -> {
+                    if (invocation.getArgument(0) == syncOrder) {
+                        // hold the synchronous order between taking its nonce and posting it
+                        syncNonceTaken.countDown();
+                        releaseSync.await(5, TimeUnit.SECONDS);
+                    }
+                    LighterCreateOrderRequest request = new LighterCreateOrderRequest();
+                    request.setMarketIndex(7);
+                    request.setNonce(invocation.getArgument(3, Long.class).longValue());
+                    return request;
+                });
+        when(mockWebSocketApi.submitOrderAsync(any(LighterCreateOrderRequest.class))).thenAnswer(invocation -> {
+            postedNonces.add(Long.valueOf(invocation.getArgument(0, LighterCreateOrderRequest.class).getNonce()));
+            return CompletableFuture.completedFuture(new LighterSendTxResponse("1", 200, "ok", "{}"));
+        });
+        when(mockWebSocketApi.signOrder(any(LighterCreateOrderRequest.class))).thenAnswer(invocation -> {
+            LighterCreateOrderRequest request = invocation.getArgument(0);
+            return new LighterSignedTransaction(14, new JSONObject(), String.valueOf(request.getNonce()), null);
+        });
+        when(mockWebSocketApi.sendSignedTransactionBatchAsync(any())).thenAnswer(invocation -> {
+            List<LighterSignedTransaction> transactions = invocation.getArgument(0);
+            for (LighterSignedTransaction transaction : transactions) {
+                postedNonces.add(Long.valueOf(transaction.getTxHash()));
+            }
+            return CompletableFuture.completedFuture(new LighterSendTxResponse("2", 200, "ok", "{}"));
+        });
+
+        AtomicReference<BrokerRequestResult> syncResult = new AtomicReference<>();
+        Thread syncThread = new Thread(() -> syncResult.set(broker.placeOrder(syncOrder)));
+        syncThread.start();
+        assertTrue(syncNonceTaken.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<BatchBrokerRequestResult> batchResult = new AtomicReference<>();
+        Thread batchThread = new Thread(
+                () -> batchResult.set(broker.placeOrders(List.of(firstBatchOrder, secondBatchOrder))));
+        batchThread.start();
+        Thread.sleep(100);
+        releaseSync.countDown();
+        syncThread.join(5_000);
+        batchThread.join(5_000);
+
+        assertTrue(syncResult.get().isSuccess());
+        assertEquals(0, batchResult.get().getFailureCount());
+        assertEquals(List.of(Long.valueOf(99L), Long.valueOf(100L), Long.valueOf(101L)), postedNonces);
+    }
+
+    @Test
+    void placeOrder_WaitsForItsAckWithoutHoldingTheSubmitLock() throws Exception {
+        broker.accountOrdersSubscribed = true;
+        OrderTicket syncOrder = buildLimitOrder("501");
+        OrderTicket asyncOrder = buildLimitOrder("502");
+        CompletableFuture<LighterSendTxResponse> syncAck = new CompletableFuture<>();
+        List<Long> postedNonces = Collections.synchronizedList(new ArrayList<>());
+
+        when(mockRestApi.getNextNonce(255L, 3)).thenReturn(99L);
+        when(mockTranslator.translateCreateOrder(any(OrderTicket.class), eq(255L), eq(3), anyLong()))
+                .thenAnswer(invocation -> {
+                    LighterCreateOrderRequest request = new LighterCreateOrderRequest();
+                    request.setMarketIndex(7);
+                    request.setNonce(invocation.getArgument(3, Long.class).longValue());
+                    return request;
+                });
+        when(mockWebSocketApi.submitOrderAsync(any(LighterCreateOrderRequest.class))).thenAnswer(invocation -> {
+            postedNonces.add(Long.valueOf(invocation.getArgument(0, LighterCreateOrderRequest.class).getNonce()));
+            return postedNonces.size() == 1 ? syncAck
+                    : CompletableFuture.completedFuture(new LighterSendTxResponse("2", 200, "ok", "{}"));
+        });
+
+        AtomicReference<BrokerRequestResult> syncResult = new AtomicReference<>();
+        Thread syncThread = new Thread(() -> syncResult.set(broker.placeOrder(syncOrder)));
+        syncThread.start();
+        verify(mockWebSocketApi, timeout(5_000)).submitOrderAsync(any(LighterCreateOrderRequest.class));
+
+        // the blocking order is still waiting for its ack; the pipelined one must not wait behind it
+        BrokerRequestResult asyncResult = CompletableFuture.supplyAsync(() -> broker.placeOrderAsync(asyncOrder))
+                .thenCompose(result -> result).get(5, TimeUnit.SECONDS);
+        assertTrue(asyncResult.isSuccess());
+        assertTrue(syncThread.isAlive());
+
+        syncAck.complete(new LighterSendTxResponse("1", 200, "ok", "{}"));
+        syncThread.join(5_000);
+
+        assertTrue(syncResult.get().isSuccess());
+        assertEquals(List.of(Long.valueOf(99L), Long.valueOf(100L)), postedNonces);
+        verify(mockWebSocketApi, never()).submitOrder(any(LighterCreateOrderRequest.class));
     }
 
     @Test
@@ -128,11 +128,6 @@ public class OkxBroker extends AbstractBasicBroker {
         return new BrokerRequestResult();
     }
 
-    @Override
-    public BrokerRequestResult cancelOrders(List<OrderTicket> orders) {
-        throw new UnsupportedOperationException("Batch cancel not supported by OkxBroker");
-    }
-
     @Override
     public BrokerRequestResult placeOrder(OrderTicket order) {
         if (!connected) {
@@ -17,9 +17,8 @@ import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -46,6 +45,7 @@ import com.fueledbychai.broker.order.OrderTicket.Type;
 import com.fueledbychai.broker.order.TradeDirection;
 import com.fueledbychai.data.ComboTicker;
 import com.fueledbychai.data.Exchange;
+import com.fueledbychai.data.FixedPoint;
 import com.fueledbychai.data.Side;
 import com.fueledbychai.data.Ticker;
 import com.fueledbychai.marketdata.ILevel1Quote;
@@ -54,6 +54,8 @@ import com.fueledbychai.marketdata.OrderFlow;
 import com.fueledbychai.marketdata.OrderFlowListener;
 import com.fueledbychai.marketdata.QuoteEngine;
 import com.fueledbychai.marketdata.QuoteType;
+import com.fueledbychai.time.IClock;
+import com.fueledbychai.time.SystemClock;
 import com.fueledbychai.time.TimeUpdatedListener;
 
 /**
@@ -69,8 +71,10 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     private final ExecutorService executorService = Executors.newCachedThreadPool();
     protected final QuoteEngine quoteEngine;
     protected final PaperBrokerLatency latencyModel;
+    protected IClock clock = SystemClock.INSTANCE;
+    protected RestCallQueue restCalls = new RestCallQueue();
 
-    private Timer accountUpdateTimer = new Timer(true);
+    private IClock.Cancellable accountUpdateTask;
 
     // --- Shared account state ---
     protected double startingAccountBalance;
@@ -109,6 +113,10 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
 
         double bestBidPrice = 0.0;
         double bestAskPrice = Double.MAX_VALUE;
+        // Top of book as fixed-point prices, used for exact crossing checks
+        long bestBidScaled = 0L;
+        long bestAskScaled = Long.MAX_VALUE;
+        volatile int priceScale;
         double midPrice = 0.0;
         double markPrice = 0.0;
         double fundingRate = 0.0;
@@ -128,6 +136,32 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
 
         TickerState(Ticker ticker) {
             this.ticker = ticker;
+            this.priceScale = PaperBroker.tickPriceScale(ticker);
+        }
+
+        long toScaledPrice(BigDecimal price) {
+            return FixedPoint.toScaled(price, getPriceScale(price));
+        }
+
+        /**
+         * Same as {@link PaperBroker#getPriceScale(BigDecimal)}: a ticker without a
+         * tick size takes its scale from the first non-zero price.
+         */
+        int getPriceScale(BigDecimal price) {
+            int scale = priceScale;
+            if (scale < 0) {
+                synchronized (this) {
+                    scale = priceScale;
+                    if (scale < 0) {
+                        if (price == null || price.signum() == 0) {
+                            return PaperBroker.SUB_TICK_DIGITS;
+                        }
+                        scale = PaperBroker.observedPriceScale(price);
+                        priceScale = scale;
+                    }
+                }
+            }
+            return scale;
         }
     }
 
@@ -189,6 +223,22 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
         this.outputDir = outputDir;
     }
 
+    /**
+     * Sets the clock used for latency, timestamps, identifiers and the account
+     * update timer. Set it before connecting.
+     */
+    public void setClock(IClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock is required");
+        }
+        this.clock = clock;
+        this.restCalls = new RestCallQueue();
+    }
+
+    public IClock getClock() {
+        return clock;
+    }
+
     // ========================================================================
     // Connection lifecycle
     // ========================================================================
@@ -221,21 +271,18 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
 
         csvFilePath = generateCsvFilename();
 
-        accountUpdateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    fireAccountUpdate();
-                } catch (Exception e) {
-                    logger.error("Error during account update: {}", e.getMessage(), e);
-                }
-                try {
-                    writeCurrentBalanceToFile(balanceFilePath);
-                } catch (Exception e) {
-                    logger.error("Error writing current balance to file: {}", e.getMessage(), e);
-                }
+        accountUpdateTask = clock.scheduleAtFixedRate(0, 1000, () -> {
+            try {
+                fireAccountUpdate();
+            } catch (Exception e) {
+                logger.error("Error during account update: {}", e.getMessage(), e);
             }
-        }, 0, 1000);
+            try {
+                writeCurrentBalanceToFile(balanceFilePath);
+            } catch (Exception e) {
+                logger.error("Error writing current balance to file: {}", e.getMessage(), e);
+            }
+        });
 
         quoteEngine.subscribeGlobalLevel1(this);
         quoteEngine.subscribeGlobalOrderFlow(this);
@@ -249,8 +296,10 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     @Override
     protected void onDisconnect() {
         isConnected = false;
-        accountUpdateTimer.cancel();
-        accountUpdateTimer = new Timer(true);
+        if (accountUpdateTask != null) {
+            accountUpdateTask.cancel();
+            accountUpdateTask = null;
+        }
         quoteEngine.unsubscribeGlobalLevel1(this);
         quoteEngine.unsubscribeGlobalOrderFlow(this);
     }
@@ -326,15 +375,19 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
         try {
             if (clearBid) {
                 state.bestBidPrice = 0.0;
+                state.bestBidScaled = 0L;
             }
             if (clearAsk) {
                 state.bestAskPrice = Double.MAX_VALUE;
+                state.bestAskScaled = Long.MAX_VALUE;
             }
             if (newBid != null) {
                 state.bestBidPrice = newBid.doubleValue();
+                state.bestBidScaled = state.toScaledPrice(newBid);
             }
             if (newAsk != null) {
                 state.bestAskPrice = newAsk.doubleValue();
+                state.bestAskScaled = state.toScaledPrice(newAsk);
             }
             recalculateMidPrice(state);
             evaluatePassiveFillCandidatesLocked(state);
@@ -358,8 +411,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     @Override
     public BrokerRequestResult placeOrder(OrderTicket order) {
         order.setOrderEntryTime(getCurrentTime());
-        delayRestCall();
-        String orderId = UUID.randomUUID().toString();
+        String orderId = nextId();
         order.setOrderId(orderId);
 
         Ticker ticker = order.getTicker();
@@ -373,7 +425,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
             orderOperationsLock.writeLock().unlock();
         }
 
-        executorService.submit(() -> {
+        submitAfterRestCall(() -> {
             try {
                 state.marketDataLock.readLock().lock();
                 try {
@@ -381,8 +433,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
                     try {
                         if (order.getType() == Type.LIMIT) {
                             if (order.getDirection() == TradeDirection.BUY) {
-                                if (order.containsModifier(Modifier.POST_ONLY)
-                                        && order.getLimitPrice().doubleValue() >= state.bestAskPrice) {
+                                if (order.containsModifier(Modifier.POST_ONLY) && crossesBestAsk(state, order)) {
                                     logger.warn("Limit buy order would cross the best ask price. Cancelling order.");
                                     cancelOrderInternal(state, orderId, order.getClientOrderId(),
                                             CancelReason.POST_ONLY_WOULD_CROSS);
@@ -394,8 +445,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
                                 fireOrderStatusUpdate(new OrderEvent(order, status));
                                 logger.info("Limit buy order placed: {}", order);
                             } else if (order.getDirection() == TradeDirection.SELL) {
-                                if (order.containsModifier(Modifier.POST_ONLY)
-                                        && order.getLimitPrice().doubleValue() <= state.bestBidPrice) {
+                                if (order.containsModifier(Modifier.POST_ONLY) && crossesBestBid(state, order)) {
                                     logger.warn("Limit sell order would cross the best bid price. Cancelling order.");
                                     cancelOrderInternal(state, orderId, order.getClientOrderId(),
                                             CancelReason.POST_ONLY_WOULD_CROSS);
@@ -440,11 +490,28 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
         return new BrokerRequestResult();
     }
 
+    /**
+     * On a virtual clock the modify is queued behind any place still in flight
+     * and the result only says it was sent; a rejection is reported through the
+     * order events and the log.
+     */
     @Override
     public BrokerRequestResult modifyOrder(OrderTicket order) {
         order.setOrderEntryTime(getCurrentTime());
+        if (clock.isVirtual()) {
+            submitAfterRestCall(() -> {
+                BrokerRequestResult result = applyModifyOrder(order);
+                if (!result.isSuccess()) {
+                    logger.warn("Modify of order {} rejected: {}", order.getOrderId(), result.getMessage());
+                }
+            });
+            return new BrokerRequestResult();
+        }
         delayRestCall();
+        return applyModifyOrder(order);
+    }
 
+    protected BrokerRequestResult applyModifyOrder(OrderTicket order) {
         Ticker ticker = order.getTicker();
         TickerState state = getOrCreateTickerState(ticker);
 
@@ -455,8 +522,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
                 String orderId = order.getOrderId();
                 if (order.getType() == Type.LIMIT) {
                     if (order.getDirection() == TradeDirection.BUY) {
-                        if (order.containsModifier(Modifier.POST_ONLY)
-                                && order.getLimitPrice().doubleValue() >= state.bestAskPrice) {
+                        if (order.containsModifier(Modifier.POST_ONLY) && crossesBestAsk(state, order)) {
                             state.openBids.remove(orderId);
                 
                             cancelOrderInternal(state, orderId, order.getClientOrderId(),
@@ -475,8 +541,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
                                 getCurrentTime());
                         fireOrderStatusUpdate(new OrderEvent(order, status));
                     } else if (order.getDirection() == TradeDirection.SELL) {
-                        if (order.containsModifier(Modifier.POST_ONLY)
-                                && order.getLimitPrice().doubleValue() <= state.bestBidPrice) {
+                        if (order.containsModifier(Modifier.POST_ONLY) && crossesBestBid(state, order)) {
                             state.openAsks.remove(orderId);
                 
                             cancelOrderInternal(state, orderId, order.getClientOrderId(),
@@ -548,8 +613,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
             return new BrokerRequestResult();
         }
 
-        executorService.submit(() -> {
-            delayRestCall();
+        scheduleRestCall(() -> {
             for (String orderId : new ArrayList<>(state.openBids.keySet())) {
                 try {
                     cancelOrderSubmitWithDelay(orderId, false);
@@ -570,8 +634,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
 
     @Override
     public BrokerRequestResult cancelAllOrders() {
-        executorService.submit(() -> {
-            delayRestCall();
+        scheduleRestCall(() -> {
             for (TickerState state : tickerStates.values()) {
                 for (String orderId : new ArrayList<>(state.openBids.keySet())) {
                     try {
@@ -631,8 +694,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
             return new BrokerRequestResult();
         }
 
-        executorService.submit(() -> {
-            delayRestCall();
+        scheduleRestCall(() -> {
             for (String orderId : orderIds) {
                 try {
                     cancelOrderSubmitWithDelay(orderId, false);
@@ -645,6 +707,11 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     }
 
     protected void cancelOrderSubmitWithDelay(String orderId, boolean shouldDelay) {
+        if (shouldDelay && clock.isVirtual()) {
+            // queued behind any place still in flight
+            submitAfterRestCall(() -> cancelOrderSubmitWithDelay(orderId, false));
+            return;
+        }
         if (shouldDelay) {
             delayRestCall();
         }
@@ -764,7 +831,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
 
             fill = new Fill();
             fill.setCommission(BigDecimal.valueOf(fee));
-            fill.setFillId(UUID.randomUUID().toString());
+            fill.setFillId(nextId());
             fill.setOrderId(orderId);
             fill.setClientOrderId(fillableOrder.getClientOrderId());
             fill.setPrice(averageFillPrice);
@@ -870,9 +937,8 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
             if (order == null || order.getType() != Type.LIMIT || order.getLimitPrice() == null) {
                 continue;
             }
-            double limitPrice = order.getLimitPrice().doubleValue();
-            if (state.bestAskPrice < Double.MAX_VALUE && limitPrice >= state.bestAskPrice) {
-                fillOrder(state, order, limitPrice);
+            if (crossesBestAsk(state, order)) {
+                fillOrder(state, order, order.getLimitPrice().doubleValue());
             }
         }
 
@@ -880,9 +946,8 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
             if (order == null || order.getType() != Type.LIMIT || order.getLimitPrice() == null) {
                 continue;
             }
-            double limitPrice = order.getLimitPrice().doubleValue();
-            if (state.bestBidPrice > 0.0 && limitPrice <= state.bestBidPrice) {
-                fillOrder(state, order, limitPrice);
+            if (state.bestBidScaled > 0L && crossesBestBid(state, order)) {
+                fillOrder(state, order, order.getLimitPrice().doubleValue());
             }
         }
     }
@@ -916,6 +981,15 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
         }
     }
 
+    protected boolean crossesBestAsk(TickerState state, OrderTicket order) {
+        return state.bestAskScaled != Long.MAX_VALUE
+                && state.toScaledPrice(order.getLimitPrice()) >= state.bestAskScaled;
+    }
+
+    protected boolean crossesBestBid(TickerState state, OrderTicket order) {
+        return state.toScaledPrice(order.getLimitPrice()) <= state.bestBidScaled;
+    }
+
     protected double clamp(double value, double minValue, double maxValue) {
         return Math.max(minValue, Math.min(maxValue, value));
     }
@@ -946,9 +1020,8 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     // ========================================================================
 
     protected void fireOrderStatusUpdate(OrderEvent event) {
-        executorService.submit(() -> {
+        clock.schedule(nextWebSocketLatencyMs(), () -> {
             try {
-                delayWebSocketCall();
                 super.fireOrderEvent(event);
             } catch (Exception e) {
                 logger.error(e.getMessage(), e);
@@ -957,9 +1030,8 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     }
 
     protected void fireFillUpdate(Fill fill) {
-        executorService.submit(() -> {
+        clock.schedule(nextWebSocketLatencyMs(), () -> {
             try {
-                delayWebSocketCall();
                 super.fireFillEvent(fill);
             } catch (Exception e) {
                 logger.error(e.getLocalizedMessage(), e);
@@ -968,9 +1040,8 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     }
 
     protected void fireAccountUpdate() {
-        executorService.submit(() -> {
+        clock.schedule(nextWebSocketLatencyMs(), () -> {
             try {
-                delayWebSocketCall();
                 super.fireAccountEquityUpdated(getNetAccountValue());
                 super.fireAvailableFundsUpdated(currentAccountBalance);
             } catch (Exception e) {
@@ -985,7 +1056,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
 
     @Override
     public List<OrderTicket> getOpenOrders() {
-        delayRestCall();
+        delayRestQuery();
         List<OrderTicket> result = new ArrayList<>();
         for (TickerState state : tickerStates.values()) {
             result.addAll(state.openBids.values());
@@ -995,7 +1066,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     }
 
     public List<OrderTicket> getOpenOrders(Ticker ticker) {
-        delayRestCall();
+        delayRestQuery();
         TickerState state = tickerStates.get(ticker.getSymbol());
         if (state == null) {
             return new ArrayList<>();
@@ -1008,7 +1079,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
 
     @Override
     public List<Position> getAllPositions() {
-        delayRestCall();
+        delayRestQuery();
         List<Position> positions = new ArrayList<>();
         for (TickerState state : tickerStates.values()) {
             if (!state.currentPosition.equals(BigDecimal.ZERO)) {
@@ -1022,7 +1093,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
 
     @Override
     public OrderTicket requestOrderStatus(String orderId) {
-        delayRestCall();
+        delayRestQuery();
         return openOrders.get(orderId);
     }
 
@@ -1044,6 +1115,11 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
         return Collections.unmodifiableSet(tickerStates.keySet());
     }
 
+    @Override
+    public ZonedDateTime getCurrentTime() {
+        return clock.getCurrentTime();
+    }
+
     @Override
     public String getNextOrderId() {
         return UUID.randomUUID().toString();
@@ -1058,25 +1134,75 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     // Latency simulation
     // ========================================================================
 
+    protected long nextRestLatencyMs() {
+        return nextLatencyMs(latencyModel.getRestLatencyMsMin(), latencyModel.getRestLatencyMsMax());
+    }
+
+    protected long nextWebSocketLatencyMs() {
+        return nextLatencyMs(latencyModel.getWsLatencyMsMin(), latencyModel.getWsLatencyMsMax());
+    }
+
+    protected long nextLatencyMs(int min, int max) {
+        return max > min ? min + (long) (clock.getRandom().nextDouble() * (max - min)) : min;
+    }
+
+    protected String nextId() {
+        Random random = clock.getRandom();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
     protected void delayRestCall() {
-        try {
-            long latency = latencyModel.getRestLatencyMsMin() + (long) (Math.random()
-                    * (latencyModel.getRestLatencyMsMax() - latencyModel.getRestLatencyMsMin()));
-            if (latency > 0) {
-                Thread.sleep(latency);
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        sleep(nextRestLatencyMs());
     }
 
     protected void delayWebSocketCall() {
+        sleep(nextWebSocketLatencyMs());
+    }
+
+    /**
+     * Blocks the caller for the REST latency; on a virtual clock the requests
+     * still in flight are applied first, in the order sent, so the read sees
+     * them.
+     */
+    protected void delayRestQuery() {
+        if (clock.isVirtual()) {
+            restCalls.runPending();
+        } else {
+            delayRestCall();
+        }
+    }
+
+    /**
+     * Blocks the caller for the REST latency and then runs the task; on a
+     * virtual clock the task is queued at the latency instead, behind any
+     * request sent before it.
+     */
+    protected void submitAfterRestCall(Runnable task) {
+        long latency = nextRestLatencyMs();
+        if (clock.isVirtual()) {
+            restCalls.submit(clock, latency, task);
+        } else {
+            sleep(latency);
+            clock.schedule(0, task);
+        }
+    }
+
+    /**
+     * Runs the task after the REST latency without blocking the caller; on a
+     * virtual clock it stays behind any request sent before it.
+     */
+    protected void scheduleRestCall(Runnable task) {
+        long latency = nextRestLatencyMs();
+        if (clock.isVirtual()) {
+            restCalls.submit(clock, latency, task);
+        } else {
+            clock.schedule(latency, task);
+        }
+    }
+
+    private void sleep(long latency) {
         try {
-            long latency = latencyModel.getWsLatencyMsMin()
-                    + (long) (Math.random() * (latencyModel.getWsLatencyMsMax() - latencyModel.getWsLatencyMsMin()));
-            if (latency > 0) {
-                Thread.sleep(latency);
-            }
+            clock.sleep(latency);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -1095,6 +1221,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
     }
 
     protected void writeTradeToCsv(OrderTicket order, double price, double fee) {
+        long timestamp = clock.currentTimeMillis();
         executorService.submit(() -> {
             try (BufferedWriter writer = new BufferedWriter(new FileWriter(csvFilePath, true))) {
                 if (!firstTradeWrittenToFile) {
@@ -1107,7 +1234,7 @@ public class MultiTickerPaperBroker extends AbstractBasicBroker implements Level
                         order.getDirection(), order.getSize(), order.getType(),
                         order.getOrderEntryTime().format(DateTimeFormatter.ISO_INSTANT),
                         order.getOrderFilledTime().format(DateTimeFormatter.ISO_INSTANT), price, fee,
-                        System.currentTimeMillis());
+                        timestamp);
                 writer.write(csvLine);
                 writer.newLine();
             } catch (IOException e) {
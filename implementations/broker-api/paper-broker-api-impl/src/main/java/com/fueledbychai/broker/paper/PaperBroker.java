@@ -7,7 +7,6 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayDeque;
@@ -18,8 +17,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -46,6 +43,7 @@ import com.fueledbychai.broker.order.OrderTicket.Modifier;
 import com.fueledbychai.broker.order.OrderTicket.Type;
 import com.fueledbychai.broker.order.TradeDirection;
 import com.fueledbychai.data.ComboTicker;
+import com.fueledbychai.data.FixedPoint;
 import com.fueledbychai.data.Side;
 import com.fueledbychai.data.Ticker;
 import com.fueledbychai.marketdata.ILevel1Quote;
@@ -54,6 +52,8 @@ import com.fueledbychai.marketdata.OrderFlow;
 import com.fueledbychai.marketdata.OrderFlowListener;
 import com.fueledbychai.marketdata.QuoteEngine;
 import com.fueledbychai.marketdata.QuoteType;
+import com.fueledbychai.time.IClock;
+import com.fueledbychai.time.SystemClock;
 import com.fueledbychai.time.TimeUpdatedListener;
 
 public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListener, OrderFlowListener {
@@ -62,10 +62,12 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     private final ExecutorService executorService = Executors.newCachedThreadPool(); // Thread pool with cached threads
     protected PaperBrokerLatency latencyModel;
+    protected IClock clock = SystemClock.INSTANCE;
+    protected RestCallQueue restCalls = new RestCallQueue();
 
     protected String asset;
 
-    private Timer accountUpdateTimer = new Timer(true); // Timer to schedule account updates
+    private IClock.Cancellable accountUpdateTask; // Scheduled account updates
     protected double makerFee = 0.005 / 100.0; // 0.005% maker rebate
     protected double takerFee = -0.03 / 100.0; // 0.03% taker fee
 
@@ -77,6 +79,10 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     protected double bestBidPrice = 0.0; // Best bid price
     protected double bestAskPrice = Double.MAX_VALUE; // Best ask price
+    // Top of book as fixed-point prices, used for exact crossing checks
+    protected long bestBidScaled = 0L;
+    protected long bestAskScaled = Long.MAX_VALUE;
+    protected volatile int priceScale = -1;
     protected double midPrice = 0.0; // Mid price (average of best bid and ask
 
     protected double markPrice = 0.0;
@@ -136,6 +142,9 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
     protected double passiveFillWideSpreadPenaltyPer100Bps = 0.25;
     protected final Map<String, PassiveFillState> passiveFillStates = new ConcurrentHashMap<>();
 
+    protected static final int SUB_TICK_DIGITS = 4;
+    // decimal digits kept free when the price scale is derived from a price
+    protected static final int PRICE_HEADROOM_DIGITS = 2;
     protected static final double PASSIVE_FILL_BASE_QUOTE_SCORE = 1.0;
     protected static final double PASSIVE_FILL_SCORE_DECAY = 0.5;
     protected static final double PASSIVE_FILL_TRADE_EVIDENCE_DECAY = 0.5;
@@ -182,6 +191,23 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
         }
     }
 
+    /**
+     * Sets the clock used for latency, timestamps, identifiers and the account
+     * update timer. Set it before connecting; a {@link com.fueledbychai.time.VirtualClock}
+     * lets a recorded session replay deterministically.
+     */
+    public void setClock(IClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock is required");
+        }
+        this.clock = clock;
+        this.restCalls = new RestCallQueue();
+    }
+
+    public IClock getClock() {
+        return clock;
+    }
+
     public void setPassiveFillBaseThreshold(double passiveFillBaseThreshold) {
         this.passiveFillBaseThreshold = Math.max(0.0, passiveFillBaseThreshold);
     }
@@ -226,28 +252,25 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
         brokerStatus.setOpenOrders(openOrders.values()); // Set the open orders in the broker status
         brokerStatus.setExecutedOrders(executedOrders);
 
-        accountUpdateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    fireAccountUpdate(); // Call the method once per second
-                } catch (Exception e) {
-                    logger.error("Error during account update: {}", e.getMessage(), e);
-                }
+        accountUpdateTask = clock.scheduleAtFixedRate(0, 1000, () -> {
+            try {
+                fireAccountUpdate(); // Call the method once per second
+            } catch (Exception e) {
+                logger.error("Error during account update: {}", e.getMessage(), e);
+            }
 
-                try {
-                    updateStatus(); // Update the broker status every second
-                } catch (Exception e) {
-                    logger.error("Error updating broker status: {}", e.getMessage(), e);
-                }
+            try {
+                updateStatus(); // Update the broker status every second
+            } catch (Exception e) {
+                logger.error("Error updating broker status: {}", e.getMessage(), e);
+            }
 
-                try {
-                    writeCurrentBalanceToFile(balanceFilePath); // Write the current balance to the file
-                } catch (Exception e) {
-                    logger.error("Error writing current balance to file: {}", e.getMessage(), e);
-                }
+            try {
+                writeCurrentBalanceToFile(balanceFilePath); // Write the current balance to the file
+            } catch (Exception e) {
+                logger.error("Error writing current balance to file: {}", e.getMessage(), e);
             }
-        }, 0, 1000); // Schedule with a delay of 0 and period of 1000ms (1 second)
+        }); // Schedule with a delay of 0 and period of 1000ms (1 second)
         quoteEngine.subscribeLevel1(ticker, this); // Subscribe to level 1 quotes for the ticker
         quoteEngine.subscribeOrderFlow(ticker, this); // Subscribe to order flow for the ticker
     }
@@ -293,8 +316,10 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
     @Override
     protected void onDisconnect() {
         isConnected = false;
-        accountUpdateTimer.cancel();
-        accountUpdateTimer = new Timer(true);
+        if (accountUpdateTask != null) {
+            accountUpdateTask.cancel();
+            accountUpdateTask = null;
+        }
         quoteEngine.unsubscribeLevel1(ticker, this);
         quoteEngine.unsubscribeOrderFlow(ticker, this);
     }
@@ -324,8 +349,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     @Override
     public synchronized BrokerRequestResult cancelAllOrders(Ticker ticker) {
-        executorService.submit(() -> {
-            delayRestCall(); // Simulate network delay
+        scheduleRestCall(() -> { // Simulate network delay
             Iterator<Map.Entry<String, OrderTicket>> bidIterator = openBids.entrySet().iterator();
             while (bidIterator.hasNext()) {
                 Map.Entry<String, OrderTicket> entry = bidIterator.next();
@@ -361,6 +385,11 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     public void cancelOrderSubmitWithDelay(String orderId, boolean shouldDelay) {
 
+        if (shouldDelay && clock.isVirtual()) {
+            // queued behind any place still in flight
+            submitAfterRestCall(() -> cancelOrderSubmitWithDelay(orderId, false));
+            return;
+        }
         if (shouldDelay) {
             delayRestCall(); // Simulate network delay
         }
@@ -396,7 +425,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
     }
 
     public List<OrderTicket> getOpenOrders(Ticker ticker) {
-        delayRestCall(); // Simulate network delay
+        delayRestQuery(); // Simulate network delay
         List<OrderTicket> openOrders = new ArrayList<>(); // List to hold open orders
         // Add all open bids to the list
         for (OrderTicket order : openBids.values()) {
@@ -416,7 +445,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     @Override
     public List<Position> getAllPositions() {
-        delayRestCall(); // Simulate network delay
+        delayRestQuery(); // Simulate network delay
         List<Position> positions = new ArrayList<>(); // List to hold position info
         if (!currentPosition.equals(BigDecimal.ZERO)) { // Only add position if there is an inventory
             Side side = currentPosition.compareTo(BigDecimal.ZERO) > 0 ? Side.LONG : Side.SHORT;
@@ -430,12 +459,29 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     }
 
+    /**
+     * On a virtual clock the modify is queued behind any place still in flight
+     * and the result only says it was sent; a rejection is reported through the
+     * order events and the log.
+     */
     @Override
     public BrokerRequestResult modifyOrder(OrderTicket order) {
 
         order.setOrderEntryTime(getCurrentTime());
+        if (clock.isVirtual()) {
+            submitAfterRestCall(() -> {
+                BrokerRequestResult result = applyModifyOrder(order);
+                if (!result.isSuccess()) {
+                    logger.warn("Modify of order {} rejected: {}", order.getOrderId(), result.getMessage());
+                }
+            });
+            return new BrokerRequestResult();
+        }
         delayRestCall(); // Simulate network delay
+        return applyModifyOrder(order);
+    }
 
+    protected BrokerRequestResult applyModifyOrder(OrderTicket order) {
         // Take read lock on market data (allows concurrent modifies, but waits for
         // fill processing)
         marketDataLock.readLock().lock();
@@ -445,8 +491,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
                 String orderId = order.getOrderId();
                 if (order.getType() == Type.LIMIT) {
                     if (order.getDirection() == TradeDirection.BUY) {
-                        if (order.containsModifier(Modifier.POST_ONLY)
-                                && order.getLimitPrice().doubleValue() >= bestAskPrice) {
+                        if (order.containsModifier(Modifier.POST_ONLY) && crossesBestAsk(order)) {
                             logger.warn("Limit buy order would cross the best ask price. Cancelling order.");
                             openBids.remove(orderId);
                             passiveFillStates.remove(orderId);
@@ -467,8 +512,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
                         OrderEvent event = new OrderEvent(order, status);
                         fireOrderStatusUpdate(event);
                     } else if (order.getDirection() == TradeDirection.SELL) {
-                        if (order.containsModifier(Modifier.POST_ONLY)
-                                && order.getLimitPrice().doubleValue() <= bestBidPrice) {
+                        if (order.containsModifier(Modifier.POST_ONLY) && crossesBestBid(order)) {
                             logger.warn("Limit sell order would cross the best bid price. Cancelling order.");
                             openAsks.remove(orderId);
                             passiveFillStates.remove(orderId);
@@ -503,8 +547,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
     @Override
     public BrokerRequestResult placeOrder(OrderTicket order) {
         order.setOrderEntryTime(getCurrentTime());
-        delayRestCall(); // Simulate network delay
-        String orderId = System.currentTimeMillis() + "-" + (int) (Math.random() * 10000); // Generate a unique order ID
+        String orderId = nextId(); // Generate a unique order ID
         order.setOrderId(orderId); // Set the generated order ID
         orderOperationsLock.writeLock().lock();
         try {
@@ -514,7 +557,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
             orderOperationsLock.writeLock().unlock();
         }
 
-        executorService.submit((Runnable) () -> {
+        submitAfterRestCall(() -> { // Simulate network delay
             try {
                 // Take read lock on market data (allows concurrent orders, but waits for fill
                 // processing)
@@ -524,8 +567,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
                     try {
                         if (order.getType() == Type.LIMIT) {
                             if (order.getDirection() == TradeDirection.BUY) {
-                                if (order.containsModifier(Modifier.POST_ONLY)
-                                        && order.getLimitPrice().doubleValue() >= bestAskPrice) {
+                                if (order.containsModifier(Modifier.POST_ONLY) && crossesBestAsk(order)) {
                                     logger.warn("Limit buy order would cross the best ask price. Cancelling order.");
                                     cancelOrder(orderId, order.getClientOrderId(), CancelReason.POST_ONLY_WOULD_CROSS);
                                     return;
@@ -537,8 +579,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
                                 fireOrderStatusUpdate(event);
                                 logger.info("Limit buy order placed: {}", order);
                             } else if (order.getDirection() == TradeDirection.SELL) {
-                                if (order.containsModifier(Modifier.POST_ONLY)
-                                        && order.getLimitPrice().doubleValue() <= bestBidPrice) {
+                                if (order.containsModifier(Modifier.POST_ONLY) && crossesBestBid(order)) {
                                     logger.warn("Limit sell order would cross the best bid price. Cancelling order.");
                                     cancelOrder(orderId, order.getClientOrderId(), CancelReason.POST_ONLY_WOULD_CROSS);
                                     return;
@@ -582,11 +623,6 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     }
 
-    @Override
-    public BrokerRequestResult cancelOrders(List<OrderTicket> orders) {
-        throw new UnsupportedOperationException("Batch cancel not supported by PaperBroker");
-    }
-
     public double getUnrealizedPnL() {
         if (markPrice == 0 || currentPosition.doubleValue() == 0) {
             return 0.0; // Avoid division by zero if markPrice or position size is zero
@@ -606,7 +642,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
             return false; // Avoid division by zero if midPrice is not initialized
         }
 
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.currentTimeMillis();
 
         synchronized (spreadHistory) {
             // Remove outdated entries from the spread history, but keep a minimum of 20
@@ -684,15 +720,19 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
         try {
             if (clearBid) {
                 bestBidPrice = 0.0;
+                bestBidScaled = 0L;
             }
             if (clearAsk) {
                 bestAskPrice = Double.MAX_VALUE;
+                bestAskScaled = Long.MAX_VALUE;
             }
             if (newBid != null) {
                 bestBidPrice = newBid.doubleValue();
+                bestBidScaled = toScaledPrice(newBid);
             }
             if (newAsk != null) {
                 bestAskPrice = newAsk.doubleValue();
+                bestAskScaled = toScaledPrice(newAsk);
             }
             recalculateMidPrice();
             evaluatePassiveFillCandidatesLocked();
@@ -729,13 +769,14 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
     protected boolean evaluatePassiveBidFill(OrderTicket order) {
         String orderId = order.getOrderId();
         double limitPrice = order.getLimitPrice().doubleValue();
+        long scaledLimit = toScaledPrice(order.getLimitPrice());
 
-        if (bestAskPrice < Double.MAX_VALUE && limitPrice >= bestAskPrice) {
+        if (bestAskScaled != Long.MAX_VALUE && scaledLimit >= bestAskScaled) {
             passiveFillStates.remove(orderId);
             return fillOrder(order, limitPrice);
         }
 
-        if (!hasUsableTopOfBook() || limitPrice < bestBidPrice) {
+        if (!hasUsableTopOfBook() || scaledLimit < bestBidScaled) {
             decayPassiveFillState(orderId);
             return false;
         }
@@ -748,13 +789,14 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
     protected boolean evaluatePassiveAskFill(OrderTicket order) {
         String orderId = order.getOrderId();
         double limitPrice = order.getLimitPrice().doubleValue();
+        long scaledLimit = toScaledPrice(order.getLimitPrice());
 
-        if (bestBidPrice > 0.0 && limitPrice <= bestBidPrice) {
+        if (bestBidScaled > 0L && scaledLimit <= bestBidScaled) {
             passiveFillStates.remove(orderId);
             return fillOrder(order, limitPrice);
         }
 
-        if (!hasUsableTopOfBook() || limitPrice > bestAskPrice) {
+        if (!hasUsableTopOfBook() || scaledLimit > bestAskScaled) {
             decayPassiveFillState(orderId);
             return false;
         }
@@ -778,8 +820,68 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
         return false;
     }
 
+    /**
+     * Scale used for the fixed-point top of book: the ticker's tick scale plus a
+     * few extra digits so off-tick prices still compare exactly. Without a tick
+     * size it is fixed by the first non-zero price scaled.
+     */
+    protected int getPriceScale(BigDecimal price) {
+        int scale = priceScale;
+        if (scale < 0) {
+            synchronized (this) {
+                scale = priceScale;
+                if (scale < 0) {
+                    scale = tickPriceScale(ticker);
+                    if (scale < 0) {
+                        if (price == null || price.signum() == 0) {
+                            // zero is zero at every scale, so it cannot fix one
+                            return SUB_TICK_DIGITS;
+                        }
+                        scale = observedPriceScale(price);
+                    }
+                    priceScale = scale;
+                }
+            }
+        }
+        return scale;
+    }
+
+    protected long toScaledPrice(BigDecimal price) {
+        return FixedPoint.toScaled(price, getPriceScale(price));
+    }
+
+    /**
+     * @return the ticker's tick scale plus {@link #SUB_TICK_DIGITS}, or -1 if the
+     *         ticker has no tick size
+     */
+    protected static int tickPriceScale(Ticker ticker) {
+        if (ticker == null || ticker.getMinimumTickSize() == null || ticker.getMinimumTickSize().signum() <= 0) {
+            return -1;
+        }
+        return Math.min(FixedPoint.MAX_SCALE, ticker.getFixedPointScale().getPriceScale() + SUB_TICK_DIGITS);
+    }
+
+    /**
+     * @return as many decimals as a long holds next to the price's integer
+     *         digits, less {@link #PRICE_HEADROOM_DIGITS} so the price can still
+     *         grow a hundredfold
+     */
+    protected static int observedPriceScale(BigDecimal price) {
+        BigDecimal magnitude = price.abs();
+        int integerDigits = Math.max(0, magnitude.precision() - magnitude.scale());
+        return Math.max(0, FixedPoint.MAX_SCALE - PRICE_HEADROOM_DIGITS - integerDigits);
+    }
+
+    protected boolean crossesBestAsk(OrderTicket order) {
+        return bestAskScaled != Long.MAX_VALUE && toScaledPrice(order.getLimitPrice()) >= bestAskScaled;
+    }
+
+    protected boolean crossesBestBid(OrderTicket order) {
+        return toScaledPrice(order.getLimitPrice()) <= bestBidScaled;
+    }
+
     protected boolean hasUsableTopOfBook() {
-        return bestBidPrice > 0.0 && bestAskPrice < Double.MAX_VALUE && bestAskPrice > bestBidPrice;
+        return bestBidScaled > 0L && bestAskScaled != Long.MAX_VALUE && bestAskScaled > bestBidScaled;
     }
 
     protected double getPassiveFillThreshold() {
@@ -934,7 +1036,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
             fill = new Fill();
             fill.setCommission(BigDecimal.valueOf(fee));
-            fill.setFillId(System.currentTimeMillis() + "-" + (int) (Math.random() * 10000));
+            fill.setFillId(nextId());
             fill.setOrderId(orderId);
             fill.setClientOrderId(fillableOrder.getClientOrderId());
             fill.setPrice(averageFillPrice);
@@ -989,10 +1091,24 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
         }
     }
 
+    /**
+     * On a virtual clock the listeners run on the thread that advances the
+     * clock, so every event due by the new time has been delivered when
+     * {@code advanceBy} returns and a replay is deterministic. On the wall
+     * clock they still go through the event executor.
+     */
+    @Override
+    protected void dispatch(Runnable task) {
+        if (clock.isVirtual()) {
+            task.run();
+        } else {
+            super.dispatch(task);
+        }
+    }
+
     protected void fireOrderStatusUpdate(OrderEvent orderStatus) {
-        executorService.submit(() -> {
+        clock.schedule(nextWebSocketLatencyMs(), () -> {
             try {
-                delayWebSocketCall();
                 super.fireOrderEvent(orderStatus); // Notify the listeners with the order status update
             } catch (Exception e) {
                 logger.error(e.getMessage(), e);
@@ -1003,9 +1119,8 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     protected void fireFillUpdate(Fill fill) {
         logger.debug("Notifying fill listeners: {}", fill);
-        executorService.submit(() -> {
+        clock.schedule(nextWebSocketLatencyMs(), () -> {
             try {
-                delayWebSocketCall();
                 super.fireFillEvent(fill);
             } catch (Exception e) {
                 logger.error(e.getLocalizedMessage(), e);
@@ -1014,9 +1129,8 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
     }
 
     protected void fireAccountUpdate() {
-        executorService.submit(() -> {
+        clock.schedule(nextWebSocketLatencyMs(), () -> {
             try {
-                delayWebSocketCall();
                 super.fireAccountEquityUpdated(getNetAccountValue()); // Notify the listeners with the account update
                 super.fireAvailableFundsUpdated(currentAccountBalance); // Notify listeners with available funds
             } catch (Exception e) {
@@ -1101,6 +1215,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
     }
 
     protected void writeTradeToCsv(OrderTicket order, double price, double fee) {
+        long timestamp = clock.currentTimeMillis();
         executorService.submit(() -> {
             try {
                 try (BufferedWriter writer = new BufferedWriter(new FileWriter(csvFilePath, true))) {
@@ -1122,7 +1237,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
                             order.getOrderFilledTime().format(DateTimeFormatter.ISO_INSTANT), // Filled Time
                             price, // Price
                             fee, // Fee
-                            System.currentTimeMillis()); // Timestamp
+                            timestamp); // Timestamp
 
                     writer.write(csvLine); // Write the line to the file
                     writer.newLine(); // Add a newline
@@ -1174,28 +1289,84 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
         return value.trim().replaceAll("[^A-Za-z0-9._-]", "_");
     }
 
+    protected long nextRestLatencyMs() {
+        // latency should be a random time between the latencyMsMin and latencyMsMax
+        return nextLatencyMs(latencyModel.getRestLatencyMsMin(), latencyModel.getRestLatencyMsMax());
+    }
+
+    protected long nextWebSocketLatencyMs() {
+        return nextLatencyMs(latencyModel.getWsLatencyMsMin(), latencyModel.getWsLatencyMsMax());
+    }
+
+    protected long nextLatencyMs(int min, int max) {
+        return max > min ? min + (long) (clock.getRandom().nextDouble() * (max - min)) : min;
+    }
+
+    protected String nextId() {
+        return clock.currentTimeMillis() + "-" + clock.getRandom().nextInt(10000);
+    }
+
     protected void delayRestCall() {
         // Simulate network delay or processing time
-        try {
-            long latency = latencyModel.getRestLatencyMsMin() + (long) (Math.random()
-                    * (latencyModel.getRestLatencyMsMax() - latencyModel.getRestLatencyMsMin()));
-            logger.debug("REST call delay: {} ms", latency);
-            Thread.sleep(latency);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Restore interrupted status
-            logger.error("Delay interrupted: " + e.getMessage(), e);
-        }
+        long latency = nextRestLatencyMs();
+        logger.debug("REST call delay: {} ms", latency);
+        sleep(latency);
     }
 
     protected void delayWebSocketCall() {
         // Simulate network delay or processing time
-        try {
-            // sleep time should be a random time betweehn the latencyMsMin and latencyMsMax
+        long latency = nextWebSocketLatencyMs();
+        logger.debug("WebSocket call delay: {} ms", latency);
+        sleep(latency);
+    }
+
+    /**
+     * Simulates the REST round trip of a read. On the wall clock the caller
+     * blocks for the latency; on a virtual clock the requests still in flight
+     * are applied first, in the order they were sent, so the read sees them.
+     */
+    protected void delayRestQuery() {
+        if (clock.isVirtual()) {
+            restCalls.runPending();
+        } else {
+            delayRestCall();
+        }
+    }
+
+    /**
+     * Simulates the REST round trip of a request whose effect is applied
+     * asynchronously. On the wall clock the caller blocks for the latency and
+     * the task runs straight after; on a virtual clock, where blocking cannot
+     * move time, the caller returns at once and the task is queued at the
+     * latency instead, behind any request sent before it.
+     */
+    protected void submitAfterRestCall(Runnable task) {
+        long latency = nextRestLatencyMs();
+        logger.debug("REST call delay: {} ms", latency);
+        if (clock.isVirtual()) {
+            restCalls.submit(clock, latency, task);
+        } else {
+            sleep(latency);
+            clock.schedule(0, task);
+        }
+    }
 
-            long latency = latencyModel.getWsLatencyMsMin()
-                    + (long) (Math.random() * (latencyModel.getWsLatencyMsMax() - latencyModel.getWsLatencyMsMin()));
-            logger.debug("WebSocket call delay: {} ms", latency);
-            Thread.sleep(latency);
+    /**
+     * Runs the task after the REST latency without blocking the caller; on a
+     * virtual clock it stays behind any request sent before it.
+     */
+    protected void scheduleRestCall(Runnable task) {
+        long latency = nextRestLatencyMs();
+        if (clock.isVirtual()) {
+            restCalls.submit(clock, latency, task);
+        } else {
+            clock.schedule(latency, task);
+        }
+    }
+
+    private void sleep(long latency) {
+        try {
+            clock.sleep(latency);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Restore interrupted status
             logger.error("Delay interrupted: " + e.getMessage(), e);
@@ -1266,7 +1437,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     @Override
     public ZonedDateTime getCurrentTime() {
-        return ZonedDateTime.now(ZoneId.of("UTC"));
+        return clock.getCurrentTime();
     }
 
     @Override
@@ -1286,7 +1457,7 @@ public class PaperBroker extends AbstractBasicBroker implements Level1QuoteListe
 
     @Override
     public List<OrderTicket> getOpenOrders() {
-        delayRestCall(); // Simulate network delay
+        delayRestQuery(); // Simulate network delay
         List<OrderTicket> openOrders = new ArrayList<>(); // List to hold open orders
         // Add all open bids to the list in a thread-safe manner
         synchronized (openBids) {
@@ -0,0 +1,88 @@
+package com.fueledbychai.broker.paper;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fueledbychai.time.IClock;
+
+/**
+ * Keeps the simulated REST requests of a paper broker in the order they were
+ * sent when the broker runs on a virtual clock.
+ * <p>
+ * Each request is queued on the clock at its latency, but never ahead of a
+ * request sent before it, so a cancel or modify sent inside a place's latency
+ * window lands after the place. A synchronous read cannot wait for virtual
+ * time to move, so {@link #runPending()} applies the requests still in flight
+ * on the caller's thread before the read looks at the book.
+ */
+class RestCallQueue {
+
+    protected final Deque<RestCall> pending = new ArrayDeque<>();
+    protected long lastDueMillis = Long.MIN_VALUE;
+
+    /**
+     * Queues the task on the clock at the later of its latency and the due
+     * time of the last request sent.
+     */
+    void submit(IClock clock, long latencyMillis, Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task is required");
+        }
+        RestCall call = new RestCall(task);
+        synchronized (pending) {
+            long now = clock.currentTimeMillis();
+            long dueMillis = Math.max(now + latencyMillis, lastDueMillis);
+            lastDueMillis = dueMillis;
+            pending.add(call);
+            // scheduled under the lock so requests with the same due time keep their order
+            clock.schedule(dueMillis - now, call);
+        }
+    }
+
+    /**
+     * Runs every request still in flight, oldest first. A request run here is
+     * skipped when the clock reaches it.
+     */
+    void runPending() {
+        RestCall call;
+        while ((call = poll()) != null) {
+            call.run();
+        }
+    }
+
+    /**
+     * @return the number of requests still in flight
+     */
+    int size() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    protected RestCall poll() {
+        synchronized (pending) {
+            return pending.poll();
+        }
+    }
+
+    protected class RestCall implements Runnable {
+        protected final Runnable task;
+        protected final AtomicBoolean started = new AtomicBoolean();
+
+        protected RestCall(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            synchronized (pending) {
+                pending.remove(this);
+            }
+            task.run();
+        }
+    }
+}
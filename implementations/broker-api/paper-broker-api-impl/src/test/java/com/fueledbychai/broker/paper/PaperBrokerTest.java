@@ -2,6 +2,7 @@ package com.fueledbychai.broker.paper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
@@ -13,6 +14,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -40,6 +42,7 @@ import com.fueledbychai.marketdata.Level1Quote;
 import com.fueledbychai.marketdata.OrderFlow;
 import com.fueledbychai.marketdata.QuoteType;
 import com.fueledbychai.marketdata.QuoteEngine;
+import com.fueledbychai.time.VirtualClock;
 
 @ExtendWith(MockitoExtension.class)
 public class PaperBrokerTest {
@@ -358,6 +361,29 @@ public class PaperBrokerTest {
         assertEquals(1, order.getFills().size());
     }
 
+    @Test
+    public void testTickerWithoutTickSizeKeepsSmallPricesApart() {
+        Ticker ticker = new Ticker("PEPEUSDT").setMinimumTickSize(null);
+        PaperBroker broker = new PaperBroker(quoteEngine, ticker, PaperBrokerCommission.PARADEX_COMMISSION,
+                new PaperBrokerLatency(0, 0, 0, 0), 1000.0);
+        OrderTicket insideSpread = new OrderTicket(null, ticker, new BigDecimal("1000"), TradeDirection.BUY);
+        insideSpread.setLimitPrice(new BigDecimal("0.0000125"));
+        OrderTicket atAsk = new OrderTicket(null, ticker, new BigDecimal("1000"), TradeDirection.BUY);
+        atAsk.setLimitPrice(new BigDecimal("0.000013"));
+
+        broker.applyTopOfBookUpdate(new BigDecimal("0.000012"), new BigDecimal("0.000013"), false, false);
+
+        assertTrue(broker.hasUsableTopOfBook());
+        assertFalse(broker.crossesBestAsk(insideSpread));
+        assertTrue(broker.crossesBestAsk(atAsk));
+
+        Ticker btc = new Ticker("BTCUSDT").setMinimumTickSize(null);
+        PaperBroker btcBroker = new PaperBroker(quoteEngine, btc, PaperBrokerCommission.PARADEX_COMMISSION,
+                new PaperBrokerLatency(0, 0, 0, 0), 1000.0);
+        btcBroker.applyTopOfBookUpdate(new BigDecimal("65000.5"), new BigDecimal("65000.75"), false, false);
+        assertTrue(btcBroker.hasUsableTopOfBook());
+    }
+
     @Test
     public void testPassiveLimitOrderIgnoresOrderFlowButFillsFromTopOfBookQuote() {
         Ticker ticker = new Ticker("BTCUSDT");
@@ -454,4 +480,81 @@ public class PaperBrokerTest {
         assertEquals(OrderStatus.Status.FILLED, order.getCurrentStatus());
         assertEquals(1, broker.getEmittedFillEvents());
     }
+
+    @Test
+    public void testVirtualClockAppliesLatencyWithoutBlocking() {
+        Ticker ticker = new Ticker("BTCUSDT");
+        PaperBroker broker = new PaperBroker(quoteEngine, ticker, PaperBrokerCommission.PARADEX_COMMISSION,
+                new PaperBrokerLatency(100, 100, 50, 50), 1000.0);
+        VirtualClock clock = new VirtualClock(1_700_000_000_000L, 7L);
+        broker.setClock(clock);
+        List<OrderStatus.Status> events = new ArrayList<>();
+        broker.addOrderEventListener(event -> events.add(event.getOrderStatus().getStatus()));
+
+        OrderTicket order = new OrderTicket(null, ticker, new BigDecimal("1.0"), TradeDirection.BUY);
+        order.setType(OrderTicket.Type.LIMIT);
+        order.setLimitPrice(new BigDecimal("100.00"));
+
+        assertTrue(broker.placeOrder(order).isSuccess());
+        assertEquals(1_700_000_000_000L, order.getOrderEntryTime().toInstant().toEpochMilli());
+        assertTrue(broker.openBids.isEmpty());
+
+        clock.advanceBy(100);
+        assertTrue(broker.openBids.containsKey(order.getOrderId()));
+        assertTrue(events.isEmpty());
+
+        clock.advanceBy(50);
+        assertEquals(List.of(OrderStatus.Status.NEW), events);
+    }
+
+    @Test
+    public void testVirtualClockCancelSentInsideThePlaceLatencyLandsAfterThePlace() {
+        Ticker ticker = new Ticker("BTCUSDT");
+        PaperBroker broker = new PaperBroker(quoteEngine, ticker, PaperBrokerCommission.PARADEX_COMMISSION,
+                new PaperBrokerLatency(50, 300, 20, 20), 1000.0);
+        VirtualClock clock = new VirtualClock(1_700_000_000_000L, 7L);
+        broker.setClock(clock);
+
+        for (int i = 0; i < 20; i++) {
+            OrderTicket order = new OrderTicket(null, ticker, new BigDecimal("1.0"), TradeDirection.BUY);
+            order.setType(OrderTicket.Type.LIMIT);
+            order.setLimitPrice(new BigDecimal("100.00"));
+
+            assertTrue(broker.placeOrder(order).isSuccess());
+            assertTrue(broker.cancelOrder(order.getOrderId()).isSuccess());
+            clock.advanceBy(1_000);
+
+            assertTrue(broker.openBids.isEmpty());
+            assertTrue(broker.openOrders.isEmpty());
+        }
+    }
+
+    @Test
+    public void testVirtualClockModifyAndReadsWaitForAPendingPlace() {
+        Ticker ticker = new Ticker("BTCUSDT");
+        PaperBroker broker = new PaperBroker(quoteEngine, ticker, PaperBrokerCommission.PARADEX_COMMISSION,
+                new PaperBrokerLatency(50, 300, 20, 20), 1000.0);
+        VirtualClock clock = new VirtualClock(1_700_000_000_000L, 11L);
+        broker.setClock(clock);
+
+        OrderTicket order = new OrderTicket(null, ticker, new BigDecimal("1.0"), TradeDirection.BUY);
+        order.setType(OrderTicket.Type.LIMIT);
+        order.setLimitPrice(new BigDecimal("100.00"));
+        assertTrue(broker.placeOrder(order).isSuccess());
+
+        OrderTicket modified = new OrderTicket(null, ticker, new BigDecimal("1.0"), TradeDirection.BUY);
+        modified.setType(OrderTicket.Type.LIMIT);
+        modified.setLimitPrice(new BigDecimal("99.00"));
+        modified.setOrderId(order.getOrderId());
+        assertTrue(broker.modifyOrder(modified).isSuccess());
+        assertTrue(broker.openBids.isEmpty());
+
+        // the read cannot wait for virtual time, so it applies the place and modify first
+        assertEquals(List.of(modified), broker.getOpenOrders());
+
+        clock.advanceBy(1_000);
+        assertEquals(1, broker.openBids.size());
+        assertSame(modified, broker.openBids.get(order.getOrderId()));
+        assertEquals(List.of(modified), broker.getOpenOrders(ticker));
+    }
 }
@@ -25,6 +25,7 @@ import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fueledbychai.broker.BatchBrokerRequestResult;
 import com.fueledbychai.broker.BrokerRequestResult;
 import com.fueledbychai.broker.BrokerRequestResult.FailureType;
 import com.fueledbychai.broker.ForwardingBroker;
@@ -904,6 +905,17 @@ public class ResilientParadexBroker extends ForwardingBroker {
         return Decorators.ofSupplier(batchCancelSupplier).withRetry(cancelOrderRetry).decorate().get();
     }
 
+    @Override
+    public BatchBrokerRequestResult placeOrders(List<OrderTicket> orders) {
+        // Paradex has no batch placement endpoint, so keep the per-order retries and circuit breaker
+        return BatchBrokerRequestResult.each(orders, this::placeOrder);
+    }
+
+    @Override
+    public BatchBrokerRequestResult modifyOrders(List<OrderTicket> orders) {
+        return BatchBrokerRequestResult.each(orders, this::modifyOrder);
+    }
+
     @Override
     public OrderTicket requestOrderStatusByClientOrderId(String clientOrderId) {
         // Create resilient supplier for the order status request
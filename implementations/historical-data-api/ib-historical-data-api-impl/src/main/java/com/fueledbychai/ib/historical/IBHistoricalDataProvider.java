@@ -76,6 +76,14 @@ public class IBHistoricalDataProvider extends BaseIBConnectionDelegate implement
         // do nothing
     }
 
+    /**
+     * IB takes durations in seconds, days, weeks, months or years.
+     */
+    @Override
+    public BarData.LengthUnit getFinestDurationUnit() {
+        return BarData.LengthUnit.SECOND;
+    }
+
     @Override
     public List<BarData> requestHistoricalData(Ticker ticker, int duration, BarData.LengthUnit durationLengthUnit,
             int barSize, BarData.LengthUnit barSizeUnit, ShowProperty whatToShow, boolean useRTH) {
@@ -98,6 +106,7 @@ public class IBHistoricalDataProvider extends BaseIBConnectionDelegate implement
             rth = 0;
         }
         historicalProcessorMap.put(id, processor);
+        callbackInterface.registerRequest(id, this);
         if (endDateTime == null) {
             endDateTime = new Date();
         }
@@ -107,10 +116,13 @@ public class IBHistoricalDataProvider extends BaseIBConnectionDelegate implement
         // barSize, duration);
         // ibConnection.reqHistoricalData(id, contract, endDate, durationString,
         // barSizeString, whatToShowString, rth, 1, IbUtils.getDefaultTagVector());
-        IbUtils.throwUnsupportedException();
-        List<BarData> bars = processor.getHistoricalData();
-        historicalProcessorMap.remove(id);
-        return bars;
+        try {
+            IbUtils.throwUnsupportedException();
+            return processor.getHistoricalData();
+        } finally {
+            historicalProcessorMap.remove(id);
+            callbackInterface.unregisterRequest(id);
+        }
     }
 
     public void historicalData(int reqId, String date, double open, double high, double low, double close, int volume,
@@ -64,6 +64,16 @@ public class ParadexHistoricalDataProvider implements IHistoricalDataProvider {
         connected = true;
     }
 
+    @Override
+    public BarData.LengthUnit getFinestDurationUnit() {
+        return BarData.LengthUnit.MINUTE;
+    }
+
+    @Override
+    public boolean supportsEndDateTime() {
+        return false;
+    }
+
     @Override
     public List<BarData> requestHistoricalData(Ticker ticker, int duration, BarData.LengthUnit durationLengthUnit,
             int barSize, BarData.LengthUnit barSizeUnit, ShowProperty whatToShow, boolean useRTH) {
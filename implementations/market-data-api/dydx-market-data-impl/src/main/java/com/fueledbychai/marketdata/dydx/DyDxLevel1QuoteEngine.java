@@ -1,7 +1,6 @@
 package com.fueledbychai.marketdata.dydx;
 
 import java.math.BigDecimal;
-import java.net.Proxy;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
@@ -15,11 +14,11 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fueledbychai.data.Ticker;
+import com.fueledbychai.http.OkHttpClientFactory;
 import com.fueledbychai.marketdata.Level1Quote;
 import com.fueledbychai.marketdata.Level1QuoteListener;
 import com.fueledbychai.marketdata.QuoteEngine;
 import com.fueledbychai.marketdata.QuoteType;
-import com.fueledbychai.websocket.ProxyConfig;
 
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -53,12 +52,7 @@ public class DyDxLevel1QuoteEngine extends QuoteEngine implements Runnable {
     }
 
     protected OkHttpClient createHttpClient() {
-        Proxy proxy = ProxyConfig.getInstance().getProxy();
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
-        if (proxy != null && proxy != Proxy.NO_PROXY) {
-            builder.proxy(proxy);
-        }
-        return builder.build();
+        return OkHttpClientFactory.create(null, BASE_URL);
     }
 
     @Override
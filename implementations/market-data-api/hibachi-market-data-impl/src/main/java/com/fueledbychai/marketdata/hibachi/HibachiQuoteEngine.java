@@ -41,6 +41,7 @@ import com.fueledbychai.marketdata.QuoteType;
 import com.fueledbychai.util.ExchangeRestApiFactory;
 import com.fueledbychai.util.ITickerRegistry;
 import com.fueledbychai.util.TickerRegistryFactory;
+import com.fueledbychai.websocket.WebSocketMessageRouter;
 
 /**
  * Hibachi market-data quote engine.
@@ -69,6 +70,7 @@ public class HibachiQuoteEngine extends QuoteEngine {
 
     protected volatile HibachiWebSocketClient marketClient;
     protected volatile HibachiJsonProcessor marketProcessor;
+    protected volatile WebSocketMessageRouter marketRouter;
     protected volatile boolean started = false;
 
     protected final Set<String> volumePollingSymbols = ConcurrentHashMap.newKeySet();
@@ -174,6 +176,7 @@ public class HibachiQuoteEngine extends QuoteEngine {
         marketClient = null;
         HibachiJsonProcessor processor = marketProcessor;
         marketProcessor = null;
+        marketRouter = null;
         if (client != null) {
             try { client.close(); } catch (Exception ignored) {}
         }
@@ -238,8 +241,9 @@ public class HibachiQuoteEngine extends QuoteEngine {
         try {
             marketProcessor = new HibachiJsonProcessor(this::onMarketWsClosed);
             marketProcessor.addEventListener(this::onMarketMessage);
+            marketRouter = HibachiTopicRouter.createMarketRouter(marketProcessor, this::onMarketWsClosed);
             marketClient = HibachiWebSocketClient.createMarket(
-                    config.getMarketWsUrl(), marketProcessor, config.getClient(), null);
+                    config.getMarketWsUrl(), marketRouter, config.getClient(), null);
             if (!marketClient.connectBlocking(10, TimeUnit.SECONDS)) {
                 throw new IllegalStateException("Timed out connecting to Hibachi market WS at "
                         + config.getMarketWsUrl());
@@ -321,6 +325,7 @@ public class HibachiQuoteEngine extends QuoteEngine {
             HibachiJsonProcessor staleProcessor = marketProcessor;
             marketClient = null;
             marketProcessor = null;
+            marketRouter = null;
             if (stale != null) {
                 try { stale.close(); } catch (Exception ignored) {}
             }
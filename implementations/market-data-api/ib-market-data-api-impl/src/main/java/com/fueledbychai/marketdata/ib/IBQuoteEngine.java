@@ -97,13 +97,13 @@ public class IBQuoteEngine extends AbstractIBQuoteEngine {
 
     @Override
     public void tickSize(int tickerId, int field, Decimal size) {
-        logger.info("tickSize: tickerId: {}, field: {}, size: {}", tickerId, field, size);
+        logger.debug("tickSize: tickerId: {}, field: {}, size: {}", tickerId, field, size);
         buildLevel1QuoteDataAndSend(tickerId, field, 0, false, size);
     }
 
     @Override
     public void tickPrice(int tickerId, int field, double price, TickAttrib attrib) {
-        logger.info("tickPrice: tickerId: {}, field: {}, price: {}, attrib: {}", tickerId, field, price, attrib);
+        logger.debug("tickPrice: tickerId: {}, field: {}, price: {}, attrib: {}", tickerId, field, price, attrib);
         buildLevel1QuoteDataAndSend(tickerId, field, price, attrib.canAutoExecute(), Decimal.ZERO);
     }
 
@@ -171,6 +171,7 @@ public class IBQuoteEngine extends AbstractIBQuoteEngine {
             quoteId = ++nextQuoteId;
             level2TickerMap.put(ticker, quoteId);
             level2IdToTickerMap.put(quoteId, ticker);
+            callbackInterface.registerRequest(quoteId, this);
             Contract contract = ContractBuilderFactory.getContractBuilder(ticker).buildContract(ticker);
             ibConnection.reqMktDepth(nextQuoteId, contract, 20, false, null);
 
@@ -186,6 +187,7 @@ public class IBQuoteEngine extends AbstractIBQuoteEngine {
             Integer requestId = level2TickerMap.remove(ticker);
             level2IdToTickerMap.remove(requestId);
             if (requestId != null) {
+                callbackInterface.unregisterRequest(requestId);
                 ibConnection.cancelMktDepth(requestId, false);
 
             }
@@ -201,6 +203,7 @@ public class IBQuoteEngine extends AbstractIBQuoteEngine {
             quoteId = ++nextQuoteId;
             tickerMap.put(ticker, quoteId);
             idToTickerMap.put(quoteId, ticker);
+            callbackInterface.registerRequest(quoteId, this);
             Contract contract = ContractBuilderFactory.getContractBuilder(ticker).buildContract(ticker);
             logger.info("Using IBContract: {}", contract);
             ibConnection.reqMktData(nextQuoteId, contract, "", false, false, null);
@@ -227,6 +230,7 @@ public class IBQuoteEngine extends AbstractIBQuoteEngine {
             Integer requestId = tickerMap.remove(ticker);
             idToTickerMap.remove(requestId);
             if (requestId != null) {
+                callbackInterface.unregisterRequest(requestId);
                 ibConnection.cancelMktData(requestId);
             }
         }
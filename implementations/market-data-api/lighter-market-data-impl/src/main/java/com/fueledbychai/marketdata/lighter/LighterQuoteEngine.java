@@ -5,8 +5,8 @@ import java.math.MathContext;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -23,25 +23,28 @@ import com.fueledbychai.lighter.common.api.ILighterRestApi;
 import com.fueledbychai.lighter.common.api.ILighterWebSocketApi;
 import com.fueledbychai.lighter.common.api.ws.model.LighterMarketStats;
 import com.fueledbychai.lighter.common.api.ws.model.LighterMarketStatsUpdate;
-import com.fueledbychai.lighter.common.api.ws.model.LighterOrderBookLevel;
 import com.fueledbychai.lighter.common.api.ws.model.LighterOrderBookUpdate;
 import com.fueledbychai.lighter.common.api.ws.model.LighterTickerUpdate;
 import com.fueledbychai.lighter.common.api.ws.model.LighterTrade;
 import com.fueledbychai.lighter.common.api.ws.model.LighterTradesUpdate;
 import com.fueledbychai.marketdata.ILevel1Quote;
+import com.fueledbychai.marketdata.IOrderBook;
 import com.fueledbychai.marketdata.Level1Quote;
 import com.fueledbychai.marketdata.Level1QuoteListener;
 import com.fueledbychai.marketdata.Level2Quote;
 import com.fueledbychai.marketdata.Level2QuoteListener;
-import com.fueledbychai.marketdata.OrderBook;
+import com.fueledbychai.marketdata.OrderBook.PriceLevel;
 import com.fueledbychai.marketdata.OrderFlow;
 import com.fueledbychai.marketdata.OrderFlowListener;
 import com.fueledbychai.marketdata.QuoteEngine;
 import com.fueledbychai.marketdata.QuoteType;
+import com.fueledbychai.marketdata.TickIndexedOrderBook;
+import com.fueledbychai.time.PipelineLatency;
 import com.fueledbychai.util.ExchangeRestApiFactory;
 import com.fueledbychai.util.ExchangeWebSocketApiFactory;
 import com.fueledbychai.util.ITickerRegistry;
 import com.fueledbychai.util.TickerRegistryFactory;
+import com.fueledbychai.websocket.PriceLevelBuffer;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -324,14 +327,24 @@ public class LighterQuoteEngine extends QuoteEngine {
         }
 
         ZonedDateTime timestamp = toZonedDateTime(update.getTimestamp());
-        OrderBook orderBook = applyAndBuildOrderBook(ticker, update, timestamp);
-        if (orderBook == null) {
-            return;
+        if (update.getTimestamp() != null && PipelineLatency.isEnabled()) {
+            PipelineLatency.recordExchangeDelay(Exchange.LIGHTER.getExchangeName(), ticker.getSymbol(),
+                    timestamp.toInstant().toEpochMilli());
         }
+        MarketOrderBookState state = orderBookStateByMarketId.computeIfAbsent(marketId,
+                ignored -> new MarketOrderBookState(ticker));
 
-        if (hasLevel2Listeners(ticker)) {
-            fireMarketDepthQuote(new Level2Quote(ticker, orderBook, timestamp));
+        IOrderBook snapshot;
+        synchronized (state) {
+            if (!applyOrderBookUpdate(state, update, timestamp)) {
+                return;
+            }
+            if (!hasLevel2Listeners(ticker)) {
+                return;
+            }
+            snapshot = state.snapshot();
         }
+        fireMarketDepthQuote(new Level2Quote(ticker, snapshot, timestamp));
     }
 
     protected void handleTradesUpdate(LighterTradesUpdate update) {
@@ -469,9 +482,9 @@ public class LighterQuoteEngine extends QuoteEngine {
         return 0;
     }
 
-    protected Level1Quote buildTopOfBookQuote(Ticker ticker, OrderBook orderBook, ZonedDateTime timestamp) {
+    protected Level1Quote buildTopOfBookQuote(Ticker ticker, IOrderBook orderBook, ZonedDateTime timestamp) {
         Level1Quote quote = new Level1Quote(ticker, timestamp);
-        OrderBook.BidSizePair bestBid = orderBook.getBestBidWithSize();
+        IOrderBook.BidSizePair bestBid = orderBook.getBestBidWithSize();
         if (bestBid != null && bestBid.price != null && bestBid.price.compareTo(BigDecimal.ZERO) > 0) {
             quote.addQuote(QuoteType.BID, ticker.formatPrice(bestBid.price));
             if (bestBid.size != null) {
@@ -481,7 +494,7 @@ public class LighterQuoteEngine extends QuoteEngine {
             quote.clearQuote(QuoteType.BID);
             quote.clearQuote(QuoteType.BID_SIZE);
         }
-        OrderBook.BidSizePair bestAsk = orderBook.getBestAskWithSize();
+        IOrderBook.BidSizePair bestAsk = orderBook.getBestAskWithSize();
         if (bestAsk != null && bestAsk.price != null && bestAsk.price.compareTo(BigDecimal.ZERO) > 0) {
             quote.addQuote(QuoteType.ASK, ticker.formatPrice(bestAsk.price));
             if (bestAsk.size != null) {
@@ -494,19 +507,8 @@ public class LighterQuoteEngine extends QuoteEngine {
         return quote;
     }
 
-    protected OrderBook applyAndBuildOrderBook(Ticker ticker, LighterOrderBookUpdate update, ZonedDateTime timestamp) {
-        MarketOrderBookState state = orderBookStateByMarketId.computeIfAbsent(update.getMarketId(),
-                ignored -> new MarketOrderBookState());
-
-        synchronized (state) {
-            if (!applyOrderBookUpdate(state, update)) {
-                return null;
-            }
-            return buildOrderBook(ticker, state, timestamp);
-        }
-    }
-
-    protected boolean applyOrderBookUpdate(MarketOrderBookState state, LighterOrderBookUpdate update) {
+    protected boolean applyOrderBookUpdate(MarketOrderBookState state, LighterOrderBookUpdate update,
+            ZonedDateTime timestamp) {
         NonceStatus nonceStatus = getNonceStatus(state, update);
         if (nonceStatus == NonceStatus.STALE) {
             logger.debug("Skipping stale Lighter order book update for market {} (lastNonce={}, beginNonce={}, nonce={})",
@@ -514,19 +516,26 @@ public class LighterQuoteEngine extends QuoteEngine {
             return false;
         }
 
+        if (recorder != null) {
+            recordBook(state.ticker, timestamp, nonceStatus != NonceStatus.DELTA, toPriceLevels(update.getBidLevels()),
+                    toPriceLevels(update.getAskLevels()));
+        }
+        int bidCount = state.stageBids(update.getBidLevels());
+        int askCount = state.stageAsks(update.getAskLevels());
         if (nonceStatus == NonceStatus.RESET || nonceStatus == NonceStatus.SNAPSHOT) {
             if (nonceStatus == NonceStatus.RESET) {
                 logger.warn(
                         "Order book nonce gap for market {} (lastNonce={}, beginNonce={}, nonce={}). Rebuilding from current payload.",
                         update.getMarketId(), state.lastNonce, update.getBeginNonce(), update.getNonce());
             }
-            replaceSide(state.bids, update.getBids());
-            replaceSide(state.asks, update.getAsks());
+            state.book.updateFromSnapshot(state.bidPrices, state.bidSizes, bidCount, state.askPrices, state.askSizes,
+                    askCount, timestamp);
             state.initialized = true;
         } else {
-            applySideDelta(state.bids, update.getBids());
-            applySideDelta(state.asks, update.getAsks());
+            state.book.applyDelta(state.bidPrices, state.bidSizes, bidCount, state.askPrices, state.askSizes,
+                    askCount, timestamp);
         }
+        state.version++;
 
         if (update.getNonce() != null) {
             state.lastNonce = update.getNonce();
@@ -558,42 +567,6 @@ public class LighterQuoteEngine extends QuoteEngine {
         return NonceStatus.RESET;
     }
 
-    protected void replaceSide(Map<BigDecimal, BigDecimal> target, List<LighterOrderBookLevel> levels) {
-        target.clear();
-        applySideDelta(target, levels);
-    }
-
-    protected void applySideDelta(Map<BigDecimal, BigDecimal> target, List<LighterOrderBookLevel> levels) {
-        if (levels == null || levels.isEmpty()) {
-            return;
-        }
-        for (LighterOrderBookLevel level : levels) {
-            if (level == null || level.getPrice() == null || level.getSize() == null) {
-                continue;
-            }
-            if (level.getSize().compareTo(BigDecimal.ZERO) <= 0) {
-                target.remove(level.getPrice());
-            } else {
-                target.put(level.getPrice(), level.getSize());
-            }
-        }
-    }
-
-    protected OrderBook buildOrderBook(Ticker ticker, MarketOrderBookState state, ZonedDateTime timestamp) {
-        OrderBook orderBook = new OrderBook(ticker, ticker.getMinimumTickSize());
-        orderBook.updateFromSnapshot(toPriceLevels(state.bids), toPriceLevels(state.asks), timestamp);
-        return orderBook;
-    }
-
-    protected List<OrderBook.PriceLevel> toPriceLevels(Map<BigDecimal, BigDecimal> levelsByPrice) {
-        if (levelsByPrice == null || levelsByPrice.isEmpty()) {
-            return List.of();
-        }
-        return levelsByPrice.entrySet().stream()
-                .map(entry -> new OrderBook.PriceLevel(entry.getKey(), entry.getValue().doubleValue()))
-                .toList();
-    }
-
     protected Integer getMarketId(String marketIdString, LighterMarketStats stats) {
         if (stats != null && stats.getMarketId() != null) {
             return stats.getMarketId();
@@ -737,10 +710,76 @@ public class LighterQuoteEngine extends QuoteEngine {
         SNAPSHOT, DELTA, RESET, STALE
     }
 
+    /**
+     * Persistent book for a single Lighter market. Deltas are applied to the book
+     * in place, and a copy is only taken when a Level 2 listener needs one. The
+     * copy is cached against the book version, so repeated requests between
+     * updates share the same snapshot.
+     */
+    protected static List<PriceLevel> toPriceLevels(PriceLevelBuffer levels) {
+        int count = levels == null ? 0 : levels.getCount();
+        List<PriceLevel> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new PriceLevel(levels.getPrice(i), levels.getQuantityAsDouble(i)));
+        }
+        return result;
+    }
+
     protected static class MarketOrderBookState {
-        protected final Map<BigDecimal, BigDecimal> bids = new HashMap<>();
-        protected final Map<BigDecimal, BigDecimal> asks = new HashMap<>();
+        protected final Ticker ticker;
+        protected final TickIndexedOrderBook book;
+        protected long[] bidPrices = new long[16];
+        protected double[] bidSizes = new double[16];
+        protected long[] askPrices = new long[16];
+        protected double[] askSizes = new double[16];
         protected Long lastNonce;
         protected boolean initialized;
+        protected long version;
+        protected long snapshotVersion = -1L;
+        protected IOrderBook snapshot;
+
+        protected MarketOrderBookState(Ticker ticker) {
+            this.ticker = ticker;
+            this.book = new TickIndexedOrderBook(ticker);
+        }
+
+        protected IOrderBook snapshot() {
+            if (snapshot == null || snapshotVersion != version) {
+                snapshot = book.cloneOrderBook();
+                snapshotVersion = version;
+            }
+            return snapshot;
+        }
+
+        protected int stageBids(PriceLevelBuffer levels) {
+            int count = levels == null ? 0 : levels.getCount();
+            if (bidPrices.length < count) {
+                bidPrices = new long[count];
+                bidSizes = new double[count];
+            }
+            return stage(levels, bidPrices, bidSizes);
+        }
+
+        protected int stageAsks(PriceLevelBuffer levels) {
+            int count = levels == null ? 0 : levels.getCount();
+            if (askPrices.length < count) {
+                askPrices = new long[count];
+                askSizes = new double[count];
+            }
+            return stage(levels, askPrices, askSizes);
+        }
+
+        private int stage(PriceLevelBuffer levels, long[] prices, double[] sizes) {
+            if (levels == null) {
+                return 0;
+            }
+            int count = levels.getCount();
+            int priceScale = book.getPriceScale();
+            for (int i = 0; i < count; i++) {
+                prices[i] = levels.getScaledPrice(i, priceScale);
+                sizes[i] = levels.getQuantityAsDouble(i);
+            }
+            return count;
+        }
     }
 }
@@ -476,6 +476,58 @@ public class LighterQuoteEngineTest {
         verify(engine, times(1)).fireMarketDepthQuote(any(ILevel2Quote.class));
     }
 
+    @Test
+    void handleOrderBookUpdateKeepsBookWithoutLevel2Listeners() {
+        LighterQuoteEngine engine = spy(new LighterQuoteEngine(restApi, webSocketApi, tickerRegistry));
+        AtomicReference<ILevel2Quote> capturedLevel2Quote = new AtomicReference<>();
+        Ticker ticker = createTicker("BTC", "1", InstrumentType.PERPETUAL_FUTURES);
+
+        doAnswer(invocation -> {
+            capturedLevel2Quote.set(invocation.getArgument(0));
+            return null;
+        }).when(engine).fireMarketDepthQuote(any(ILevel2Quote.class));
+
+        engine.subscribeMarketDepth(ticker, level2Listener);
+        engine.unsubscribeMarketDepth(ticker, level2Listener);
+
+        LighterOrderBookUpdate snapshot = new LighterOrderBookUpdate(
+                "order_book/1",
+                1,
+                200,
+                List.of(new LighterOrderBookLevel(new BigDecimal("101.00"), new BigDecimal("2.50"))),
+                List.of(new LighterOrderBookLevel(new BigDecimal("100.50"), new BigDecimal("3.00"))),
+                10L,
+                100L,
+                99L,
+                1700000000000L,
+                "update/order_book");
+        LighterOrderBookUpdate delta = new LighterOrderBookUpdate(
+                "order_book/1",
+                1,
+                200,
+                List.of(new LighterOrderBookLevel(new BigDecimal("100.90"), new BigDecimal("0.50"))),
+                List.of(),
+                11L,
+                101L,
+                100L,
+                1700000001000L,
+                "update/order_book");
+
+        engine.handleOrderBookUpdate(snapshot);
+        verify(engine, never()).fireMarketDepthQuote(any(ILevel2Quote.class));
+
+        engine.subscribeMarketDepth(ticker, level2Listener);
+        engine.handleOrderBookUpdate(delta);
+
+        ILevel2Quote level2Quote = capturedLevel2Quote.get();
+        assertNotNull(level2Quote);
+        IOrderBook.BidSizePair bestBid = level2Quote.getOrderBook().getBestBidWithSize();
+        IOrderBook.BidSizePair bestAsk = level2Quote.getOrderBook().getBestAskWithSize();
+        assertEquals(0, bestBid.getPrice().compareTo(new BigDecimal("100.50")));
+        assertEquals(0, bestAsk.getPrice().compareTo(new BigDecimal("100.90")));
+        assertEquals(0.5d, bestAsk.getSize(), 0.00001d);
+    }
+
     @Test
     void handleOrderBookUpdateSkipsUnknownMarket() {
         LighterQuoteEngine engine = spy(new LighterQuoteEngine(restApi, webSocketApi, tickerRegistry));